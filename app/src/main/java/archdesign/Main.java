@@ -5,15 +5,30 @@ import archdesign.entities.enums.ShippingProvider;
 import archdesign.entities.enums.ContainerType;
 import archdesign.interactor.Packer;
 import archdesign.interactor.PackingPlan;
+import archdesign.interactor.PlanComparison;
+import archdesign.interactor.PlanningListener;
 import archdesign.interactor.UserConstraints;
 import archdesign.request.ArtImporter;
 import archdesign.parser.CsvParser;
 import archdesign.response.Response;
 import archdesign.response.ShipmentViewModel;
 import archdesign.output.ConsoleOutputFormatter;
+import archdesign.output.DetailLevel;
 import archdesign.output.JsonOutputWriter;
+import archdesign.output.PdfReportWriter;
+import archdesign.service.ShipmentEstimate;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A simple command-line application to run the entire packing process.
@@ -21,22 +36,75 @@ import java.util.List;
  */
 public class Main {
 
+    /** The packing modes understood by {@link #processFile(String, String)}. */
+    public static final List<String> PACKING_MODES = List.of("default", "box-only", "crate-only");
+
+    private static final String COMPARE_FLAG = "--compare";
+    private static final String DETAILED_FLAG = "--detailed";
+    private static final String DETAIL_LEVEL_FLAG = "--detail=";
+    private static final String EXPAND_IDS_FLAG = "--expand-ids";
+    private static final String PDF_FLAG = "--pdf=";
+    private static final String BATCH_FLAG = "--batch";
+
     /**
      * The main entry point for the Java application.
      * @param args Command line arguments:
      *             args[0]: path to CSV file (required)
      *             args[1]: optional output JSON file path
      *             args[2]: optional packing mode: "box-only", "crate-only", or "default" (uses both boxes and crates)
+     *             "--compare" anywhere after the CSV path plans all packing modes concurrently
+     *             and prints them side by side instead
+     *             "--detailed" anywhere after the CSV path adds every container, box and art
+     *             to the JSON output
+     *             "--detail=summary|containers|full" sets how much of the plan the console lists;
+     *             by default plans over {@link DetailLevel#FULL_DETAIL_PIECE_LIMIT} pieces are
+     *             listed per container
+     *             "--pdf=report.pdf" anywhere after the CSV path also writes a PDF report
+     *             "--expand-ids" lists every container of a run of identical containers, with
+     *             its box and art IDs, in the detailed JSON and the PDF report
+     *             "--batch" as the first argument, followed by CSV paths and an optional packing
+     *             mode, writes a PDF report next to every CSV file instead
      */
     public static void main(String[] args) {
         if (args.length == 0) {
             System.err.println("Error: Please provide the path to the CSV file as an argument.");
             System.err.println("Usage: java Main <path/to/your/file.csv> [optional-output.json] [packing-mode]");
             System.err.println("Packing modes: box-only, crate-only, default (default uses both boxes and crates)");
+            System.err.println("Add --compare to plan all packing modes and compare them side by side");
+            System.err.println("Add --detailed to include every container, box and art in the JSON output");
+            System.err.println("Add --detail=summary|containers|full to choose how much of the plan is printed");
+            System.err.println("Add --pdf=<report.pdf> to also write a PDF report");
+            System.err.println("Add --expand-ids to list identical containers one by one, with their IDs");
+            System.err.println("Batch: java Main --batch <file.csv>... [packing-mode] writes a PDF report per file");
+            return;
+        }
+
+        if (args[0].equals(BATCH_FLAG)) {
+            List<String> files = new ArrayList<>(List.of(args).subList(1, args.length));
+            String batchMode = !files.isEmpty() && PACKING_MODES.contains(files.get(files.size() - 1))
+                ? files.remove(files.size() - 1) : "default";
+            System.out.println("--- Writing PDF reports for " + files.size() + " file(s), packing mode: " + batchMode + " ---");
+            for (String report : writeReports(files, batchMode)) {
+                System.out.println("Wrote " + report);
+            }
             return;
         }
         
         String filePath = args[0];
+        if (List.of(args).contains(COMPARE_FLAG)) {
+            System.out.println("--- Comparing packing modes for file: " + filePath + " ---");
+            new ConsoleOutputFormatter().displayComparison(compareFile(filePath));
+            return;
+        }
+        boolean detailed = List.of(args).contains(DETAILED_FLAG);
+        boolean expandIds = List.of(args).contains(EXPAND_IDS_FLAG);
+        DetailLevel detailLevel = parseDetailLevel(args);
+        String pdfFilePath = List.of(args).stream().filter(arg -> arg.startsWith(PDF_FLAG))
+            .map(arg -> arg.substring(PDF_FLAG.length())).findFirst().orElse(null);
+        args = List.of(args).stream()
+            .filter(arg -> !arg.equals(DETAILED_FLAG) && !arg.equals(EXPAND_IDS_FLAG)
+                && !arg.startsWith(DETAIL_LEVEL_FLAG) && !arg.startsWith(PDF_FLAG))
+            .toArray(String[]::new);
         String outputFilePath = args.length > 1 && !args[1].equals("box-only") && !args[1].equals("crate-only") && !args[1].equals("default") ? args[1] : null;
         
         // Determine packing mode from arguments
@@ -55,15 +123,47 @@ public class Main {
 
         // Display on console using the formatter
         System.out.println("\n--- Displaying Packing Plan ---");
-        ConsoleOutputFormatter consoleFormatter = new ConsoleOutputFormatter();
+        if (detailLevel == null) {
+            detailLevel = DetailLevel.defaultFor(viewModel != null ? viewModel.statistics().getTotalPieces() : 0);
+        }
+        ConsoleOutputFormatter consoleFormatter = new ConsoleOutputFormatter(detailLevel);
         consoleFormatter.display(viewModel);
         
         // If output file is specified, write JSON output
         if (outputFilePath != null) {
             System.out.println("\n--- Writing JSON output to: " + outputFilePath + " ---");
-            JsonOutputWriter jsonWriter = new JsonOutputWriter();
+            JsonOutputWriter jsonWriter = new JsonOutputWriter(detailed, expandIds);
             jsonWriter.write(viewModel, outputFilePath);
         }
+
+        if (pdfFilePath != null && viewModel != null) {
+            System.out.println("\n--- Writing PDF report to: " + pdfFilePath + " ---");
+            try {
+                new PdfReportWriter(expandIds).write(viewModel, pdfFilePath);
+                System.out.println("Successfully wrote PDF report to: " + pdfFilePath);
+            } catch (IOException e) {
+                System.err.println("Error writing PDF report: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the console detail level from the arguments.
+     * @param args Command line arguments.
+     * @return The level asked for, or null to choose it by plan size.
+     */
+    private static DetailLevel parseDetailLevel(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(DETAIL_LEVEL_FLAG)) {
+                String level = arg.substring(DETAIL_LEVEL_FLAG.length());
+                try {
+                    return DetailLevel.valueOf(level.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Unknown detail level '" + level + "', choosing one by plan size.");
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -84,17 +184,54 @@ public class Main {
      */
     public static ShipmentViewModel processFile(String filePath, String packingMode) {
         // --- "IN" PART ---
-        ArtImporter importer = new ArtImporter(new CsvParser());
-        List<Art> artsToPack = importer.importFromFile(filePath);
+        List<Art> artsToPack = importFile(filePath);
         
         // Only log import results in CLI mode (when System.console() is available)
         if (System.console() != null) {
             System.out.println("Successfully imported " + artsToPack.size() + " total art items.");
         }
 
+        return processArts(artsToPack, packingMode);
+    }
+
+    /**
+     * Import the arts of the given CSV file.
+     * @param filePath path to CSV file
+     * @return The arts, one per piece.
+     */
+    public static List<Art> importFile(String filePath) {
+        ArtImporter importer = new ArtImporter(new CsvParser());
+        return importer.importFromFile(filePath);
+    }
+
+    /**
+     * Process already imported arts with a specific packing mode. Several modes may be
+     * processed concurrently from the same list; it is only read.
+     * @param artsToPack the imported arts
+     * @param packingMode "box-only", "crate-only", or "default"
+     * @return ShipmentViewModel (may be null)
+     */
+    public static ShipmentViewModel processArts(List<Art> artsToPack, String packingMode) {
+        return processArts(artsToPack, packingMode, PlanningListener.NONE);
+    }
+
+    /**
+     * Process already imported arts with a specific packing mode, reporting progress.
+     * @param artsToPack the imported arts
+     * @param packingMode "box-only", "crate-only", or "default"
+     * @param listener receives the stages of the run and the solver's improving objectives
+     * @return ShipmentViewModel (may be null)
+     */
+    public static ShipmentViewModel processArts(List<Art> artsToPack, String packingMode, PlanningListener listener) {
         // --- "CORE" PART ---
         UserConstraints constraints = buildConstraints(packingMode);
 
+        // Print the quick estimate before the full solve starts
+        if (System.console() != null) {
+            System.out.println();
+            new ConsoleOutputFormatter().displayEstimate(Packer.estimate(artsToPack, constraints));
+        }
+
         ShippingProvider provider = ShippingProvider.PLACEHOLDER;
         
         if (System.console() != null) {
@@ -102,7 +239,7 @@ public class Main {
         }
 
         // Normal flow: use the constraints based on packing mode
-        PackingPlan finalPlan = Packer.pack(artsToPack, constraints, provider);
+        PackingPlan finalPlan = Packer.pack(artsToPack, constraints, provider, listener);
 
         // --- "OUT" PART ---
         System.out.println("\n--- Generating Response ViewModel... ---");
@@ -110,6 +247,78 @@ public class Main {
         return response.generateViewModel();
     }
 
+    /**
+     * Plan several CSV files concurrently and write a PDF report next to each one
+     * ({@code orders/a.csv} gets {@code orders/a.pdf}). Every worker plans its file and
+     * renders its own document; a file that fails is reported on System.err and skipped.
+     * @param filePaths paths to CSV files
+     * @param packingMode "box-only", "crate-only", or "default"
+     * @return The paths of the reports written, in input order.
+     */
+    public static List<String> writeReports(List<String> filePaths, String packingMode) {
+        if (filePaths.isEmpty()) {
+            return List.of();
+        }
+        AtomicInteger threadCount = new AtomicInteger(1);
+        int workers = Math.min(filePaths.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "Report-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<String>> runs = new ArrayList<>();
+            for (String filePath : filePaths) {
+                runs.add(executor.submit(() -> {
+                    String reportPath = filePath.replaceFirst("(?i)\\.csv$", "") + ".pdf";
+                    // Planned directly rather than through processArts, whose progress lines would interleave
+                    PackingPlan plan = Packer.pack(importFile(filePath), buildConstraints(packingMode),
+                        ShippingProvider.PLACEHOLDER);
+                    new PdfReportWriter().write(new Response(plan).generateViewModel(), reportPath);
+                    return reportPath;
+                }));
+            }
+            List<String> reports = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i++) {
+                try {
+                    reports.add(runs.get(i).get());
+                } catch (ExecutionException e) {
+                    System.err.println("Error writing PDF report for " + filePaths.get(i) + ": " + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return reports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plan the given CSV file in every packing mode concurrently, parsing it only once.
+     * @param filePath path to CSV file
+     * @return One comparison entry per packing mode, in the order of {@link #PACKING_MODES}.
+     */
+    public static List<PlanComparison> compareFile(String filePath) {
+        List<Art> artsToPack = importFile(filePath);
+        Map<String, UserConstraints> scenarios = new LinkedHashMap<>();
+        for (String mode : PACKING_MODES) {
+            scenarios.put(mode, buildConstraints(mode));
+        }
+        return Packer.compare(artsToPack, scenarios, ShippingProvider.PLACEHOLDER);
+    }
+
+    /**
+     * Quick estimate of the given CSV file, without running the optimizer.
+     * @param filePath path to CSV file
+     * @param packingMode "box-only", "crate-only", or "default"
+     * @return The estimate of the shipment.
+     */
+    public static ShipmentEstimate estimateFile(String filePath, String packingMode) {
+        return Packer.estimate(importFile(filePath), buildConstraints(packingMode));
+    }
+
     /**
      * Build user constraints based on the specified packing mode.
      * @param packingMode "box-only", "crate-only", or "default"
@@ -0,0 +1,122 @@
+package archdesign.config;
+
+import archdesign.config.spec.SelectionRuleSpecification;
+import archdesign.service.selection.Algorithm;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides the algorithm selection table used by the OptimizationService.
+ * <p>
+ * The default table is kept here in code, like the packing rules in {@link RuleProvider}.
+ * A table tuned from benchmark runs can be loaded from JSON instead: an array of
+ * objects with the optional conditions {@code maxPieces}, {@code maxBoxes}, {@code maxDistinctSkus},
+ * {@code maxMaterials}, {@code mixedBoxTypes}, {@code minCrateShare}, {@code maxCrateShare}
+ * and the results {@code algorithm}, {@code workers}, {@code timeLimitMillis}.
+ */
+public final class SelectionPolicyProvider {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SelectionPolicyProvider() {}
+
+    public static List<SelectionRuleSpecification> getDefaultRules() {
+        return List.of(
+            // One SKU in one box type: with a single candidate container type the count is a formula
+            SelectionRuleSpecification.newBuilder("Single SKU, one box type")
+                .withMaxDistinctSkus(1)
+                .withMixedBoxTypes(false)
+                .useAlgorithm(Algorithm.CLOSED_FORM)
+                .build(),
+
+            // The DP's search grows with the box demand, not the piece count; at this size
+            // it is exact and takes milliseconds
+            SelectionRuleSpecification.newBuilder("Small and medium jobs")
+                .withMaxBoxes(1_000)
+                .useAlgorithm(Algorithm.DP)
+                .build(),
+
+            // The DP still takes the mixes its search size allows; the others fall through
+            // to CP-SAT, which the workers and time limit are for
+            SelectionRuleSpecification.newBuilder("Large jobs")
+                .withMaxBoxes(25_000)
+                .useAlgorithm(Algorithm.DP)
+                .withWorkers(8)
+                .withTimeLimit(Duration.ofSeconds(30))
+                .build(),
+
+            // Catch-all: a quick plan improved for a fixed budget
+            SelectionRuleSpecification.newBuilder("Huge jobs")
+                .useAlgorithm(Algorithm.LNS)
+                .withWorkers(4)
+                .withTimeLimit(Duration.ofSeconds(10))
+                .build()
+        );
+    }
+
+    /**
+     * Loads a selection table from JSON.
+     *
+     * @param reader The JSON source; an array of rule objects.
+     * @return The rules in file order.
+     * @throws IllegalArgumentException if the JSON is malformed or a rule has no algorithm.
+     */
+    public static List<SelectionRuleSpecification> loadRules(Reader reader) {
+        RuleEntry[] entries;
+        try {
+            entries = new Gson().fromJson(reader, RuleEntry[].class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Invalid selection table: " + e.getMessage(), e);
+        }
+        if (entries == null) {
+            throw new IllegalArgumentException("Selection table is empty");
+        }
+
+        List<SelectionRuleSpecification> rules = new ArrayList<>();
+        for (int i = 0; i < entries.length; i++) {
+            RuleEntry entry = entries[i];
+            if (entry == null || entry.algorithm == null) {
+                throw new IllegalArgumentException("Selection rule " + i + " has no algorithm");
+            }
+            SelectionRuleSpecification.Builder builder = SelectionRuleSpecification
+                .newBuilder(entry.description != null ? entry.description : "rule " + i)
+                .useAlgorithm(entry.algorithm);
+            if (entry.maxPieces != null) builder.withMaxPieces(entry.maxPieces);
+            if (entry.maxBoxes != null) builder.withMaxBoxes(entry.maxBoxes);
+            if (entry.maxDistinctSkus != null) builder.withMaxDistinctSkus(entry.maxDistinctSkus);
+            if (entry.maxMaterials != null) builder.withMaxMaterials(entry.maxMaterials);
+            if (entry.mixedBoxTypes != null) builder.withMixedBoxTypes(entry.mixedBoxTypes);
+            builder.withCrateShareBetween(
+                entry.minCrateShare != null ? entry.minCrateShare : 0.0,
+                entry.maxCrateShare != null ? entry.maxCrateShare : 1.0);
+            if (entry.workers != null) builder.withWorkers(entry.workers);
+            if (entry.timeLimitMillis != null) builder.withTimeLimit(Duration.ofMillis(entry.timeLimitMillis));
+            rules.add(builder.build());
+        }
+        return rules;
+    }
+
+    /**
+     * JSON shape of one rule; every field is optional except the algorithm.
+     */
+    private static class RuleEntry {
+        String description;
+        Integer maxPieces;
+        Integer maxBoxes;
+        Integer maxDistinctSkus;
+        Integer maxMaterials;
+        Boolean mixedBoxTypes;
+        Double minCrateShare;
+        Double maxCrateShare;
+        Algorithm algorithm;
+        Integer workers;
+        Long timeLimitMillis;
+    }
+}
@@ -0,0 +1,143 @@
+package archdesign.config.spec;
+
+import archdesign.service.selection.Algorithm;
+import archdesign.service.selection.JobFeatures;
+
+import java.time.Duration;
+
+/**
+ * Represents a single, immutable row of the algorithm selection table.
+ * A rule matches a job when every condition that was set holds; unset conditions
+ * match anything. Instances are created using the fluent Builder pattern.
+ */
+public class SelectionRuleSpecification {
+
+    // --- Rule Conditions ---
+    private final String description;
+    private final int maxPieces;
+    private final int maxBoxes;
+    private final int maxDistinctSkus;
+    private final int maxMaterials;
+    private final Boolean mixedBoxTypes; // null = either
+    private final double minCrateShare;
+    private final double maxCrateShare;
+
+    // --- Rule Results ---
+    private final Algorithm algorithm;
+    private final int workers;
+    private final Duration timeLimit;
+
+    private SelectionRuleSpecification(Builder builder) {
+        this.description = builder.description;
+        this.maxPieces = builder.maxPieces;
+        this.maxBoxes = builder.maxBoxes;
+        this.maxDistinctSkus = builder.maxDistinctSkus;
+        this.maxMaterials = builder.maxMaterials;
+        this.mixedBoxTypes = builder.mixedBoxTypes;
+        this.minCrateShare = builder.minCrateShare;
+        this.maxCrateShare = builder.maxCrateShare;
+        this.algorithm = builder.algorithm;
+        this.workers = builder.workers;
+        this.timeLimit = builder.timeLimit;
+    }
+
+    public static Builder newBuilder(String description) {
+        return new Builder(description);
+    }
+
+    /**
+     * Checks whether this rule applies to a job.
+     * @param features The features of the job.
+     * @return true if every condition of the rule holds for the job.
+     */
+    public boolean matches(JobFeatures features) {
+        if (features.pieceCount() > maxPieces) return false;
+        if (features.boxCount() > maxBoxes) return false;
+        if (features.distinctSkus() > maxDistinctSkus) return false;
+        if (features.materialCount() > maxMaterials) return false;
+        if (mixedBoxTypes != null && features.mixedBoxTypes() != mixedBoxTypes) return false;
+        return features.crateShare() >= minCrateShare && features.crateShare() <= maxCrateShare;
+    }
+
+    // --- Public Getters ---
+    public String getDescription() { return description; }
+    public int getMaxPieces() { return maxPieces; }
+    public int getMaxBoxes() { return maxBoxes; }
+    public int getMaxDistinctSkus() { return maxDistinctSkus; }
+    public int getMaxMaterials() { return maxMaterials; }
+    public Boolean getMixedBoxTypes() { return mixedBoxTypes; }
+    public double getMinCrateShare() { return minCrateShare; }
+    public double getMaxCrateShare() { return maxCrateShare; }
+    public Algorithm getAlgorithm() { return algorithm; }
+    public int getWorkers() { return workers; }
+    public Duration getTimeLimit() { return timeLimit; }
+
+    // --- Builder Class ---
+    public static class Builder {
+        private final String description;
+        private int maxPieces = Integer.MAX_VALUE;
+        private int maxBoxes = Integer.MAX_VALUE;
+        private int maxDistinctSkus = Integer.MAX_VALUE;
+        private int maxMaterials = Integer.MAX_VALUE;
+        private Boolean mixedBoxTypes;
+        private double minCrateShare = 0.0;
+        private double maxCrateShare = 1.0;
+        private Algorithm algorithm = Algorithm.DP;
+        private int workers = 1;
+        private Duration timeLimit = Duration.ofSeconds(60);
+
+        public Builder(String description) {
+            this.description = description;
+        }
+
+        public Builder withMaxPieces(int maxPieces) {
+            this.maxPieces = maxPieces;
+            return this;
+        }
+
+        public Builder withMaxBoxes(int maxBoxes) {
+            this.maxBoxes = maxBoxes;
+            return this;
+        }
+
+        public Builder withMaxDistinctSkus(int maxDistinctSkus) {
+            this.maxDistinctSkus = maxDistinctSkus;
+            return this;
+        }
+
+        public Builder withMaxMaterials(int maxMaterials) {
+            this.maxMaterials = maxMaterials;
+            return this;
+        }
+
+        public Builder withMixedBoxTypes(boolean mixedBoxTypes) {
+            this.mixedBoxTypes = mixedBoxTypes;
+            return this;
+        }
+
+        public Builder withCrateShareBetween(double min, double max) {
+            this.minCrateShare = min;
+            this.maxCrateShare = max;
+            return this;
+        }
+
+        public Builder useAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        public Builder withWorkers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder withTimeLimit(Duration timeLimit) {
+            this.timeLimit = timeLimit;
+            return this;
+        }
+
+        public SelectionRuleSpecification build() {
+            return new SelectionRuleSpecification(this);
+        }
+    }
+}
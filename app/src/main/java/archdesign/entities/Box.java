@@ -70,6 +70,13 @@ public class Box {
         return length;
     }
 
+    /**
+     * @return The minimum height the box was created with, before any art is added.
+     */
+    public int getMinHeight() {
+        return minHeight;
+    }
+
     /**
 
      * Dynamically calculates and returns the current total height of the box.
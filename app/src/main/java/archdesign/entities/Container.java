@@ -75,6 +75,27 @@ public class Container {
         return length;
     }
 
+    /**
+     * @return The minimum usable height for the contents, excluding the bottom clearance.
+     */
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    /**
+     * @return The fixed height of the base, below the contents.
+     */
+    public int getBottomClearanceHeight() {
+        return bottomClearanceHeight;
+    }
+
+    /**
+     * @return The container's own weight, without its boxes.
+     */
+    public double getWeight() {
+        return weight;
+    }
+
     /**
      * Dynamically calculates and returns the total external height of the container.
      * The total height is the sum of its fixed bottom clearance and the effective height
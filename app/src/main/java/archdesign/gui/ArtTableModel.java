@@ -0,0 +1,53 @@
+package archdesign.gui;
+
+import archdesign.response.ArtViewModel;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+/**
+ * Shows a list of arts as a table, one row per art. Cells are formatted when the table
+ * asks for them, so only the rows on screen are ever formatted.
+ */
+final class ArtTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"#", "Art ID", "Material", "Dimensions", "Weight"};
+
+    private final List<ArtViewModel> arts;
+
+    ArtTableModel(List<ArtViewModel> arts) {
+        this.arts = arts;
+    }
+
+    @Override
+    public int getRowCount() {
+        return arts.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        ArtViewModel art = arts.get(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return String.valueOf(rowIndex + 1);
+            case 1:
+                return art.id();
+            case 2:
+                return art.material();
+            case 3:
+                return String.format("%.1f × %.1f", art.width(), art.height());
+            default:
+                return String.format("%.2f lbs", art.weight());
+        }
+    }
+}
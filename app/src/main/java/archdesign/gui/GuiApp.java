@@ -1,11 +1,12 @@
 package archdesign.gui;
 
 import archdesign.Main;
+import archdesign.interactor.PlanningStage;
+import archdesign.interactor.ShipmentStatistics;
 import archdesign.output.JsonOutputWriter;
+import archdesign.output.PdfReportWriter;
 import archdesign.response.ShipmentViewModel;
-import archdesign.response.ContainerViewModel;
-import archdesign.response.BoxViewModel;
-import archdesign.response.ArtViewModel;
+import archdesign.service.ShipmentEstimate;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -16,6 +17,13 @@ import java.awt.dnd.DropTarget;
 import java.awt.dnd.DropTargetAdapter;
 import java.awt.dnd.DropTargetDropEvent;
 import java.io.File;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Custom rounded border for modern UI
@@ -54,6 +62,7 @@ class RoundedBorder extends javax.swing.border.AbstractBorder {
  * - Submit button for processing
  * - JSON export functionality
  * - Status indicator (pending, processing, complete)
+ * - Progress bar with live timings of each planning stage
  * - Error reporting
  * - Multiple report views (Summary, Detailed, Containers, Unpacked)
  */
@@ -66,11 +75,19 @@ public class GuiApp {
     private JButton exportBtn;
     private JComboBox<String> packingModeCombo;
     private JLabel statusLabel;
+    private JProgressBar progressBar;
+    private JLabel timingLabel;
     private JTextArea outputArea;
     private JTabbedPane reportTabs;
+    private JTable containersTable;
+    private JCheckBox expandIdsBox;  // Lists every container of a run with its own IDs
+    private JTable unpackedTable;
     private ShipmentViewModel currentViewModel;
     private String lastSelectedDirectory;
     private String selectedFilePath;  // Store the actual file path separately
+    private String displayedFilePath;  // File whose results are on screen, if any
+    private final SpeculativePlanner planner = new SpeculativePlanner();
+    private PlanWorker currentWorker;  // Worker of the plan being shown or awaited, if any
     
     // Visual panels for each tab
     private JPanel summaryVisualPanel;
@@ -128,7 +145,23 @@ public class GuiApp {
             BorderFactory.createLineBorder(Color.BLACK, 1),
             new EmptyBorder(10, 15, 10, 15)
         ));
-        centerPanel.add(statusLabel, BorderLayout.NORTH);
+        
+        // Progress of the running plan: a bar over the stages and the time spent in each
+        progressBar = new JProgressBar(0, PlanningStage.values().length);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        progressBar.setVisible(false);
+        timingLabel = new JLabel(" ");
+        timingLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        timingLabel.setForeground(new Color(100, 100, 100));
+        timingLabel.setBorder(new EmptyBorder(4, 15, 0, 15));
+        
+        JPanel statusPanel = new JPanel(new BorderLayout(0, 5));
+        statusPanel.setBackground(darkBg);
+        statusPanel.add(statusLabel, BorderLayout.NORTH);
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        statusPanel.add(timingLabel, BorderLayout.SOUTH);
+        centerPanel.add(statusPanel, BorderLayout.NORTH);
 
         // Report tabs with custom styling
         reportTabs = new JTabbedPane();
@@ -176,43 +209,41 @@ public class GuiApp {
         detailedScroll.setBorder(null);
         reportTabs.addTab("Detailed Report", detailedScroll);
         
-        // Containers Breakdown
-        JTextArea containersArea = new JTextArea();
-        containersArea.setEditable(false);
-        containersArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
-        containersArea.setBackground(cardBg);
-        containersArea.setForeground(Color.BLACK);
-        containersArea.setMargin(new Insets(10, 10, 10, 10));
+        // Containers Breakdown: a table, so only the rows on screen are rendered
+        containersTable = createResultsTable(cardBg);
         
         JPanel containersContentPanel = new JPanel(new BorderLayout(10, 10));
         containersContentPanel.setBackground(cardBg);
         JPanel containersVisualPanel = createContainersVisualPanel();
         containersContentPanel.add(containersVisualPanel, BorderLayout.NORTH);
-        containersContentPanel.add(containersArea, BorderLayout.CENTER);
-        
-        JScrollPane containersScroll = new JScrollPane(containersContentPanel);
+        JScrollPane containersScroll = new JScrollPane(containersTable);
         containersScroll.getViewport().setBackground(cardBg);
         containersScroll.setBorder(null);
-        reportTabs.addTab("Containers Breakdown", containersScroll);
+        containersContentPanel.add(containersScroll, BorderLayout.CENTER);
+        // Identical containers are shown once per run; this lists each with its IDs, like --expand-ids
+        expandIdsBox = new JCheckBox("Show every container with its box and art IDs");
+        expandIdsBox.setBackground(cardBg);
+        expandIdsBox.addActionListener(e -> {
+            if (currentViewModel != null) {
+                containersTable.setModel(
+                    new ShipmentTableModel(currentViewModel.containerRuns(), expandIdsBox.isSelected()));
+            }
+        });
+        containersContentPanel.add(expandIdsBox, BorderLayout.SOUTH);
+        reportTabs.addTab("Containers Breakdown", containersContentPanel);
         
         // Unpacked Items
-        JTextArea unpackedArea = new JTextArea();
-        unpackedArea.setEditable(false);
-        unpackedArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
-        unpackedArea.setBackground(cardBg);
-        unpackedArea.setForeground(Color.BLACK);
-        unpackedArea.setMargin(new Insets(10, 10, 10, 10));
+        unpackedTable = createResultsTable(cardBg);
         
         JPanel unpackedContentPanel = new JPanel(new BorderLayout(10, 10));
         unpackedContentPanel.setBackground(cardBg);
         JPanel unpackedVisualPanel = createUnpackedVisualPanel();
         unpackedContentPanel.add(unpackedVisualPanel, BorderLayout.NORTH);
-        unpackedContentPanel.add(unpackedArea, BorderLayout.CENTER);
-        
-        JScrollPane unpackedScroll = new JScrollPane(unpackedContentPanel);
+        JScrollPane unpackedScroll = new JScrollPane(unpackedTable);
         unpackedScroll.getViewport().setBackground(cardBg);
         unpackedScroll.setBorder(null);
-        reportTabs.addTab("Unpacked Items", unpackedScroll);
+        unpackedContentPanel.add(unpackedScroll, BorderLayout.CENTER);
+        reportTabs.addTab("Unpacked Items", unpackedContentPanel);
 
         centerPanel.add(reportTabs, BorderLayout.CENTER);
         mainPanel.add(centerPanel, BorderLayout.CENTER);
@@ -308,6 +339,9 @@ public class GuiApp {
                         } catch (Exception ex) {
                             // Silently ignore
                         }
+                        showQuickEstimate(selectedFilePath);
+                        abandonCurrentPlan();
+                        planner.start(selectedFilePath);
                     }
                     e.dropComplete(true);
                 } catch (Exception ex) {
@@ -353,6 +387,7 @@ public class GuiApp {
             "Default: Use both boxes and crates for optimal packing\n" +
             "Box Only: Use only boxes, no crates\n" +
             "Crate Only: Use only crates, no boxes");
+        packingModeCombo.addActionListener(e -> handleModeChange());
         panel.add(packingModeCombo, gbc);
 
         // Submit Button
@@ -429,6 +464,9 @@ public class GuiApp {
             } catch (Exception ex) {
                 // Silently ignore preview errors
             }
+            showQuickEstimate(selectedFilePath);
+            abandonCurrentPlan();
+            planner.start(selectedFilePath);
         }
     }
 
@@ -454,6 +492,32 @@ public class GuiApp {
         }
     }
 
+    /**
+     * Computes the quick estimate of the selected file in the background and shows it
+     * in the status bar, so the user sees a range before submitting for the full solve.
+     */
+    private void showQuickEstimate(String filePath) {
+        String packingMode = getPackingMode();
+        planner.execute(() -> {
+            try {
+                ShipmentEstimate estimate = Main.estimateFile(filePath, packingMode);
+                SwingUtilities.invokeLater(() -> {
+                    // A newer selection or a running solve owns the status bar
+                    if (!filePath.equals(selectedFilePath) || !submitBtn.isEnabled()) {
+                        return;
+                    }
+                    String containers = estimate.isExact()
+                        ? String.valueOf(estimate.minContainers())
+                        : estimate.minContainers() + "-" + estimate.maxContainers();
+                    updateStatus(String.format("Ready - about %s containers, %.0f-%.0f lbs. Click 'Submit for Estimate' for the full plan",
+                        containers, estimate.minWeight(), estimate.maxWeight()), new Color(0, 100, 0));
+                });
+            } catch (Exception ex) {
+                // The estimate is only a preview; errors surface on submit
+            }
+        });
+    }
+
     private void handleSubmit() {
         String filePath = selectedFilePath != null ? selectedFilePath : fileLabel.getText();
         
@@ -476,49 +540,205 @@ public class GuiApp {
         // Determine packing mode
         String packingMode = getPackingMode();
 
-        // Disable controls during processing
-        submitBtn.setEnabled(false);
-        chooseBtn.setEnabled(false);
-        packingModeCombo.setEnabled(false);
-        reportTabs.setEnabled(false);
-        
-        updateStatus("Processing... Please wait", new Color(200, 100, 0));
-        outputArea.setText("Starting packing process...\n");
+        showPlan(filePath, packingMode);
+    }
+
+    /**
+     * Shows another mode's results once results are on screen; the speculative run of
+     * that mode has usually finished already.
+     */
+    private void handleModeChange() {
+        if (selectedFilePath != null && selectedFilePath.equals(displayedFilePath)) {
+            showPlan(selectedFilePath, getPackingMode());
+        }
+    }
+
+    /**
+     * Displays the plan of a file and mode, waiting for its speculative run if needed.
+     */
+    private void showPlan(String filePath, String packingMode) {
+        SpeculativePlanner.Run run = planner.get(filePath, packingMode);
+        if (currentWorker != null) {
+            currentWorker.cancel(true);
+        }
+        if (!run.result().isDone()) {
+            // Disable controls during processing
+            submitBtn.setEnabled(false);
+            chooseBtn.setEnabled(false);
+            packingModeCombo.setEnabled(false);
+            reportTabs.setEnabled(false);
+
+            updateStatus("Processing... Please wait", new Color(200, 100, 0));
+            outputArea.setText("Starting packing process...\n");
+            progressBar.setValue(0);
+            progressBar.setVisible(true);
+        }
 
-        // Run processing on background thread
-        Thread processingThread = new Thread(() -> {
+        currentWorker = new PlanWorker(filePath, packingMode, run);
+        planner.execute(currentWorker);
+    }
+
+    /**
+     * Stops waiting for the plan being awaited, if any, and gives the controls back; used
+     * when another file replaces it.
+     */
+    private void abandonCurrentPlan() {
+        if (currentWorker != null) {
+            currentWorker.cancel(true);
+            currentWorker = null;
+        }
+        progressBar.setVisible(false);
+        resetControls();
+    }
+
+    /**
+     * Puts a finished plan on screen, unless the user has moved on to another file or mode.
+     * @param prepared The plan's prepared results, or null if the run returned no plan.
+     */
+    private void showResults(String filePath, String packingMode, PreparedResults prepared) {
+        // Drop results the user has moved on from
+        if (!filePath.equals(selectedFilePath) || !packingMode.equals(getPackingMode())) {
+            resetControls();
+            return;
+        }
+        if (prepared == null) {
+            showError("Processing completed but returned no packing plan.\n" +
+                     "Please verify that your CSV file contains valid artwork data with positive dimensions.");
+            resetControls();
+            return;
+        }
+        currentViewModel = prepared.viewModel();
+        displayedFilePath = filePath;
+        displayResults(prepared);
+        updateStatus("Complete - Estimates are ready", new Color(0, 150, 0));
+        reportTabs.setEnabled(true);
+        resetControls();
+    }
+
+    private void showFailure(Throwable ex) {
+        showError("Processing failed: " + ex.getMessage() + 
+                 "\n\nCommon issues:\n" +
+                 "• Missing or incorrect columns in CSV\n" +
+                 "• Invalid quantity, width, or height values\n" +
+                 "• Empty fields in required columns\n\n" +
+                 "Please check your CSV format and try again.");
+        resetControls();
+    }
+
+    /**
+     * Waits for a run on the planner's threads and prepares its reports and table indexes
+     * there, so the EDT only installs them. The run's progress is published to the EDT as
+     * it arrives, and a timer keeps the time of the current stage ticking in between.
+     */
+    private final class PlanWorker extends SwingWorker<PreparedResults, PlanProgress.Event> {
+
+        private final String filePath;
+        private final String packingMode;
+        private final SpeculativePlanner.Run run;
+
+        // Read and written on the EDT only
+        private final Map<PlanningStage, Duration> finishedStages = new EnumMap<>(PlanningStage.class);
+        private PlanningStage currentStage;
+        private long currentStageStartNanos;
+        private double bestObjective = Double.NaN;
+        private final Timer ticker = new Timer(100, e -> showProgress());
+
+        PlanWorker(String filePath, String packingMode, SpeculativePlanner.Run run) {
+            this.filePath = filePath;
+            this.packingMode = packingMode;
+            this.run = run;
+            ticker.start();
+        }
+
+        @Override
+        protected PreparedResults doInBackground() throws Exception {
+            Consumer<PlanProgress.Event> watcher = event -> publish(event);
+            run.progress().watch(watcher);
             try {
-                ShipmentViewModel vm = Main.processFile(filePath, packingMode);
-                
-                if (vm == null) {
-                    SwingUtilities.invokeLater(() -> {
-                        showError("Processing completed but returned no packing plan.\n" +
-                                 "Please verify that your CSV file contains valid artwork data with positive dimensions.");
-                        resetControls();
-                    });
-                } else {
-                    currentViewModel = vm;
-                    SwingUtilities.invokeLater(() -> {
-                        displayResults(vm);
-                        updateStatus("Complete - Estimates are ready", new Color(0, 150, 0));
-                        reportTabs.setEnabled(true);
-                        resetControls();
-                    });
+                ShipmentViewModel vm = run.result().get();
+                return vm != null ? prepareResults(vm) : null;
+            } finally {
+                run.progress().unwatch(watcher);
+            }
+        }
+
+        @Override
+        protected void process(List<PlanProgress.Event> events) {
+            for (PlanProgress.Event event : events) {
+                switch (event.kind()) {
+                    case STAGE_STARTED:
+                        currentStage = event.stage();
+                        currentStageStartNanos = System.nanoTime();
+                        break;
+                    case STAGE_FINISHED:
+                        finishedStages.put(event.stage(), event.elapsed());
+                        if (event.stage() == currentStage) {
+                            currentStage = null;
+                        }
+                        break;
+                    default:
+                        bestObjective = event.objective();
+                        break;
                 }
-            } catch (Exception ex) {
-                SwingUtilities.invokeLater(() -> {
-                    showError("Processing failed: " + ex.getMessage() + 
-                             "\n\nCommon issues:\n" +
-                             "• Missing or incorrect columns in CSV\n" +
-                             "• Invalid quantity, width, or height values\n" +
-                             "• Empty fields in required columns\n\n" +
-                             "Please check your CSV format and try again.");
+            }
+            showProgress();
+        }
+
+        @Override
+        protected void done() {
+            ticker.stop();
+            if (isCancelled()) {
+                // A newer worker owns the screen
+                return;
+            }
+            currentStage = null;
+            showProgress();
+            progressBar.setVisible(false);
+            try {
+                showResults(filePath, packingMode, get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    // A newer file replaced this run
                     resetControls();
-                });
+                    return;
+                }
+                if (cause instanceof ExecutionException) {
+                    cause = SpeculativePlanner.causeOf((ExecutionException) cause);
+                }
+                showFailure(cause);
             }
-        });
-        processingThread.setName("CSV-Processing-Thread");
-        processingThread.start();
+        }
+
+        private void showProgress() {
+            progressBar.setValue(finishedStages.size());
+            StringBuilder timings = new StringBuilder();
+            for (Map.Entry<PlanningStage, Duration> entry : finishedStages.entrySet()) {
+                timings.append(stageName(entry.getKey())).append(": ")
+                    .append(formatDuration(entry.getValue())).append("   ");
+            }
+            if (currentStage != null) {
+                progressBar.setString(stageName(currentStage) + "...");
+                timings.append(stageName(currentStage)).append(": ")
+                    .append(formatDuration(Duration.ofNanos(System.nanoTime() - currentStageStartNanos)))
+                    .append("...   ");
+            }
+            if (!Double.isNaN(bestObjective)) {
+                timings.append(String.format("Best objective: %.0f", bestObjective));
+            }
+            timingLabel.setText(timings.toString().trim());
+        }
+    }
+
+    private static String stageName(PlanningStage stage) {
+        return stage.name().charAt(0) + stage.name().substring(1).toLowerCase();
+    }
+
+    private static String formatDuration(Duration duration) {
+        long millis = duration.toMillis();
+        return millis < 1000 ? millis + " ms" : String.format("%.1f s", millis / 1000.0);
     }
 
     private String getPackingMode() {
@@ -535,6 +755,16 @@ public class GuiApp {
         }
     }
 
+    private JTable createResultsTable(Color background) {
+        JTable table = new JTable(new ArtTableModel(List.of()));
+        table.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        table.setBackground(background);
+        table.setForeground(Color.BLACK);
+        table.setFillsViewportHeight(true);
+        table.setShowGrid(false);
+        return table;
+    }
+
     private JPanel createVisualSummaryPanel() {
         JPanel panel = new JPanel(new GridLayout(1, 4, 15, 0));
         panel.setBackground(new Color(245, 245, 245));
@@ -630,7 +860,20 @@ public class GuiApp {
         valueLabel.setText(newValue);
     }
 
-    private void displayResults(ShipmentViewModel vm) {
+    /**
+     * The text reports and table models of a plan, prepared off the event thread.
+     */
+    private record PreparedResults(ShipmentViewModel viewModel, String summary, String detailedReport,
+                                   ShipmentTableModel containers, ArtTableModel unpacked) {
+    }
+
+    private PreparedResults prepareResults(ShipmentViewModel vm) {
+        return new PreparedResults(vm, generateSummaryReport(vm), generateDetailedReport(vm),
+            new ShipmentTableModel(vm.containerRuns()), new ArtTableModel(vm.unpackedArts()));
+    }
+
+    private void displayResults(PreparedResults prepared) {
+        ShipmentViewModel vm = prepared.viewModel();
         // Update Summary Visual Panel
         JScrollPane summaryScroll = (JScrollPane) reportTabs.getComponentAt(0);
         JPanel summaryContentPanel = (JPanel) summaryScroll.getViewport().getView();
@@ -640,96 +883,77 @@ public class GuiApp {
         updateMetricCard(summaryVisual, 2, String.valueOf(vm.totalContainers()));
         updateMetricCard(summaryVisual, 3, String.valueOf(vm.totalBoxes()));
         
-        // Summary Report - matches CLI "Shipment Plan Summary"
-        StringBuilder summary = new StringBuilder();
-        summary.append("========================================\n");
-        summary.append("    SHIPMENT PLAN SUMMARY               \n");
-        summary.append("========================================\n\n");
-        summary.append(String.format("Total Estimated Cost: $%.2f\n", vm.totalCost()));
-        summary.append(String.format("Total Weight: %.2f lbs\n", vm.totalWeight()));
-        summary.append(String.format("Total Containers: %d\n", vm.totalContainers()));
-        summary.append(String.format("Total Boxes: %d\n", vm.totalBoxes()));
-        summary.append("----------------------------------------\n\n");
-        
-        // Add quick work order counts to summary
-        java.util.List<ArtViewModel> allArts = new java.util.ArrayList<>();
-        for (ContainerViewModel container : vm.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                allArts.addAll(box.arts());
-            }
-        }
-        int customPieceCount = vm.unpackedArts() != null ? vm.unpackedArts().size() : 0;
-        summary.append(String.format("Total Artwork Pieces: %d\n", allArts.size() + customPieceCount));
-        summary.append(String.format("Packed Items: %d\n", allArts.size()));
-        summary.append(String.format("Unpacked Items: %d\n", customPieceCount));
-        summary.append("========================================\n");
-        
-        outputArea.setText(summary.toString());
+        ShipmentStatistics statistics = vm.statistics();
+        int packedPieces = statistics.getPackedPieces();
+        int customPieceCount = statistics.getCustomPieceCount();
+        outputArea.setText(prepared.summary());
 
         // Update Detailed Visual Panel
         JScrollPane detailedScroll = (JScrollPane) reportTabs.getComponentAt(1);
         JPanel detailedContentPanel = (JPanel) detailedScroll.getViewport().getView();
         JPanel detailedVisual = (JPanel) detailedContentPanel.getComponent(0);
-        int totalPieces = allArts.size() + customPieceCount;
-        double successRate = totalPieces > 0 ? (allArts.size() / (double) totalPieces) * 100 : 100;
+        int totalPieces = statistics.getTotalPieces();
+        double successRate = totalPieces > 0 ? (packedPieces / (double) totalPieces) * 100 : 100;
         updateMetricCard(detailedVisual, 0, String.valueOf(totalPieces));
-        updateMetricCard(detailedVisual, 1, String.valueOf(allArts.size()));
+        updateMetricCard(detailedVisual, 1, String.valueOf(packedPieces));
         updateMetricCard(detailedVisual, 2, String.valueOf(customPieceCount));
         updateMetricCard(detailedVisual, 3, String.format("%.1f%%", successRate));
         
         // Detailed Report
         JTextArea detailedArea = (JTextArea) detailedContentPanel.getComponent(1);
-        detailedArea.setText(generateDetailedReport(vm));
+        detailedArea.setText(prepared.detailedReport());
 
         // Update Containers Visual Panel
-        JScrollPane containersScroll = (JScrollPane) reportTabs.getComponentAt(2);
-        JPanel containersContentPanel = (JPanel) containersScroll.getViewport().getView();
+        JPanel containersContentPanel = (JPanel) reportTabs.getComponentAt(2);
         JPanel containersVisual = (JPanel) containersContentPanel.getComponent(0);
-        int standardPallets = 0, oversizedPallets = 0, crates = 0;
-        for (ContainerViewModel container : vm.containers()) {
-            String type = container.type();
-            if ("STANDARD_PALLET".equals(type) || "GLASS_PALLET".equals(type)) {
-                standardPallets++;
-            } else if ("OVERSIZE_PALLET".equals(type)) {
-                oversizedPallets++;
-            } else if ("STANDARD_CRATE".equals(type)) {
-                crates++;
-            }
-        }
         updateMetricCard(containersVisual, 0, String.valueOf(vm.totalContainers()));
-        updateMetricCard(containersVisual, 1, String.valueOf(standardPallets));
-        updateMetricCard(containersVisual, 2, String.valueOf(oversizedPallets));
-        updateMetricCard(containersVisual, 3, String.valueOf(crates));
+        updateMetricCard(containersVisual, 1, String.valueOf(statistics.getStandardPalletCount()));
+        updateMetricCard(containersVisual, 2, String.valueOf(statistics.getOversizedPalletCount()));
+        updateMetricCard(containersVisual, 3, String.valueOf(statistics.getCrateCount()));
         
-        // Containers Breakdown
-        JTextArea containersArea = (JTextArea) containersContentPanel.getComponent(1);
-        containersArea.setText(generateContainersReport(vm));
+        // Containers Breakdown; the expanded model only indexes the runs, so it is cheap to build here
+        containersTable.setModel(expandIdsBox.isSelected()
+            ? new ShipmentTableModel(vm.containerRuns(), true) : prepared.containers());
 
         // Update Unpacked Visual Panel
-        JScrollPane unpackedScroll = (JScrollPane) reportTabs.getComponentAt(3);
-        JPanel unpackedContentPanel = (JPanel) unpackedScroll.getViewport().getView();
+        JPanel unpackedContentPanel = (JPanel) reportTabs.getComponentAt(3);
         JPanel unpackedVisual = (JPanel) unpackedContentPanel.getComponent(0);
-        int unpackedCount = vm.unpackedArts() != null ? vm.unpackedArts().size() : 0;
-        double packingSuccess = totalPieces > 0 ? (allArts.size() / (double) totalPieces) * 100 : 100;
-        double unpackedWeight = 0;
-        if (vm.unpackedArts() != null) {
-            for (ArtViewModel art : vm.unpackedArts()) {
-                unpackedWeight += art.weight();
-            }
-        }
-        updateMetricCard(unpackedVisual, 0, String.valueOf(unpackedCount));
-        updateMetricCard(unpackedVisual, 1, String.format("%.1f%%", packingSuccess));
-        updateMetricCard(unpackedVisual, 2, String.format("%.2f kg", unpackedWeight));
-        updateMetricCard(unpackedVisual, 3, unpackedCount == 0 ? "OK" : "WARNING");
+        updateMetricCard(unpackedVisual, 0, String.valueOf(customPieceCount));
+        updateMetricCard(unpackedVisual, 1, String.format("%.1f%%", successRate));
+        updateMetricCard(unpackedVisual, 2, String.format("%.2f kg", statistics.getUnpackedArtworkWeight()));
+        updateMetricCard(unpackedVisual, 3, customPieceCount == 0 ? "OK" : "WARNING");
         
         // Unpacked Items
-        JTextArea unpackedArea = (JTextArea) unpackedContentPanel.getComponent(1);
-        unpackedArea.setText(generateUnpackedReport(vm));
+        unpackedTable.setModel(prepared.unpacked());
 
         // Enable export button
         exportBtn.setEnabled(true);
     }
 
+    /**
+     * Summary Report - matches CLI "Shipment Plan Summary".
+     */
+    private String generateSummaryReport(ShipmentViewModel vm) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("========================================\n");
+        summary.append("    SHIPMENT PLAN SUMMARY               \n");
+        summary.append("========================================\n\n");
+        summary.append(String.format("Total Estimated Cost: $%.2f\n", vm.totalCost()));
+        summary.append(String.format("Total Weight: %.2f lbs\n", vm.totalWeight()));
+        summary.append(String.format("Total Containers: %d\n", vm.totalContainers()));
+        summary.append(String.format("Total Boxes: %d\n", vm.totalBoxes()));
+        summary.append("----------------------------------------\n\n");
+        
+        // Add quick work order counts to summary
+        ShipmentStatistics statistics = vm.statistics();
+        summary.append(String.format("Total Artwork Pieces: %d\n", statistics.getTotalPieces()));
+        summary.append(String.format("Packed Items: %d\n", statistics.getPackedPieces()));
+        summary.append(String.format("Unpacked Items: %d\n", statistics.getCustomPieceCount()));
+        summary.append("========================================\n");
+        
+        return summary.toString();
+    }
+
     private String generateDetailedReport(ShipmentViewModel vm) {
         StringBuilder report = new StringBuilder();
         report.append("========================================\n");
@@ -748,72 +972,11 @@ public class GuiApp {
         report.append("    WORK ORDER SUMMARY\n");
         report.append("=========================================\n\n");
         
-        // Count piece types
-        java.util.List<ArtViewModel> allArts = new java.util.ArrayList<>();
-        java.util.Map<String, OversizeInfo> oversizeMap = new java.util.LinkedHashMap<>();
-        int standardPieces = 0;
-        double totalArtworkWeight = 0.0;
-        
-        for (ContainerViewModel container : vm.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                for (ArtViewModel art : box.arts()) {
-                    allArts.add(art);
-                    totalArtworkWeight += art.weight();
-                    boolean isOversized = art.width() > 44 || art.height() > 44;
-                    if (!isOversized) {
-                        standardPieces++;
-                    } else {
-                        String dims = String.format("%.0f\" x %.0f\"", art.height(), art.width());
-                        OversizeInfo info = oversizeMap.get(dims);
-                        if (info == null) {
-                            info = new OversizeInfo();
-                            oversizeMap.put(dims, info);
-                        }
-                        info.qty++;
-                        info.totalWeight += art.weight();
-                    }
-                }
-            }
-        }
-        
-        // Count box types
-        int standardBoxCount = 0;
-        int largeBoxCount = 0;
-        for (ContainerViewModel container : vm.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                if ("STANDARD".equals(box.type())) {
-                    standardBoxCount++;
-                } else if ("LARGE".equals(box.type())) {
-                    largeBoxCount++;
-                }
-            }
-        }
-        
-        // Count container types
-        int standardPalletCount = 0;
-        int oversizedPalletCount = 0;
-        int crateContainerCount = 0;
-        for (ContainerViewModel container : vm.containers()) {
-            String type = container.type();
-            if ("STANDARD_PALLET".equals(type) || "GLASS_PALLET".equals(type)) {
-                standardPalletCount++;
-            } else if ("OVERSIZE_PALLET".equals(type)) {
-                oversizedPalletCount++;
-            } else if ("STANDARD_CRATE".equals(type)) {
-                crateContainerCount++;
-            }
-        }
-        
-        int customPieceCount = vm.unpackedArts() != null ? vm.unpackedArts().size() : 0;
-        for (ArtViewModel art : vm.unpackedArts()) {
-            totalArtworkWeight += art.weight();
-        }
-        
-        double finalShipmentWeight = vm.totalWeight();
-        double totalPackagingWeight = finalShipmentWeight - totalArtworkWeight;
-        
+        ShipmentStatistics statistics = vm.statistics();
+        int standardPieces = statistics.getStandardSizePieces();
+
         // Display piece counts in the requested format
-        report.append("Total Pieces: ").append(allArts.size() + customPieceCount).append("\n");
+        report.append("Total Pieces: ").append(statistics.getTotalPieces()).append("\n");
         report.append("Standard Size Pieces: ").append(standardPieces);
         
         // Calculate average standard size for context
@@ -822,59 +985,38 @@ public class GuiApp {
         }
         report.append("\n");
         
-        int totalOversized = oversizeMap.values().stream().mapToInt(info -> info.qty).sum();
-        report.append("Oversized Pieces: ").append(totalOversized).append("\n");
+        report.append("Oversized Pieces: ").append(statistics.getOversizedPieces()).append("\n");
         
         // Display oversized details with indentation
-        for (java.util.Map.Entry<String, OversizeInfo> entry : oversizeMap.entrySet()) {
-            OversizeInfo info = entry.getValue();
-            report.append(String.format("   * %s (Qty: %d) = %.0f lbs\n", 
-                entry.getKey(), info.qty, info.totalWeight));
+        for (ShipmentStatistics.OversizeGroup group : statistics.getOversizeGroups()) {
+            report.append(String.format("   * %.0f\" x %.0f\" (Qty: %d) = %.0f lbs\n", 
+                group.side1(), group.side2(), group.quantity(), group.weight()));
         }
         report.append("\n");
         
         // Display weights with proper formatting
-        report.append(String.format("Total Artwork Weight: %.0f lbs\n", totalArtworkWeight));
-        report.append(String.format("Total Packaging Weight: %.0f lbs\n", totalPackagingWeight));
-        report.append(String.format("Final Shipment Weight: %.0f lbs\n", finalShipmentWeight));
+        report.append(String.format("Total Artwork Weight: %.0f lbs\n", statistics.getTotalArtworkWeight()));
+        report.append(String.format("Total Packaging Weight: %.0f lbs\n", statistics.getTotalPackagingWeight()));
+        report.append(String.format("Final Shipment Weight: %.0f lbs\n", statistics.getFinalShipmentWeight()));
         report.append("\n");
         
         // Additional breakdown details
         report.append("----------------------------------------\n");
         report.append("PACKAGING BREAKDOWN:\n");
-        report.append(String.format("  Standard Boxes: %d\n", standardBoxCount));
-        report.append(String.format("  Large Boxes: %d\n", largeBoxCount));
-        report.append(String.format("  Unpacked Items: %d\n", customPieceCount));
+        report.append(String.format("  Standard Boxes: %d\n", statistics.getStandardBoxCount()));
+        report.append(String.format("  Large Boxes: %d\n", statistics.getLargeBoxCount()));
+        report.append(String.format("  Unpacked Items: %d\n", statistics.getCustomPieceCount()));
         report.append("\n");
         
         report.append("CONTAINER BREAKDOWN:\n");
-        report.append(String.format("  Standard Pallets: %d\n", standardPalletCount));
-        report.append(String.format("  Oversized Pallets: %d\n", oversizedPalletCount));
-        report.append(String.format("  Crates: %d\n", crateContainerCount));
+        report.append(String.format("  Standard Pallets: %d\n", statistics.getStandardPalletCount()));
+        report.append(String.format("  Oversized Pallets: %d\n", statistics.getOversizedPalletCount()));
+        report.append(String.format("  Crates: %d\n", statistics.getCrateCount()));
         report.append("----------------------------------------\n\n");
 
+        // Every container, box and art is listed in the Containers Breakdown table
         if (vm.containers() != null && !vm.containers().isEmpty()) {
-            report.append("\nContainer Details:\n");
-            report.append("------------------\n");
-            for (int i = 0; i < vm.containers().size(); i++) {
-                ContainerViewModel container = vm.containers().get(i);
-                report.append(String.format("\nContainer #%d [%s]:\n", i + 1, container.id()));
-                report.append(String.format("  Type: %s\n", container.type()));
-                report.append(String.format("  Dimensions: %d x %d x %d\n", 
-                    container.length(), container.width(), container.currentHeight()));
-                report.append(String.format("  Weight: %.2f lbs\n", container.weight()));
-                report.append(String.format("  Number of Boxes: %d\n", 
-                    container.boxes() != null ? container.boxes().size() : 0));
-                
-                if (container.boxes() != null) {
-                    for (BoxViewModel box : container.boxes()) {
-                        report.append(String.format("    Box [%s] - Type: %s, Arts: %d, Weight: %.2f lbs\n",
-                            box.id(), box.type(), 
-                            box.arts() != null ? box.arts().size() : 0,
-                            box.weight()));
-                    }
-                }
-            }
+            report.append("\nSee the Containers Breakdown tab for every container, box and art.\n");
         }
 
         if (vm.unpackedArts() != null && !vm.unpackedArts().isEmpty()) {
@@ -885,99 +1027,6 @@ public class GuiApp {
         return report.toString();
     }
     
-    // Helper class for tracking oversize group info
-    private static class OversizeInfo {
-        int qty = 0;
-        double totalWeight = 0.0;
-    }
-
-    private String generateContainersReport(ShipmentViewModel vm) {
-        StringBuilder report = new StringBuilder();
-        report.append("========================================\n");
-        report.append("       CONTAINERS BREAKDOWN             \n");
-        report.append("========================================\n\n");
-
-        if (vm.containers() == null || vm.containers().isEmpty()) {
-            report.append("No containers were used in this packing plan.\n");
-            return report.toString();
-        }
-
-        for (int i = 0; i < vm.containers().size(); i++) {
-            ContainerViewModel container = vm.containers().get(i);
-            report.append(String.format("=========================================\n"));
-            report.append(String.format("CONTAINER #%d\n", i + 1));
-            report.append(String.format("=========================================\n"));
-            report.append(String.format("ID: %s\n", container.id()));
-            report.append(String.format("Type: %s\n", container.type()));
-            report.append(String.format("Dimensions (L×W×H): %d × %d × %d cm\n", 
-                container.length(), container.width(), container.currentHeight()));
-            report.append(String.format("Total Weight: %.2f kg\n", container.weight()));
-            report.append(String.format("Number of Boxes: %d\n\n", 
-                container.boxes() != null ? container.boxes().size() : 0));
-
-            if (container.boxes() != null && !container.boxes().isEmpty()) {
-                report.append("Boxes in this container:\n");
-                report.append("-------------------------------------------\n");
-                
-                for (int j = 0; j < container.boxes().size(); j++) {
-                    BoxViewModel box = container.boxes().get(j);
-                    report.append(String.format("\n  Box #%d [%s]\n", j + 1, box.id()));
-                    report.append(String.format("    Type: %s\n", box.type()));
-                    report.append(String.format("    Dimensions: %d × %d × %d cm\n", 
-                        box.length(), box.width(), box.currentHeight()));
-                    report.append(String.format("    Weight: %.2f kg\n", box.weight()));
-                    report.append(String.format("    Art Items: %d\n", 
-                        box.arts() != null ? box.arts().size() : 0));
-                    
-                    if (box.arts() != null && !box.arts().isEmpty()) {
-                        report.append("    Art pieces:\n");
-                        for (ArtViewModel art : box.arts()) {
-                            report.append(String.format("      * %s (%.1f × %.1f cm, %.2f kg, %s)\n",
-                                art.id(), art.width(), art.height(), art.weight(), art.material()));
-                        }
-                    }
-                }
-            }
-            report.append("\n");
-        }
-
-        return report.toString();
-    }
-
-    private String generateUnpackedReport(ShipmentViewModel vm) {
-        StringBuilder report = new StringBuilder();
-        report.append("========================================\n");
-        report.append("         UNPACKED ITEMS REPORT          \n");
-        report.append("========================================\n\n");
-
-        if (vm.unpackedArts() == null || vm.unpackedArts().isEmpty()) {
-            report.append("[OK] All items were successfully packed!\n");
-            report.append("\nNo unpacked items to report.\n");
-            return report.toString();
-        }
-
-        report.append(String.format("[WARN] WARNING: %d items could not be packed\n\n", vm.unpackedArts().size()));
-        report.append("The following art pieces could not fit into any available\n");
-        report.append("container configuration:\n\n");
-        report.append("-------------------------------------------\n");
-
-        for (int i = 0; i < vm.unpackedArts().size(); i++) {
-            ArtViewModel art = vm.unpackedArts().get(i);
-            report.append(String.format("\n%d. Art ID: %s\n", i + 1, art.id()));
-            report.append(String.format("   Dimensions: %.1f × %.1f cm\n", art.width(), art.height()));
-            report.append(String.format("   Weight: %.2f kg\n", art.weight()));
-            report.append(String.format("   Material: %s\n", art.material()));
-        }
-
-        report.append("\n-------------------------------------------\n");
-        report.append("\nRecommendations:\n");
-        report.append("* Consider using larger containers\n");
-        report.append("* Try different packing modes\n");
-        report.append("* These items may require custom shipping\n");
-
-        return report.toString();
-    }
-
     private void handleJsonExport() {
         if (currentViewModel == null) {
             showError("No results available to export. Please process a CSV file first.");
@@ -1019,21 +1068,8 @@ public class GuiApp {
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = chooser.getSelectedFile();
             lastSelectedDirectory = file.getParent();
-            
-            try {
-                JsonOutputWriter jsonWriter = new JsonOutputWriter();
-                jsonWriter.write(currentViewModel, file.getAbsolutePath());
-                
-                JOptionPane.showMessageDialog(frame,
-                    "Results successfully exported to:\n" + file.getAbsolutePath(),
-                    "Export Successful",
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-                updateStatus("Export completed successfully", new Color(0, 150, 0));
-            } catch (Exception ex) {
-                showError("Failed to export JSON: " + ex.getMessage());
-                updateStatus("Export failed", Color.RED);
-            }
+            ShipmentViewModel viewModel = currentViewModel;
+            runExport("JSON", file, () -> new JsonOutputWriter().write(viewModel, file.getAbsolutePath()));
         }
     }
 
@@ -1048,139 +1084,48 @@ public class GuiApp {
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = chooser.getSelectedFile();
             lastSelectedDirectory = file.getParent();
-            
-            try {
-                generatePdfReport(file.getAbsolutePath());
-                
-                JOptionPane.showMessageDialog(frame,
-                    "Results successfully exported to:\n" + file.getAbsolutePath(),
-                    "Export Successful",
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-                updateStatus("PDF export completed successfully", new Color(0, 150, 0));
-            } catch (Exception ex) {
-                showError("Failed to export PDF: " + ex.getMessage());
-                updateStatus("PDF export failed", Color.RED);
-            }
+            ShipmentViewModel viewModel = currentViewModel;
+            runExport("PDF", file, () -> new PdfReportWriter().write(viewModel, file.getAbsolutePath()));
         }
     }
 
-    private void generatePdfReport(String filePath) throws Exception {
-        com.itextpdf.kernel.pdf.PdfWriter writer = new com.itextpdf.kernel.pdf.PdfWriter(filePath);
-        com.itextpdf.kernel.pdf.PdfDocument pdfDoc = new com.itextpdf.kernel.pdf.PdfDocument(writer);
-        com.itextpdf.layout.Document document = new com.itextpdf.layout.Document(pdfDoc);
-        
-        // Set font
-        com.itextpdf.kernel.font.PdfFont font = 
-            com.itextpdf.kernel.font.PdfFontFactory.createFont(com.itextpdf.io.font.constants.StandardFonts.HELVETICA);
-        com.itextpdf.kernel.font.PdfFont boldFont = 
-            com.itextpdf.kernel.font.PdfFontFactory.createFont(com.itextpdf.io.font.constants.StandardFonts.HELVETICA_BOLD);
-        
-        // Title
-        com.itextpdf.layout.element.Paragraph title = new com.itextpdf.layout.element.Paragraph(
-            "ART PACKER - SHIPPING ESTIMATE REPORT")
-            .setFont(boldFont).setFontSize(18);
-        document.add(title);
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        
-        // Summary Section
-        addSectionHeader(document, boldFont, "SHIPMENT PLAN SUMMARY");
-        java.util.List<ArtViewModel> allArts = new java.util.ArrayList<>();
-        for (ContainerViewModel container : currentViewModel.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                allArts.addAll(box.arts());
-            }
-        }
-        int unpackedCount = currentViewModel.unpackedArts() != null ? currentViewModel.unpackedArts().size() : 0;
-        
-        document.add(createLabelValue("Total Estimated Cost", "$" + String.format("%.2f", currentViewModel.totalCost())));
-        document.add(createLabelValue("Total Weight", String.format("%.2f lbs", currentViewModel.totalWeight())));
-        document.add(createLabelValue("Total Containers", String.valueOf(currentViewModel.totalContainers())));
-        document.add(createLabelValue("Total Boxes", String.valueOf(currentViewModel.totalBoxes())));
-        document.add(createLabelValue("Total Artwork Pieces", String.valueOf(allArts.size() + unpackedCount)));
-        document.add(createLabelValue("Packed Items", String.valueOf(allArts.size())));
-        document.add(createLabelValue("Unpacked Items", String.valueOf(unpackedCount)));
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        
-        // Container Analysis
-        addSectionHeader(document, boldFont, "CONTAINER ANALYSIS");
-        document.add(createLabelValue("Total Containers", String.valueOf(currentViewModel.totalContainers())));
-        
-        java.util.Map<String, Integer> containerTypes = new java.util.LinkedHashMap<>();
-        for (ContainerViewModel container : currentViewModel.containers()) {
-            String type = container.type();
-            containerTypes.put(type, containerTypes.getOrDefault(type, 0) + 1);
-        }
-        for (java.util.Map.Entry<String, Integer> entry : containerTypes.entrySet()) {
-            double percentage = currentViewModel.totalContainers() > 0 ? 
-                (entry.getValue() / (double) currentViewModel.totalContainers()) * 100 : 0;
-            document.add(createLabelValue("  " + entry.getKey(), 
-                entry.getValue() + " (" + String.format("%.1f%%", percentage) + ")"));
-        }
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        
-        // Efficiency Metrics
-        addSectionHeader(document, boldFont, "EFFICIENCY METRICS");
-        
-        double totalVolume = 0;
-        double usedVolume = 0;
-        for (ContainerViewModel container : currentViewModel.containers()) {
-            int containerVol = container.length() * container.width() * container.currentHeight();
-            totalVolume += containerVol;
-            if (container.boxes() != null) {
-                for (BoxViewModel box : container.boxes()) {
-                    int boxVol = box.length() * box.width() * box.currentHeight();
-                    usedVolume += boxVol;
-                }
-            }
-        }
-        double utilization = totalVolume > 0 ? (usedVolume / totalVolume) * 100 : 0;
-        double successRate = (allArts.size() + unpackedCount) > 0 ? 
-            (allArts.size() / (double)(allArts.size() + unpackedCount)) * 100 : 0;
-        
-        document.add(createLabelValue("Container Utilization", String.format("%.1f%%", utilization)));
-        document.add(createLabelValue("Packing Success Rate", String.format("%.1f%%", successRate)));
-        document.add(createLabelValue("Cost per Item", "$" + String.format("%.2f", 
-            (allArts.size() + unpackedCount) > 0 ? currentViewModel.totalCost() / (allArts.size() + unpackedCount) : 0)));
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        
-        // Cost Breakdown
-        addSectionHeader(document, boldFont, "COST & WEIGHT BREAKDOWN");
-        document.add(createLabelValue("Total Cost", "$" + String.format("%.2f", currentViewModel.totalCost())));
-        document.add(createLabelValue("Total Weight", String.format("%.2f kg", currentViewModel.totalWeight())));
-        
-        double totalArtworkWeight = allArts.stream().mapToDouble(ArtViewModel::weight).sum();
-        if (currentViewModel.unpackedArts() != null) {
-            totalArtworkWeight += currentViewModel.unpackedArts().stream().mapToDouble(ArtViewModel::weight).sum();
-        }
-        double packagingWeight = currentViewModel.totalWeight() - totalArtworkWeight;
-        double packagingPercentage = currentViewModel.totalWeight() > 0 ? 
-            (packagingWeight / currentViewModel.totalWeight()) * 100 : 0;
-        
-        document.add(createLabelValue("Artwork Weight", String.format("%.2f kg (%.1f%%)", totalArtworkWeight, 100 - packagingPercentage)));
-        document.add(createLabelValue("Packaging Weight", String.format("%.2f kg (%.1f%%)", packagingWeight, packagingPercentage)));
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        
-        // Footer
-        document.add(new com.itextpdf.layout.element.Paragraph(""));
-        document.add(new com.itextpdf.layout.element.Paragraph(
-            "Report Generated: " + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()))
-            .setFontSize(10));
-        
-        document.close();
+    /**
+     * A write of an export file.
+     */
+    private interface ExportTask {
+        void write() throws Exception;
     }
 
-    private void addSectionHeader(com.itextpdf.layout.Document document, 
-                                   com.itextpdf.kernel.font.PdfFont boldFont, String header) {
-        com.itextpdf.layout.element.Paragraph section = new com.itextpdf.layout.element.Paragraph(header)
-            .setFont(boldFont).setFontSize(12);
-        document.add(section);
-        document.add(new com.itextpdf.layout.element.LineSeparator(
-            new com.itextpdf.kernel.pdf.canvas.draw.SolidLine()).setMarginBottom(5));
-    }
+    /**
+     * Writes an export on the planner's threads, so a large plan does not freeze the
+     * window, and reports the outcome on the EDT when it is done.
+     */
+    private void runExport(String format, File file, ExportTask task) {
+        updateStatus("Exporting " + format + "...", new Color(200, 100, 0));
+        planner.execute(new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                task.write();
+                return null;
+            }
 
-    private com.itextpdf.layout.element.Paragraph createLabelValue(String label, String value) {
-        return new com.itextpdf.layout.element.Paragraph(label + ": " + value).setMarginBottom(3);
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(frame,
+                        "Results successfully exported to:\n" + file.getAbsolutePath(),
+                        "Export Successful",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    updateStatus(format + " export completed successfully", new Color(0, 150, 0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showError("Failed to export " + format + ": " + e.getCause().getMessage());
+                    updateStatus(format + " export failed", Color.RED);
+                }
+            }
+        });
     }
 
     private void showError(String message) {
@@ -0,0 +1,102 @@
+package archdesign.gui;
+
+import archdesign.interactor.PlanningListener;
+import archdesign.interactor.PlanningStage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The progress of one speculative run. Runs start before anyone watches them, so every
+ * event is kept; a watcher that subscribes later first receives the events so far, then
+ * each new one as it happens. A run has at most one watcher, the GUI showing it.
+ */
+final class PlanProgress implements PlanningListener {
+
+    /**
+     * One progress event.
+     *
+     * @param kind What happened.
+     * @param stage The stage that started or finished; null for objectives.
+     * @param elapsed Time spent in a finished stage; null otherwise.
+     * @param objective The new best objective; 0 for stage events.
+     */
+    record Event(Kind kind, PlanningStage stage, Duration elapsed, double objective) {
+
+        enum Kind { STAGE_STARTED, STAGE_FINISHED, BEST_OBJECTIVE }
+    }
+
+    private final List<Event> events = new ArrayList<>();
+    private Consumer<Event> watcher;
+    private Runnable stopSearch;
+    private boolean stopped;
+
+    @Override
+    public void stageStarted(PlanningStage stage) {
+        record(new Event(Event.Kind.STAGE_STARTED, stage, null, 0));
+    }
+
+    @Override
+    public void stageFinished(PlanningStage stage, Duration elapsed) {
+        record(new Event(Event.Kind.STAGE_FINISHED, stage, elapsed, 0));
+    }
+
+    @Override
+    public void bestObjective(double objective) {
+        record(new Event(Event.Kind.BEST_OBJECTIVE, null, null, objective));
+    }
+
+    @Override
+    public void searchStarted(Runnable stopSearch) {
+        boolean stopNow;
+        synchronized (this) {
+            this.stopSearch = stopSearch;
+            stopNow = stopped;
+        }
+        if (stopNow) {
+            stopSearch.run();
+        }
+    }
+
+    /**
+     * Ends the run's solver search, now if one is running or as soon as one starts.
+     */
+    void stop() {
+        Runnable search;
+        synchronized (this) {
+            stopped = true;
+            search = stopSearch;
+        }
+        if (search != null) {
+            search.run();
+        }
+    }
+
+    /**
+     * Sends the events so far to a watcher, then every new one, replacing any earlier watcher.
+     * @param watcher Receives the events, on the threads that report them.
+     */
+    synchronized void watch(Consumer<Event> watcher) {
+        events.forEach(watcher);
+        this.watcher = watcher;
+    }
+
+    /**
+     * Stops sending events to a watcher, if it is still the current one.
+     * @param watcher A watcher passed to {@link #watch(Consumer)}.
+     */
+    synchronized void unwatch(Consumer<Event> watcher) {
+        if (this.watcher == watcher) {
+            this.watcher = null;
+        }
+    }
+
+    private synchronized void record(Event event) {
+        events.add(event);
+        if (watcher != null) {
+            watcher.accept(event);
+        }
+    }
+}
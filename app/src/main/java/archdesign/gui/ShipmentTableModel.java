@@ -0,0 +1,176 @@
+package archdesign.gui;
+
+import archdesign.response.ArtViewModel;
+import archdesign.response.BoxViewModel;
+import archdesign.response.ContainerRunViewModel;
+import archdesign.response.ContainerViewModel;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shows the containers of a plan as one table: a row per run of identical containers,
+ * followed by a row per box of the run's pattern, each followed by a row per art in the
+ * box. A run of one container shows its box and art IDs; a longer run shows its count and
+ * the IDs of its first and last container, and numbers its boxes and arts instead. With
+ * IDs expanded, every container of a run gets its own rows with its own IDs.
+ * <p>
+ * Rows are not built up front. The model keeps where every run and box starts, which is
+ * one entry per distinct pattern and its boxes, and formats a cell only when the table
+ * asks for it; a {@link javax.swing.JTable} asks only for the rows that are on screen.
+ * The containers of a run have the same boxes and arts, so expanded runs repeat their
+ * pattern's rows and need no more index. The index is built in the constructor, so the
+ * model can be created off the event thread.
+ */
+final class ShipmentTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"Item", "Type / Material", "Dimensions", "Weight", "Contents"};
+
+    private final List<ContainerRunViewModel> runs;
+    private final boolean expandIds;
+    /** First row of each run. */
+    private final int[] containerRows;
+    /** Rows taken by one container of each run, with its boxes and arts. */
+    private final int[] containerSizes;
+    /** Number of the first container of each run, counting from 1. */
+    private final int[] firstNumbers;
+    /** First row of each box, relative to its run's row. */
+    private final int[][] boxRows;
+    private final int rowCount;
+
+    ShipmentTableModel(List<ContainerRunViewModel> runs) {
+        this(runs, false);
+    }
+
+    /**
+     * @param runs The runs of the plan, in order.
+     * @param expandIds Whether to list every container of a run with its own box and art
+     *                  IDs, instead of the run's pattern once.
+     */
+    ShipmentTableModel(List<ContainerRunViewModel> runs, boolean expandIds) {
+        this.runs = runs;
+        this.expandIds = expandIds;
+        this.containerRows = new int[runs.size()];
+        this.containerSizes = new int[runs.size()];
+        this.firstNumbers = new int[runs.size()];
+        this.boxRows = new int[runs.size()][];
+        int row = 0;
+        int number = 1;
+        for (int c = 0; c < runs.size(); c++) {
+            containerRows[c] = row;
+            firstNumbers[c] = number;
+            number += runs.get(c).count();
+            List<BoxViewModel> boxes = runs.get(c).pattern().boxes();
+            int[] starts = new int[boxes.size()];
+            int offset = 1;
+            for (int b = 0; b < boxes.size(); b++) {
+                starts[b] = offset;
+                offset += 1 + boxes.get(b).arts().size();
+            }
+            boxRows[c] = starts;
+            containerSizes[c] = offset;
+            row += expandIds ? offset * runs.get(c).count() : offset;
+        }
+        this.rowCount = row;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int c = indexOf(containerRows, rowIndex);
+        ContainerRunViewModel run = runs.get(c);
+        int k = (rowIndex - containerRows[c]) / containerSizes[c];
+        int offset = (rowIndex - containerRows[c]) % containerSizes[c];
+        ContainerViewModel container = k == 0 ? run.pattern() : run.containers().get(k);
+        boolean withIds = expandIds || run.count() == 1;
+        if (offset == 0) {
+            return withIds ? containerCell(container, firstNumbers[c] + k, columnIndex)
+                : runCell(run, firstNumbers[c], columnIndex);
+        }
+        int b = indexOf(boxRows[c], offset);
+        BoxViewModel box = container.boxes().get(b);
+        int artIndex = offset - boxRows[c][b] - 1;
+        if (artIndex < 0) {
+            return boxCell(box, b, withIds, columnIndex);
+        }
+        return artCell(box.arts().get(artIndex), artIndex, withIds, columnIndex);
+    }
+
+    private static Object runCell(ContainerRunViewModel run, int number, int column) {
+        if (column == 0) {
+            return String.format("Containers #%d-%d (%d ×) [%s .. %s]",
+                number, number + run.count() - 1, run.count(), run.firstId(), run.lastId());
+        }
+        return containerCell(run.pattern(), number, column);
+    }
+
+    private static Object containerCell(ContainerViewModel container, int number, int column) {
+        switch (column) {
+            case 0:
+                return String.format("Container #%d [%s]", number, container.id());
+            case 1:
+                return container.type();
+            case 2:
+                return String.format("%d × %d × %d", container.length(), container.width(), container.currentHeight());
+            case 3:
+                return String.format("%.2f lbs", container.weight());
+            default:
+                return container.boxes().size() + " boxes";
+        }
+    }
+
+    private static Object boxCell(BoxViewModel box, int index, boolean withId, int column) {
+        switch (column) {
+            case 0:
+                return withId ? String.format("    Box #%d [%s]", index + 1, box.id())
+                    : String.format("    Box #%d", index + 1);
+            case 1:
+                return box.type();
+            case 2:
+                return String.format("%d × %d × %d", box.length(), box.width(), box.currentHeight());
+            case 3:
+                return String.format("%.2f lbs", box.weight());
+            default:
+                return box.arts().size() + " arts";
+        }
+    }
+
+    private static Object artCell(ArtViewModel art, int index, boolean withId, int column) {
+        switch (column) {
+            case 0:
+                return withId ? "        " + art.id() : "        Art #" + (index + 1);
+            case 1:
+                return art.material();
+            case 2:
+                return String.format("%.1f × %.1f", art.width(), art.height());
+            case 3:
+                return String.format("%.2f lbs", art.weight());
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Returns the index of the last start at or before a row. Every run and box
+     * has a row of its own, so the starts are strictly increasing.
+     */
+    private static int indexOf(int[] starts, int row) {
+        int found = Arrays.binarySearch(starts, row);
+        return found >= 0 ? found : -found - 2;
+    }
+}
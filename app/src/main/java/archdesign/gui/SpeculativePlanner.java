@@ -0,0 +1,136 @@
+package archdesign.gui;
+
+import archdesign.Main;
+import archdesign.entities.Art;
+import archdesign.interactor.PlanningStage;
+import archdesign.response.ShipmentViewModel;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plans the selected file in every packing mode in the background, before the user asks.
+ * <p>
+ * Selecting a file parses it once and starts one run per packing mode on the shared
+ * arts. Submitting, or switching modes afterwards, only has to pick up the finished (or
+ * still running) result of that mode. Selecting another file cancels the runs of the
+ * previous one: the parse is interrupted, a CP-SAT search is stopped, and any other run
+ * stops when it reaches its next planning stage, so stale runs free their threads soon.
+ * The pool is bounded; tasks only wait on tasks submitted before them, so it cannot
+ * deadlock.
+ * <p>
+ * Every run records its progress, starting with the shared parse, so the GUI can show
+ * the stages of a run it only picked up halfway. The GUI's other background work runs
+ * on the same executor through {@link #execute(Runnable)}.
+ */
+final class SpeculativePlanner {
+
+    /**
+     * A run of one packing mode.
+     *
+     * @param result The view model; the future may still be in progress.
+     * @param progress The run's progress so far.
+     */
+    record Run(Future<ShipmentViewModel> result, PlanProgress progress) {
+    }
+
+    private final ExecutorService executor;
+
+    private String filePath;
+    private Future<List<Art>> parse;
+    private final Map<String, Run> runs = new LinkedHashMap<>();
+
+    SpeculativePlanner() {
+        AtomicInteger threadCount = new AtomicInteger(1);
+        // The parse, one run per mode and one task of the GUI at a time
+        this.executor = Executors.newFixedThreadPool(Main.PACKING_MODES.size() + 2, runnable -> {
+            Thread thread = new Thread(runnable, "Speculative-Planner-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts planning a file in every packing mode, cancelling the runs of the previous file.
+     * @param filePath The selected CSV file.
+     */
+    synchronized void start(String filePath) {
+        cancel();
+        this.filePath = filePath;
+        Map<String, PlanProgress> progress = new LinkedHashMap<>();
+        for (String mode : Main.PACKING_MODES) {
+            progress.put(mode, new PlanProgress());
+        }
+        Future<List<Art>> arts = parse = executor.submit(() -> {
+            // The parse is shared, so it is reported to the progress of every mode
+            progress.values().forEach(p -> p.stageStarted(PlanningStage.PARSE));
+            long startNanos = System.nanoTime();
+            List<Art> imported = Main.importFile(filePath);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            progress.values().forEach(p -> p.stageFinished(PlanningStage.PARSE, elapsed));
+            return imported;
+        });
+        for (String mode : Main.PACKING_MODES) {
+            PlanProgress modeProgress = progress.get(mode);
+            runs.put(mode, new Run(executor.submit(() -> Main.processArts(arts.get(), mode, modeProgress)),
+                modeProgress));
+        }
+    }
+
+    /**
+     * Returns the run of a file and mode, starting the file's runs if they are not the current ones.
+     * @param filePath The CSV file.
+     * @param packingMode One of {@link Main#PACKING_MODES}.
+     * @return The run; it may still be in progress.
+     */
+    synchronized Run get(String filePath, String packingMode) {
+        if (!filePath.equals(this.filePath)) {
+            start(filePath);
+        }
+        return runs.get(packingMode);
+    }
+
+    /**
+     * Runs other background work of the GUI on the planner's threads.
+     * @param task The work, e.g. a {@link javax.swing.SwingWorker}.
+     */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Returns why a run failed. A failed parse reaches the mode runs wrapped once more.
+     * @param failure The exception thrown by {@link Future#get()} of a run.
+     * @return The underlying cause.
+     */
+    static Throwable causeOf(ExecutionException failure) {
+        Throwable cause = failure.getCause();
+        if (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Cancels the runs of the current file.
+     */
+    synchronized void cancel() {
+        if (parse != null) {
+            parse.cancel(true);
+            parse = null;
+        }
+        for (Run run : runs.values()) {
+            run.result().cancel(true);
+            run.progress().stop();
+        }
+        runs.clear();
+        filePath = null;
+    }
+}
@@ -0,0 +1,105 @@
+package archdesign.interactor;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run of consecutive, identical containers in a plan: a container pattern and how many
+ * times it repeats. Containers are identical when they have the same type, dimensions and
+ * base weight and hold the same boxes, in the same order, with the same arts; only their
+ * IDs and those of their boxes and arts differ.
+ * <p>
+ * Runs group the containers of a plan; they do not replace them. Art IDs come from the
+ * order and follow no range, so a pattern and a count could not rebuild them, and the
+ * plan keeps every container.
+ *
+ * @param containers The containers of the run, in plan order; never empty.
+ */
+public record ContainerRun(List<Container> containers) {
+
+    /**
+     * @return The first container of the run, which stands for all of them.
+     */
+    public Container template() {
+        return containers.get(0);
+    }
+
+    /**
+     * @return How many containers the run has.
+     */
+    public int count() {
+        return containers.size();
+    }
+
+    /**
+     * Groups a list of containers into runs of consecutive identical containers. The runs
+     * are views of the given list, so no container is copied.
+     * @param containers The containers of a plan, in order.
+     * @return The runs, in order; their counts add up to the number of containers.
+     */
+    public static List<ContainerRun> of(List<Container> containers) {
+        List<ContainerRun> runs = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= containers.size(); i++) {
+            if (i == containers.size() || !sameContents(containers.get(start), containers.get(i))) {
+                runs.add(new ContainerRun(containers.subList(start, i)));
+                start = i;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * @return Whether two containers are identical apart from the IDs of everything in them.
+     */
+    static boolean sameContents(Container a, Container b) {
+        if (a.getContainerType() != b.getContainerType()
+                || a.getWidth() != b.getWidth()
+                || a.getLength() != b.getLength()
+                || a.getMinHeight() != b.getMinHeight()
+                || a.getBottomClearanceHeight() != b.getBottomClearanceHeight()
+                || Double.compare(a.getWeight(), b.getWeight()) != 0) {
+            return false;
+        }
+        List<Box> boxesA = a.getBoxesInContainer();
+        List<Box> boxesB = b.getBoxesInContainer();
+        if (boxesA.size() != boxesB.size()) {
+            return false;
+        }
+        for (int i = 0; i < boxesA.size(); i++) {
+            if (!sameContents(boxesA.get(i), boxesB.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameContents(Box a, Box b) {
+        if (a.getBoxType() != b.getBoxType()
+                || a.getWidth() != b.getWidth()
+                || a.getLength() != b.getLength()
+                || a.getMinHeight() != b.getMinHeight()) {
+            return false;
+        }
+        List<Art> artsA = a.getArtsInBox();
+        List<Art> artsB = b.getArtsInBox();
+        if (artsA.size() != artsB.size()) {
+            return false;
+        }
+        for (int i = 0; i < artsA.size(); i++) {
+            Art artA = artsA.get(i);
+            Art artB = artsB.get(i);
+            if (artA.getMaterial() != artB.getMaterial()
+                    || Double.compare(artA.getWidth(), artB.getWidth()) != 0
+                    || Double.compare(artA.getHeight(), artB.getHeight()) != 0
+                    || Double.compare(artA.getWeight(), artB.getWeight()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
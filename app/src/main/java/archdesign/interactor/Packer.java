@@ -5,12 +5,31 @@ import archdesign.config.StrategyProvider;
 import archdesign.config.spec.BoxRuleSpecification;
 import archdesign.config.spec.ContainerRuleSpecification;
 import archdesign.entities.Art;
+import archdesign.entities.Container;
 import archdesign.entities.enums.ShippingProvider;
+import archdesign.service.CachingFeasibilityService;
 import archdesign.service.FeasibilityService;
 import archdesign.service.OptimizationService;
+import archdesign.service.PlanQuoter;
+import archdesign.service.ShipmentEstimate;
 import archdesign.service.costing.ShippingCostStrategy;
+import archdesign.service.selection.SelectionPolicy;
+import archdesign.service.streaming.OnlinePacker;
+import archdesign.service.sweep.Scenario;
+import archdesign.service.sweep.ScenarioResult;
+import archdesign.service.sweep.ScenarioSweeper;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * The public facade for the entire packing system.
@@ -37,6 +56,209 @@ public final class Packer {
      */
     public static PackingPlan pack(List<Art> artsToPack, UserConstraints constraints, ShippingProvider provider) {
         
+        // --- Steps 1 and 2: Load configurations and initialize the core services ---
+        OptimizationService optimizationService = createOptimizationService(constraints, provider);
+
+        // --- Step 3: Execute the core logic and get the final plan ---
+        
+        // Call the optimization service to perform the complex calculations.
+        PackingPlan finalPlan = optimizationService.createOptimalPlan(artsToPack, constraints);
+
+        // --- Step 4: Return the result ---
+        
+        return finalPlan;
+    }
+
+    /**
+     * Executes the packing process like {@link #pack(List, UserConstraints, ShippingProvider)},
+     * reporting its stages and the solver's improving objectives as it runs.
+     *
+     * @param artsToPack The list of Art objects that need to be packed.
+     * @param constraints The user-defined constraints for this specific packing run.
+     * @param provider The shipping provider to use, which determines the cost strategy.
+     * @param listener Receives the progress events; see {@link PlanningListener} for threading.
+     * @return A complete PackingPlan object containing the results of the optimization.
+     */
+    public static PackingPlan pack(List<Art> artsToPack, UserConstraints constraints, ShippingProvider provider,
+                                   PlanningListener listener) {
+        OptimizationService optimizationService = createOptimizationService(constraints, provider);
+        return optimizationService.createOptimalPlan(artsToPack, constraints, listener);
+    }
+
+    /**
+     * SLA mode of the packing process: returns the best plan found within a latency
+     * budget instead of waiting for the solver's own time limit.
+     * The budget is spent across phases (fast path, heuristic, solver, LNS); the
+     * returned plan's {@link PackingPlan#getPlanningReport()} tells which phase
+     * produced it and how much of the budget was used. The solver and LNS phases stop
+     * at the deadline, but one plan is always built, so an order too large for the
+     * budget overruns by the time that takes.
+     *
+     * @param artsToPack The list of Art objects that need to be packed.
+     * @param constraints The user-defined constraints for this specific packing run.
+     * @param provider The shipping provider to use, which determines the cost strategy.
+     * @param budget The latency budget, e.g. {@code Duration.ofMillis(200)}.
+     * @return The best PackingPlan found within the budget.
+     */
+    public static PackingPlan pack(List<Art> artsToPack, UserConstraints constraints, ShippingProvider provider,
+                                   Duration budget) {
+        OptimizationService optimizationService = createOptimizationService(constraints, provider);
+        return optimizationService.createPlanWithinBudget(artsToPack, constraints, budget);
+    }
+
+    /**
+     * Comparison mode of the packing process: plans the same arts under several sets of
+     * constraints (e.g. the packing modes) at the same time, so the comparison takes
+     * about as long as the slowest scenario. The scenarios share the arts and one
+     * feasibility cache; each has its own optimization service.
+     *
+     * @param artsToPack The list of Art objects that need to be packed; it is only read.
+     * @param scenarios The constraints to compare, by label, in display order.
+     * @param provider The shipping provider to use, which determines the cost strategy.
+     * @return One entry per scenario, in the order of {@code scenarios}; scenarios that
+     *         failed are left out.
+     */
+    public static List<PlanComparison> compare(List<Art> artsToPack, Map<String, UserConstraints> scenarios,
+                                               ShippingProvider provider) {
+        // The box rules do not depend on the constraints, so every scenario can share them
+        FeasibilityService feasibilityService = new CachingFeasibilityService(
+            RuleProvider.getBoxRules(new UserConstraints()), RuleProvider.getContainerRules());
+        ShippingCostStrategy costStrategy = StrategyProvider.getCostStrategy(provider);
+
+        AtomicInteger threadCount = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, scenarios.size()), runnable -> {
+            Thread thread = new Thread(runnable, "Compare-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<PlanComparison> results = new ArrayList<>(scenarios.size());
+        try {
+            List<Future<PlanComparison>> runs = new ArrayList<>(scenarios.size());
+            for (Map.Entry<String, UserConstraints> scenario : scenarios.entrySet()) {
+                runs.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    OptimizationService optimizationService = new OptimizationService(feasibilityService, costStrategy);
+                    PackingPlan plan = optimizationService.createOptimalPlan(artsToPack, scenario.getValue());
+                    return new PlanComparison(scenario.getKey(), scenario.getValue(), plan,
+                        Duration.ofNanos(System.nanoTime() - start));
+                }));
+            }
+            for (Future<PlanComparison> run : runs) {
+                try {
+                    results.add(run.get());
+                } catch (ExecutionException e) {
+                    // A failed scenario is left out of the comparison
+                    System.err.println("Comparison scenario failed: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * What-if mode of the packing process: evaluates a grid of constraint and cost-strategy
+     * scenarios on the same arts in parallel and ranks them, best first. Scenarios that
+     * provably cannot beat an already solved one are pruned instead of solved.
+     *
+     * @param artsToPack The list of Art objects that need to be packed; it is only read.
+     * @param scenarios The scenarios, e.g. from {@link Scenario#grid}.
+     * @return One result per scenario, ranked by custom pieces, then cost.
+     */
+    public static List<ScenarioResult> sweep(List<Art> artsToPack, List<Scenario> scenarios) {
+        FeasibilityService feasibilityService = new CachingFeasibilityService(
+            RuleProvider.getBoxRules(new UserConstraints()), RuleProvider.getContainerRules());
+        ScenarioSweeper sweeper = new ScenarioSweeper(feasibilityService, SelectionPolicy.defaultPolicy(),
+            Runtime.getRuntime().availableProcessors());
+        return sweeper.sweep(artsToPack, scenarios);
+    }
+
+    /**
+     * Instant estimate of the packing process: container-count and weight ranges from the
+     * box demand of the order, available in milliseconds, before the full solve.
+     *
+     * @param artsToPack The list of Art objects that need to be packed.
+     * @param constraints The user-defined constraints for this specific packing run.
+     * @return The estimate.
+     */
+    public static ShipmentEstimate estimate(List<Art> artsToPack, UserConstraints constraints) {
+        return createOptimizationService(constraints, ShippingProvider.PLACEHOLDER).estimate(artsToPack, constraints);
+    }
+
+    /**
+     * Estimates many orders with the same constraints, e.g. to pre-screen a batch.
+     * The rules are loaded once for the whole batch.
+     *
+     * @param orders The orders, each a list of arts.
+     * @param constraints The user-defined constraints shared by all orders.
+     * @return One estimate per order, in order.
+     */
+    public static List<ShipmentEstimate> estimateAll(List<List<Art>> orders, UserConstraints constraints) {
+        OptimizationService optimizationService = createOptimizationService(constraints, ShippingProvider.PLACEHOLDER);
+        List<ShipmentEstimate> estimates = new ArrayList<>(orders.size());
+        for (List<Art> order : orders) {
+            estimates.add(optimizationService.estimate(order, constraints));
+        }
+        return estimates;
+    }
+
+    /**
+     * Delta mode of the packing process: updates an earlier plan after arts were added
+     * to or removed from the order. Only the containers around the change are re-packed;
+     * the returned revision lists them next to the containers that replace them.
+     *
+     * @param previous The plan to update; it is not modified.
+     * @param addedArts Arts added to the order.
+     * @param removedArtIds IDs of the arts removed from the order.
+     * @param constraints The constraints the previous plan was built with.
+     * @param provider The shipping provider the previous plan was built with.
+     * @return The updated plan and its difference to the previous plan.
+     */
+    public static PlanRevision replan(PackingPlan previous, List<Art> addedArts, Collection<String> removedArtIds,
+                                      UserConstraints constraints, ShippingProvider provider) {
+        OptimizationService optimizationService = createOptimizationService(constraints, provider);
+        return optimizationService.replan(previous, addedArts, removedArtIds, constraints);
+    }
+
+    /**
+     * Quote mode of the packing process: prices "what if" changes to a solved plan, such
+     * as adding ten more pieces of one size, without re-planning the order. Create the
+     * quoter once per plan and ask it as often as needed.
+     *
+     * @param plan The solved plan.
+     * @param constraints The constraints the plan was built with.
+     * @param provider The shipping provider the plan was built with.
+     * @return A quoter for the plan.
+     */
+    public static PlanQuoter quoter(PackingPlan plan, UserConstraints constraints, ShippingProvider provider) {
+        OptimizationService optimizationService = createOptimizationService(constraints, provider);
+        return optimizationService.createQuoter(plan, constraints);
+    }
+
+    /**
+     * Online mode of the packing process, for pieces that arrive continuously.
+     * Arts are added to the returned packer one at a time or in micro-batches, and every
+     * container is handed to {@code sink} as soon as it is full or its lane is flushed.
+     * Closing the packer flushes all lanes.
+     *
+     * @param constraints The user-defined constraints for this stream.
+     * @param sink Receives every closed container, exactly once.
+     * @return An open OnlinePacker.
+     */
+    public static OnlinePacker openStream(UserConstraints constraints, Consumer<Container> sink) {
+        FeasibilityService feasibilityService =
+            new FeasibilityService(RuleProvider.getBoxRules(constraints), RuleProvider.getContainerRules());
+        return new OnlinePacker(feasibilityService, constraints, sink);
+    }
+
+    /**
+     * Loads the rules and cost strategy and wires up the services for one packing run.
+     */
+    private static OptimizationService createOptimizationService(UserConstraints constraints, ShippingProvider provider) {
+
         // --- Step 1: Load all configurations and strategies ---
         
         // Get the static business rules for art-to-box packing.
@@ -54,15 +276,6 @@ public final class Packer {
         FeasibilityService feasibilityService = new FeasibilityService(boxRules, containerRules);
         
         // Create the optimization engine, providing it with the rule checker and cost strategy.
-        OptimizationService optimizationService = new OptimizationService(feasibilityService, costStrategy);
-
-        // --- Step 3: Execute the core logic and get the final plan ---
-        
-        // Call the optimization service to perform the complex calculations.
-        PackingPlan finalPlan = optimizationService.createOptimalPlan(artsToPack, constraints);
-
-        // --- Step 4: Return the result ---
-        
-        return finalPlan;
+        return new OptimizationService(feasibilityService, costStrategy);
     }
 }
\ No newline at end of file
@@ -25,6 +25,13 @@ public class PackingPlan {
     private final double totalWeight;
     private final int totalContainerCount;
     private final int totalBoxCount;
+    private final ShipmentStatistics statistics;
+
+    // --- Provenance: set only for plans produced in SLA mode ---
+    private final PlanningReport planningReport;
+
+    // --- Runs of identical containers: grouped on first request ---
+    private List<ContainerRun> containerRuns;
 
     /**
      * Constructs a new PackingPlan.
@@ -46,18 +53,35 @@ public class PackingPlan {
      * @param unpackedArts The list of arts that could not be packed.
      */
     public PackingPlan(List<Container> containers, double totalCost, List<Art> unpackedArts) {
+        this(containers, totalCost, unpackedArts, null);
+    }
+
+    /**
+     * Constructs a new PackingPlan that records how it was produced.
+     *
+     * @param containers The finalized list of containers, fully packed with boxes and art.
+     * @param totalCost The total shipping cost, calculated by the OptimizationService.
+     * @param unpackedArts The list of arts that could not be packed.
+     * @param planningReport The phase and budget report of an SLA-mode run, or null.
+     */
+    public PackingPlan(List<Container> containers, double totalCost, List<Art> unpackedArts,
+                       PlanningReport planningReport) {
+        this.planningReport = planningReport;
         this.containers = containers != null ? containers : new ArrayList<>();
         this.unpackedArts = unpackedArts != null ? new ArrayList<>(unpackedArts) : new ArrayList<>();
         this.totalCost = totalCost;
 
-        // --- Calculate summary data once upon creation ---
+        // --- Calculate summary data once upon creation, in a single pass ---
+        this.statistics = new ShipmentStatistics();
+        for (Container container : this.containers) {
+            statistics.addContainer(container);
+        }
+        for (Art art : this.unpackedArts) {
+            statistics.addUnpackedArt(art);
+        }
         this.totalContainerCount = this.containers.size();
-        this.totalWeight = this.containers.stream()
-                                          .mapToDouble(Container::getTotalWeight)
-                                          .sum();
-        this.totalBoxCount = this.containers.stream()
-                                            .mapToInt(c -> c.getBoxesInContainer().size())
-                                            .sum();
+        this.totalWeight = statistics.getFinalShipmentWeight();
+        this.totalBoxCount = statistics.getBoxCount();
     }
 
     // --- Public Getters ---
@@ -70,6 +94,23 @@ public class PackingPlan {
         return Collections.unmodifiableList(containers);
     }
 
+    /**
+     * Groups the containers into runs of consecutive identical containers, so a plan of
+     * many repeated containers can be shown as a few patterns with their counts. The runs
+     * are grouped on the first call and kept.
+     * <p>
+     * Runs are views of {@link #getContainers()}, which the plan still holds in full, so
+     * they save work and output for the consumers of the plan but not the plan's own
+     * memory, which still grows with the number of pieces.
+     * @return A read-only list of runs whose counts add up to the container count.
+     */
+    public synchronized List<ContainerRun> getContainerRuns() {
+        if (containerRuns == null) {
+            containerRuns = Collections.unmodifiableList(ContainerRun.of(getContainers()));
+        }
+        return containerRuns;
+    }
+
     /**
      * Gets the total calculated cost for shipping everything in this plan.
      * @return The total shipping cost.
@@ -110,4 +151,21 @@ public class PackingPlan {
     public List<Art> getUnpackedArts() {
         return Collections.unmodifiableList(unpackedArts);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the work-order statistics (piece, box and container counts and weights),
+     * calculated when the plan was created.
+     * @return The statistics of this plan; callers must not add to them.
+     */
+    public ShipmentStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the report of the SLA-mode run that produced this plan.
+     * @return The planning report, or null if the plan was not produced in SLA mode.
+     */
+    public PlanningReport getPlanningReport() {
+        return planningReport;
+    }
+}
@@ -0,0 +1,442 @@
+package archdesign.interactor;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves and loads packing plans in a compact, versioned binary format.
+ * <p>
+ * A plan is written as a header, a string table and the plan itself:
+ * <pre>
+ *   "APLN", version
+ *   string table: count, then each string as its UTF-8 length and bytes
+ *   enum tables:  Material, BoxType, ContainerType and PlanningPhase names, as string references
+ *   plan:         total cost, containers (each with its boxes, each with its arts),
+ *                 unpacked arts, and the SLA planning report if there is one
+ * </pre>
+ * Counts, dimensions and references are varints, so most take one byte. Every ID and enum
+ * name is stored once in the string table and referenced by index; enums are referenced
+ * through their table, not by ordinal, so reordering an enum does not break saved plans.
+ * Whole numbers below 2<sup>31</sup> stored as doubles take a varint, anything else its
+ * eight IEEE bytes, so decoding returns exactly the values that were encoded.
+ * <p>
+ * Only the state the entities were constructed with is written; weights, heights and
+ * statistics are derived again when the plan is decoded. Encoding and decoding call the
+ * entities' constructors and getters directly, without reflection.
+ */
+public final class PackingPlanCodec {
+
+    /** The current format version. Decoding rejects any other. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'A', 'P', 'L', 'N'};
+    private static final int FLAG_PLANNING_REPORT = 1;
+
+    private PackingPlanCodec() {}
+
+    /**
+     * Encodes a plan to bytes.
+     * @param plan The plan.
+     * @return The encoded plan.
+     */
+    public static byte[] toBytes(PackingPlan plan) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            encode(plan, bytes);
+        } catch (IOException e) {
+            // A byte array stream does not fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a plan from bytes.
+     * @param bytes A plan encoded by this class.
+     * @return The plan.
+     * @throws IOException If the bytes are not a plan of the current version.
+     */
+    public static PackingPlan fromBytes(byte[] bytes) throws IOException {
+        return decode(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Saves a plan to a file.
+     * @param plan The plan.
+     * @param file The file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(PackingPlan plan, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            encode(plan, out);
+        }
+    }
+
+    /**
+     * Loads a plan from a file.
+     * @param file A file written by {@link #save(PackingPlan, Path)}.
+     * @return The plan.
+     * @throws IOException If the file cannot be read or is not a plan of the current version.
+     */
+    public static PackingPlan load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            return decode(in);
+        }
+    }
+
+    /**
+     * Encodes a plan to a stream. The stream is flushed but not closed.
+     * @param plan The plan.
+     * @param out The destination.
+     * @throws IOException If the destination cannot be written.
+     */
+    public static void encode(PackingPlan plan, OutputStream out) throws IOException {
+        // First pass: every string the plan refers to, in order of first use
+        StringTable strings = new StringTable();
+        for (Material material : Material.values()) {
+            strings.add(material.name());
+        }
+        for (BoxType boxType : BoxType.values()) {
+            strings.add(boxType.name());
+        }
+        for (ContainerType containerType : ContainerType.values()) {
+            strings.add(containerType.name());
+        }
+        for (PlanningPhase phase : PlanningPhase.values()) {
+            strings.add(phase.name());
+        }
+        for (Container container : plan.getContainers()) {
+            strings.add(container.getId());
+            for (Box box : container.getBoxesInContainer()) {
+                strings.add(box.getId());
+                for (Art art : box.getArtsInBox()) {
+                    strings.add(art.getId());
+                }
+            }
+        }
+        for (Art art : plan.getUnpackedArts()) {
+            strings.add(art.getId());
+        }
+
+        Writer writer = new Writer(new DataOutputStream(out), strings);
+        writer.out.write(MAGIC);
+        writer.writeVarint(VERSION);
+        PlanningReport report = plan.getPlanningReport();
+        writer.writeVarint(report != null ? FLAG_PLANNING_REPORT : 0);
+
+        writer.writeVarint(strings.size());
+        for (String string : strings.strings()) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writer.writeVarint(utf8.length);
+            writer.out.write(utf8);
+        }
+        writer.writeEnumTable(Material.values());
+        writer.writeEnumTable(BoxType.values());
+        writer.writeEnumTable(ContainerType.values());
+        writer.writeEnumTable(PlanningPhase.values());
+
+        writer.writeDouble(plan.getTotalCost());
+        writer.writeVarint(plan.getContainers().size());
+        for (Container container : plan.getContainers()) {
+            writer.writeString(container.getId());
+            writer.writeEnum(container.getContainerType());
+            writer.writeSigned(container.getWidth());
+            writer.writeSigned(container.getLength());
+            writer.writeSigned(container.getMinHeight());
+            writer.writeDouble(container.getWeight());
+            writer.writeSigned(container.getBottomClearanceHeight());
+            writer.writeVarint(container.getBoxesInContainer().size());
+            for (Box box : container.getBoxesInContainer()) {
+                writer.writeString(box.getId());
+                writer.writeEnum(box.getBoxType());
+                writer.writeSigned(box.getWidth());
+                writer.writeSigned(box.getLength());
+                writer.writeSigned(box.getMinHeight());
+                writer.writeArts(box.getArtsInBox());
+            }
+        }
+        writer.writeArts(plan.getUnpackedArts());
+        if (report != null) {
+            writer.writeEnum(report.phase());
+            writer.writeSigned(report.budget().toNanos());
+            writer.writeSigned(report.used().toNanos());
+        }
+        writer.out.flush();
+    }
+
+    /**
+     * Decodes a plan from a stream, reading no further than its end.
+     * @param in The source.
+     * @return The plan.
+     * @throws IOException If the source cannot be read or is not a plan of the current version.
+     */
+    public static PackingPlan decode(InputStream in) throws IOException {
+        Reader reader = new Reader(new DataInputStream(in));
+        byte[] magic = new byte[MAGIC.length];
+        reader.in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a packing plan");
+        }
+        int version = reader.readCount();
+        if (version != VERSION) {
+            throw new IOException("Unsupported packing plan version " + version + "; expected " + VERSION);
+        }
+        int flags = reader.readCount();
+
+        int stringCount = reader.readCount();
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            byte[] utf8 = new byte[reader.readCount()];
+            reader.in.readFully(utf8);
+            strings[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        reader.strings = strings;
+        List<Material> materials = reader.readEnumTable(Material.values());
+        List<BoxType> boxTypes = reader.readEnumTable(BoxType.values());
+        List<ContainerType> containerTypes = reader.readEnumTable(ContainerType.values());
+        List<PlanningPhase> phases = reader.readEnumTable(PlanningPhase.values());
+
+        double totalCost = reader.readDouble();
+        int containerCount = reader.readCount();
+        List<Container> containers = new ArrayList<>(Math.min(containerCount, 1 << 16));
+        for (int c = 0; c < containerCount; c++) {
+            Container container = new Container(reader.readString(), reader.readEnum(containerTypes),
+                reader.readInt(), reader.readInt(), reader.readInt(), reader.readDouble(), reader.readInt());
+            int boxCount = reader.readCount();
+            for (int b = 0; b < boxCount; b++) {
+                Box box = new Box(reader.readString(), reader.readEnum(boxTypes),
+                    reader.readInt(), reader.readInt(), reader.readInt());
+                for (Art art : reader.readArts(materials)) {
+                    box.addArt(art);
+                }
+                container.addBox(box);
+            }
+            containers.add(container);
+        }
+        List<Art> unpackedArts = reader.readArts(materials);
+        PlanningReport report = null;
+        if ((flags & FLAG_PLANNING_REPORT) != 0) {
+            report = new PlanningReport(reader.readEnum(phases),
+                Duration.ofNanos(reader.readLong()), Duration.ofNanos(reader.readLong()));
+        }
+        return new PackingPlan(containers, totalCost, unpackedArts, report);
+    }
+
+    /**
+     * The distinct strings of a plan, indexed in order of first use.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+        void add(String string) {
+            if (string != null) {
+                indexes.putIfAbsent(string, indexes.size());
+            }
+        }
+
+        int indexOf(String string) {
+            return indexes.get(string);
+        }
+
+        int size() {
+            return indexes.size();
+        }
+
+        Iterable<String> strings() {
+            return indexes.keySet();
+        }
+    }
+
+    private static final class Writer {
+        final DataOutputStream out;
+        private final StringTable strings;
+
+        Writer(DataOutputStream out, StringTable strings) {
+            this.out = out;
+            this.strings = strings;
+        }
+
+        /** Writes a non-negative value in 7-bit groups, low group first. */
+        void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        /** Writes any value, zigzag-encoded so that small negatives stay small. */
+        void writeSigned(long value) throws IOException {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        /** Writes a whole number as an even varint, anything else as an odd marker and its bits. */
+        void writeDouble(double value) throws IOException {
+            long whole = (long) value;
+            if (whole >= 0 && whole < Integer.MAX_VALUE
+                    && Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits((double) whole)) {
+                writeVarint(whole << 1);
+            } else {
+                writeVarint(1);
+                out.writeLong(Double.doubleToRawLongBits(value));
+            }
+        }
+
+        /** Writes a string reference: 0 for null, otherwise its table index plus one. */
+        void writeString(String string) throws IOException {
+            writeVarint(string == null ? 0 : strings.indexOf(string) + 1);
+        }
+
+        /** Writes an enum reference: 0 for null, otherwise its position in the enum table plus one. */
+        void writeEnum(Enum<?> value) throws IOException {
+            writeVarint(value == null ? 0 : value.ordinal() + 1);
+        }
+
+        <E extends Enum<E>> void writeEnumTable(E[] values) throws IOException {
+            writeVarint(values.length);
+            for (E value : values) {
+                writeString(value.name());
+            }
+        }
+
+        void writeArts(List<Art> arts) throws IOException {
+            writeVarint(arts.size());
+            for (Art art : arts) {
+                writeString(art.getId());
+                writeDouble(art.getHeight());
+                writeDouble(art.getWidth());
+                writeEnum(art.getMaterial());
+            }
+        }
+    }
+
+    private static final class Reader {
+        final DataInputStream in;
+        String[] strings;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Packing plan is truncated");
+                }
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in packing plan");
+        }
+
+        int readCount() throws IOException {
+            long value = readVarint();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Count out of range in packing plan: " + value);
+            }
+            return (int) value;
+        }
+
+        long readLong() throws IOException {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readInt() throws IOException {
+            return (int) readLong();
+        }
+
+        double readDouble() throws IOException {
+            long value = readVarint();
+            if ((value & 1) == 0) {
+                return value >>> 1;
+            }
+            return Double.longBitsToDouble(in.readLong());
+        }
+
+        String readString() throws IOException {
+            int reference = readCount();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference > strings.length) {
+                throw new IOException("String reference out of range in packing plan: " + reference);
+            }
+            return strings[reference - 1];
+        }
+
+        <E> E readEnum(List<E> table) throws IOException {
+            int reference = readCount();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference > table.size()) {
+                throw new IOException("Enum reference out of range in packing plan: " + reference);
+            }
+            return table.get(reference - 1);
+        }
+
+        /**
+         * Reads an enum table, mapping every saved name to the constant of that name.
+         */
+        <E extends Enum<E>> List<E> readEnumTable(E[] constants) throws IOException {
+            Map<String, E> byName = new HashMap<>();
+            for (E constant : constants) {
+                byName.put(constant.name(), constant);
+            }
+            int count = readCount();
+            List<E> table = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                E constant = byName.get(name);
+                if (constant == null) {
+                    throw new IOException("Unknown " + constants.getClass().getComponentType().getSimpleName()
+                        + " in packing plan: " + name);
+                }
+                table.add(constant);
+            }
+            return table;
+        }
+
+        List<Art> readArts(List<Material> materials) throws IOException {
+            int count = readCount();
+            List<Art> arts = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                String id = readString();
+                double height = readDouble();
+                double width = readDouble();
+                arts.add(new Art(id, height, width, 0, readEnum(materials)));
+            }
+            return arts;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package archdesign.interactor;
+
+import java.time.Duration;
+
+/**
+ * One entry of a side-by-side comparison of the same order planned under different constraints.
+ *
+ * @param label The name of the scenario, e.g. a packing mode.
+ * @param constraints The constraints the plan was built with.
+ * @param plan The plan.
+ * @param elapsed Wall-clock time spent planning this scenario.
+ */
+public record PlanComparison(String label, UserConstraints constraints, PackingPlan plan, Duration elapsed) {
+}
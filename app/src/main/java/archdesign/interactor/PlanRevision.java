@@ -0,0 +1,28 @@
+package archdesign.interactor;
+
+import archdesign.entities.Container;
+
+import java.util.List;
+
+/**
+ * The result of re-planning an order after arts were added or removed.
+ * Containers outside the re-planned neighborhood are carried over unchanged, so the
+ * difference to the previous plan is exactly the replaced and the new containers.
+ *
+ * @param plan The updated plan.
+ * @param removedContainers Containers of the previous plan that were emptied and re-packed.
+ * @param addedContainers Containers of the updated plan that replace them.
+ * @param costDelta Cost of the updated plan minus cost of the previous plan.
+ */
+public record PlanRevision(PackingPlan plan,
+                           List<Container> removedContainers,
+                           List<Container> addedContainers,
+                           double costDelta) {
+
+    /**
+     * @return True if the previous plan was carried over unchanged.
+     */
+    public boolean isUnchanged() {
+        return removedContainers.isEmpty() && addedContainers.isEmpty();
+    }
+}
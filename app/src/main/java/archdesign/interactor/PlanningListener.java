@@ -0,0 +1,45 @@
+package archdesign.interactor;
+
+import java.time.Duration;
+
+/**
+ * Receives progress events of a packing run. Events arrive on the thread doing the
+ * work, and the solver may report objectives from its own threads, so implementations
+ * must be thread-safe and should return quickly.
+ */
+public interface PlanningListener {
+
+    /** A listener that ignores every event. */
+    PlanningListener NONE = new PlanningListener() {
+    };
+
+    /**
+     * A stage has started.
+     * @param stage The stage.
+     */
+    default void stageStarted(PlanningStage stage) {
+    }
+
+    /**
+     * A stage has finished.
+     * @param stage The stage.
+     * @param elapsed Wall-clock time spent in the stage.
+     */
+    default void stageFinished(PlanningStage stage, Duration elapsed) {
+    }
+
+    /**
+     * The solver has found a container mix at least as good as any before it.
+     * @param objective The mix's objective value; lower is better.
+     */
+    default void bestObjective(double objective) {
+    }
+
+    /**
+     * The solver has started a search that can be ended early, e.g. when nobody waits
+     * for the run any more.
+     * @param stopSearch Ends the search; the solver then returns the best solution so far.
+     */
+    default void searchStarted(Runnable stopSearch) {
+    }
+}
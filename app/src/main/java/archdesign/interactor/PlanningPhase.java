@@ -0,0 +1,20 @@
+package archdesign.interactor;
+
+/**
+ * The phases of a deadline-driven (SLA) packing run, in the order they are tried.
+ * A plan produced in SLA mode records the phase whose result it is.
+ */
+public enum PlanningPhase {
+
+    /** The exact DP container-mix solver, run inline because it takes microseconds. */
+    FAST_PATH,
+
+    /** The greedy first-fit heuristic, used when the fast path cannot take the order. */
+    HEURISTIC,
+
+    /** The CP-SAT solver, given whatever budget the earlier phases left. */
+    SOLVER,
+
+    /** Large-neighborhood search on the best plan so far, until the budget runs out. */
+    LNS
+}
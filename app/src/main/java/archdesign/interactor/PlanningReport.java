@@ -0,0 +1,20 @@
+package archdesign.interactor;
+
+import java.time.Duration;
+
+/**
+ * Describes how an SLA-mode plan was produced.
+ *
+ * @param phase The phase that produced the returned plan.
+ * @param budget The latency budget the caller gave.
+ * @param used The wall-clock time actually spent planning.
+ */
+public record PlanningReport(PlanningPhase phase, Duration budget, Duration used) {
+
+    /**
+     * @return The fraction of the budget used; may exceed 1 if planning overran.
+     */
+    public double budgetFractionUsed() {
+        return budget.isZero() ? 1.0 : used.toNanos() / (double) budget.toNanos();
+    }
+}
@@ -0,0 +1,21 @@
+package archdesign.interactor;
+
+/**
+ * The stages of a packing run, in the order they happen. Unlike {@link PlanningPhase},
+ * which names the SLA-mode phase a plan came from, these are reported while a run is in
+ * progress so that a caller can show where it is.
+ */
+public enum PlanningStage {
+
+    /** Reading and validating the CSV file. */
+    PARSE,
+
+    /** Checking every art against the packing rules and choosing its box. */
+    FEASIBILITY,
+
+    /** Choosing the container mix. */
+    SOLVE,
+
+    /** Filling boxes into containers and merging underutilized ones. */
+    CONSOLIDATION
+}
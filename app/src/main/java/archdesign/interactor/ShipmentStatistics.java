@@ -0,0 +1,245 @@
+package archdesign.interactor;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The work-order figures of a shipment: piece counts with the oversize groups, box and
+ * container counts by category, and the weight breakdown.
+ * <p>
+ * The statistics are accumulated as containers are finalized, so every output reads the
+ * same figures without walking the plan again. {@link PackingPlan} fills its statistics
+ * once when it is created; a streamed run can pass {@link #addContainer(Container)} as
+ * the sink of its containers. Memory is one entry per distinct oversize dimension.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class ShipmentStatistics {
+
+    /** Pieces with a side longer than this are oversized. */
+    public static final double STANDARD_SIZE_LIMIT = 44;
+
+    private int packedPieces;
+    private int customPieces;
+    private int standardSizePieces;
+    private final Map<String, OversizeCounter> oversizeGroups = new LinkedHashMap<>();
+
+    private int boxCount;
+    private int standardBoxCount;
+    private int largeBoxCount;
+
+    private int containerCount;
+    private int standardPalletCount;
+    private int oversizedPalletCount;
+    private int crateCount;
+
+    private double packedArtworkWeight;
+    private double unpackedArtworkWeight;
+    private double shipmentWeight;
+
+    /**
+     * Adds a finalized container with all of its boxes and arts.
+     * @param container The container.
+     */
+    public void addContainer(Container container) {
+        ContainerType containerType = container.getContainerType();
+        recordContainer(containerType != null ? containerType.name() : null, container.getTotalWeight());
+        for (Box box : container.getBoxesInContainer()) {
+            BoxType boxType = box.getBoxType();
+            recordBox(boxType != null ? boxType.name() : null);
+            for (Art art : box.getArtsInBox()) {
+                recordPiece(art.getWidth(), art.getHeight(), art.getWeight(), true);
+            }
+        }
+    }
+
+    /**
+     * Adds an art that could not be packed and ships as a custom piece.
+     * @param art The art.
+     */
+    public void addUnpackedArt(Art art) {
+        recordPiece(art.getWidth(), art.getHeight(), art.getWeight(), false);
+    }
+
+    /**
+     * Counts one container. Its boxes and arts are recorded separately.
+     * @param type The container type name, or null if unknown.
+     * @param weight The container's total weight, including its boxes.
+     */
+    public void recordContainer(String type, double weight) {
+        containerCount++;
+        shipmentWeight += weight;
+        if ("STANDARD_PALLET".equals(type) || "GLASS_PALLET".equals(type)) {
+            standardPalletCount++;
+        } else if ("OVERSIZE_PALLET".equals(type)) {
+            oversizedPalletCount++;
+        } else if ("STANDARD_CRATE".equals(type)) {
+            crateCount++;
+        }
+    }
+
+    /**
+     * Counts one box. Its arts are recorded separately.
+     * @param type The box type name, or null if unknown.
+     */
+    public void recordBox(String type) {
+        boxCount++;
+        // CRATE and UPS boxes are not counted in standard/large box counts
+        if ("STANDARD".equals(type)) {
+            standardBoxCount++;
+        } else if ("LARGE".equals(type)) {
+            largeBoxCount++;
+        }
+    }
+
+    /**
+     * Counts one piece.
+     * @param width The piece's width.
+     * @param height The piece's height.
+     * @param weight The piece's weight.
+     * @param packed False if the piece is a custom piece outside any container.
+     */
+    public void recordPiece(double width, double height, double weight, boolean packed) {
+        if (packed) {
+            packedPieces++;
+            packedArtworkWeight += weight;
+        } else {
+            customPieces++;
+            unpackedArtworkWeight += weight;
+        }
+        if (width <= STANDARD_SIZE_LIMIT && height <= STANDARD_SIZE_LIMIT) {
+            standardSizePieces++;
+            return;
+        }
+        // side1 is the longer side
+        double longerSide = Math.max(width, height);
+        double shorterSide = Math.min(width, height);
+        oversizeGroups.computeIfAbsent(longerSide + "x" + shorterSide,
+            key -> new OversizeCounter(longerSide, shorterSide)).add(weight);
+    }
+
+    /** @return All pieces, packed and custom. */
+    public int getTotalPieces() {
+        return packedPieces + customPieces;
+    }
+
+    /** @return The pieces inside containers. */
+    public int getPackedPieces() {
+        return packedPieces;
+    }
+
+    /** @return The pieces that could not be packed. */
+    public int getCustomPieceCount() {
+        return customPieces;
+    }
+
+    /** @return The pieces, packed or custom, with no side over {@link #STANDARD_SIZE_LIMIT}. */
+    public int getStandardSizePieces() {
+        return standardSizePieces;
+    }
+
+    /** @return The oversized pieces, packed or custom. */
+    public int getOversizedPieces() {
+        return getTotalPieces() - standardSizePieces;
+    }
+
+    /**
+     * Returns the oversized pieces grouped by size, in the order each size was first seen.
+     * @return One group per distinct size, longer side first.
+     */
+    public List<OversizeGroup> getOversizeGroups() {
+        List<OversizeGroup> groups = new ArrayList<>(oversizeGroups.size());
+        for (OversizeCounter counter : oversizeGroups.values()) {
+            groups.add(new OversizeGroup(counter.side1, counter.side2, counter.quantity, counter.weight));
+        }
+        return groups;
+    }
+
+    public int getBoxCount() {
+        return boxCount;
+    }
+
+    public int getStandardBoxCount() {
+        return standardBoxCount;
+    }
+
+    public int getLargeBoxCount() {
+        return largeBoxCount;
+    }
+
+    public int getContainerCount() {
+        return containerCount;
+    }
+
+    /** @return Standard and glass pallets. */
+    public int getStandardPalletCount() {
+        return standardPalletCount;
+    }
+
+    public int getOversizedPalletCount() {
+        return oversizedPalletCount;
+    }
+
+    public int getCrateCount() {
+        return crateCount;
+    }
+
+    /** @return The weight of all arts, packed and custom. */
+    public double getTotalArtworkWeight() {
+        return packedArtworkWeight + unpackedArtworkWeight;
+    }
+
+    public double getPackedArtworkWeight() {
+        return packedArtworkWeight;
+    }
+
+    public double getUnpackedArtworkWeight() {
+        return unpackedArtworkWeight;
+    }
+
+    /** @return The weight of the containers and boxes alone. */
+    public double getTotalPackagingWeight() {
+        return shipmentWeight - packedArtworkWeight;
+    }
+
+    /** @return The weight of all containers; custom pieces are not included. */
+    public double getFinalShipmentWeight() {
+        return shipmentWeight;
+    }
+
+    /**
+     * Oversized pieces of one size.
+     *
+     * @param side1 The longer side.
+     * @param side2 The shorter side.
+     * @param quantity Number of pieces of this size.
+     * @param weight Total weight of these pieces.
+     */
+    public record OversizeGroup(double side1, double side2, int quantity, double weight) {
+    }
+
+    private static final class OversizeCounter {
+        final double side1;
+        final double side2;
+        int quantity;
+        double weight;
+
+        OversizeCounter(double side1, double side2) {
+            this.side1 = side1;
+            this.side2 = side2;
+        }
+
+        void add(double pieceWeight) {
+            quantity++;
+            weight += pieceWeight;
+        }
+    }
+}
@@ -2,10 +2,17 @@ package archdesign.output;
 
 import archdesign.response.ShipmentViewModel;
 import archdesign.response.ContainerViewModel;
+import archdesign.response.ContainerRunViewModel;
 import archdesign.response.BoxViewModel;
 import archdesign.response.ArtViewModel;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.ShipmentStatistics;
+import archdesign.interactor.PlanComparison;
+import archdesign.service.ShipmentEstimate;
 
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,47 +20,131 @@ import java.util.Map;
 /**
  * Handles formatting and displaying packing results to the console.
  * This class is responsible for all presentation logic for the command-line interface.
+ * <p>
+ * Every display call writes through one large buffer that is flushed once at the end,
+ * so a listing costs one write to the terminal instead of one per line. The
+ * {@link DetailLevel} decides how much of the plan is listed; at
+ * {@link DetailLevel#CONTAINERS} consecutive identical containers are collapsed into a
+ * single line with their count.
  */
 public class ConsoleOutputFormatter {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DetailLevel detailLevel;
+
+    /**
+     * Creates a formatter that lists every container, box and art.
+     */
+    public ConsoleOutputFormatter() {
+        this(DetailLevel.FULL);
+    }
+
+    /**
+     * @param detailLevel How much of a plan {@link #display(ShipmentViewModel)} lists.
+     */
+    public ConsoleOutputFormatter(DetailLevel detailLevel) {
+        this.detailLevel = detailLevel;
+    }
+
     /**
      * Display the complete shipment view model to the console.
      * @param viewModel The complete, read-only data package for the shipment.
      */
     public void display(ShipmentViewModel viewModel) {
+        PrintWriter out = openConsole();
         if (viewModel == null || (viewModel.containers().isEmpty() && viewModel.unpackedArts().isEmpty())) {
-            System.out.println("No containers were used. The packing plan is empty.");
+            out.println("No containers were used. The packing plan is empty.");
+            out.flush();
+            return;
+        }
+
+        displaySummary(out, viewModel);
+        if (detailLevel == DetailLevel.FULL) {
+            displayContainers(out, viewModel);
+        } else if (detailLevel == DetailLevel.CONTAINERS) {
+            displayContainerRuns(out, viewModel);
+        }
+        displayWorkOrderSummary(out, viewModel);
+        displayUnpackedArts(out, viewModel);
+        out.flush();
+    }
+
+    /**
+     * Display the quick estimate that is available before the full solve.
+     * @param estimate The estimate of the shipment.
+     */
+    public void displayEstimate(ShipmentEstimate estimate) {
+        PrintWriter out = openConsole();
+        out.println("--- Quick Estimate (before optimization) ---");
+        out.println("Containers: " + formatRange(estimate.minContainers(), estimate.maxContainers()));
+        out.println("Weight: " + String.format("%.2f", estimate.minWeight()) + " - "
+            + String.format("%.2f", estimate.maxWeight()) + " lbs");
+        out.println("Boxes: " + estimate.boxCount());
+        if (estimate.customPieces() > 0) {
+            out.println("Custom pieces: " + estimate.customPieces());
+        }
+        out.println("------------------------------------");
+        out.flush();
+    }
+
+    /**
+     * Display plans of the same order side by side, one row per scenario.
+     * @param comparisons The compared plans, in display order.
+     */
+    public void displayComparison(List<PlanComparison> comparisons) {
+        PrintWriter out = openConsole();
+        if (comparisons.isEmpty()) {
+            out.println("Nothing to compare.");
+            out.flush();
             return;
         }
+        out.println("--- Packing Mode Comparison ---");
+        out.println(String.format("%-12s %12s %14s %11s %7s %7s %10s",
+            "Mode", "Cost ($)", "Weight (lbs)", "Containers", "Boxes", "Custom", "Time (ms)"));
+        for (PlanComparison comparison : comparisons) {
+            PackingPlan plan = comparison.plan();
+            out.println(String.format("%-12s %12.2f %14.2f %11d %7d %7d %10d",
+                comparison.label(), plan.getTotalCost(), plan.getTotalWeight(), plan.getTotalContainerCount(),
+                plan.getTotalBoxCount(), plan.getUnpackedArts().size(), comparison.elapsed().toMillis()));
+        }
+        out.println("------------------------------------");
+        out.flush();
+    }
 
-        displaySummary(viewModel);
-        displayContainers(viewModel);
-        displayWorkOrderSummary(viewModel);
-        displayUnpackedArts(viewModel);
+    /**
+     * Opens a buffered writer on the current standard output. It is flushed, never closed.
+     */
+    private static PrintWriter openConsole() {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), BUFFER_SIZE), false);
+    }
+
+    private static String formatRange(int min, int max) {
+        return min == max ? String.valueOf(min) : min + " - " + max;
     }
 
     /**
      * Display the shipment summary section.
      * @param viewModel The shipment view model.
      */
-    private void displaySummary(ShipmentViewModel viewModel) {
-        System.out.println("--- Shipment Plan Summary ---");
-        System.out.println("Total Estimated Cost: $" + String.format("%.2f", viewModel.totalCost()));
-        System.out.println("Total Weight: " + String.format("%.2f", viewModel.totalWeight()) + " lbs");
-        System.out.println("Total Containers: " + viewModel.totalContainers());
-        System.out.println("Total Boxes: " + viewModel.totalBoxes());
-        System.out.println("------------------------------------");
+    private void displaySummary(PrintWriter out, ShipmentViewModel viewModel) {
+        out.println("--- Shipment Plan Summary ---");
+        out.println("Total Estimated Cost: $" + String.format("%.2f", viewModel.totalCost()));
+        out.println("Total Weight: " + String.format("%.2f", viewModel.totalWeight()) + " lbs");
+        out.println("Total Containers: " + viewModel.totalContainers());
+        out.println("Total Boxes: " + viewModel.totalBoxes());
+        out.println("------------------------------------");
     }
 
     /**
      * Display all containers, boxes, and arts with their details.
      * @param viewModel The shipment view model.
      */
-    private void displayContainers(ShipmentViewModel viewModel) {
+    private void displayContainers(PrintWriter out, ShipmentViewModel viewModel) {
         for (ContainerViewModel container : viewModel.containers()) {
             String containerDims = String.format("%dx%dx%d", 
                 container.length(), container.width(), container.currentHeight());
-            System.out.println(
+            out.println(
                 "-> Container: " + container.id() +
                 " (Type: " + container.type() + ")" +
                 " | Dimensions: " + containerDims +
@@ -63,7 +154,7 @@ public class ConsoleOutputFormatter {
             for (BoxViewModel box : container.boxes()) {
                 String boxDims = String.format("%dx%dx%d", 
                     box.length(), box.width(), box.currentHeight());
-                System.out.println(
+                out.println(
                     "   --> Box: " + box.id() +
                     " (Type: " + box.type() + ")" +
                     " | Dimensions: " + boxDims +
@@ -72,7 +163,7 @@ public class ConsoleOutputFormatter {
                 );
 
                 for (ArtViewModel art : box.arts()) {
-                    System.out.println(
+                    out.println(
                         "       - Art: " + art.id() +
                         " | Material: " + art.material() +
                         " | Dims: " + art.width() + "x" + art.height() +
@@ -80,181 +171,137 @@ public class ConsoleOutputFormatter {
                     );
                 }
             }
-            System.out.println(); // Add a blank line for readability
+            out.println(); // Add a blank line for readability
         }
     }
 
     /**
-     * Display the work order summary including piece counts and weights.
+     * Display one line per run of consecutive identical containers, as grouped by the
+     * view model.
+     * @param out The console writer.
      * @param viewModel The shipment view model.
      */
-    private void displayWorkOrderSummary(ShipmentViewModel viewModel) {
-        // Gather all arts across the shipment
-        List<ArtViewModel> allArts = new ArrayList<>();
-        for (ContainerViewModel container : viewModel.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                allArts.addAll(box.arts());
-            }
-        }
-
-        // Compute totals and group oversized pieces
-        int totalPieces = allArts.size();
-        double totalArtworkWeight = 0.0;
-        Map<String, OversizeGroup> oversizeMap = new LinkedHashMap<>();
-        int standardPieces = 0;
-
-        for (ArtViewModel art : allArts) {
-            totalArtworkWeight += art.weight();
-            boolean isOversized = art.width() > 44 || art.height() > 44;
-            if (!isOversized) {
-                standardPieces++;
+    private void displayContainerRuns(PrintWriter out, ShipmentViewModel viewModel) {
+        for (ContainerRunViewModel run : viewModel.containerRuns()) {
+            String runLine = describeContainer(run.pattern());
+            if (run.count() == 1) {
+                out.println("-> Container: " + run.firstId() + " " + runLine);
             } else {
-                String dims = art.height() + "\" x " + art.width() + "\"";
-                OversizeGroup g = oversizeMap.get(dims);
-                if (g == null) {
-                    g = new OversizeGroup(art.height(), art.width());
-                    oversizeMap.put(dims, g);
-                }
-                g.add(art.weight());
+                out.println("-> " + run.count() + " x identical " + runLine +
+                    " | Containers: " + run.firstId() + " .. " + run.lastId());
             }
         }
+        if (!viewModel.containerRuns().isEmpty()) {
+            out.println();
+            out.println("(Box and art lines omitted; use --detail=full to list them.)");
+        }
+    }
 
-        // Count box types (excluding crate boxes as they are virtual)
-        int standardBoxCount = 0;
-        int largeBoxCount = 0;
-        
-        for (ContainerViewModel container : viewModel.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                String boxType = box.type();
-                if ("STANDARD".equals(boxType)) {
-                    standardBoxCount++;
-                } else if ("LARGE".equals(boxType)) {
-                    largeBoxCount++;
-                }
-                // CRATE boxes are not counted as they are virtual
-            }
+    /**
+     * Describe a container by its contents only, so identical containers describe alike.
+     */
+    private static String describeContainer(ContainerViewModel container) {
+        Map<String, Integer> boxMix = new LinkedHashMap<>();
+        int items = 0;
+        for (BoxViewModel box : container.boxes()) {
+            boxMix.merge(box.type(), 1, Integer::sum);
+            items += box.arts().size();
         }
-        
-        // Count container types
-        int standardPalletCount = 0;
-        int oversizedPalletCount = 0;
-        int crateContainerCount = 0;
-        
-        for (ContainerViewModel container : viewModel.containers()) {
-            String containerType = container.type();
-            if ("STANDARD_PALLET".equals(containerType) || "GLASS_PALLET".equals(containerType)) {
-                standardPalletCount++;
-            } else if ("OVERSIZE_PALLET".equals(containerType)) {
-                oversizedPalletCount++;
-            } else if ("STANDARD_CRATE".equals(containerType)) {
-                crateContainerCount++;
-            }
+        StringBuilder line = new StringBuilder()
+            .append("(Type: ").append(container.type()).append(")")
+            .append(" | Dimensions: ").append(String.format("%dx%dx%d",
+                container.length(), container.width(), container.currentHeight()))
+            .append(" | Weight: ").append(String.format("%.2f", container.weight())).append(" lbs")
+            .append(" | Boxes:");
+        String separator = " ";
+        for (Map.Entry<String, Integer> entry : boxMix.entrySet()) {
+            line.append(separator).append(entry.getValue()).append(" ").append(entry.getKey());
+            separator = ", ";
         }
-
-        // Get unpacked arts (custom pieces)
-        int customPieceCount = viewModel.unpackedArts().size();
-        
-        // Add unpacked arts weight to total artwork weight
-        for (ArtViewModel unpackedArt : viewModel.unpackedArts()) {
-            totalArtworkWeight += unpackedArt.weight();
+        if (boxMix.isEmpty()) {
+            line.append(" none");
         }
+        return line.append(" | Contains: ").append(items).append(" items").toString();
+    }
 
-        double finalShipmentWeight = viewModel.totalWeight();
-        double totalPackagingWeight = finalShipmentWeight - totalArtworkWeight;
+    /**
+     * Display the work order summary including piece counts and weights.
+     * @param viewModel The shipment view model.
+     */
+    private void displayWorkOrderSummary(PrintWriter out, ShipmentViewModel viewModel) {
+        ShipmentStatistics statistics = viewModel.statistics();
 
-        System.out.println("\n=== SHIPMENT SUMMARY ===");
-        System.out.println();
+        out.println("\n=== SHIPMENT SUMMARY ===");
+        out.println();
         
         // Piece counts
-        System.out.println("ARTWORK PIECES:");
-        System.out.println("  Total Pieces: " + (totalPieces + customPieceCount));
-        System.out.println("  Standard Size Pieces: " + standardPieces);
-        System.out.println("  Oversized Pieces: " + 
-            oversizeMap.values().stream().mapToInt(g -> g.qty).sum());
+        out.println("ARTWORK PIECES:");
+        out.println("  Total Pieces: " + statistics.getTotalPieces());
+        out.println("  Standard Size Pieces: " + statistics.getStandardSizePieces());
+        out.println("  Oversized Pieces: " + statistics.getOversizedPieces());
         
-        if (!oversizeMap.isEmpty()) {
-            for (Map.Entry<String, OversizeGroup> entry : oversizeMap.entrySet()) {
-                OversizeGroup g = entry.getValue();
-                System.out.println("    - " + entry.getKey() + 
-                    " (Quantity: " + g.qty + ", Weight: " + 
-                    String.format("%.0f", g.totalWeight) + " lbs)");
-            }
+        for (ShipmentStatistics.OversizeGroup g : statistics.getOversizeGroups()) {
+            out.println("    - " + g.side1() + "\" x " + g.side2() + "\"" +
+                " (Quantity: " + g.quantity() + ", Weight: " + 
+                String.format("%.0f", g.weight()) + " lbs)");
         }
-        System.out.println();
+        out.println();
         
         // Box counts
-        System.out.println("PACKAGING:");
-        System.out.println("  Standard Box Count: " + standardBoxCount);
-        System.out.println("  Large Box Count: " + largeBoxCount);
-        System.out.println("  Custom Piece Count: " + customPieceCount);
-        System.out.println();
+        out.println("PACKAGING:");
+        out.println("  Standard Box Count: " + statistics.getStandardBoxCount());
+        out.println("  Large Box Count: " + statistics.getLargeBoxCount());
+        out.println("  Custom Piece Count: " + statistics.getCustomPieceCount());
+        out.println();
         
         // Container counts
-        System.out.println("CONTAINERS:");
-        System.out.println("  Standard Pallet Count: " + standardPalletCount);
-        System.out.println("  Oversized Pallet Count: " + oversizedPalletCount);
-        System.out.println("  Crate Container Count: " + crateContainerCount);
-        System.out.println();
+        out.println("CONTAINERS:");
+        out.println("  Standard Pallet Count: " + statistics.getStandardPalletCount());
+        out.println("  Oversized Pallet Count: " + statistics.getOversizedPalletCount());
+        out.println("  Crate Container Count: " + statistics.getCrateCount());
+        out.println();
         
         // Weights
-        System.out.println("WEIGHT BREAKDOWN:");
-        System.out.println("  Total Artwork Weight: " + 
-            String.format("%.0f", totalArtworkWeight) + " lbs");
-        System.out.println("  Total Packaging Weight: " + 
-            String.format("%.0f", totalPackagingWeight) + " lbs");
-        System.out.println("  Final Shipment Weight: " + 
-            String.format("%.0f", finalShipmentWeight) + " lbs");
-        System.out.println();
-        System.out.println("========================");
+        out.println("WEIGHT BREAKDOWN:");
+        out.println("  Total Artwork Weight: " + 
+            String.format("%.0f", statistics.getTotalArtworkWeight()) + " lbs");
+        out.println("  Total Packaging Weight: " + 
+            String.format("%.0f", statistics.getTotalPackagingWeight()) + " lbs");
+        out.println("  Final Shipment Weight: " + 
+            String.format("%.0f", statistics.getFinalShipmentWeight()) + " lbs");
+        out.println();
+        out.println("========================");
     }
 
     /**
      * Display information about unpacked arts that could not be fitted into containers.
      * @param viewModel The shipment view model.
      */
-    private void displayUnpackedArts(ShipmentViewModel viewModel) {
+    private void displayUnpackedArts(PrintWriter out, ShipmentViewModel viewModel) {
         List<ArtViewModel> unpackedArts = viewModel.unpackedArts();
         
         if (unpackedArts == null || unpackedArts.isEmpty()) {
             return; // No unpacked arts to display
         }
         
-        System.out.println("\n!!! WARNING: UNPACKED ITEMS !!!");
-        System.out.println("The following " + unpackedArts.size() + " art piece(s) could not be packed:");
-        System.out.println("These items are too large for available boxes/containers and are counted as custom pieces.");
-        System.out.println();
+        out.println("\n!!! WARNING: UNPACKED ITEMS !!!");
+        out.println("The following " + unpackedArts.size() + " art piece(s) could not be packed:");
+        out.println("These items are too large for available boxes/containers and are counted as custom pieces.");
+        out.println();
         
-        for (ArtViewModel art : unpackedArts) {
-            System.out.println("   - Art: " + art.id() +
-                " | Material: " + art.material() +
-                " | Dims: " + art.width() + "x" + art.height() +
-                " | Weight: " + String.format("%.2f", art.weight()) + " lbs");
+        if (detailLevel != DetailLevel.SUMMARY) {
+            for (ArtViewModel art : unpackedArts) {
+                out.println("   - Art: " + art.id() +
+                    " | Material: " + art.material() +
+                    " | Dims: " + art.width() + "x" + art.height() +
+                    " | Weight: " + String.format("%.2f", art.weight()) + " lbs");
+            }
         }
         
-        double unpackedWeight = unpackedArts.stream().mapToDouble(ArtViewModel::weight).sum();
-        System.out.println();
-        System.out.println("Total Unpacked Artwork Weight: " + String.format("%.0f", unpackedWeight) + " lbs");
-        System.out.println("These items are included in the JSON output as 'custom_piece_count' and 'total_artwork_weight'.");
-        System.out.println("!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!\n");
-    }
-
-    /**
-     * Helper class to group oversize pieces by dimensions.
-     */
-    private static class OversizeGroup {
-        final double w;
-        final double h;
-        int qty = 0;
-        double totalWeight = 0.0;
-
-        OversizeGroup(double h, double w) {
-            this.h = h;
-            this.w = w;
-        }
-
-        void add(double weight) {
-            qty++;
-            totalWeight += weight;
-        }
+        double unpackedWeight = viewModel.statistics().getUnpackedArtworkWeight();
+        out.println();
+        out.println("Total Unpacked Artwork Weight: " + String.format("%.0f", unpackedWeight) + " lbs");
+        out.println("These items are included in the JSON output as 'custom_piece_count' and 'total_artwork_weight'.");
+        out.println("!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!\n");
     }
 }
@@ -0,0 +1,29 @@
+package archdesign.output;
+
+/**
+ * How much of a packing plan the console output lists.
+ */
+public enum DetailLevel {
+
+    /** The plan summary and the work-order summary only. */
+    SUMMARY,
+
+    /** One line per run of identical containers, with their box mix; no box or art lines. */
+    CONTAINERS,
+
+    /** Every container, box and art. */
+    FULL;
+
+    /** Plans with more pieces than this are shown per container unless a level is asked for. */
+    public static final int FULL_DETAIL_PIECE_LIMIT = 500;
+
+    /**
+     * Returns the level to use when none was asked for: full detail for ordinary plans,
+     * per-container listings once every art line would flood the terminal.
+     * @param totalPieces Number of pieces in the plan.
+     * @return The default level for a plan of that size.
+     */
+    public static DetailLevel defaultFor(int totalPieces) {
+        return totalPieces > FULL_DETAIL_PIECE_LIMIT ? CONTAINERS : FULL;
+    }
+}
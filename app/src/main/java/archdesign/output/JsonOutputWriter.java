@@ -2,220 +2,86 @@ package archdesign.output;
 
 import archdesign.response.ShipmentViewModel;
 import archdesign.response.ContainerViewModel;
+import archdesign.response.ContainerRunViewModel;
 import archdesign.response.BoxViewModel;
 import archdesign.response.ArtViewModel;
-import archdesign.response.JsonOutputSchema;
+import archdesign.interactor.ShipmentStatistics;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handles writing packing results to JSON format.
  * This class is responsible for converting the shipment view model to JSON output.
+ * <p>
+ * The output is streamed through a buffered {@link JsonWriter} instead of being built as
+ * an object tree first. The summary figures come from the view model's
+ * {@link ShipmentStatistics}, so the summary costs the same for any plan size; only the
+ * optional detailed section walks the containers, and it writes each container, box and
+ * art as it is reached.
+ * <p>
+ * The detailed section writes one entry per run of identical containers, with the run's
+ * {@code count} and the IDs of its first and last container; the boxes and arts of a
+ * repeated pattern carry no IDs, since they differ from container to container. Asking
+ * for expanded IDs writes every container as an entry of its own instead.
  */
 public class JsonOutputWriter {
 
-    /**
-     * Write the packing results to a JSON file.
-     * @param viewModel The ShipmentViewModel containing all packing data.
-     * @param outputFilePath The path to the output JSON file.
-     */
-    public void write(ShipmentViewModel viewModel, String outputFilePath) {
-        if (viewModel == null) {
-            System.err.println("Warning: No packing data to write to JSON file.");
-            return;
-        }
+    private static final int BUFFER_SIZE = 1 << 16;
 
-        // Even if containers are empty, we may have unpacked arts (custom pieces)
-        // So we should still write the JSON file
-        JsonOutputSchema jsonOutput = buildJsonOutput(viewModel);
-        writeToFile(jsonOutput, outputFilePath);
-    }
+    private final boolean includeDetails;
+    private final boolean expandIds;
 
     /**
-     * Build the JSON output schema from the view model.
-     * @param viewModel The shipment view model.
-     * @return The populated JsonOutputSchema object.
+     * Creates a writer for the summary-only format.
      */
-    private JsonOutputSchema buildJsonOutput(ShipmentViewModel viewModel) {
-        // Collect all arts across the shipment
-        List<ArtViewModel> allArts = collectAllArts(viewModel);
-        
-        // Get unpacked arts (custom pieces - oversized items packed individually)
-        List<ArtViewModel> unpackedArts = viewModel.unpackedArts();
-
-        // Create JSON output object
-        JsonOutputSchema jsonOutput = new JsonOutputSchema();
-
-        // Calculate pieces and oversized information (including unpacked arts)
-        // Combine all arts and unpacked arts for accurate total count
-        List<ArtViewModel> allArtsIncludingUnpacked = new ArrayList<>(allArts);
-        allArtsIncludingUnpacked.addAll(unpackedArts);
-        
-        PieceStatistics pieceStats = calculatePieceStatistics(allArtsIncludingUnpacked);
-        jsonOutput.setTotalPieces(pieceStats.totalPieces);
-        jsonOutput.setStandardSizePieces(pieceStats.standardSizePieces);
-        jsonOutput.setOversizedPieces(pieceStats.oversizedPieces);
-
-        // Count boxes by type
-        BoxCounts boxCounts = countBoxes(viewModel);
-        jsonOutput.setStandardBoxCount(boxCounts.standardBoxCount);
-        jsonOutput.setLargeBoxCount(boxCounts.largeBoxCount);
-        // custom_piece_count is ONLY unpacked arts (not CRATE boxes)
-        jsonOutput.setCustomPieceCount(unpackedArts.size());
-
-        // Count containers by type
-        ContainerCounts containerCounts = countContainers(viewModel);
-        jsonOutput.setStandardPalletCount(containerCounts.standardPalletCount);
-        jsonOutput.setOversizedPalletCount(containerCounts.oversizedPalletCount);
-        jsonOutput.setCrateCount(containerCounts.crateCount);
-
-        // Calculate weights including unpacked arts
-        WeightStatistics weights = calculateWeights(allArts, unpackedArts, viewModel);
-        jsonOutput.setTotalArtworkWeight(weights.totalArtworkWeight);
-        jsonOutput.setTotalPackagingWeight(weights.totalPackagingWeight);
-        jsonOutput.setFinalShipmentWeight(weights.finalShipmentWeight);
-
-        return jsonOutput;
+    public JsonOutputWriter() {
+        this(false);
     }
 
     /**
-     * Collect all arts from all containers and boxes in the shipment.
-     * @param viewModel The shipment view model.
-     * @return List of all ArtViewModel objects.
+     * @param includeDetails Whether to append the per-container, box and art section
+     *                       ({@code containers} and {@code custom_pieces}) to the summary.
      */
-    private List<ArtViewModel> collectAllArts(ShipmentViewModel viewModel) {
-        List<ArtViewModel> allArts = new ArrayList<>();
-        for (ContainerViewModel container : viewModel.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                allArts.addAll(box.arts());
-            }
-        }
-        return allArts;
+    public JsonOutputWriter(boolean includeDetails) {
+        this(includeDetails, false);
     }
 
     /**
-     * Calculate piece statistics including total, standard, and oversized pieces.
-     * @param allArts List of all arts in the shipment.
-     * @return PieceStatistics object containing counts and oversized piece list.
+     * @param includeDetails Whether to append the per-container, box and art section
+     *                       ({@code containers} and {@code custom_pieces}) to the summary.
+     * @param expandIds Whether the detailed section lists every container with its own
+     *                  box and art IDs, instead of one entry per run of identical containers.
      */
-    private PieceStatistics calculatePieceStatistics(List<ArtViewModel> allArts) {
-        int totalPieces = allArts.size();
-        int standardSizePieces = 0;
-        Map<String, OversizeGroup> oversizeMap = new LinkedHashMap<>();
-
-        for (ArtViewModel art : allArts) {
-            boolean isOversized = art.width() > 44 || art.height() > 44;
-            if (!isOversized) {
-                standardSizePieces++;
-            } else {
-                // Ensure side1 is the longer side
-                double longerSide = Math.max(art.height(), art.width());
-                double shorterSide = Math.min(art.height(), art.width());
-                String key = longerSide + "x" + shorterSide;
-                OversizeGroup g = oversizeMap.get(key);
-                if (g == null) {
-                    g = new OversizeGroup(longerSide, shorterSide);
-                    oversizeMap.put(key, g);
-                }
-                g.add(art.weight());
-            }
-        }
-
-        // Convert oversized map to list
-        // side1 is stored in h (first dimension), side2 in w (second dimension)
-        List<JsonOutputSchema.OversizedPiece> oversizedPieces = new ArrayList<>();
-        for (OversizeGroup g : oversizeMap.values()) {
-            oversizedPieces.add(new JsonOutputSchema.OversizedPiece(g.side1, g.side2, g.qty));
-        }
-
-        return new PieceStatistics(totalPieces, standardSizePieces, oversizedPieces);
+    public JsonOutputWriter(boolean includeDetails, boolean expandIds) {
+        this.includeDetails = includeDetails;
+        this.expandIds = expandIds;
     }
 
     /**
-     * Count boxes by type in the shipment.
-     * @param viewModel The shipment view model.
-     * @return BoxCounts object containing counts for each box type.
-     */
-    private BoxCounts countBoxes(ShipmentViewModel viewModel) {
-        int standardBoxCount = 0;
-        int largeBoxCount = 0;
-
-        for (ContainerViewModel container : viewModel.containers()) {
-            for (BoxViewModel box : container.boxes()) {
-                String boxType = box.type();
-                if (boxType.equals("STANDARD")) {
-                    standardBoxCount++;
-                } else if (boxType.equals("LARGE")) {
-                    largeBoxCount++;
-                }
-                // CRATE boxes are not counted in standard/large box counts
-            }
-        }
-
-        return new BoxCounts(standardBoxCount, largeBoxCount);
-    }
-
-    /**
-     * Count containers by type in the shipment.
-     * @param viewModel The shipment view model.
-     * @return ContainerCounts object containing counts for each container type.
+     * Write the packing results to a JSON file.
+     * @param viewModel The ShipmentViewModel containing all packing data.
+     * @param outputFilePath The path to the output JSON file.
      */
-    private ContainerCounts countContainers(ShipmentViewModel viewModel) {
-        int standardPalletCount = 0;
-        int oversizedPalletCount = 0;
-        int crateCount = 0;
-
-        for (ContainerViewModel container : viewModel.containers()) {
-            String containerType = container.type();
-            if (containerType.equals("STANDARD_PALLET") || containerType.equals("GLASS_PALLET")) {
-                standardPalletCount++;
-            } else if (containerType.equals("OVERSIZE_PALLET")) {
-                oversizedPalletCount++;
-            } else if (containerType.equals("STANDARD_CRATE")) {
-                crateCount++;
-            }
+    public void write(ShipmentViewModel viewModel, String outputFilePath) {
+        if (viewModel == null) {
+            System.err.println("Warning: No packing data to write to JSON file.");
+            return;
         }
 
-        return new ContainerCounts(standardPalletCount, oversizedPalletCount, crateCount);
-    }
-
-    /**
-     * Calculate weight statistics for the shipment.
-     * @param allArts List of all packed arts in the shipment.
-     * @param unpackedArts List of unpacked arts.
-     * @param viewModel The shipment view model.
-     * @return WeightStatistics object containing artwork, packaging, and final weights.
-     */
-    private WeightStatistics calculateWeights(List<ArtViewModel> allArts, List<ArtViewModel> unpackedArts, ShipmentViewModel viewModel) {
-        // Calculate total artwork weight including both packed and unpacked arts
-        double packedArtworkWeight = allArts.stream().mapToDouble(ArtViewModel::weight).sum();
-        double unpackedArtworkWeight = unpackedArts.stream().mapToDouble(ArtViewModel::weight).sum();
-        double totalArtworkWeight = packedArtworkWeight + unpackedArtworkWeight;
-        
-        // The final shipment weight from viewModel only includes packed items
-        double finalShipmentWeight = viewModel.totalWeight();
-        double totalPackagingWeight = finalShipmentWeight - packedArtworkWeight;
-
-        return new WeightStatistics(totalArtworkWeight, totalPackagingWeight, finalShipmentWeight);
-    }
-
-    /**
-     * Write the JSON output to a file.
-     * @param jsonOutput The populated JsonOutputSchema object.
-     * @param outputFilePath The path to the output file.
-     */
-    private void writeToFile(JsonOutputSchema jsonOutput, String outputFilePath) {
-        try (FileWriter writer = new FileWriter(outputFilePath)) {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            gson.toJson(jsonOutput, writer);
+        // Even if containers are empty, we may have unpacked arts (custom pieces)
+        // So we should still write the JSON file
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(Paths.get(outputFilePath)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            write(viewModel, writer);
             System.out.println("Successfully wrote JSON output to: " + outputFilePath);
         } catch (IOException e) {
             System.err.println("Error writing JSON output file: " + e.getMessage());
@@ -224,82 +90,123 @@ public class JsonOutputWriter {
     }
 
     /**
-     * Helper class to group oversize pieces by dimensions.
+     * Write the packing results as JSON to a character stream. The stream is flushed but
+     * not closed.
+     * @param viewModel The ShipmentViewModel containing all packing data.
+     * @param out The destination.
+     * @throws IOException If the destination cannot be written.
      */
-    private static class OversizeGroup {
-        final double side1; // Longer side
-        final double side2; // Shorter side
-        int qty = 0;
-        double totalWeight = 0.0;
-
-        OversizeGroup(double side1, double side2) {
-            this.side1 = side1;
-            this.side2 = side2;
-        }
-
-        void add(double weight) {
-            qty++;
-            totalWeight += weight;
+    public void write(ShipmentViewModel viewModel, Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject();
+        writeSummary(json, viewModel.statistics());
+        if (includeDetails) {
+            writeDetails(json, viewModel);
         }
+        json.endObject();
+        json.flush();
     }
 
-    /**
-     * Data class for piece statistics.
-     */
-    private static class PieceStatistics {
-        final int totalPieces;
-        final int standardSizePieces;
-        final List<JsonOutputSchema.OversizedPiece> oversizedPieces;
-
-        PieceStatistics(int totalPieces, int standardSizePieces, 
-                       List<JsonOutputSchema.OversizedPiece> oversizedPieces) {
-            this.totalPieces = totalPieces;
-            this.standardSizePieces = standardSizePieces;
-            this.oversizedPieces = oversizedPieces;
+    private void writeSummary(JsonWriter json, ShipmentStatistics statistics) throws IOException {
+        json.name("total_pieces").value(statistics.getTotalPieces());
+        json.name("standard_size_pieces").value(statistics.getStandardSizePieces());
+
+        // side1 is the longer side, side2 the shorter one
+        json.name("oversized_pieces").beginArray();
+        for (ShipmentStatistics.OversizeGroup g : statistics.getOversizeGroups()) {
+            json.beginObject();
+            json.name("side1").value(g.side1());
+            json.name("side2").value(g.side2());
+            json.name("quantity").value(g.quantity());
+            json.endObject();
         }
+        json.endArray();
+
+        json.name("standard_box_count").value(statistics.getStandardBoxCount());
+        json.name("large_box_count").value(statistics.getLargeBoxCount());
+        // custom_piece_count is ONLY unpacked arts (not CRATE boxes)
+        json.name("custom_piece_count").value(statistics.getCustomPieceCount());
+        json.name("standard_pallet_count").value(statistics.getStandardPalletCount());
+        json.name("oversized_pallet_count").value(statistics.getOversizedPalletCount());
+        json.name("crate_count").value(statistics.getCrateCount());
+
+        json.name("total_artwork_weight").value(statistics.getTotalArtworkWeight());
+        json.name("total_packaging_weight").value(statistics.getTotalPackagingWeight());
+        json.name("final_shipment_weight").value(statistics.getFinalShipmentWeight());
     }
 
     /**
-     * Data class for box counts.
+     * Write every run of identical containers with its boxes and arts, followed by the
+     * unpacked arts.
+     * @param json The destination.
+     * @param viewModel The shipment view model.
      */
-    private static class BoxCounts {
-        final int standardBoxCount;
-        final int largeBoxCount;
-
-        BoxCounts(int standardBoxCount, int largeBoxCount) {
-            this.standardBoxCount = standardBoxCount;
-            this.largeBoxCount = largeBoxCount;
+    private void writeDetails(JsonWriter json, ShipmentViewModel viewModel) throws IOException {
+        json.name("containers").beginArray();
+        for (ContainerRunViewModel run : viewModel.containerRuns()) {
+            if (expandIds) {
+                for (ContainerViewModel container : run.containers()) {
+                    writeContainer(json, container, 1, null);
+                }
+            } else {
+                writeContainer(json, run.pattern(), run.count(), run.count() > 1 ? run.lastId() : null);
+            }
         }
+        json.endArray();
+        writeArts(json, "custom_pieces", viewModel.unpackedArts(), true);
     }
 
     /**
-     * Data class for container counts.
+     * Write one container entry standing for {@code count} identical containers.
+     * @param lastId The ID of the run's last container; null for a single container.
      */
-    private static class ContainerCounts {
-        final int standardPalletCount;
-        final int oversizedPalletCount;
-        final int crateCount;
-
-        ContainerCounts(int standardPalletCount, int oversizedPalletCount, int crateCount) {
-            this.standardPalletCount = standardPalletCount;
-            this.oversizedPalletCount = oversizedPalletCount;
-            this.crateCount = crateCount;
+    private void writeContainer(JsonWriter json, ContainerViewModel container, int count, String lastId)
+            throws IOException {
+        boolean withIds = count == 1;
+        json.beginObject();
+        json.name("id").value(container.id());
+        if (lastId != null) {
+            json.name("last_id").value(lastId);
+        }
+        json.name("count").value(count);
+        json.name("type").value(container.type());
+        json.name("length").value(container.length());
+        json.name("width").value(container.width());
+        json.name("height").value(container.currentHeight());
+        json.name("weight").value(container.weight());
+        json.name("boxes").beginArray();
+        for (BoxViewModel box : container.boxes()) {
+            json.beginObject();
+            if (withIds) {
+                json.name("id").value(box.id());
+            }
+            json.name("type").value(box.type());
+            json.name("length").value(box.length());
+            json.name("width").value(box.width());
+            json.name("height").value(box.currentHeight());
+            json.name("weight").value(box.weight());
+            writeArts(json, "arts", box.arts(), withIds);
+            json.endObject();
         }
+        json.endArray();
+        json.endObject();
     }
 
-    /**
-     * Data class for weight statistics.
-     */
-    private static class WeightStatistics {
-        final double totalArtworkWeight;
-        final double totalPackagingWeight;
-        final double finalShipmentWeight;
-
-        WeightStatistics(double totalArtworkWeight, double totalPackagingWeight, 
-                        double finalShipmentWeight) {
-            this.totalArtworkWeight = totalArtworkWeight;
-            this.totalPackagingWeight = totalPackagingWeight;
-            this.finalShipmentWeight = finalShipmentWeight;
+    private void writeArts(JsonWriter json, String name, List<ArtViewModel> arts, boolean withIds)
+            throws IOException {
+        json.name(name).beginArray();
+        for (ArtViewModel art : arts) {
+            json.beginObject();
+            if (withIds) {
+                json.name("id").value(art.id());
+            }
+            json.name("width").value(art.width());
+            json.name("height").value(art.height());
+            json.name("material").value(art.material());
+            json.name("weight").value(art.weight());
+            json.endObject();
         }
+        json.endArray();
     }
 }
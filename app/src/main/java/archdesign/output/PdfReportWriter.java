@@ -0,0 +1,288 @@
+package archdesign.output;
+
+import archdesign.interactor.ShipmentStatistics;
+import archdesign.response.ArtViewModel;
+import archdesign.response.BoxViewModel;
+import archdesign.response.ContainerRunViewModel;
+import archdesign.response.ContainerViewModel;
+import archdesign.response.ShipmentViewModel;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.LineSeparator;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.AreaBreakType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles writing packing results to a PDF report.
+ * <p>
+ * The report opens with the shipment summary, work order and efficiency figures, then
+ * gives every run of identical containers a page of its own listing the boxes and arts of
+ * its pattern, and ends with the unpacked arts, if any. A repeated pattern is listed once,
+ * without box and art IDs; a writer that expands IDs gives every container its own page.
+ * The document is laid out in immediate-flush mode, so every finished page is written out
+ * and released, and each container's listing is a large table flushed every
+ * {@value #ROWS_PER_FLUSH} rows. Memory therefore stays flat however many containers or
+ * pieces the plan has.
+ * <p>
+ * A writer keeps no state between reports: each call opens its own document, so one
+ * writer may render reports on several threads at once, one document per thread.
+ */
+public class PdfReportWriter {
+
+    private static final int ROWS_PER_FLUSH = 50;
+
+    private final boolean expandIds;
+
+    /**
+     * Creates a writer that lists each run of identical containers once.
+     */
+    public PdfReportWriter() {
+        this(false);
+    }
+
+    /**
+     * @param expandIds Whether every container gets a page of its own with its box and
+     *                  art IDs, instead of one page per run of identical containers.
+     */
+    public PdfReportWriter(boolean expandIds) {
+        this.expandIds = expandIds;
+    }
+
+    /**
+     * Write the packing results to a PDF file.
+     * @param viewModel The ShipmentViewModel containing all packing data.
+     * @param outputFilePath The path to the output PDF file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(ShipmentViewModel viewModel, String outputFilePath) throws IOException {
+        write(viewModel, new BufferedOutputStream(Files.newOutputStream(Paths.get(outputFilePath))));
+    }
+
+    /**
+     * Write the packing results as a PDF document. The stream is closed when the
+     * document is complete.
+     * @param viewModel The ShipmentViewModel containing all packing data.
+     * @param out The destination.
+     * @throws IOException If the destination cannot be written.
+     */
+    public void write(ShipmentViewModel viewModel, OutputStream out) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(out, new WriterProperties().setFullCompressionMode(true)));
+        try (Document document = new Document(pdfDoc, PageSize.A4, true)) {
+            // Fonts belong to one document, so every report creates its own
+            PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+            writeSummary(document, boldFont, viewModel);
+            int total = viewModel.containers().size();
+            int number = 1;
+            for (ContainerRunViewModel run : viewModel.containerRuns()) {
+                if (expandIds) {
+                    for (ContainerViewModel container : run.containers()) {
+                        document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                        writeContainer(document, boldFont, container, number++, 1, null, total);
+                    }
+                } else {
+                    document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                    writeContainer(document, boldFont, run.pattern(), number, run.count(), run.lastId(), total);
+                    number += run.count();
+                }
+            }
+            if (!viewModel.unpackedArts().isEmpty()) {
+                document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                writeUnpackedArts(document, boldFont, viewModel.unpackedArts());
+            }
+        }
+    }
+
+    /**
+     * Write the first page: summary, container analysis, work order, efficiency and weights.
+     */
+    private void writeSummary(Document document, PdfFont boldFont, ShipmentViewModel viewModel) {
+        ShipmentStatistics statistics = viewModel.statistics();
+        int totalPieces = statistics.getTotalPieces();
+
+        document.add(new Paragraph("ART PACKER - SHIPPING ESTIMATE REPORT").setFont(boldFont).setFontSize(18));
+        document.add(new Paragraph(""));
+
+        addSectionHeader(document, boldFont, "SHIPMENT PLAN SUMMARY");
+        document.add(createLabelValue("Total Estimated Cost", "$" + String.format("%.2f", viewModel.totalCost())));
+        document.add(createLabelValue("Total Weight", String.format("%.2f lbs", viewModel.totalWeight())));
+        document.add(createLabelValue("Total Containers", String.valueOf(viewModel.totalContainers())));
+        document.add(createLabelValue("Total Boxes", String.valueOf(viewModel.totalBoxes())));
+        document.add(createLabelValue("Total Artwork Pieces", String.valueOf(totalPieces)));
+        document.add(createLabelValue("Packed Items", String.valueOf(statistics.getPackedPieces())));
+        document.add(createLabelValue("Unpacked Items", String.valueOf(statistics.getCustomPieceCount())));
+        document.add(new Paragraph(""));
+
+        // Container types and volumes come from one walk over the container patterns
+        Map<String, Integer> containerTypes = new LinkedHashMap<>();
+        double totalVolume = 0;
+        double usedVolume = 0;
+        for (ContainerRunViewModel run : viewModel.containerRuns()) {
+            ContainerViewModel container = run.pattern();
+            containerTypes.merge(container.type(), run.count(), Integer::sum);
+            totalVolume += (double) container.length() * container.width() * container.currentHeight() * run.count();
+            for (BoxViewModel box : container.boxes()) {
+                usedVolume += (double) box.length() * box.width() * box.currentHeight() * run.count();
+            }
+        }
+
+        addSectionHeader(document, boldFont, "CONTAINER ANALYSIS");
+        document.add(createLabelValue("Total Containers", String.valueOf(viewModel.totalContainers())));
+        for (Map.Entry<String, Integer> entry : containerTypes.entrySet()) {
+            double percentage = viewModel.totalContainers() > 0
+                ? (entry.getValue() / (double) viewModel.totalContainers()) * 100 : 0;
+            document.add(createLabelValue("  " + entry.getKey(),
+                entry.getValue() + " (" + String.format("%.1f%%", percentage) + ")"));
+        }
+        document.add(new Paragraph(""));
+
+        addSectionHeader(document, boldFont, "WORK ORDER SUMMARY");
+        document.add(createLabelValue("Standard Size Pieces", String.valueOf(statistics.getStandardSizePieces())));
+        document.add(createLabelValue("Oversized Pieces", String.valueOf(statistics.getOversizedPieces())));
+        for (ShipmentStatistics.OversizeGroup group : statistics.getOversizeGroups()) {
+            document.add(createLabelValue(String.format("  %.0f\" x %.0f\"", group.side1(), group.side2()),
+                String.format("%d (%.0f lbs)", group.quantity(), group.weight())));
+        }
+        document.add(createLabelValue("Standard Boxes", String.valueOf(statistics.getStandardBoxCount())));
+        document.add(createLabelValue("Large Boxes", String.valueOf(statistics.getLargeBoxCount())));
+        document.add(createLabelValue("Standard Pallets", String.valueOf(statistics.getStandardPalletCount())));
+        document.add(createLabelValue("Oversized Pallets", String.valueOf(statistics.getOversizedPalletCount())));
+        document.add(createLabelValue("Crates", String.valueOf(statistics.getCrateCount())));
+        document.add(new Paragraph(""));
+
+        addSectionHeader(document, boldFont, "EFFICIENCY METRICS");
+        double utilization = totalVolume > 0 ? (usedVolume / totalVolume) * 100 : 0;
+        double successRate = totalPieces > 0 ? (statistics.getPackedPieces() / (double) totalPieces) * 100 : 0;
+        document.add(createLabelValue("Container Utilization", String.format("%.1f%%", utilization)));
+        document.add(createLabelValue("Packing Success Rate", String.format("%.1f%%", successRate)));
+        document.add(createLabelValue("Cost per Item", "$" + String.format("%.2f",
+            totalPieces > 0 ? viewModel.totalCost() / totalPieces : 0)));
+        document.add(new Paragraph(""));
+
+        addSectionHeader(document, boldFont, "COST & WEIGHT BREAKDOWN");
+        double shipmentWeight = statistics.getFinalShipmentWeight();
+        double packagingWeight = statistics.getTotalPackagingWeight();
+        double packagingPercentage = shipmentWeight > 0 ? (packagingWeight / shipmentWeight) * 100 : 0;
+        document.add(createLabelValue("Total Cost", "$" + String.format("%.2f", viewModel.totalCost())));
+        document.add(createLabelValue("Total Weight", String.format("%.2f lbs", shipmentWeight)));
+        document.add(createLabelValue("Artwork Weight", String.format("%.2f lbs (%.1f%%)",
+            statistics.getTotalArtworkWeight(), 100 - packagingPercentage)));
+        document.add(createLabelValue("Packaging Weight", String.format("%.2f lbs (%.1f%%)",
+            packagingWeight, packagingPercentage)));
+        document.add(new Paragraph(""));
+
+        document.add(new Paragraph(""));
+        document.add(new Paragraph(
+            "Report Generated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()))
+            .setFontSize(10));
+    }
+
+    /**
+     * Write the page of a container, or of a run of identical ones: its details and a table
+     * of its boxes and arts. A run's boxes and arts are listed without IDs.
+     * @param number The number of the first container, counting from 1.
+     * @param count How many identical containers the page stands for.
+     * @param lastId The ID of the last of them.
+     * @param total The number of containers in the plan.
+     */
+    private void writeContainer(Document document, PdfFont boldFont, ContainerViewModel container,
+                                int number, int count, String lastId, int total) {
+        boolean withIds = count == 1;
+        if (withIds) {
+            addSectionHeader(document, boldFont,
+                String.format("CONTAINER #%d OF %d [%s]", number, total, container.id()));
+        } else {
+            addSectionHeader(document, boldFont, String.format("CONTAINERS #%d-%d OF %d [%s .. %s]",
+                number, number + count - 1, total, container.id(), lastId));
+            document.add(createLabelValue("Identical Containers", String.valueOf(count)));
+        }
+        document.add(createLabelValue("Type", container.type()));
+        document.add(createLabelValue("Dimensions", String.format("%d x %d x %d",
+            container.length(), container.width(), container.currentHeight())));
+        document.add(createLabelValue(withIds ? "Weight" : "Weight Each", String.format("%.2f lbs", container.weight())));
+        document.add(createLabelValue(withIds ? "Number of Boxes" : "Boxes Each", String.valueOf(container.boxes().size())));
+        document.add(new Paragraph(""));
+
+        if (container.boxes().isEmpty()) {
+            return;
+        }
+        Table table = new Table(6, true).useAllAvailableWidth();
+        for (String header : List.of("Box", "Box Type", "Art", "Material", "Dimensions", "Weight (lbs)")) {
+            table.addHeaderCell(header);
+        }
+        // A large table is added first and filled afterwards, so its rows can be flushed
+        document.add(table);
+        int rows = 0;
+        int boxNumber = 0;
+        for (BoxViewModel box : container.boxes()) {
+            boxNumber++;
+            int artNumber = 0;
+            for (ArtViewModel art : box.arts()) {
+                artNumber++;
+                table.addCell(withIds ? box.id() : "#" + boxNumber);
+                table.addCell(box.type());
+                table.addCell(withIds ? art.id() : "#" + artNumber);
+                table.addCell(art.material());
+                table.addCell(art.width() + " x " + art.height());
+                table.addCell(String.format("%.2f", art.weight()));
+                if (++rows % ROWS_PER_FLUSH == 0) {
+                    table.flush();
+                }
+            }
+        }
+        table.complete();
+    }
+
+    private void writeUnpackedArts(Document document, PdfFont boldFont, List<ArtViewModel> unpackedArts) {
+        addSectionHeader(document, boldFont, "UNPACKED ITEMS (CUSTOM PIECES)");
+        document.add(createLabelValue("Unpacked Items", String.valueOf(unpackedArts.size())));
+        document.add(new Paragraph(""));
+
+        Table table = new Table(4, true).useAllAvailableWidth();
+        for (String header : List.of("Art", "Material", "Dimensions", "Weight (lbs)")) {
+            table.addHeaderCell(header);
+        }
+        document.add(table);
+        int rows = 0;
+        for (ArtViewModel art : unpackedArts) {
+            table.addCell(art.id());
+            table.addCell(art.material());
+            table.addCell(art.width() + " x " + art.height());
+            table.addCell(String.format("%.2f", art.weight()));
+            if (++rows % ROWS_PER_FLUSH == 0) {
+                table.flush();
+            }
+        }
+        table.complete();
+    }
+
+    private void addSectionHeader(Document document, PdfFont boldFont, String header) {
+        document.add(new Paragraph(header).setFont(boldFont).setFontSize(12));
+        document.add(new LineSeparator(new SolidLine()).setMarginBottom(5));
+    }
+
+    private Paragraph createLabelValue(String label, String value) {
+        return new Paragraph(label + ": " + value).setMarginBottom(3);
+    }
+}
@@ -31,6 +31,17 @@ public class ArtImporter {
         List<ArtDataRecord> records = parser.parse(filePath);
 
         // Step 2: Transform the raw records into Art domain objects.
+        return importRecords(records);
+    }
+
+    /**
+     * Transforms data records into Art objects, one per piece. The same record always
+     * yields the same IDs, so a record removed from an order identifies the arts to remove
+     * from an earlier plan.
+     * @param records The data records, e.g. the lines added to or removed from an order.
+     * @return A list of fully formed Art objects.
+     */
+    public List<Art> importRecords(List<ArtDataRecord> records) {
         List<Art> arts = new ArrayList<>();
         for (ArtDataRecord record : records) {
             // The core logic for handling the 'quantity' field.
@@ -0,0 +1,33 @@
+package archdesign.response;
+
+import java.util.List;
+
+/**
+ * A pure, read-only data object for a run of consecutive identical containers: one
+ * container pattern and how many times it repeats. Only the pattern is kept; the
+ * individual containers, with their own IDs, are converted when asked for.
+ *
+ * @param pattern The first container of the run, standing for all of them.
+ * @param count How many containers the run has; at least 1.
+ * @param containers Every container of the run, in order, starting with the pattern.
+ */
+public record ContainerRunViewModel(
+    ContainerViewModel pattern,
+    int count,
+    List<ContainerViewModel> containers
+) {
+
+    /**
+     * @return The ID of the first container of the run.
+     */
+    public String firstId() {
+        return pattern.id();
+    }
+
+    /**
+     * @return The ID of the last container of the run.
+     */
+    public String lastId() {
+        return count == 1 ? pattern.id() : containers.get(count - 1).id();
+    }
+}
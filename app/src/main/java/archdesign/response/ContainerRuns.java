@@ -0,0 +1,72 @@
+package archdesign.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Groups container view models into runs of identical containers.
+ */
+final class ContainerRuns {
+
+    private ContainerRuns() {
+    }
+
+    /**
+     * Groups container view models into runs of consecutive containers that look alike:
+     * same type, dimensions and weight, holding the same boxes with the same arts. IDs
+     * are not compared. Used for view models built without a plan.
+     * @param containers The containers, in order.
+     * @return The runs, in order; they are views of the given list.
+     */
+    static List<ContainerRunViewModel> of(List<ContainerViewModel> containers) {
+        List<ContainerRunViewModel> runs = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= containers.size(); i++) {
+            if (i == containers.size() || !sameContents(containers.get(start), containers.get(i))) {
+                runs.add(new ContainerRunViewModel(containers.get(start), i - start, containers.subList(start, i)));
+                start = i;
+            }
+        }
+        return runs;
+    }
+
+    private static boolean sameContents(ContainerViewModel a, ContainerViewModel b) {
+        if (!Objects.equals(a.type(), b.type())
+                || a.length() != b.length()
+                || a.width() != b.width()
+                || a.currentHeight() != b.currentHeight()
+                || Double.compare(a.weight(), b.weight()) != 0
+                || a.boxes().size() != b.boxes().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.boxes().size(); i++) {
+            if (!sameContents(a.boxes().get(i), b.boxes().get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameContents(BoxViewModel a, BoxViewModel b) {
+        if (!Objects.equals(a.type(), b.type())
+                || a.length() != b.length()
+                || a.width() != b.width()
+                || a.currentHeight() != b.currentHeight()
+                || Double.compare(a.weight(), b.weight()) != 0
+                || a.arts().size() != b.arts().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.arts().size(); i++) {
+            ArtViewModel artA = a.arts().get(i);
+            ArtViewModel artB = b.arts().get(i);
+            if (!Objects.equals(artA.material(), artB.material())
+                    || Double.compare(artA.width(), artB.width()) != 0
+                    || Double.compare(artA.height(), artB.height()) != 0
+                    || Double.compare(artA.weight(), artB.weight()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
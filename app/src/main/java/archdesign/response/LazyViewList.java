@@ -0,0 +1,36 @@
+package archdesign.response;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only list of view models converted from domain objects when they are read.
+ * Nothing is converted or kept up front, so creating the list costs the same for any
+ * size; each read converts its element again. The list keeps no state of its own, so it
+ * may be read from several threads as long as the source is not changed.
+ *
+ * @param <S> The domain type.
+ * @param <T> The view model type.
+ */
+final class LazyViewList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<S> source;
+    private final Function<S, T> convert;
+
+    LazyViewList(List<S> source, Function<S, T> convert) {
+        this.source = source;
+        this.convert = convert;
+    }
+
+    @Override
+    public T get(int index) {
+        return convert.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
@@ -3,14 +3,22 @@ package archdesign.response;
 import archdesign.entities.Art;
 import archdesign.entities.Box;
 import archdesign.entities.Container;
+import archdesign.interactor.ContainerRun;
 import archdesign.interactor.PackingPlan; // Assuming PackingPlan is in interactor
 
-import java.util.stream.Collectors;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * The Response layer that acts as a pure TRANSFORMER.
  * Its only responsibility is to convert the complex PackingPlan domain object
  * into a simple, easy-to-use ShipmentViewModel for any frontend to consume.
+ * <p>
+ * The view model is lazy: its summary figures are taken from the plan, which counted
+ * them when it was created, and its containers, boxes and arts are converted only when
+ * read. Generating the view model, and showing its summary, costs the same for any plan
+ * size; a consumer that reads one page of containers converts only that page.
  */
 public class Response {
 
@@ -30,34 +38,58 @@ public class Response {
             return null; // Or an empty ViewModel
         }
 
-        var containerVMs = plan.getContainers().stream()
-                .map(this::convertContainerToViewModel)
-                .collect(Collectors.toList());
-        
-        var unpackedArtVMs = plan.getUnpackedArts().stream()
-                .map(this::convertArtToViewModel)
-                .collect(Collectors.toList());
-        
-        int totalBoxes = containerVMs.stream()
-                .mapToInt(cvm -> cvm.boxes().size())
-                .sum();
-
+        // Only the summary is taken now, and it was counted when the plan was created;
+        // containers, boxes and arts are converted when a consumer reads them
         return new ShipmentViewModel(
             plan.getTotalWeight(),
             plan.getTotalCost(),
-            plan.getContainers().size(),
-            totalBoxes,
-            containerVMs,
-            unpackedArtVMs
+            plan.getTotalContainerCount(),
+            plan.getTotalBoxCount(),
+            new LazyViewList<>(plan.getContainers(), this::convertContainerToViewModel),
+            new LazyRunList(),
+            new LazyViewList<>(plan.getUnpackedArts(), this::convertArtToViewModel),
+            plan.getStatistics()
         );
     }
 
     // --- Private Conversion Logic ---
 
+    /**
+     * The runs of identical containers of the plan, grouped when the list is first read.
+     * A run's pattern is converted the first time the run is read and kept; the other
+     * containers of the run, which differ only in their IDs, are converted when read.
+     */
+    private final class LazyRunList extends AbstractList<ContainerRunViewModel> implements RandomAccess {
+
+        private List<ContainerRun> runs;
+        private ContainerRunViewModel[] converted;
+
+        @Override
+        public synchronized ContainerRunViewModel get(int index) {
+            ContainerRun run = runs().get(index);
+            if (converted[index] == null) {
+                converted[index] = new ContainerRunViewModel(convertContainerToViewModel(run.template()),
+                    run.count(), new LazyViewList<>(run.containers(), Response.this::convertContainerToViewModel));
+            }
+            return converted[index];
+        }
+
+        @Override
+        public synchronized int size() {
+            return runs().size();
+        }
+
+        private List<ContainerRun> runs() {
+            if (runs == null) {
+                runs = plan.getContainerRuns();
+                converted = new ContainerRunViewModel[runs.size()];
+            }
+            return runs;
+        }
+    }
+
     private ContainerViewModel convertContainerToViewModel(Container container) {
-        var boxVMs = container.getBoxesInContainer().stream()
-                .map(this::convertBoxToViewModel)
-                .collect(Collectors.toList());
+        var boxVMs = new LazyViewList<>(container.getBoxesInContainer(), this::convertBoxToViewModel);
 
         return new ContainerViewModel(
             container.getId(),
@@ -71,9 +103,7 @@ public class Response {
     }
 
     private BoxViewModel convertBoxToViewModel(Box box) {
-        var artVMs = box.getArtsInBox().stream()
-                .map(this::convertArtToViewModel)
-                .collect(Collectors.toList());
+        var artVMs = new LazyViewList<>(box.getArtsInBox(), this::convertArtToViewModel);
         
         return new BoxViewModel(
             box.getId(),
@@ -1,10 +1,23 @@
 package archdesign.response;
 
+import archdesign.interactor.ShipmentStatistics;
+
 import java.util.List;
 
 /**
  * The top-level, pure data object for a complete shipment plan.
  * This is the single object that any frontend will consume.
+ * <p>
+ * The lists of a view model generated by {@link Response} convert their elements when
+ * they are read, so a consumer that shows only the summary converts nothing, and one that
+ * shows a page of containers, through {@link #containerPage(int, int)}, converts only that
+ * page. Iterating a list converts one element at a time.
+ *
+ * @param containers Every container of the plan, in order.
+ * @param containerRuns The same containers grouped into runs of identical ones; derived
+ *                      from {@code containers} when not given.
+ * @param statistics The work-order figures every output reads; taken from the plan, or
+ *                   counted from the containers and unpacked arts when not given.
  */
 public record ShipmentViewModel(
     double totalWeight,
@@ -12,6 +25,96 @@ public record ShipmentViewModel(
     int totalContainers,
     int totalBoxes,
     List<ContainerViewModel> containers,
-    List<ArtViewModel> unpackedArts
+    List<ContainerRunViewModel> containerRuns,
+    List<ArtViewModel> unpackedArts,
+    ShipmentStatistics statistics
 ) {
-}
\ No newline at end of file
+
+    public ShipmentViewModel {
+        if (containerRuns == null && containers != null) {
+            containerRuns = ContainerRuns.of(containers);
+        }
+        if (statistics == null) {
+            statistics = statisticsOf(containers, unpackedArts);
+        }
+    }
+
+    /**
+     * Creates a view model whose container runs are grouped from its containers.
+     */
+    public ShipmentViewModel(double totalWeight, double totalCost, int totalContainers, int totalBoxes,
+                             List<ContainerViewModel> containers, List<ArtViewModel> unpackedArts,
+                             ShipmentStatistics statistics) {
+        this(totalWeight, totalCost, totalContainers, totalBoxes, containers, null, unpackedArts, statistics);
+    }
+
+    /**
+     * Creates a view model whose container runs and statistics are counted from its
+     * containers and unpacked arts.
+     */
+    public ShipmentViewModel(double totalWeight, double totalCost, int totalContainers, int totalBoxes,
+                             List<ContainerViewModel> containers, List<ArtViewModel> unpackedArts) {
+        this(totalWeight, totalCost, totalContainers, totalBoxes, containers, null, unpackedArts, null);
+    }
+
+    /**
+     * Returns one page of the containers, as a view of {@link #containers()}.
+     * @param page The page number, counting from 0.
+     * @param pageSize How many containers a page holds; at least 1.
+     * @return The containers of the page; empty past the last page.
+     * @throws IllegalArgumentException If the page is negative or the page size is not positive.
+     */
+    public List<ContainerViewModel> containerPage(int page, int pageSize) {
+        return pageOf(containers, page, pageSize);
+    }
+
+    /**
+     * Returns one page of the unpacked arts, as a view of {@link #unpackedArts()}.
+     * @param page The page number, counting from 0.
+     * @param pageSize How many arts a page holds; at least 1.
+     * @return The unpacked arts of the page; empty past the last page.
+     * @throws IllegalArgumentException If the page is negative or the page size is not positive.
+     */
+    public List<ArtViewModel> unpackedArtPage(int page, int pageSize) {
+        return pageOf(unpackedArts, page, pageSize);
+    }
+
+    /**
+     * @param pageSize How many items a page holds; at least 1.
+     * @return How many pages of that size the containers fill.
+     */
+    public int containerPageCount(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        return (containers.size() + pageSize - 1) / pageSize;
+    }
+
+    private static <T> List<T> pageOf(List<T> items, int page, int pageSize) {
+        if (page < 0 || pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page " + page + " of size " + pageSize);
+        }
+        int from = (int) Math.min((long) page * pageSize, items.size());
+        int to = (int) Math.min((long) from + pageSize, items.size());
+        return items.subList(from, to);
+    }
+
+    private static ShipmentStatistics statisticsOf(List<ContainerViewModel> containers, List<ArtViewModel> unpackedArts) {
+        ShipmentStatistics statistics = new ShipmentStatistics();
+        for (ContainerViewModel container : containers) {
+            statistics.recordContainer(container.type(), container.weight());
+            for (BoxViewModel box : container.boxes()) {
+                statistics.recordBox(box.type());
+                for (ArtViewModel art : box.arts()) {
+                    statistics.recordPiece(art.width(), art.height(), art.weight(), true);
+                }
+            }
+        }
+        if (unpackedArts != null) {
+            for (ArtViewModel art : unpackedArts) {
+                statistics.recordPiece(art.width(), art.height(), art.weight(), false);
+            }
+        }
+        return statistics;
+    }
+}
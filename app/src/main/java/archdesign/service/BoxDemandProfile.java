@@ -0,0 +1,199 @@
+package archdesign.service;
+
+import archdesign.entities.Art;
+import archdesign.entities.enums.BoxType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The box demand of an order, built in a single pass over the chosen packing options.
+ * <p>
+ * For every box type the arts are kept per capacity class (the number of such arts
+ * one box holds), in the order they were added. From these counts the profile decides
+ * once per box type whether to keep the capacity classes in separate boxes or to merge
+ * them all at the smallest capacity, whichever needs fewer boxes. The box counts, the
+ * solver model and the box contents used to build containers all come from here.
+ */
+public final class BoxDemandProfile {
+
+    private final Map<BoxType, TypeDemand> demands;
+    private final Map<BoxType, Integer> boxesNeeded;
+    private final int totalBoxes;
+    private final int totalArts;
+    private final double totalArtWeight;
+
+    private BoxDemandProfile(Builder builder) {
+        this.demands = builder.demands;
+        Map<BoxType, Integer> needed = new EnumMap<>(BoxType.class);
+        int boxes = 0;
+        for (Map.Entry<BoxType, TypeDemand> entry : demands.entrySet()) {
+            TypeDemand demand = entry.getValue();
+            demand.decide();
+            needed.put(entry.getKey(), demand.boxesNeeded);
+            boxes += demand.boxesNeeded;
+        }
+        this.boxesNeeded = Collections.unmodifiableMap(needed);
+        this.totalBoxes = boxes;
+        this.totalArts = builder.totalArts;
+        this.totalArtWeight = builder.totalArtWeight;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The number of boxes needed per box type, in box type order.
+     */
+    public Map<BoxType, Integer> getBoxesNeeded() {
+        return boxesNeeded;
+    }
+
+    public int getBoxesNeeded(BoxType boxType) {
+        return boxesNeeded.getOrDefault(boxType, 0);
+    }
+
+    public int getTotalBoxes() {
+        return totalBoxes;
+    }
+
+    public int getTotalArts() {
+        return totalArts;
+    }
+
+    public double getTotalArtWeight() {
+        return totalArtWeight;
+    }
+
+    public int getArtCount(BoxType boxType) {
+        TypeDemand demand = demands.get(boxType);
+        return demand == null ? 0 : demand.artCount;
+    }
+
+    /**
+     * @return The smallest capacity class of the box type, or 0 if it has no arts.
+     */
+    public int getMinCapacity(BoxType boxType) {
+        TypeDemand demand = demands.get(boxType);
+        return demand == null ? 0 : demand.minCapacity;
+    }
+
+    /**
+     * @return The number of arts of the box type whose box holds {@code capacity} arts.
+     */
+    public int getArtCount(BoxType boxType, int capacity) {
+        TypeDemand demand = demands.get(boxType);
+        if (demand == null || capacity < 0 || capacity >= demand.byCapacity.size()) {
+            return 0;
+        }
+        return demand.byCapacity.get(capacity).size();
+    }
+
+    /**
+     * @return true if the capacity classes of the box type are merged at the smallest capacity.
+     */
+    public boolean isMerged(BoxType boxType) {
+        TypeDemand demand = demands.get(boxType);
+        return demand != null && demand.merged;
+    }
+
+    /**
+     * Returns the contents of each box of the given type, in fill order. With separate
+     * classes every capacity class is chunked at its own capacity (smallest class first);
+     * when merged, all arts (smallest class first) are chunked at the smallest capacity.
+     *
+     * @param boxType The box type.
+     * @return One read-only list of arts per box.
+     */
+    public List<List<Art>> getBoxContents(BoxType boxType) {
+        TypeDemand demand = demands.get(boxType);
+        if (demand == null) {
+            return List.of();
+        }
+        List<List<Art>> boxes = new ArrayList<>(demand.boxesNeeded);
+        if (demand.merged) {
+            List<Art> ordered = new ArrayList<>(demand.artCount);
+            for (List<Art> arts : demand.byCapacity) {
+                ordered.addAll(arts);
+            }
+            chunk(ordered, demand.minCapacity, boxes);
+        } else {
+            for (int capacity = 1; capacity < demand.byCapacity.size(); capacity++) {
+                chunk(demand.byCapacity.get(capacity), capacity, boxes);
+            }
+        }
+        return boxes;
+    }
+
+    private static void chunk(List<Art> arts, int size, List<List<Art>> into) {
+        for (int i = 0; i < arts.size(); i += size) {
+            into.add(Collections.unmodifiableList(arts.subList(i, Math.min(i + size, arts.size()))));
+        }
+    }
+
+    /**
+     * Demand of one box type: arts indexed by capacity class.
+     */
+    private static class TypeDemand {
+        final List<List<Art>> byCapacity = new ArrayList<>();
+        int artCount;
+        int minCapacity = Integer.MAX_VALUE;
+        int boxesNeeded;
+        boolean merged;
+
+        void add(Art art, int capacity) {
+            while (byCapacity.size() <= capacity) {
+                byCapacity.add(new ArrayList<>());
+            }
+            byCapacity.get(capacity).add(art);
+            artCount++;
+            minCapacity = Math.min(minCapacity, capacity);
+        }
+
+        void decide() {
+            // Strategy 1: keep each capacity class in its own boxes
+            int boxesSeparate = 0;
+            for (int capacity = 1; capacity < byCapacity.size(); capacity++) {
+                boxesSeparate += ceilDiv(byCapacity.get(capacity).size(), capacity);
+            }
+            // Strategy 2: merge all classes at the smallest capacity
+            int boxesMerged = ceilDiv(artCount, minCapacity);
+
+            merged = boxesMerged < boxesSeparate;
+            boxesNeeded = Math.min(boxesSeparate, boxesMerged);
+        }
+
+        private static int ceilDiv(int a, int b) {
+            return (a + b - 1) / b;
+        }
+    }
+
+    public static class Builder {
+        private final Map<BoxType, TypeDemand> demands = new EnumMap<>(BoxType.class);
+        private int totalArts;
+        private double totalArtWeight;
+
+        /**
+         * Adds one art with the packing option chosen for it.
+         * @param art The art.
+         * @param option The chosen box type and how many such arts one box holds
+         *               (capacities below 1 count as 1).
+         * @return This builder.
+         */
+        public Builder add(Art art, PackingOption option) {
+            demands.computeIfAbsent(option.boxType(), k -> new TypeDemand())
+                   .add(art, Math.max(1, option.capacity()));
+            totalArts++;
+            totalArtWeight += art.getWeight();
+            return this;
+        }
+
+        public BoxDemandProfile build() {
+            return new BoxDemandProfile(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package archdesign.service;
+
+import archdesign.config.spec.BoxRuleSpecification;
+import archdesign.config.spec.ContainerRuleSpecification;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.UserConstraints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A FeasibilityService that remembers the rule matches of every art size and box type,
+ * so runs that share it only match each size against the rules once.
+ * <p>
+ * The matches are cached without the user's whitelists, which are applied on every call.
+ * One instance can therefore serve runs with different constraints, as long as they use
+ * the same rule sets, and it can be shared between threads.
+ */
+public class CachingFeasibilityService extends FeasibilityService {
+
+    // Empty whitelists allow every type
+    private static final UserConstraints UNRESTRICTED = UserConstraints.newBuilder().build();
+
+    private final Map<Sku, List<PackingOption>> packingOptions = new ConcurrentHashMap<>();
+    private final Map<BoxType, List<ContainerOption>> containerOptions = new ConcurrentHashMap<>();
+
+    /**
+     * @param boxRules The list of art-to-box packing rules.
+     * @param containerRules The list of box-to-container packing rules.
+     */
+    public CachingFeasibilityService(List<BoxRuleSpecification> boxRules,
+                                     List<ContainerRuleSpecification> containerRules) {
+        super(boxRules, containerRules);
+    }
+
+    @Override
+    public List<PackingOption> getValidPackingOptions(Art art, UserConstraints constraints) {
+        List<PackingOption> all = packingOptions.computeIfAbsent(
+            new Sku(art.getMaterial(), art.getWidth(), art.getHeight()),
+            k -> List.copyOf(super.getValidPackingOptions(art, UNRESTRICTED)));
+
+        List<BoxType> allowed = constraints.getAllowedBoxTypes();
+        List<PackingOption> result = new ArrayList<>(all.size());
+        for (PackingOption option : all) {
+            if (allowed.isEmpty() || allowed.contains(option.boxType())) {
+                result.add(option);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<ContainerOption> getValidContainerOptions(Box box, UserConstraints constraints) {
+        List<ContainerOption> all = containerOptions.computeIfAbsent(box.getBoxType(),
+            k -> List.copyOf(super.getValidContainerOptions(box, UNRESTRICTED)));
+
+        List<ContainerType> allowed = constraints.getAllowedContainerTypes();
+        List<ContainerOption> result = new ArrayList<>(all.size());
+        for (ContainerOption option : all) {
+            if (allowed.isEmpty() || allowed.contains(option.containerType())) {
+                result.add(option);
+            }
+        }
+        return result;
+    }
+
+    private record Sku(Material material, double width, double height) {
+    }
+}
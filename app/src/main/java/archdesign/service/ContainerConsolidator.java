@@ -0,0 +1,377 @@
+package archdesign.service;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.interactor.UserConstraints;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Post-processing rules that merge under-utilized pallets after containers are built.
+ * <p>
+ * Every rule is driven by ordered worklists of candidate containers, keyed by how many
+ * boxes of each type they hold, instead of rescanning all containers after each merge.
+ * Removed containers are cleared from a slot array and compacted once at the end. The
+ * merges performed, and the order of the resulting list, are the same as repeatedly
+ * applying the first applicable merge and starting over.
+ */
+final class ContainerConsolidator {
+
+    /** How many LARGE boxes a pallet holds. */
+    private static final int LARGE_BOX_LIMIT = 3;
+    /** How many STANDARD boxes a full STANDARD_PALLET holds. */
+    private static final int FULL_STANDARD_PALLET = 4;
+    /** Pallets with fewer boxes than this are candidates for pairwise merging. */
+    private static final int UNDER_UTILIZED_BELOW = 3;
+
+    private final Function<ContainerType, Container> containerFactory;
+
+    /**
+     * @param containerFactory Creates the empty containers that merged boxes move into.
+     */
+    ContainerConsolidator(Function<ContainerType, Container> containerFactory) {
+        this.containerFactory = containerFactory;
+    }
+
+    /**
+     * Merges pairs of under-utilized STANDARD_PALLETs (fewer than 3 boxes) into one pallet.
+     * <p>
+     * Two pallets merge into an OVERSIZE_PALLET when together they hold at most 3 LARGE and
+     * no STANDARD boxes, or at most 5 STANDARD and no LARGE boxes; mixed pallets merge into a
+     * STANDARD_PALLET when they hold at most 3 boxes together. Pallets are tried in list
+     * order, each against the first later pallet it merges with. Merged pallets are appended
+     * to the end of the list and can merge again.
+     *
+     * @param containers The containers to consolidate; the list itself is not modified.
+     * @param constraints The user's constraints; nothing is merged unless OVERSIZE_PALLET is allowed.
+     * @return The consolidated containers.
+     */
+    List<Container> consolidateContainers(List<Container> containers, UserConstraints constraints) {
+        if (!oversizeAllowed(constraints)) {
+            return containers; // Can't optimize without OVERSIZE_PALLET option
+        }
+
+        PairMerger merger = new PairMerger(containers);
+        int scan = 0;
+        while (true) {
+            int position = merger.nextCandidate(scan);
+            if (position < 0) {
+                break;
+            }
+            int partner = merger.firstPartner(position, position + 1, Integer.MAX_VALUE);
+            if (partner < 0) {
+                scan = position + 1;
+                continue;
+            }
+
+            int merged = merger.merge(position, partner);
+            // Pallets before the scan position only merge with pallets appended since
+            while (merged >= 0) {
+                int earlier = merger.firstPartner(merged, 0, position);
+                if (earlier < 0) {
+                    break;
+                }
+                merged = merger.merge(earlier, merged);
+            }
+            scan = position + 1;
+        }
+        return merger.result();
+    }
+
+    /**
+     * Consolidates STANDARD_PALLETs in two rounds.
+     * <ol>
+     * <li>LARGE boxes move from the pallet with the fewest of them onto the next pallet (by
+     * LARGE count, then list order) that still has room for all of them. Emptied pallets are dropped.</li>
+     * <li>A full STANDARD-only pallet is upgraded to an OVERSIZE_PALLET to absorb the box of a
+     * STANDARD-only pallet holding a single box, pairing both kinds in list order.</li>
+     * </ol>
+     *
+     * @param containers The containers to consolidate; the list itself is not modified.
+     * @param constraints The user's constraints; nothing is merged unless OVERSIZE_PALLET is allowed.
+     * @return The consolidated containers.
+     */
+    List<Container> consolidateUnderutilizedContainers(List<Container> containers, UserConstraints constraints) {
+        if (!oversizeAllowed(constraints)) {
+            return containers; // Can't optimize if OVERSIZE_PALLET not allowed
+        }
+
+        Container[] slots = containers.toArray(new Container[0]);
+        consolidateLargeBoxes(slots);
+        // Upgrades never touch pallets holding LARGE boxes, so they cannot enable more moves above
+        upgradeFullStandardPallets(slots);
+        return compact(slots);
+    }
+
+    private static void consolidateLargeBoxes(Container[] slots) {
+        // Pallets with LARGE boxes, by LARGE count and then list position
+        TreeMap<Integer, TreeSet<Integer>> byLargeCount = new TreeMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].getContainerType() == ContainerType.STANDARD_PALLET) {
+                int large = count(slots[i], BoxType.LARGE);
+                if (large > 0) {
+                    byLargeCount.computeIfAbsent(large, k -> new TreeSet<>()).add(i);
+                }
+            }
+        }
+
+        while (!byLargeCount.isEmpty()) {
+            // The pallet with the fewest LARGE boxes has the most possible targets; if it
+            // cannot move, no pallet can
+            int sourceCount = byLargeCount.firstKey();
+            int source = byLargeCount.firstEntry().getValue().first();
+            int room = LARGE_BOX_LIMIT - sourceCount;
+
+            int target = -1;
+            int targetCount = 0;
+            if (sourceCount <= room) {
+                Integer next = byLargeCount.get(sourceCount).higher(source);
+                if (next != null) {
+                    target = next;
+                    targetCount = sourceCount;
+                }
+            }
+            if (target < 0 && room > sourceCount) {
+                Map.Entry<Integer, TreeSet<Integer>> bucket = byLargeCount.higherEntry(sourceCount);
+                if (bucket != null && bucket.getKey() <= room) {
+                    target = bucket.getValue().first();
+                    targetCount = bucket.getKey();
+                }
+            }
+            if (target < 0) {
+                break;
+            }
+
+            Container from = slots[source];
+            Container to = slots[target];
+            for (Box box : new ArrayList<>(from.getBoxesInContainer())) {
+                if (box.getBoxType() == BoxType.LARGE) {
+                    from.removeBox(box);
+                    to.addBox(box);
+                }
+            }
+            removeFromBucket(byLargeCount, sourceCount, source);
+            removeFromBucket(byLargeCount, targetCount, target);
+            byLargeCount.computeIfAbsent(targetCount + sourceCount, k -> new TreeSet<>()).add(target);
+            if (from.getBoxesInContainer().isEmpty()) {
+                slots[source] = null;
+            }
+        }
+    }
+
+    private static void upgradeFullStandardPallets(Container[] slots) {
+        ArrayDeque<Integer> full = new ArrayDeque<>();
+        ArrayDeque<Integer> singles = new ArrayDeque<>();
+        for (int i = 0; i < slots.length; i++) {
+            Container c = slots[i];
+            if (c == null || c.getContainerType() != ContainerType.STANDARD_PALLET) {
+                continue;
+            }
+            int size = c.getBoxesInContainer().size();
+            if (count(c, BoxType.STANDARD) != size) {
+                continue;
+            }
+            if (size == FULL_STANDARD_PALLET) {
+                full.addLast(i);
+            } else if (size == 1) {
+                singles.addLast(i);
+            }
+        }
+
+        // OVERSIZE_PALLET holds 5 STANDARD boxes vs 4, so one upgrade absorbs one single box
+        while (!full.isEmpty() && !singles.isEmpty()) {
+            int fullIndex = full.pollFirst();
+            int singleIndex = singles.pollFirst();
+            Container fullPallet = slots[fullIndex];
+            Container oversizePallet = new Container(
+                fullPallet.getId(),
+                ContainerType.OVERSIZE_PALLET,
+                ContainerType.OVERSIZE_PALLET.getWidth(),
+                ContainerType.OVERSIZE_PALLET.getLength(),
+                ContainerType.OVERSIZE_PALLET.getMinHeight(),
+                ContainerType.OVERSIZE_PALLET.getWeight(),
+                ContainerType.OVERSIZE_PALLET.getBaseHeight()
+            );
+            moveAll(fullPallet, oversizePallet);
+            moveAll(slots[singleIndex], oversizePallet);
+            slots[fullIndex] = oversizePallet;
+            slots[singleIndex] = null;
+        }
+    }
+
+    /**
+     * Which container type two under-utilized pallets merge into, or null if they don't.
+     */
+    private static ContainerType mergedType(int large, int standard) {
+        if (large <= LARGE_BOX_LIMIT && standard == 0) {
+            return ContainerType.OVERSIZE_PALLET;
+        }
+        if (large > 0 && standard > 0) {
+            // Mixed pallets hold min(LARGE, STANDARD capacity) = 3 boxes on either pallet type
+            return large + standard <= LARGE_BOX_LIMIT ? ContainerType.STANDARD_PALLET : null;
+        }
+        if (large == 0 && standard <= 5) {
+            return ContainerType.OVERSIZE_PALLET;
+        }
+        return null;
+    }
+
+    private static boolean oversizeAllowed(UserConstraints constraints) {
+        List<ContainerType> allowedTypes = constraints.getAllowedContainerTypes();
+        return allowedTypes.isEmpty() || allowedTypes.contains(ContainerType.OVERSIZE_PALLET);
+    }
+
+    private static int count(Container container, BoxType boxType) {
+        int n = 0;
+        for (Box box : container.getBoxesInContainer()) {
+            if (box.getBoxType() == boxType) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static void moveAll(Container from, Container to) {
+        for (Box box : new ArrayList<>(from.getBoxesInContainer())) {
+            from.removeBox(box);
+            to.addBox(box);
+        }
+    }
+
+    private static void removeFromBucket(TreeMap<Integer, TreeSet<Integer>> buckets, int key, int index) {
+        TreeSet<Integer> bucket = buckets.get(key);
+        bucket.remove(index);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    private static List<Container> compact(Container[] slots) {
+        List<Container> result = new ArrayList<>(slots.length);
+        for (Container c : slots) {
+            if (c != null) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Candidate pallets for pairwise merging, bucketed by their (LARGE, STANDARD) box counts.
+     * Positions index an append-only list; merged pallets are appended, removed ones cleared.
+     */
+    private final class PairMerger {
+        // A candidate holds fewer than 3 boxes, so each count is at most 2
+        private static final int COUNTS = UNDER_UTILIZED_BELOW;
+
+        private final List<Container> ordered;
+        private final List<NavigableSet<Integer>> buckets = new ArrayList<>();
+
+        PairMerger(List<Container> containers) {
+            this.ordered = new ArrayList<>(containers);
+            for (int i = 0; i < COUNTS * COUNTS; i++) {
+                buckets.add(new TreeSet<>());
+            }
+            for (int i = 0; i < ordered.size(); i++) {
+                addIfCandidate(i);
+            }
+        }
+
+        /**
+         * @return The first candidate at or after {@code from}, or -1.
+         */
+        int nextCandidate(int from) {
+            int best = -1;
+            for (NavigableSet<Integer> bucket : buckets) {
+                Integer position = bucket.ceiling(from);
+                if (position != null && (best < 0 || position < best)) {
+                    best = position;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @return The first candidate in [from, to) that merges with the one at
+         *         {@code position}, or -1. The range must not contain {@code position}.
+         */
+        int firstPartner(int position, int from, int to) {
+            Container container = ordered.get(position);
+            int large = count(container, BoxType.LARGE);
+            int standard = count(container, BoxType.STANDARD);
+            int best = -1;
+            for (int l = 0; l < COUNTS; l++) {
+                for (int s = 0; s < COUNTS; s++) {
+                    if (mergedType(large + l, standard + s) == null) {
+                        continue;
+                    }
+                    Integer candidate = buckets.get(l * COUNTS + s).ceiling(from);
+                    if (candidate != null && candidate < to && (best < 0 || candidate < best)) {
+                        best = candidate;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Moves the boxes of both pallets (first's, then second's) into a new pallet appended
+         * to the list.
+         * @return The position of the new pallet if it is itself a candidate, otherwise -1.
+         */
+        int merge(int first, int second) {
+            Container a = ordered.get(first);
+            Container b = ordered.get(second);
+            ContainerType type = mergedType(count(a, BoxType.LARGE) + count(b, BoxType.LARGE),
+                count(a, BoxType.STANDARD) + count(b, BoxType.STANDARD));
+            remove(first);
+            remove(second);
+
+            Container merged = containerFactory.apply(type);
+            for (Box box : a.getBoxesInContainer()) {
+                merged.addBox(box);
+            }
+            for (Box box : b.getBoxesInContainer()) {
+                merged.addBox(box);
+            }
+            ordered.add(merged);
+            int position = ordered.size() - 1;
+            return addIfCandidate(position) ? position : -1;
+        }
+
+        List<Container> result() {
+            List<Container> result = new ArrayList<>(ordered.size());
+            for (Container c : ordered) {
+                if (c != null) {
+                    result.add(c);
+                }
+            }
+            return result;
+        }
+
+        private boolean addIfCandidate(int position) {
+            Container c = ordered.get(position);
+            if (c.getContainerType() != ContainerType.STANDARD_PALLET
+                    || c.getBoxesInContainer().size() >= UNDER_UTILIZED_BELOW) {
+                return false;
+            }
+            buckets.get(count(c, BoxType.LARGE) * COUNTS + count(c, BoxType.STANDARD)).add(position);
+            return true;
+        }
+
+        private void remove(int position) {
+            Container c = ordered.get(position);
+            buckets.get(count(c, BoxType.LARGE) * COUNTS + count(c, BoxType.STANDARD)).remove(position);
+            ordered.set(position, null);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package archdesign.service;
+
+/**
+ * The price of adding pieces to or removing pieces from a solved plan.
+ *
+ * @param pieces Number of pieces the quote covers; negative for removals.
+ * @param containerDelta Change in the number of containers.
+ * @param weightDelta Change in the total shipment weight.
+ * @param costDelta Change in the total shipping cost.
+ * @param customPieces Added pieces that cannot be packed and would ship as custom pieces.
+ * @param resolved False if the quote was read off the plan's free capacity; true if the
+ *                 change needed new containers or emptied boxes and was re-solved.
+ */
+public record MarginalQuote(int pieces,
+                            int containerDelta,
+                            double weightDelta,
+                            double costDelta,
+                            int customPieces,
+                            boolean resolved) {
+}
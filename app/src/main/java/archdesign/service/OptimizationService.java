@@ -7,18 +7,40 @@ import archdesign.entities.Container;
 import archdesign.entities.enums.BoxType;
 import archdesign.entities.enums.ContainerType;
 import archdesign.interactor.PackingPlan;
+import archdesign.interactor.PlanRevision;
+import archdesign.interactor.PlanningListener;
+import archdesign.interactor.PlanningPhase;
+import archdesign.interactor.PlanningReport;
+import archdesign.interactor.PlanningStage;
 import archdesign.interactor.UserConstraints;
 import archdesign.service.costing.ShippingCostStrategy;
+import archdesign.service.portfolio.IncumbentSink;
+import archdesign.service.portfolio.PortfolioSolver;
+import archdesign.service.portfolio.PortfolioStatistics;
+import archdesign.service.portfolio.PortfolioStrategy;
+
+import archdesign.service.selection.AlgorithmChoice;
+import archdesign.service.selection.JobFeatures;
+import archdesign.service.selection.SelectionPolicy;
+import archdesign.service.solver.ClosedFormContainerMixSolver;
+import archdesign.service.solver.ContainerMixProblem;
+import archdesign.service.solver.ContainerMixSolution;
+import archdesign.service.solver.CpSatContainerMixSolver;
+import archdesign.service.solver.DpContainerMixSolver;
+import archdesign.service.solver.LnsOptimizer;
 
-import com.google.ortools.Loader;
-import com.google.ortools.sat.CpModel;
 import com.google.ortools.sat.CpSolver;
-import com.google.ortools.sat.CpSolverStatus;
-import com.google.ortools.sat.IntVar;
-import com.google.ortools.sat.LinearExpr;
-import com.google.ortools.sat.LinearExprBuilder;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import archdesign.entities.enums.Material;
 
@@ -28,197 +50,918 @@ import archdesign.entities.enums.Material;
  */
 public class OptimizationService {
 
+    // Upper bound on the time limit of a portfolio or SLA CP-SAT run
+    private static final double DEFAULT_TIME_LIMIT_SECONDS = 60.0;
+
+    // Fixed seed so that single-worker LNS runs are reproducible
+    private static final long LNS_SEED = 4504L;
+
+    // SLA mode: share of the post-heuristic budget kept for LNS, and the least time worth starting it for
+    private static final double SLA_LNS_RESERVE = 0.25;
+    private static final long SLA_MIN_LNS_NANOS = 5_000_000L;
+    // Conservative DP throughput, used to size the SLA fast path to the time left
+    private static final long SLA_DP_COMBINATIONS_PER_MILLI = 10_000L;
+    private static final int LNS_WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    /** Chunked mode: arts per chunk, small enough for the exact DP solver to take every chunk. */
+    public static final int DEFAULT_CHUNK_ARTS = 2_000;
+
+    // All portfolio runs share one executor and one set of statistics
+    private static final PortfolioSolver SHARED_PORTFOLIO = new PortfolioSolver();
+
     private final FeasibilityService feasibilityService;
     private final ShippingCostStrategy costStrategy;
-    private int boxIdCounter = 1;
-    private int containerIdCounter = 1;
+    private final DpContainerMixSolver dpSolver = new DpContainerMixSolver();
+    private final CpSatContainerMixSolver cpSatSolver = new CpSatContainerMixSolver();
+    private final ClosedFormContainerMixSolver closedFormSolver = new ClosedFormContainerMixSolver();
+    private final SelectionPolicy selectionPolicy;
+    private final LnsOptimizer lnsOptimizer;
+    private final ContainerConsolidator consolidator = new ContainerConsolidator(this::createNewContainer);
+    // Atomic because portfolio strategies create boxes and containers concurrently
+    private final AtomicInteger boxIdCounter = new AtomicInteger(1);
+    private final AtomicInteger containerIdCounter = new AtomicInteger(1);
 
     public OptimizationService(FeasibilityService feasibilityService, ShippingCostStrategy costStrategy) {
+        this(feasibilityService, costStrategy, SelectionPolicy.defaultPolicy());
+    }
+
+    /**
+     * @param selectionPolicy Picks the algorithm for each job from its features.
+     */
+    public OptimizationService(FeasibilityService feasibilityService, ShippingCostStrategy costStrategy,
+                               SelectionPolicy selectionPolicy) {
         this.feasibilityService = feasibilityService;
         this.costStrategy = costStrategy;
+        this.selectionPolicy = selectionPolicy;
+        this.lnsOptimizer = new LnsOptimizer(feasibilityService, costStrategy, this::createNewContainer);
     }
 
     public PackingPlan createOptimalPlan(List<Art> artsToPack, UserConstraints constraints) {
+        return createOptimalPlan(artsToPack, constraints, PlanningListener.NONE);
+    }
+
+    /**
+     * Creates the optimal plan, reporting the feasibility, solve and consolidation stages
+     * and every improving objective to a listener as the run goes.
+     *
+     * @param artsToPack The list of arts to pack.
+     * @param constraints The user-defined constraints for this packing run.
+     * @param listener Receives the progress events.
+     * @return The plan.
+     */
+    public PackingPlan createOptimalPlan(List<Art> artsToPack, UserConstraints constraints,
+                                         PlanningListener listener) {
+        return createOptimalPlan(artsToPack, constraints, new StageTimer(listener, false));
+    }
+
+    private PackingPlan createOptimalPlan(List<Art> artsToPack, UserConstraints constraints, StageTimer timer) {
         if (artsToPack == null || artsToPack.isEmpty()) {
             return new PackingPlan(new ArrayList<>(), 0.0);
         }
 
         try {
-            Loader.loadNativeLibraries();
-            
-            CpModel model = new CpModel();
-            CpSolver solver = new CpSolver();
-            solver.getParameters().setMaxTimeInSeconds(60.0); // 60 seconds time limit
+            timer.enter(PlanningStage.FEASIBILITY);
+            // The selection table sends orders of every size to the whole-order solvers, so
+            // the model must allow as many containers of a type as the order can fill
+            PreparedOrder order = prepareOrder(artsToPack, constraints, true);
 
-            // Step 1: analyze the box requirements for each art with smart material grouping
-            List<ArtBoxRequirement> artRequirements = new ArrayList<>();
-            List<Art> unpackedArts = new ArrayList<>();
-            
-            // First pass: collect all arts with their options
-            Map<Art, List<PackingOption>> artOptionsMap = new LinkedHashMap<>();
-            for (Art art : artsToPack) {
-                // First check if art is physically packable based on hard limits
-                if (!RuleProvider.isPackable(art)) {
-                    System.err.println("Art " + art.getId() + " (" + art.getWidth() + "x" + art.getHeight() + 
-                                     ") exceeds physical packaging limits and will be counted as custom piece");
-                    unpackedArts.add(art);
-                    continue;
+            // Pick the algorithm from the size and structure of the job
+            JobFeatures features = JobFeatures.extract(artsToPack, order.profile().getBoxesNeeded());
+            AlgorithmChoice choice = selectionPolicy.select(features);
+
+            timer.enter(PlanningStage.SOLVE);
+            timer.log("\nStarting solver (" + choice.algorithm() + ", " + choice.rule() + ")...");
+
+            return runAlgorithm(choice, order, artsToPack, constraints, timer);
+
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Solver error: " + e.getMessage());
+            e.printStackTrace();
+            return fallbackHeuristic(artsToPack, constraints);
+        } finally {
+            timer.finish();
+        }
+    }
+
+    /**
+     * Runs the selected algorithm. An algorithm that cannot express the job falls through
+     * to the next more general one: closed-form to DP, DP to CP-SAT.
+     */
+    private PackingPlan runAlgorithm(AlgorithmChoice choice, PreparedOrder order, List<Art> artsToPack,
+                                     UserConstraints constraints, StageTimer timer) {
+        ContainerMixProblem problem = order.problem();
+        ContainerMixSolution solution;
+        switch (choice.algorithm()) {
+            case GREEDY:
+                return fallbackHeuristic(artsToPack, constraints);
+            case LNS: {
+                PackingPlan initial = null;
+                if (dpSolver.canSolve(problem)) {
+                    solution = dpSolver.solve(problem);
+                    if (solution != null) {
+                        initial = buildPlan(order, solution, constraints, timer.detached());
+                    }
                 }
-                
-                // Then check if there are valid packing options
-                List<PackingOption> options = feasibilityService.getValidPackingOptions(art, constraints);
-                if (options.isEmpty()) {
-                    System.err.println("Art " + art.getId() + " not packable");
-                    unpackedArts.add(art);
-                    continue;
+                if (initial == null) {
+                    initial = planWithoutOrderSolution(choice, artsToPack, constraints, timer);
                 }
-                artOptionsMap.put(art, options);
+                return improvePlan(initial, constraints, choice.timeLimit(), choice.workers());
             }
-            
-            // Smart optimization: try to find common box types for same material
-            artRequirements = optimizeBoxSelectionByMaterial(artOptionsMap);
-            
+            case CHUNKED:
+                return createChunkedPlan(artsToPack, constraints, DEFAULT_CHUNK_ARTS,
+                    choice.workers(), choice.timeLimit(), timer);
+            case CLOSED_FORM:
+                if (closedFormSolver.canSolve(problem)) {
+                    solution = closedFormSolver.solve(problem);
+                    break;
+                }
+                // fall through
+            case DP:
+                if (dpSolver.canSolve(problem)) {
+                    solution = dpSolver.solve(problem);
+                    break;
+                }
+                // fall through
+            case CP_SAT:
+            default:
+                solution = cpSatSolver.solve(problem, choice.timeLimit().toMillis() / 1000.0,
+                    choice.workers(), timer::searchStarted, timer::bestObjective);
+                break;
+        }
+
+        if (solution == null) {
+            return planWithoutOrderSolution(choice, artsToPack, constraints, timer);
+        }
+        timer.bestObjective(problem.objectiveOf(solution));
+        return buildPlan(order, solution, constraints, timer);
+    }
 
-            // Step 2: group arts by BoxType and compute the number of boxes needed
-            Map<BoxType, Integer> boxesNeeded = calculateBoxesNeeded(artRequirements);
-            // Step 3: obtain available container types and their capacities
-            Map<ContainerType, Map<BoxType, Integer>> containerCapacities = 
-                getContainerCapacities(boxesNeeded.keySet(), constraints);
+    /**
+     * Used when the whole-order model has no solution, typically because the order needs
+     * more containers of a type than one model allows. Orders larger than a chunk are
+     * solved in chunks; smaller ones by the greedy heuristic.
+     */
+    private PackingPlan planWithoutOrderSolution(AlgorithmChoice choice, List<Art> artsToPack,
+                                                 UserConstraints constraints, StageTimer timer) {
+        if (artsToPack.size() > DEFAULT_CHUNK_ARTS) {
+            return createChunkedPlan(artsToPack, constraints, DEFAULT_CHUNK_ARTS,
+                choice.workers(), choice.timeLimit(), timer);
+        }
+        return fallbackHeuristic(artsToPack, constraints);
+    }
 
-            // Step 4: create decision variables for each container type
-            Map<ContainerType, IntVar> containerVars = new HashMap<>();
-            for (ContainerType containerType : containerCapacities.keySet()) {
-                IntVar var = model.newIntVar(0, 100, "container_" + containerType.name());
-                containerVars.put(containerType, var);
+    /**
+     * Portfolio mode: races the exact DP solver, the CP-SAT model and the greedy heuristic
+     * on the shared portfolio executor and returns the cheapest valid plan that was
+     * published when the deadline is hit or a solver proves optimality. Strategies still
+     * running at that point are cancelled. Only CP-SAT stops on cancel; the DP (bounded by
+     * {@link DpContainerMixSolver#MAX_SEARCH_SIZE}) and the heuristic (linear in the order)
+     * run to the end on their worker, and their late plans are ignored.
+     *
+     * @param artsToPack The list of arts to pack.
+     * @param constraints The user-defined constraints for this packing run.
+     * @param budget The wall-clock budget shared by all strategies.
+     * @return The cheapest valid plan found within the budget.
+     */
+    public PackingPlan createPortfolioPlan(List<Art> artsToPack, UserConstraints constraints, Duration budget) {
+        if (artsToPack == null || artsToPack.isEmpty()) {
+            return new PackingPlan(new ArrayList<>(), 0.0);
+        }
+
+        PreparedOrder order = prepareOrder(artsToPack, constraints);
+        List<PortfolioStrategy> strategies = new ArrayList<>();
+        if (dpSolver.canSolve(order.problem())) {
+            strategies.add(new PortfolioStrategy() {
+                @Override
+                public String getName() {
+                    return "dp";
+                }
+
+                @Override
+                public boolean run(IncumbentSink sink, long deadlineNanos) {
+                    ContainerMixSolution solution = dpSolver.solve(order.problem());
+                    if (solution == null) {
+                        return false;
+                    }
+                    sink.publish(buildPlan(order, solution, constraints));
+                    return solution.optimal();
+                }
+            });
+        }
+        strategies.add(new CpSatPortfolioStrategy(order, constraints));
+        strategies.add(new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "heuristic";
             }
 
-            // Step 5: add constraints - each box type must have sufficient container capacity
-            for (Map.Entry<BoxType, Integer> entry : boxesNeeded.entrySet()) {
-                BoxType boxType = entry.getKey();
-                int needed = entry.getValue();
-                
-                // Build linear expression: sum of (container_count * capacity for this box type)
-                LinearExprBuilder expr = LinearExpr.newBuilder();
-                
-                for (Map.Entry<ContainerType, Map<BoxType, Integer>> containerEntry : containerCapacities.entrySet()) {
-                    ContainerType containerType = containerEntry.getKey();
-                    Map<BoxType, Integer> capacities = containerEntry.getValue();
-                    
-                    Integer capacity = capacities.get(boxType);
-                    if (capacity != null && capacity > 0) {
-                        expr.addTerm(containerVars.get(containerType), capacity);
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) {
+                sink.publish(fallbackHeuristic(artsToPack, constraints));
+                return false;
+            }
+        });
+
+        PackingPlan best = SHARED_PORTFOLIO.solve(strategies, budget, artsToPack.size());
+        if (best == null) {
+            // Nothing valid was published before the deadline; the heuristic is the safety net.
+            return fallbackHeuristic(artsToPack, constraints);
+        }
+        return best;
+    }
+
+    /**
+     * SLA mode: returns the best plan found within a latency budget.
+     * <p>
+     * The budget is spent across phases: the exact DP solver inline (fast path) when its
+     * search fits the time left, otherwise the greedy heuristic followed by CP-SAT on the
+     * time left minus a reserve; large-neighborhood search then uses whatever remains.
+     * The deadline is checked between phases, and the solver and LNS phases are skipped
+     * once it has passed. The best plan seen is returned, with a {@link PlanningReport}
+     * naming the phase that produced it and the time used.
+     * <p>
+     * The ceiling is hard for the optional phases only. Preparing the order and building
+     * one plan (DP or heuristic) always run, and take time linear in the order size, so an
+     * order too large for the budget overruns by that much; the report then shows the
+     * overrun.
+     *
+     * @param artsToPack The list of arts to pack.
+     * @param constraints The user-defined constraints for this packing run.
+     * @param budget The latency budget, e.g. 200 ms.
+     * @return The best plan found, carrying its planning report.
+     */
+    public PackingPlan createPlanWithinBudget(List<Art> artsToPack, UserConstraints constraints, Duration budget) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + budget.toNanos();
+        if (artsToPack == null || artsToPack.isEmpty()) {
+            return withReport(new PackingPlan(new ArrayList<>(), 0.0), PlanningPhase.FAST_PATH, budget, startNanos);
+        }
+
+        PackingPlan best = null;
+        PlanningPhase bestPhase = null;
+        PreparedOrder order = null;
+        try {
+            order = prepareOrder(artsToPack, constraints);
+            // Phase 1: fast path, if the DP search fits the time left
+            long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000L;
+            if (remainingMillis > 0
+                    && dpSolver.canSolve(order.problem(), remainingMillis * SLA_DP_COMBINATIONS_PER_MILLI)) {
+                ContainerMixSolution solution = dpSolver.solve(order.problem());
+                if (solution != null) {
+                    best = buildPlan(order, solution, constraints);
+                    bestPhase = PlanningPhase.FAST_PATH;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("SLA fast path failed: " + e.getMessage());
+        }
+
+        if (best == null) {
+            // Phase 2: heuristic, so that a plan exists before anything expensive runs
+            best = fallbackHeuristic(artsToPack, constraints);
+            bestPhase = PlanningPhase.HEURISTIC;
+
+            // Phase 3: CP-SAT on the time left, keeping a reserve for LNS
+            long solverNanos = (long) ((deadlineNanos - System.nanoTime()) * (1.0 - SLA_LNS_RESERVE));
+            // Called directly rather than through the shared portfolio, whose statistics
+            // describe whole-order races, not this time-sliced phase
+            if (order != null && solverNanos > 0) {
+                try {
+                    ContainerMixSolution solution = cpSatSolver.solve(order.problem(), solverNanos / 1e9, null);
+                    if (solution != null) {
+                        PackingPlan solved = buildPlan(order, solution, constraints);
+                        if (isBetterPlan(solved, best)) {
+                            best = solved;
+                            bestPhase = PlanningPhase.SOLVER;
+                        }
                     }
+                } catch (Exception e) {
+                    System.err.println("SLA solver phase failed: " + e.getMessage());
                 }
-                
-                model.addGreaterOrEqual(expr, needed);
             }
+        }
 
-            // Add constraint: total boxes cannot exceed total container capacity
-            // Use conservative estimate: if mixing box types, capacity = min capacity
-            int totalBoxes = boxesNeeded.values().stream().mapToInt(Integer::intValue).sum();
-            boolean hasMixedBoxTypes = boxesNeeded.size() > 1;
-            
-            if (hasMixedBoxTypes) {
-                // When we have mixed box types (e.g., Standard + Large),
-                // each container can only hold min(capacity) boxes total
-                LinearExprBuilder totalCapExpr = LinearExpr.newBuilder();
-                
-                for (Map.Entry<ContainerType, Map<BoxType, Integer>> containerEntry : containerCapacities.entrySet()) {
-                    ContainerType containerType = containerEntry.getKey();
-                    Map<BoxType, Integer> capacities = containerEntry.getValue();
-                    
-                    // Find minimum capacity for box types we're actually packing
-                    int minCapacity = capacities.entrySet().stream()
-                        .filter(e -> boxesNeeded.containsKey(e.getKey()) && e.getValue() > 0)
-                        .mapToInt(Map.Entry::getValue)
-                        .min()
-                        .orElse(0);
-                    
-                    if (minCapacity > 0) {
-                        totalCapExpr.addTerm(containerVars.get(containerType), minCapacity);
+        // Phase 4: LNS with whatever is left
+        long lnsNanos = deadlineNanos - System.nanoTime();
+        if (lnsNanos >= SLA_MIN_LNS_NANOS && best.getContainers().size() > 1) {
+            PackingPlan improved = improvePlan(best, constraints, Duration.ofNanos(lnsNanos), LNS_WORKERS);
+            if (isBetterPlan(improved, best)) {
+                best = improved;
+                bestPhase = PlanningPhase.LNS;
+            }
+        }
+
+        return withReport(best, bestPhase, budget, startNanos);
+    }
+
+    /**
+     * Chunked mode for orders too large for one container-mix model.
+     * <p>
+     * The order is split into chunks of at most {@code maxChunkArts} arts, one material and
+     * one size band each, and the chunk models are solved in parallel (exact DP, or CP-SAT
+     * when the DP cannot take a chunk). Containers are then built chunk by chunk, so IDs
+     * do not depend on thread timing. A residual pass re-solves the partially filled
+     * containers of all chunks together, and the usual consolidation runs last. Work and
+     * memory grow linearly with the number of chunks.
+     *
+     * @param artsToPack The list of arts to pack.
+     * @param constraints The user-defined constraints for this packing run.
+     * @param maxChunkArts The largest number of arts in one chunk.
+     * @param workers Number of chunks solved in parallel.
+     * @param timeLimit CP-SAT time limit for each chunk and for the residual pass.
+     * @return The combined plan.
+     */
+    public PackingPlan createChunkedPlan(List<Art> artsToPack, UserConstraints constraints, int maxChunkArts,
+                                         int workers, Duration timeLimit) {
+        return createChunkedPlan(artsToPack, constraints, maxChunkArts, workers, timeLimit,
+            new StageTimer(PlanningListener.NONE, false));
+    }
+
+    private PackingPlan createChunkedPlan(List<Art> artsToPack, UserConstraints constraints, int maxChunkArts,
+                                          int workers, Duration timeLimit, StageTimer timer) {
+        if (artsToPack == null || artsToPack.isEmpty()) {
+            return new PackingPlan(new ArrayList<>(), 0.0);
+        }
+
+        List<List<Art>> chunks = OrderChunker.split(artsToPack, maxChunkArts);
+        timer.log("Chunked solving: " + chunks.size() + " chunks of up to " + maxChunkArts + " arts");
+        List<ChunkSolution> solved = solveChunks(chunks, constraints, workers, timeLimit);
+
+        List<Container> containers = new ArrayList<>();
+        List<Art> unpackedArts = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkSolution chunk = solved.get(i);
+            if (chunk.solution() == null) {
+                PackingPlan fallback = fallbackHeuristic(chunks.get(i), constraints);
+                containers.addAll(fallback.getContainers());
+                unpackedArts.addAll(fallback.getUnpackedArts());
+                continue;
+            }
+            PreparedOrder order = chunk.order();
+            containers.addAll(buildContainersFromSolution(
+                chunk.solution().containerCounts(), order.profile(), order.containerCapacities(), constraints));
+            unpackedArts.addAll(order.unpackedArts());
+        }
+
+        containers = repackPartialContainers(containers, constraints, workers, timeLimit, timer);
+        containers = consolidator.consolidateContainers(containers, constraints);
+        containers = consolidator.consolidateUnderutilizedContainers(containers, constraints);
+
+        double totalCost = containers.stream()
+            .mapToDouble(costStrategy::calculateCost)
+            .sum();
+
+        timer.log("Total cost: $" + String.format("%.2f", totalCost));
+
+        return new PackingPlan(containers, totalCost, unpackedArts);
+    }
+
+    /**
+     * Estimates container count and weight from the box demand of the order, without
+     * solving it. Each box of type T takes at least 1/max capacity of a container, which
+     * gives the lower bound; packing every box type alone in its smallest-capacity
+     * container gives the upper bound. Arts whose box type fits no allowed container are
+     * counted as custom pieces. Takes milliseconds even for large orders, so it can be
+     * shown before the full solve or used to pre-screen many orders.
+     *
+     * @param artsToPack The order.
+     * @param constraints The user-defined constraints for this packing run.
+     * @return The estimate.
+     */
+    public ShipmentEstimate estimate(List<Art> artsToPack, UserConstraints constraints) {
+        if (artsToPack == null || artsToPack.isEmpty()) {
+            return new ShipmentEstimate(0, 0, 0, 0, 0, 0.0, 0.0);
+        }
+        // The full solve prepares the order again and reports unpackable arts then
+        PreparedOrder order = prepareOrder(artsToPack, constraints, false, true);
+        BoxDemandProfile profile = order.profile();
+
+        double lowerBound = 0.0;
+        int maxContainers = 0;
+        int boxCount = 0;
+        double artWeight = profile.getTotalArtWeight();
+        // Arts whose box fits no allowed container end up as custom pieces
+        int customPieces = order.unpackedArts().size();
+        double minTare = Double.MAX_VALUE;
+        double maxTare = 0.0;
+        for (Map.Entry<BoxType, Integer> entry : profile.getBoxesNeeded().entrySet()) {
+            int largest = 0;
+            int smallest = Integer.MAX_VALUE;
+            for (Map.Entry<ContainerType, Map<BoxType, Integer>> capacities : order.containerCapacities().entrySet()) {
+                int capacity = capacities.getValue().getOrDefault(entry.getKey(), 0);
+                if (capacity <= 0) {
+                    continue;
+                }
+                largest = Math.max(largest, capacity);
+                smallest = Math.min(smallest, capacity);
+                minTare = Math.min(minTare, capacities.getKey().getWeight());
+                maxTare = Math.max(maxTare, capacities.getKey().getWeight());
+            }
+            if (largest == 0) {
+                customPieces += profile.getArtCount(entry.getKey());
+                for (List<Art> contents : profile.getBoxContents(entry.getKey())) {
+                    for (Art art : contents) {
+                        artWeight -= art.getWeight();
                     }
                 }
-                
-                model.addGreaterOrEqual(totalCapExpr, totalBoxes);
+                continue;
             }
+            boxCount += entry.getValue();
+            lowerBound += entry.getValue() / (double) largest;
+            maxContainers += (entry.getValue() + smallest - 1) / smallest;
+        }
+        // Round the fractional bound up, allowing for floating-point noise
+        int minContainers = (int) Math.ceil(lowerBound - 1e-9);
+        if (maxContainers == 0) {
+            minTare = 0.0;
+        }
 
-            // Step 6: set objective - minimize total cost using the cost strategy
-            // This allows the optimizer to work with different pricing models:
-            // - Linear pricing (PlaceholderCostStrategy): minimizes weight since cost ∝ weight
-            // - Tiered pricing (future): will minimize actual cost considering price brackets
-            LinearExprBuilder objectiveExpr = LinearExpr.newBuilder();
-            
-            // Calculate average content weight per container for cost estimation
-            double totalArtWeight = artRequirements.stream()
-                .mapToDouble(req -> req.art.getWeight())
-                .sum();
-            int estimatedContainerCount = Math.max(1, totalBoxes / 4); // Rough estimate: ~4 boxes per container
-            double averageContentWeight = totalArtWeight / estimatedContainerCount;
-            
-            for (Map.Entry<ContainerType, IntVar> entry : containerVars.entrySet()) {
-                ContainerType containerType = entry.getKey();
-                IntVar var = entry.getValue();
-                
-                // Use cost strategy to get the coefficient for optimization
-                // For PlaceholderCostStrategy: this equals (weight * 10 * 100) + 1, same behavior as before
-                // For TieredCostStrategy: this will reflect the marginal cost of adding a container
-                long coefficient = costStrategy.getCostCoefficient(containerType, averageContentWeight);
-                objectiveExpr.addTerm(var, coefficient);
+        return new ShipmentEstimate(artsToPack.size(), customPieces, boxCount,
+            minContainers, maxContainers,
+            artWeight + minContainers * minTare, artWeight + maxContainers * maxTare);
+    }
+
+    /**
+     * Updates a plan after arts were added to or removed from the order, without
+     * re-planning the whole order. Only the neighborhood of the change is re-packed: the
+     * containers that held a removed art, and the containers with room left (a free box
+     * slot or a box that is not full) that hold the material of an added art. The
+     * neighborhood's remaining arts and the added arts are re-planned together; all other
+     * containers are carried over unchanged. Solver time therefore grows with the size of
+     * the change, not with the size of the order.
+     *
+     * @param previous The plan to update; it is not modified.
+     * @param addedArts Arts added to the order.
+     * @param removedArtIds IDs of arts removed from the order; IDs not in the plan are ignored.
+     * @param constraints The constraints the plan was built with.
+     * @return The updated plan and its difference to the previous plan.
+     */
+    public PlanRevision replan(PackingPlan previous, List<Art> addedArts, Collection<String> removedArtIds,
+                               UserConstraints constraints) {
+        return replan(previous, addedArts, removedArtIds, constraints, false);
+    }
+
+    /**
+     * Same as {@link #replan(PackingPlan, List, Collection, UserConstraints)}; with
+     * {@code quiet} the progress lines are left off System.out, for callers such as
+     * {@link PlanQuoter} that re-solve behind an answer of their own.
+     */
+    PlanRevision replan(PackingPlan previous, List<Art> addedArts, Collection<String> removedArtIds,
+                        UserConstraints constraints, boolean quiet) {
+        StageTimer timer = new StageTimer(PlanningListener.NONE, quiet);
+        Set<String> removed = new HashSet<>(removedArtIds);
+        Set<Material> addedMaterials = EnumSet.noneOf(Material.class);
+        for (Art art : addedArts) {
+            addedMaterials.add(art.getMaterial());
+        }
+
+        // Find the neighborhood; lane containers are only affected if they have room left
+        List<Container> containers = previous.getContainers();
+        Set<Container> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Container> laneContainers = new ArrayList<>();
+        for (Container container : containers) {
+            boolean inLane = false;
+            for (Box box : container.getBoxesInContainer()) {
+                for (Art art : box.getArtsInBox()) {
+                    if (removed.contains(art.getId())) {
+                        affected.add(container);
+                    }
+                    inLane |= addedMaterials.contains(art.getMaterial());
+                }
+            }
+            if (inLane && !affected.contains(container)) {
+                laneContainers.add(container);
+            }
+        }
+        affected.addAll(containersWithRoom(laneContainers, constraints));
+
+        List<Art> neighborhood = new ArrayList<>();
+        List<Container> kept = new ArrayList<>();
+        List<Container> replaced = new ArrayList<>();
+        for (Container container : containers) {
+            if (!affected.contains(container)) {
+                kept.add(container);
+                continue;
+            }
+            replaced.add(container);
+            for (Box box : container.getBoxesInContainer()) {
+                for (Art art : box.getArtsInBox()) {
+                    if (!removed.contains(art.getId())) {
+                        neighborhood.add(art);
+                    }
+                }
+            }
+        }
+        neighborhood.addAll(addedArts);
+
+        // New containers must not reuse the IDs of the carried-over ones
+        reserveIds(kept);
+        PackingPlan repacked = createOptimalPlan(neighborhood, constraints, timer);
+
+        List<Container> updated = new ArrayList<>(kept);
+        updated.addAll(repacked.getContainers());
+        List<Art> unpackedArts = new ArrayList<>();
+        for (Art art : previous.getUnpackedArts()) {
+            if (!removed.contains(art.getId())) {
+                unpackedArts.add(art);
+            }
+        }
+        unpackedArts.addAll(repacked.getUnpackedArts());
+
+        double replacedCost = replaced.stream().mapToDouble(costStrategy::calculateCost).sum();
+        double costDelta = repacked.getTotalCost() - replacedCost;
+        timer.log("Re-planned " + neighborhood.size() + " arts: " + replaced.size()
+            + " containers replaced by " + repacked.getTotalContainerCount());
+
+        PackingPlan plan = new PackingPlan(updated, previous.getTotalCost() + costDelta, unpackedArts);
+        return new PlanRevision(plan, replaced, repacked.getContainers(), costDelta);
+    }
+
+    /**
+     * Creates a quoter that prices hypothetical additions to and removals from a plan.
+     * @param plan A solved plan; the quoter describes it as it is now.
+     * @param constraints The constraints the plan was built with.
+     * @return A quoter for the plan.
+     */
+    public PlanQuoter createQuoter(PackingPlan plan, UserConstraints constraints) {
+        return new PlanQuoter(feasibilityService, costStrategy, this, plan, constraints);
+    }
+
+    /**
+     * Post-optimizes a plan with large-neighborhood search: small groups of containers
+     * are repeatedly freed and re-packed with the exact DP solver, keeping every
+     * improvement, until the budget runs out.
+     *
+     * @param plan The plan to improve; it is not modified.
+     * @param constraints The constraints the plan was built with.
+     * @param budget Wall-clock time the search may use.
+     * @param workers Number of neighborhoods searched in parallel.
+     * @return A plan that is at least as cheap as the input.
+     */
+    public PackingPlan improvePlan(PackingPlan plan, UserConstraints constraints, Duration budget, int workers) {
+        if (plan == null || plan.getContainers().isEmpty()) {
+            return plan;
+        }
+        return lnsOptimizer.improve(plan, constraints, budget, workers, LNS_SEED);
+    }
+
+    /**
+     * Returns the per-strategy win and latency statistics collected by portfolio runs.
+     * @return The statistics shared by all portfolio runs in this process.
+     */
+    public PortfolioStatistics getPortfolioStatistics() {
+        return SHARED_PORTFOLIO.getStatistics();
+    }
+
+    /**
+     * Analyzes the order: filters unpackable arts, picks a box option for every art,
+     * counts the boxes per type and builds the container-selection model.
+     */
+    private PreparedOrder prepareOrder(List<Art> artsToPack, UserConstraints constraints) {
+        return prepareOrder(artsToPack, constraints, false);
+    }
+
+    /**
+     * @param boundByDemand If true, the model allows as many containers of a type as there
+     *                      are boxes instead of the default cap. The solvers bound each count
+     *                      by what the order can fill, so this only matters for orders that
+     *                      need more than the default cap of some type.
+     */
+    private PreparedOrder prepareOrder(List<Art> artsToPack, UserConstraints constraints, boolean boundByDemand) {
+        return prepareOrder(artsToPack, constraints, boundByDemand, false);
+    }
+
+    /**
+     * @param forEstimate If true, unpackable arts are not reported on System.err and no
+     *                    container-selection model is built ({@code problem} is null); an
+     *                    estimate needs only the box demand and container capacities.
+     */
+    private PreparedOrder prepareOrder(List<Art> artsToPack, UserConstraints constraints, boolean boundByDemand,
+                                       boolean forEstimate) {
+        // Step 1: analyze the box requirements for each art with smart material grouping
+        List<Art> unpackedArts = new ArrayList<>();
+        
+        // First pass: collect all arts with their options
+        Map<Art, List<PackingOption>> artOptionsMap = new LinkedHashMap<>();
+        for (Art art : artsToPack) {
+            // First check if art is physically packable based on hard limits
+            if (!RuleProvider.isPackable(art)) {
+                if (!forEstimate) {
+                    System.err.println("Art " + art.getId() + " (" + art.getWidth() + "x" + art.getHeight() + 
+                                     ") exceeds physical packaging limits and will be counted as custom piece");
+                }
+                unpackedArts.add(art);
+                continue;
             }
             
-            model.minimize(objectiveExpr);
+            // Then check if there are valid packing options
+            List<PackingOption> options = feasibilityService.getValidPackingOptions(art, constraints);
+            if (options.isEmpty()) {
+                if (!forEstimate) {
+                    System.err.println("Art " + art.getId() + " not packable");
+                }
+                unpackedArts.add(art);
+                continue;
+            }
+            artOptionsMap.put(art, options);
+        }
+        
+        // Smart optimization: try to find common box types for same material
+        BoxDemandProfile profile = optimizeBoxSelectionByMaterial(artOptionsMap);
 
-            System.out.println("\nStarting solver...");
+        // Step 2: the profile already holds the number of boxes needed per BoxType
+        Map<BoxType, Integer> boxesNeeded = profile.getBoxesNeeded();
+        // Step 3: obtain available container types and their capacities
+        Map<ContainerType, Map<BoxType, Integer>> containerCapacities = 
+            getContainerCapacities(boxesNeeded.keySet(), constraints);
 
-            // step 7: solve 
-            CpSolverStatus status = solver.solve(model);
+        if (forEstimate) {
+            return new PreparedOrder(profile, unpackedArts, containerCapacities, null);
+        }
 
-            if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
+        // Step 4: the container-selection model
+        int maxContainersPerType = boundByDemand
+            ? Math.max(ContainerMixProblem.DEFAULT_MAX_CONTAINERS_PER_TYPE, profile.getTotalBoxes())
+            : ContainerMixProblem.DEFAULT_MAX_CONTAINERS_PER_TYPE;
+        ContainerMixProblem problem = buildProblem(boxesNeeded, containerCapacities, profile.getTotalBoxes(),
+            profile.getTotalArtWeight(), maxContainersPerType);
+        return new PreparedOrder(profile, unpackedArts, containerCapacities, problem);
+    }
 
-                // get solution
-                Map<ContainerType, Integer> solution = new HashMap<>();
+    private ContainerMixProblem buildProblem(Map<BoxType, Integer> boxesNeeded,
+                                             Map<ContainerType, Map<BoxType, Integer>> containerCapacities,
+                                             int totalBoxes, double totalArtWeight, int maxContainersPerType) {
+        // Cost coefficients for the objective
+        // This allows the optimizer to work with different pricing models:
+        // - Linear pricing (PlaceholderCostStrategy): minimizes weight since cost ∝ weight
+        // - Tiered pricing (future): will minimize actual cost considering price brackets
+        int estimatedContainerCount = Math.max(1, totalBoxes / 4); // Rough estimate: ~4 boxes per container
+        double averageContentWeight = totalArtWeight / estimatedContainerCount;
 
-                for (Map.Entry<ContainerType, IntVar> entry : containerVars.entrySet()) {
-                    ContainerType type = entry.getKey();
-                    long count = solver.value(entry.getValue());
-                    if (count > 0)
-                    {
-                        solution.put(type, (int)count);
-                    }
+        Map<ContainerType, Long> coefficients = new EnumMap<>(ContainerType.class);
+        for (ContainerType containerType : containerCapacities.keySet()) {
+            // For PlaceholderCostStrategy: this equals (weight * 10 * 100) + 1, same behavior as before
+            // For TieredCostStrategy: this will reflect the marginal cost of adding a container
+            coefficients.put(containerType, costStrategy.getCostCoefficient(containerType, averageContentWeight));
+        }
+
+        return new ContainerMixProblem(boxesNeeded, containerCapacities, coefficients, maxContainersPerType);
+    }
+
+    /**
+     * Solves the chunk models on a pool of {@code workers} threads. A chunk that fails
+     * gets a null solution and is packed by the heuristic instead.
+     */
+    private List<ChunkSolution> solveChunks(List<List<Art>> chunks, UserConstraints constraints,
+                                            int workers, Duration timeLimit) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, chunks.size())),
+            chunkThreadFactory());
+        List<ChunkSolution> results = new ArrayList<>(chunks.size());
+        try {
+            List<Future<ChunkSolution>> futures = new ArrayList<>(chunks.size());
+            for (List<Art> chunk : chunks) {
+                futures.add(pool.submit(() -> solveChunk(chunk, constraints, timeLimit)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    System.err.println("Chunk " + i + " failed: " + e.getCause());
+                    results.add(new ChunkSolution(null, null));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            while (results.size() < chunks.size()) {
+                results.add(new ChunkSolution(null, null));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    private ChunkSolution solveChunk(List<Art> chunk, UserConstraints constraints, Duration timeLimit) {
+        PreparedOrder order = prepareOrder(chunk, constraints, true);
+        ContainerMixProblem problem = order.problem();
+        ContainerMixSolution solution = dpSolver.canSolve(problem)
+            ? dpSolver.solve(problem)
+            : cpSatSolver.solve(problem, timeLimit.toMillis() / 1000.0, 1, null);
+        return new ChunkSolution(order, solution);
+    }
+
+    /**
+     * Residual pass of chunked mode: takes the boxes out of every container that still has
+     * room, re-solves the container mix for them together and re-packs them first-fit.
+     * The result is kept only if it places every box and costs less than the containers
+     * it replaces.
+     */
+    private List<Container> repackPartialContainers(List<Container> containers, UserConstraints constraints,
+                                                    int workers, Duration timeLimit, StageTimer timer) {
+        Set<BoxType> boxTypes = EnumSet.noneOf(BoxType.class);
+        for (Container container : containers) {
+            for (Box box : container.getBoxesInContainer()) {
+                boxTypes.add(box.getBoxType());
+            }
+        }
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers,
+            getContainerCapacities(boxTypes, constraints));
+
+        List<Container> kept = new ArrayList<>();
+        List<Container> partial = new ArrayList<>();
+        Map<BoxType, List<Box>> leftover = new EnumMap<>(BoxType.class);
+        int totalBoxes = 0;
+        double totalArtWeight = 0;
+        for (int i = 0; i < containers.size(); i++) {
+            Container container = containers.get(i);
+            boolean hasRoom = false;
+            for (Box box : container.getBoxesInContainer()) {
+                if (index.freeSlots(i, box.getBoxType()) > 0) {
+                    hasRoom = true;
+                    break;
                 }
+            }
+            if (!hasRoom) {
+                kept.add(container);
+                continue;
+            }
+            partial.add(container);
+            for (Box box : container.getBoxesInContainer()) {
+                leftover.computeIfAbsent(box.getBoxType(), k -> new ArrayList<>()).add(box);
+                totalBoxes++;
+                totalArtWeight += box.getTotalWeight();
+            }
+        }
+        if (partial.size() < 2) {
+            return containers;
+        }
 
-                List<Container> containers = buildContainersFromSolution(
-                    solution, artRequirements, boxesNeeded, containerCapacities, constraints);
+        Map<BoxType, Integer> boxesNeeded = new EnumMap<>(BoxType.class);
+        leftover.forEach((type, boxes) -> boxesNeeded.put(type, boxes.size()));
+        Map<ContainerType, Map<BoxType, Integer>> capacities = getContainerCapacities(boxesNeeded.keySet(), constraints);
+        ContainerMixProblem problem = buildProblem(boxesNeeded, capacities, totalBoxes, totalArtWeight,
+            Math.max(ContainerMixProblem.DEFAULT_MAX_CONTAINERS_PER_TYPE, totalBoxes));
+        ContainerMixSolution solution = dpSolver.canSolve(problem)
+            ? dpSolver.solve(problem)
+            : cpSatSolver.solve(problem, timeLimit.toMillis() / 1000.0, workers, null);
+        if (solution == null) {
+            return containers;
+        }
 
-                // Post-processing: consolidate underutilized containers
-                containers = consolidateUnderutilizedContainers(containers, constraints);
+        List<Container> repacked = new ArrayList<>();
+        solution.containerCounts().forEach((type, count) -> {
+            for (int i = 0; i < count; i++) {
+                repacked.add(createNewContainer(type));
+            }
+        });
+        // Boxes are only added to the new containers, so the old ones stay valid if we back out
+        ResidualCapacityIndex repackIndex = new ResidualCapacityIndex(repacked, capacities);
+        for (List<Box> boxes : leftover.values()) {
+            for (Box box : boxes) {
+                if (!repackIndex.place(box)) {
+                    return containers;
+                }
+            }
+        }
+        repacked.removeIf(container -> container.getBoxesInContainer().isEmpty());
 
-                double totalCost = containers.stream()
-                    .mapToDouble(costStrategy::calculateCost)
-                    .sum();
+        double oldCost = partial.stream().mapToDouble(costStrategy::calculateCost).sum();
+        double newCost = repacked.stream().mapToDouble(costStrategy::calculateCost).sum();
+        if (newCost >= oldCost) {
+            return containers;
+        }
+        timer.log("Residual pass: " + partial.size() + " partial containers repacked into " + repacked.size());
+        kept.addAll(repacked);
+        return kept;
+    }
 
-                System.out.println("Total cost: $" + String.format("%.2f", totalCost));
+    /**
+     * Returns the containers that could take another art of the materials they hold:
+     * either a box slot is free, or a box holds fewer arts than its contents allow.
+     */
+    private List<Container> containersWithRoom(List<Container> containers, UserConstraints constraints) {
+        if (containers.isEmpty()) {
+            return containers;
+        }
+        Set<BoxType> boxTypes = EnumSet.noneOf(BoxType.class);
+        for (Container container : containers) {
+            for (Box box : container.getBoxesInContainer()) {
+                boxTypes.add(box.getBoxType());
+            }
+        }
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers,
+            getContainerCapacities(boxTypes, constraints));
 
-                return new PackingPlan(containers, totalCost, unpackedArts);
-                
-            } else {
-                System.err.println("CP-SAT solver did not find a feasible solution: " + status);
-                return fallbackHeuristic(artsToPack, constraints);
+        List<Container> withRoom = new ArrayList<>();
+        for (int i = 0; i < containers.size(); i++) {
+            for (Box box : containers.get(i).getBoxesInContainer()) {
+                if (index.freeSlots(i, box.getBoxType()) > 0 || boxHasRoom(box, constraints)) {
+                    withRoom.add(containers.get(i));
+                    break;
+                }
             }
+        }
+        return withRoom;
+    }
 
-        } catch (Exception e) {
-            System.err.println("OR-Tools solver error: " + e.getMessage());
-            e.printStackTrace();
-            return fallbackHeuristic(artsToPack, constraints);
+    /**
+     * A box has room if it holds fewer arts than the smallest capacity of its arts in its box type.
+     */
+    private boolean boxHasRoom(Box box, UserConstraints constraints) {
+        int limit = Integer.MAX_VALUE;
+        for (Art art : box.getArtsInBox()) {
+            for (PackingOption option : feasibilityService.getValidPackingOptions(art, constraints)) {
+                if (option.boxType() == box.getBoxType()) {
+                    limit = Math.min(limit, option.capacity());
+                    break;
+                }
+            }
         }
+        return limit != Integer.MAX_VALUE && box.getArtsInBox().size() < limit;
+    }
+
+    /**
+     * Moves the ID counters past the IDs of existing boxes and containers.
+     */
+    private void reserveIds(List<Container> containers) {
+        for (Container container : containers) {
+            reserveId(containerIdCounter, container.getId(), "Container-");
+            for (Box box : container.getBoxesInContainer()) {
+                reserveId(boxIdCounter, box.getId(), "Box-");
+            }
+        }
+    }
+
+    private static void reserveId(AtomicInteger counter, String id, String prefix) {
+        if (id == null || !id.startsWith(prefix)) {
+            return;
+        }
+        try {
+            int next = Integer.parseInt(id.substring(prefix.length())) + 1;
+            counter.accumulateAndGet(next, Math::max);
+        } catch (NumberFormatException e) {
+            // Not one of our IDs; it cannot collide with a generated one
+        }
+    }
+
+    private static ThreadFactory chunkThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "Chunk-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static PackingPlan withReport(PackingPlan plan, PlanningPhase phase, Duration budget, long startNanos) {
+        PlanningReport report = new PlanningReport(phase, budget, Duration.ofNanos(System.nanoTime() - startNanos));
+        return new PackingPlan(plan.getContainers(), plan.getTotalCost(), plan.getUnpackedArts(), report);
+    }
+
+    /**
+     * Lower cost wins; equal cost is broken by fewer containers.
+     */
+    private static boolean isBetterPlan(PackingPlan candidate, PackingPlan incumbent) {
+        int byCost = Double.compare(candidate.getTotalCost(), incumbent.getTotalCost());
+        if (byCost != 0) {
+            return byCost < 0;
+        }
+        return candidate.getTotalContainerCount() < incumbent.getTotalContainerCount();
+    }
+
+    /**
+     * Turns a container-mix solution into containers, consolidates them and prices the result.
+     */
+    private PackingPlan buildPlan(PreparedOrder order, ContainerMixSolution solution, UserConstraints constraints) {
+        return buildPlan(order, solution, constraints, new StageTimer(PlanningListener.NONE, false));
+    }
+
+    private PackingPlan buildPlan(PreparedOrder order, ContainerMixSolution solution, UserConstraints constraints,
+                                  StageTimer timer) {
+        timer.enter(PlanningStage.CONSOLIDATION);
+        List<Container> containers = buildContainersFromSolution(
+            solution.containerCounts(), order.profile(), order.containerCapacities(), constraints);
+
+        // Post-processing: consolidate underutilized containers
+        containers = consolidator.consolidateUnderutilizedContainers(containers, constraints);
+
+        double totalCost = containers.stream()
+            .mapToDouble(costStrategy::calculateCost)
+            .sum();
+
+        timer.log("Total cost: $" + String.format("%.2f", totalCost));
+
+        return new PackingPlan(containers, totalCost, order.unpackedArts());
     }
 
     /**
      * Optimize box selection by grouping arts by material and finding common box types.
      * This allows different-sized artwork of the same material to be packed in larger boxes together.
      */
-    private List<ArtBoxRequirement> optimizeBoxSelectionByMaterial(Map<Art, List<PackingOption>> artOptionsMap) {
-        List<ArtBoxRequirement> requirements = new ArrayList<>();
+    private BoxDemandProfile optimizeBoxSelectionByMaterial(Map<Art, List<PackingOption>> artOptionsMap) {
+        BoxDemandProfile.Builder profile = BoxDemandProfile.newBuilder();
         
         // Group arts by material
         Map<Material, List<Art>> artsByMaterial = new LinkedHashMap<>();
@@ -231,17 +974,21 @@ public class OptimizationService {
             List<Art> artsOfMaterial = entry.getValue();
             
             // Check if we have mixed sizes (different dimensions) for this material
-            boolean hasMixedSizes = artsOfMaterial.stream()
-                .map(art -> art.getWidth() + "x" + art.getHeight())
-                .distinct()
-                .count() > 1;
+            boolean hasMixedSizes = false;
+            Art firstArt = artsOfMaterial.get(0);
+            for (Art art : artsOfMaterial) {
+                if (art.getWidth() != firstArt.getWidth() || art.getHeight() != firstArt.getHeight()) {
+                    hasMixedSizes = true;
+                    break;
+                }
+            }
             
             // Only apply optimization if we have mixed sizes
             if (!hasMixedSizes) {
                 // All same size, use first option for each art (original behavior)
                 for (Art art : artsOfMaterial) {
                     List<PackingOption> options = artOptionsMap.get(art);
-                    requirements.add(new ArtBoxRequirement(art, options.get(0)));
+                    profile.add(art, options.get(0));
                 }
                 continue;
             }
@@ -249,12 +996,13 @@ public class OptimizationService {
             // Find common box types that can fit ALL arts of this material
             Set<BoxType> commonBoxTypes = null;
             for (Art art : artsOfMaterial) {
-                Set<BoxType> artBoxTypes = artOptionsMap.get(art).stream()
-                    .map(PackingOption::boxType)
-                    .collect(Collectors.toSet());
+                Set<BoxType> artBoxTypes = EnumSet.noneOf(BoxType.class);
+                for (PackingOption option : artOptionsMap.get(art)) {
+                    artBoxTypes.add(option.boxType());
+                }
                 
                 if (commonBoxTypes == null) {
-                    commonBoxTypes = new HashSet<>(artBoxTypes);
+                    commonBoxTypes = artBoxTypes;
                 } else {
                     commonBoxTypes.retainAll(artBoxTypes);
                 }
@@ -308,66 +1056,20 @@ public class OptimizationService {
                         selectedOption = options.get(0);
                     }
                     
-                    requirements.add(new ArtBoxRequirement(art, selectedOption));
+                    profile.add(art, selectedOption);
                 }
             } else {
                 // No common box type, use first available option for each art
                 for (Art art : artsOfMaterial) {
                     List<PackingOption> options = artOptionsMap.get(art);
-                    requirements.add(new ArtBoxRequirement(art, options.get(0)));
+                    profile.add(art, options.get(0));
                 }
             }
         }
         
-        return requirements;
+        return profile.build();
     }
 
-    /**
-     * Calculate how many boxes are needed
-     */
-    private Map<BoxType, Integer> calculateBoxesNeeded(List<ArtBoxRequirement> requirements) {
-        // SMART LOGIC: For each BoxType, decide whether to:
-        // 1. Group by capacity separately (better when capacities are well-distributed)
-        // 2. Merge all with minCapacity (better when mixing saves boxes)
-        // Choose the strategy that minimizes total boxes needed
-        
-        Map<BoxType, List<ArtBoxRequirement>> groupedByType = requirements.stream()
-            .collect(Collectors.groupingBy(req -> req.option.boxType()));
-        
-        Map<BoxType, Integer> boxesNeeded = new HashMap<>();
-        
-        for (Map.Entry<BoxType, List<ArtBoxRequirement>> entry : groupedByType.entrySet()) {
-            BoxType boxType = entry.getKey();
-            List<ArtBoxRequirement> reqs = entry.getValue();
-            
-            // Group by capacity
-            Map<Integer, List<ArtBoxRequirement>> byCapacity = reqs.stream()
-                .collect(Collectors.groupingBy(r -> r.option.capacity()));
-            
-            // Strategy 1: Calculate boxes if we keep each capacity group separate
-            int boxesSeparate = 0;
-            for (Map.Entry<Integer, List<ArtBoxRequirement>> capEntry : byCapacity.entrySet()) {
-                int capacity = capEntry.getKey();
-                int artCount = capEntry.getValue().size();
-                boxesSeparate += (int) Math.ceil((double) artCount / capacity);
-            }
-            
-            // Strategy 2: Calculate boxes if we merge all with minCapacity
-            int minCapacity = reqs.stream()
-                .mapToInt(r -> r.option.capacity())
-                .min()
-                .orElse(1);
-            int boxesMerged = (int) Math.ceil((double) reqs.size() / minCapacity);
-            
-            // Choose the strategy that uses fewer boxes
-            int totalBoxes = Math.min(boxesSeparate, boxesMerged);
-            
-            boxesNeeded.put(boxType, totalBoxes);
-        }
-        
-        return boxesNeeded;
-    }
-    
     /**
      * Get the capacity (in boxes) of each container type for each box type
      */
@@ -394,17 +1096,12 @@ public class OptimizationService {
      */
     private List<Container> buildContainersFromSolution(
             Map<ContainerType, Integer> solution,
-            List<ArtBoxRequirement> artRequirements,
-            Map<BoxType, Integer> boxesNeeded,
+            BoxDemandProfile profile,
             Map<ContainerType, Map<BoxType, Integer>> containerCapacities,
             UserConstraints constraints) {
 
         List<Container> containers = new ArrayList<>();
 
-        // Group arts by BoxType
-        Map<BoxType, List<ArtBoxRequirement>> artsByBoxType = artRequirements.stream()
-            .collect(Collectors.groupingBy(req -> req.option.boxType()));
-
     // Instantiate containers for each required container type
         for (Map.Entry<ContainerType, Integer> entry : solution.entrySet()) {
             ContainerType containerType = entry.getKey();
@@ -419,100 +1116,17 @@ public class OptimizationService {
         }
 
     // Now assign boxes to containers
-    // Use a First-Fit strategy
-        for (Map.Entry<BoxType, List<ArtBoxRequirement>> entry : artsByBoxType.entrySet()) {
-            List<ArtBoxRequirement> arts = entry.getValue();
-            if (arts.isEmpty()) continue;
-            
-            BoxType boxType = entry.getKey();
-            
-            // Determine strategy: should we group by capacity or merge with minCapacity?
-            Map<Integer, List<ArtBoxRequirement>> byCapacity = arts.stream()
-                .collect(Collectors.groupingBy(r -> r.option.capacity()));
-            
-            int boxesSeparate = 0;
-            for (Map.Entry<Integer, List<ArtBoxRequirement>> capEntry : byCapacity.entrySet()) {
-                int capacity = capEntry.getKey();
-                int artCount = capEntry.getValue().size();
-                boxesSeparate += (int) Math.ceil((double) artCount / capacity);
-            }
-            
-            int minCapacity = arts.stream()
-                .mapToInt(r -> r.option.capacity())
-                .min()
-                .orElse(1);
-            int boxesMerged = (int) Math.ceil((double) arts.size() / minCapacity);
-            
-            List<Box> boxes = new ArrayList<>();
-            
-            // Use the same strategy as calculateBoxesNeeded
-            if (boxesSeparate <= boxesMerged) {
-                // Strategy 1: Keep capacity groups separate
-                for (Map.Entry<Integer, List<ArtBoxRequirement>> capEntry : byCapacity.entrySet()) {
-                    int capacity = capEntry.getKey();
-                    List<ArtBoxRequirement> capArts = capEntry.getValue();
-                    
-                    for (int i = 0; i < capArts.size(); i += capacity) {
-                        Box box = createNewBox(boxType);
-                        int end = Math.min(i + capacity, capArts.size());
-                        for (int j = i; j < end; j++) {
-                            box.addArt(capArts.get(j).art);
-                        }
-                        boxes.add(box);
-                    }
+    // Use a First-Fit strategy; the index tracks each container's mixed-type limit and load
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers, containerCapacities);
+        for (BoxType boxType : profile.getBoxesNeeded().keySet()) {
+            // Box contents come from the demand profile, which already chose between
+            // separate capacity classes and merging at the smallest capacity
+            for (List<Art> contents : profile.getBoxContents(boxType)) {
+                Box box = createNewBox(boxType);
+                for (Art art : contents) {
+                    box.addArt(art);
                 }
-            } else {
-                // Strategy 2: Merge all with minCapacity
-                arts.sort(Comparator.comparingInt(r -> r.option.capacity()));
-                for (int i = 0; i < arts.size(); i += minCapacity) {
-                    Box box = createNewBox(boxType);
-                    int end = Math.min(i + minCapacity, arts.size());
-                    for (int j = i; j < end; j++) {
-                        box.addArt(arts.get(j).art);
-                    }
-                    boxes.add(box);
-                }
-            }
-
-            // divide boxes into suitable containers
-           
-            for (Box box : boxes) {
-                boolean placed = false;
-                
-                for (Container container : containers) {
-                    Map<BoxType, Integer> capacities = containerCapacities.get(container.getContainerType());
-                    Integer maxCapacity = capacities.get(boxType);
-                    
-                    if (maxCapacity != null && maxCapacity > 0) {
-                        // Calculate effective capacity based on what's already in the container
-                        // If container has Large boxes, capacity = 3
-                        // If container has only Standard boxes, capacity = 4 or 5 (depending on pallet type)
-                        int effectiveLimit = maxCapacity;
-                        
-                        // Check if container already has boxes
-                        if (!container.getBoxesInContainer().isEmpty()) {
-                            // Find the minimum capacity among all box types already in container
-                            int minExistingCapacity = Integer.MAX_VALUE;
-                            for (Box existingBox : container.getBoxesInContainer()) {
-                                BoxType existingType = existingBox.getBoxType();
-                                Integer existingCap = capacities.get(existingType);
-                                if (existingCap != null && existingCap < minExistingCapacity) {
-                                    minExistingCapacity = existingCap;
-                                }
-                            }
-                            // Use minimum of existing capacity and new box capacity
-                            effectiveLimit = Math.min(minExistingCapacity, maxCapacity);
-                        }
-                        
-                        if (container.getBoxesInContainer().size() < effectiveLimit) {
-                            container.addBox(box);
-                            placed = true;
-                            break;
-                        }
-                    }
-                }
-                
-                if (!placed) {
+                if (!index.place(box)) {
                     System.err.println("Cannot place box " + box.getId());
                 }
             }
@@ -525,174 +1139,11 @@ public class OptimizationService {
             .collect(Collectors.toList());
 
         // Post-processing: Consolidate under-utilized containers
-        List<Container> optimizedContainers = consolidateContainers(nonEmptyContainers, containerCapacities, constraints);
+        List<Container> optimizedContainers = consolidator.consolidateContainers(nonEmptyContainers, constraints);
 
         return optimizedContainers;
     }
 
-    /**
-     * Post-processing optimization: Consolidate under-utilized containers.
-     * 
-     * Strategy:
-     * 1. Find containers with low utilization (e.g., only 1-2 boxes when capacity is 3-4)
-     * 2. Try to merge boxes from multiple under-utilized containers into fewer containers
-     * 3. When needed, upgrade STANDARD_PALLET to OVERSIZE_PALLET to gain extra capacity
-     * 
-     * Example optimization:
-     * - Container A (STANDARD_PALLET): 2 STANDARD + 1 LARGE (3 boxes, but could fit more with upgrade)
-     * - Container B (STANDARD_PALLET): 1 LARGE (very under-utilized)
-     * After optimization:
-     * - Container A becomes OVERSIZE_PALLET: 2 LARGE + 1 STANDARD (consolidate the LARGE boxes)
-     * - Upgrade another STANDARD_PALLET to OVERSIZE_PALLET to hold the extra STANDARD box
-     * - Remove Container B
-     */
-    private List<Container> consolidateContainers(
-            List<Container> containers,
-            Map<ContainerType, Map<BoxType, Integer>> containerCapacities,
-            UserConstraints constraints) {
-        
-        // Check if OVERSIZE_PALLET is allowed
-        List<ContainerType> allowedTypes = constraints.getAllowedContainerTypes();
-        boolean oversizeAllowed = allowedTypes.isEmpty() || allowedTypes.contains(ContainerType.OVERSIZE_PALLET);
-        
-        if (!oversizeAllowed) {
-            return containers; // Can't optimize without OVERSIZE_PALLET option
-        }
-        
-        List<Container> result = new ArrayList<>(containers);
-        boolean improved = true;
-        
-        while (improved) {
-            improved = false;
-            
-            // Find under-utilized STANDARD_PALLETs (containers that could benefit from consolidation)
-            List<Container> underUtilizedStandard = result.stream()
-                .filter(c -> c.getContainerType() == ContainerType.STANDARD_PALLET)
-                .filter(c -> {
-                    int boxCount = c.getBoxesInContainer().size();
-                    boolean hasLarge = c.getBoxesInContainer().stream()
-                        .anyMatch(b -> b.getBoxType() == BoxType.LARGE);
-                    // Under-utilized if: has LARGE boxes but less than 3, or has few boxes overall
-                    return (hasLarge && boxCount < 3) || (!hasLarge && boxCount < 3);
-                })
-                .collect(Collectors.toList());
-            
-            if (underUtilizedStandard.size() < 2) {
-                break; // Need at least 2 under-utilized containers to consolidate
-            }
-            
-            // Try to find two containers that can be merged
-            for (int i = 0; i < underUtilizedStandard.size() && !improved; i++) {
-                Container containerA = underUtilizedStandard.get(i);
-                
-                for (int j = i + 1; j < underUtilizedStandard.size() && !improved; j++) {
-                    Container containerB = underUtilizedStandard.get(j);
-                    
-                    // Count boxes by type across both containers
-                    int largeBoxCount = 0;
-                    int standardBoxCount = 0;
-                    List<Box> allBoxes = new ArrayList<>();
-                    
-                    for (Box box : containerA.getBoxesInContainer()) {
-                        allBoxes.add(box);
-                        if (box.getBoxType() == BoxType.LARGE) largeBoxCount++;
-                        else if (box.getBoxType() == BoxType.STANDARD) standardBoxCount++;
-                    }
-                    for (Box box : containerB.getBoxesInContainer()) {
-                        allBoxes.add(box);
-                        if (box.getBoxType() == BoxType.LARGE) largeBoxCount++;
-                        else if (box.getBoxType() == BoxType.STANDARD) standardBoxCount++;
-                    }
-                    
-                    // Check if we can fit everything in fewer containers with OVERSIZE_PALLET
-                    // OVERSIZE_PALLET: LARGE capacity = 3, STANDARD capacity = 5
-                    // STANDARD_PALLET: LARGE capacity = 3, STANDARD capacity = 4
-                    
-                    // Case 1: All boxes can fit in one OVERSIZE_PALLET
-                    if (largeBoxCount <= 3 && standardBoxCount == 0) {
-                        // Merge into one OVERSIZE_PALLET with all LARGE boxes
-                        Container newContainer = createNewContainer(ContainerType.OVERSIZE_PALLET);
-                        for (Box box : allBoxes) {
-                            newContainer.addBox(box);
-                        }
-                        result.remove(containerA);
-                        result.remove(containerB);
-                        result.add(newContainer);
-                        improved = true;
-                    }
-                    // Case 2: Mixed boxes - can we consolidate with OVERSIZE upgrade?
-                    else if (largeBoxCount > 0 && standardBoxCount > 0) {
-                        // Total boxes in mixed mode = min(LARGE_cap, STANDARD_cap) = 3 for both pallet types
-                        int totalBoxes = largeBoxCount + standardBoxCount;
-                        
-                        if (totalBoxes <= 3) {
-                            // All can fit in one container (either type works)
-                            Container newContainer = createNewContainer(ContainerType.STANDARD_PALLET);
-                            for (Box box : allBoxes) {
-                                newContainer.addBox(box);
-                            }
-                            result.remove(containerA);
-                            result.remove(containerB);
-                            result.add(newContainer);
-                            improved = true;
-                        } else if (totalBoxes <= 4 && largeBoxCount <= 3) {
-                            // Need to redistribute: put LARGE boxes in one container, STANDARD in another
-                            // But with OVERSIZE, we can fit 5 STANDARD boxes
-                            // Strategy: Use OVERSIZE_PALLET for the extra capacity
-                            
-                            List<Box> largeBoxes = allBoxes.stream()
-                                .filter(b -> b.getBoxType() == BoxType.LARGE)
-                                .collect(Collectors.toList());
-                            List<Box> standardBoxes = allBoxes.stream()
-                                .filter(b -> b.getBoxType() == BoxType.STANDARD)
-                                .collect(Collectors.toList());
-                            
-                            // Put LARGE boxes in one container, STANDARD in OVERSIZE
-                            if (largeBoxCount <= 3 && standardBoxCount <= 5) {
-                                Container largeContainer = createNewContainer(ContainerType.STANDARD_PALLET);
-                                for (Box box : largeBoxes) {
-                                    largeContainer.addBox(box);
-                                }
-                                
-                                Container standardContainer = createNewContainer(ContainerType.OVERSIZE_PALLET);
-                                for (Box box : standardBoxes) {
-                                    standardContainer.addBox(box);
-                                }
-                                
-                                // Only consolidate if we reduce container count
-                                if (largeBoxes.isEmpty() || standardBoxes.isEmpty()) {
-                                    // One of them is empty, just use the non-empty one
-                                    result.remove(containerA);
-                                    result.remove(containerB);
-                                    if (!largeBoxes.isEmpty()) result.add(largeContainer);
-                                    if (!standardBoxes.isEmpty()) result.add(standardContainer);
-                                    improved = true;
-                                }
-                            }
-                        }
-                    }
-                    // Case 3: Only STANDARD boxes - check if OVERSIZE helps
-                    else if (largeBoxCount == 0 && standardBoxCount > 0) {
-                        // STANDARD_PALLET holds 4, OVERSIZE_PALLET holds 5
-                        if (standardBoxCount <= 5) {
-                            // Can fit in one OVERSIZE_PALLET
-                            Container newContainer = createNewContainer(ContainerType.OVERSIZE_PALLET);
-                            for (Box box : allBoxes) {
-                                newContainer.addBox(box);
-                            }
-                            result.remove(containerA);
-                            result.remove(containerB);
-                            result.add(newContainer);
-                            improved = true;
-                        }
-                    }
-                }
-            }
-        }
-        
-        return result;
-    }
-
     // Fallback method with unpacked arts tracking
     private PackingPlan fallbackHeuristic(List<Art> artsToPack, UserConstraints constraints) {
         List<Container> containers = new ArrayList<>();
@@ -787,186 +1238,137 @@ public class OptimizationService {
     }
 
     private Box createNewBox(BoxType type) {
-        String id = "Box-" + boxIdCounter++;
+        String id = "Box-" + boxIdCounter.getAndIncrement();
         return new Box(id, type, type.getWidth(), type.getLength(), type.getMinHeight());
     }
 
     private Container createNewContainer(ContainerType type) {
-        String id = "Container-" + containerIdCounter++;
+        String id = "Container-" + containerIdCounter.getAndIncrement();
         return new Container(id, type, type.getWidth(), type.getLength(), 
             type.getMinHeight(), type.getWeight(), type.getBaseHeight());
     }
 
     /**
-     * Post-processing optimization: consolidate underutilized containers.
-     * 
-     * Strategy:
-     * 1. Find STANDARD_PALLETs with mixed box types (STANDARD + LARGE) that have low utilization
-     * 2. Try to move LARGE boxes from underutilized pallets to other pallets with LARGE boxes
-     * 3. If a STANDARD_PALLET has only 1 LARGE box left, try merging with another underutilized pallet
-     * 4. Convert some STANDARD_PALLETs to OVERSIZE_PALLETs when it saves containers
+     * Reports the stages of one run to its listener: entering a stage finishes the one
+     * before it, with its elapsed time. Used by the thread running the plan only. A run
+     * whose thread was interrupted stops when it would enter its next stage. A quiet
+     * timer also drops the run's progress lines instead of printing them.
      */
-    private List<Container> consolidateUnderutilizedContainers(List<Container> containers, UserConstraints constraints) {
-        // Check if OVERSIZE_PALLET is allowed
-        List<ContainerType> allowedTypes = constraints.getAllowedContainerTypes();
-        boolean oversizeAllowed = allowedTypes.isEmpty() || allowedTypes.contains(ContainerType.OVERSIZE_PALLET);
-        
-        if (!oversizeAllowed) {
-            return containers; // Can't optimize if OVERSIZE_PALLET not allowed
+    private static final class StageTimer {
+        private final PlanningListener listener;
+        private final boolean quiet;
+        private PlanningStage stage;
+        private long startNanos;
+
+        StageTimer(PlanningListener listener, boolean quiet) {
+            this.listener = listener;
+            this.quiet = quiet;
         }
-        
-        List<Container> result = new ArrayList<>(containers);
-        boolean improved = true;
-        
-        while (improved) {
-            improved = false;
-            
-            // Find underutilized STANDARD_PALLETs (those with capacity to spare)
-            List<Container> standardPallets = result.stream()
-                .filter(c -> c.getContainerType() == ContainerType.STANDARD_PALLET)
-                .collect(Collectors.toList());
-            
-            // Try to consolidate pallets with LARGE boxes
-            improved = tryConsolidateLargeBoxPallets(result, standardPallets);
-            
-            if (!improved) {
-                // Try to upgrade a STANDARD_PALLET to OVERSIZE_PALLET to absorb extra boxes
-                improved = tryUpgradeToOversizePallet(result, standardPallets);
+
+        /**
+         * @return A timer for side work of the run, reporting no stages but as quiet as this one.
+         */
+        StageTimer detached() {
+            return new StageTimer(PlanningListener.NONE, quiet);
+        }
+
+        void log(String message) {
+            if (!quiet) {
+                System.out.println(message);
             }
         }
-        
-        return result;
-    }
-    
-    /**
-     * Try to consolidate LARGE boxes from underutilized pallets.
-     * If one pallet has 1-2 LARGE boxes and another pallet has room, move them.
-     */
-    private boolean tryConsolidateLargeBoxPallets(List<Container> containers, List<Container> standardPallets) {
-        // Find pallets with LARGE boxes that aren't full (capacity 3 for LARGE)
-        List<Container> palletsWithLargeBoxes = standardPallets.stream()
-            .filter(c -> c.getBoxesInContainer().stream().anyMatch(b -> b.getBoxType() == BoxType.LARGE))
-            .collect(Collectors.toList());
-        
-        if (palletsWithLargeBoxes.size() < 2) {
-            return false; // Need at least 2 pallets to consolidate
+
+        void enter(PlanningStage next) {
+            finish();
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Planning was cancelled before " + next);
+            }
+            stage = next;
+            startNanos = System.nanoTime();
+            listener.stageStarted(next);
         }
-        
-        // Sort by number of LARGE boxes (ascending) - try to empty the one with fewest first
-        palletsWithLargeBoxes.sort(Comparator.comparingInt(c -> 
-            (int) c.getBoxesInContainer().stream().filter(b -> b.getBoxType() == BoxType.LARGE).count()));
-        
-        for (int i = 0; i < palletsWithLargeBoxes.size(); i++) {
-            Container source = palletsWithLargeBoxes.get(i);
-            List<Box> sourceLargeBoxes = source.getBoxesInContainer().stream()
-                .filter(b -> b.getBoxType() == BoxType.LARGE)
-                .collect(Collectors.toList());
-            
-            if (sourceLargeBoxes.isEmpty()) continue;
-            
-            // Find a target pallet that can accept these LARGE boxes
-            for (int j = i + 1; j < palletsWithLargeBoxes.size(); j++) {
-                Container target = palletsWithLargeBoxes.get(j);
-                long targetLargeCount = target.getBoxesInContainer().stream()
-                    .filter(b -> b.getBoxType() == BoxType.LARGE).count();
-                
-                int availableSpace = 3 - (int) targetLargeCount; // LARGE capacity is 3
-                
-                if (availableSpace > 0 && sourceLargeBoxes.size() <= availableSpace) {
-                    // Move all LARGE boxes from source to target
-                    for (Box box : sourceLargeBoxes) {
-                        source.removeBox(box);
-                        target.addBox(box);
-                    }
-                    
-                    // If source is now empty, remove it
-                    if (source.getBoxesInContainer().isEmpty()) {
-                        containers.remove(source);
-                    }
-                    
-                    return true; // Made an improvement
-                }
+
+        void finish() {
+            if (stage != null) {
+                listener.stageFinished(stage, Duration.ofNanos(System.nanoTime() - startNanos));
+                stage = null;
             }
         }
-        
-        return false;
+
+        // Called from the solver's threads as well; the listener is thread-safe
+        void bestObjective(double objective) {
+            listener.bestObjective(objective);
+        }
+
+        void searchStarted(CpSolver solver) {
+            listener.searchStarted(solver::stopSearch);
+        }
     }
-    
+
     /**
-     * Try to upgrade a STANDARD_PALLET to OVERSIZE_PALLET to absorb extra STANDARD boxes.
-     * OVERSIZE_PALLET can hold 5 STANDARD boxes vs 4 for STANDARD_PALLET.
+     * A solved chunk; both fields are null if preparing or solving it failed.
      */
-    private boolean tryUpgradeToOversizePallet(List<Container> containers, List<Container> standardPallets) {
-        // Find pallets with only STANDARD boxes that are full (4 boxes)
-        List<Container> fullStandardOnlyPallets = standardPallets.stream()
-            .filter(c -> c.getBoxesInContainer().stream().allMatch(b -> b.getBoxType() == BoxType.STANDARD))
-            .filter(c -> c.getBoxesInContainer().size() == 4)
-            .collect(Collectors.toList());
-        
-        // Find pallets with STANDARD boxes that are underutilized (1-3 boxes, no LARGE)
-        List<Container> underutilizedStandardPallets = standardPallets.stream()
-            .filter(c -> c.getBoxesInContainer().stream().allMatch(b -> b.getBoxType() == BoxType.STANDARD))
-            .filter(c -> c.getBoxesInContainer().size() > 0 && c.getBoxesInContainer().size() < 4)
-            .collect(Collectors.toList());
-        
-        if (fullStandardOnlyPallets.isEmpty() || underutilizedStandardPallets.isEmpty()) {
-            return false;
-        }
-        
-        // Check if upgrading one full pallet to OVERSIZE would allow absorbing an underutilized pallet
-        for (Container fullPallet : fullStandardOnlyPallets) {
-            for (Container underutilized : underutilizedStandardPallets) {
-                int underutilizedCount = underutilized.getBoxesInContainer().size();
-                
-                // After upgrade, OVERSIZE has 5 capacity. Full pallet has 4.
-                // So we have 1 extra slot. If underutilized has exactly 1 box, we can absorb it.
-                if (underutilizedCount == 1) {
-                    // Upgrade fullPallet to OVERSIZE_PALLET
-                    Container oversizePallet = new Container(
-                        fullPallet.getId(), 
-                        ContainerType.OVERSIZE_PALLET,
-                        ContainerType.OVERSIZE_PALLET.getWidth(),
-                        ContainerType.OVERSIZE_PALLET.getLength(),
-                        ContainerType.OVERSIZE_PALLET.getMinHeight(),
-                        ContainerType.OVERSIZE_PALLET.getWeight(),
-                        ContainerType.OVERSIZE_PALLET.getBaseHeight()
-                    );
-                    
-                    // Move all boxes from full pallet to new oversize pallet
-                    for (Box box : new ArrayList<>(fullPallet.getBoxesInContainer())) {
-                        fullPallet.removeBox(box);
-                        oversizePallet.addBox(box);
-                    }
-                    
-                    // Move the 1 box from underutilized pallet
-                    for (Box box : new ArrayList<>(underutilized.getBoxesInContainer())) {
-                        underutilized.removeBox(box);
-                        oversizePallet.addBox(box);
-                    }
-                    
-                    // Replace fullPallet with oversizePallet, remove underutilized
-                    int idx = containers.indexOf(fullPallet);
-                    containers.set(idx, oversizePallet);
-                    containers.remove(underutilized);
-                    
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+    private record ChunkSolution(PreparedOrder order, ContainerMixSolution solution) {
     }
 
     /**
-     * Artand its required box option
+     * Everything derived from the order before the container mix is solved. Estimates
+     * leave {@code problem} null.
      */
-    private static class ArtBoxRequirement {
-        final Art art;
-        final PackingOption option;
-        
-        ArtBoxRequirement(Art art, PackingOption option) {
-            this.art = art;
-            this.option = option;
+    private record PreparedOrder(BoxDemandProfile profile,
+                                 List<Art> unpackedArts,
+                                 Map<ContainerType, Map<BoxType, Integer>> containerCapacities,
+                                 ContainerMixProblem problem) {
+    }
+
+    /**
+     * Portfolio wrapper around the CP-SAT model. The solver time limit is clipped to the
+     * portfolio deadline, and cancellation stops the native search.
+     */
+    private class CpSatPortfolioStrategy implements PortfolioStrategy {
+        private final PreparedOrder order;
+        private final UserConstraints constraints;
+        private final AtomicReference<CpSolver> activeSolver = new AtomicReference<>();
+
+        CpSatPortfolioStrategy(PreparedOrder order, UserConstraints constraints) {
+            this.order = order;
+            this.constraints = constraints;
+        }
+
+        @Override
+        public String getName() {
+            return "cp-sat";
+        }
+
+        @Override
+        public boolean run(IncumbentSink sink, long deadlineNanos) {
+            double remainingSeconds = (deadlineNanos - System.nanoTime()) / 1_000_000_000.0;
+            if (remainingSeconds <= 0) {
+                return false;
+            }
+            // Every improving solution is published as it is found, so a deadline that stops
+            // the search still races with the best plan CP-SAT had reached
+            AtomicReference<Map<ContainerType, Integer>> published = new AtomicReference<>();
+            ContainerMixSolution solution = cpSatSolver.solveReporting(order.problem(),
+                Math.min(DEFAULT_TIME_LIMIT_SECONDS, remainingSeconds), 0, activeSolver::set, incumbent -> {
+                    sink.publish(buildPlan(order, incumbent, constraints));
+                    published.set(incumbent.containerCounts());
+                });
+            if (solution == null) {
+                return false;
+            }
+            if (!solution.containerCounts().equals(published.get())) {
+                sink.publish(buildPlan(order, solution, constraints));
+            }
+            return solution.optimal();
+        }
+
+        @Override
+        public void cancel() {
+            CpSolver solver = activeSolver.get();
+            if (solver != null) {
+                solver.stopSearch();
+            }
         }
     }
 }
\ No newline at end of file
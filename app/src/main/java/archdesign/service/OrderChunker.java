@@ -0,0 +1,74 @@
+package archdesign.service;
+
+import archdesign.entities.Art;
+import archdesign.entities.enums.Material;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits an order into bounded-size chunks that can be solved independently.
+ * <p>
+ * Chunks never mix materials, matching the per-material box selection of
+ * {@code OptimizationService}. Within a material, arts are grouped by SKU (same
+ * width and height) and the SKUs are laid out from largest to smallest, so each chunk
+ * covers a contiguous size band. Only a SKU larger than the room left in a chunk is
+ * split across chunks.
+ */
+final class OrderChunker {
+
+    private static final Comparator<Sku> LARGEST_FIRST = Comparator
+        .comparingDouble((Sku s) -> Math.max(s.width(), s.height())).reversed()
+        .thenComparing(Comparator.comparingDouble((Sku s) -> Math.min(s.width(), s.height())).reversed());
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private OrderChunker() {}
+
+    /**
+     * @param arts The order.
+     * @param maxChunkArts The largest number of arts in one chunk; at least 1.
+     * @return The chunks, by material (in material order) and then by size band.
+     */
+    static List<List<Art>> split(List<Art> arts, int maxChunkArts) {
+        if (maxChunkArts < 1) {
+            throw new IllegalArgumentException("maxChunkArts must be at least 1, got " + maxChunkArts);
+        }
+
+        Map<Material, Map<Sku, List<Art>>> bySku = new EnumMap<>(Material.class);
+        for (Art art : arts) {
+            bySku.computeIfAbsent(art.getMaterial(), k -> new LinkedHashMap<>())
+                 .computeIfAbsent(new Sku(art.getWidth(), art.getHeight()), k -> new ArrayList<>())
+                 .add(art);
+        }
+
+        List<List<Art>> chunks = new ArrayList<>();
+        for (Map<Sku, List<Art>> skus : bySku.values()) {
+            List<Sku> bands = new ArrayList<>(skus.keySet());
+            bands.sort(LARGEST_FIRST);
+
+            List<Art> chunk = new ArrayList<>(Math.min(maxChunkArts, arts.size()));
+            for (Sku sku : bands) {
+                for (Art art : skus.get(sku)) {
+                    chunk.add(art);
+                    if (chunk.size() == maxChunkArts) {
+                        chunks.add(chunk);
+                        chunk = new ArrayList<>(maxChunkArts);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    private record Sku(double width, double height) {
+    }
+}
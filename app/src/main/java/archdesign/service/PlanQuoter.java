@@ -0,0 +1,282 @@
+package archdesign.service;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.PlanRevision;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.costing.ShippingCostStrategy;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "what if" questions about a solved plan: the container and cost change of
+ * adding or removing pieces of one size and material.
+ * <p>
+ * Everything a quote needs is taken from the plan once, when the quoter is created: the
+ * weight of every container, the boxes that still have room for more arts (by material),
+ * the free box slots of every container (the capacity matrix applied to the current
+ * load) and the box options of every size seen so far. A quote then only walks the
+ * lists of its lane and never builds a container-mix model. Added pieces go into open
+ * boxes first, then into new boxes on free slots; removed pieces are taken from the
+ * latest boxes first. When that is not enough to know the answer (new containers would
+ * be needed, or a box would be emptied and could free a container) the quote falls back
+ * to {@link OptimizationService#replan}, which re-solves only the affected containers
+ * and, for a quote, prints no progress lines.
+ * <p>
+ * The quoter describes the plan as it was when the quoter was created; quotes never
+ * modify the plan. Quotes may be requested from several threads.
+ */
+public final class PlanQuoter {
+
+    private final FeasibilityService feasibilityService;
+    private final ShippingCostStrategy costStrategy;
+    private final OptimizationService optimizationService;
+    private final PackingPlan plan;
+    private final UserConstraints constraints;
+
+    private final ContainerType[] containerTypes;
+    private final double[] containerWeights;
+    private final ResidualCapacityIndex index;
+    private final Map<Material, List<OpenBox>> openBoxes = new EnumMap<>(Material.class);
+    // Packed arts by size, in plan order, for removals
+    private final Map<Sku, List<PackedArt>> packedArts = new HashMap<>();
+
+    private final Map<Sku, List<PackingOption>> packingOptions = new ConcurrentHashMap<>();
+    private final Map<BoxType, List<FreeSlots>> freeSlots = new ConcurrentHashMap<>();
+
+    PlanQuoter(FeasibilityService feasibilityService, ShippingCostStrategy costStrategy,
+               OptimizationService optimizationService, PackingPlan plan, UserConstraints constraints) {
+        this.feasibilityService = feasibilityService;
+        this.costStrategy = costStrategy;
+        this.optimizationService = optimizationService;
+        this.plan = plan;
+        this.constraints = constraints;
+
+        List<Container> containers = plan.getContainers();
+        this.containerTypes = new ContainerType[containers.size()];
+        this.containerWeights = new double[containers.size()];
+        for (int i = 0; i < containers.size(); i++) {
+            Container container = containers.get(i);
+            containerTypes[i] = container.getContainerType();
+            containerWeights[i] = container.getTotalWeight();
+            for (Box box : container.getBoxesInContainer()) {
+                recordBox(i, box);
+            }
+        }
+        this.index = new ResidualCapacityIndex(containers, capacityMatrix());
+    }
+
+    /**
+     * Quotes adding pieces of one size and material.
+     * @param material The pieces' material.
+     * @param width The pieces' width.
+     * @param height The pieces' height.
+     * @param count Number of pieces to add.
+     * @return The quote.
+     */
+    public MarginalQuote quoteAddition(Material material, double width, double height, int count) {
+        if (count < 1) {
+            return new MarginalQuote(0, 0, 0.0, 0.0, 0, false);
+        }
+        Art prototype = new Art("Quote", height, width, 0, material);
+        List<PackingOption> options = optionsFor(prototype);
+        if (!RuleProvider.isPackable(prototype) || options.isEmpty()) {
+            return new MarginalQuote(count, 0, 0.0, 0.0, count, false);
+        }
+
+        double pieceWeight = prototype.getWeight();
+        Map<Integer, Double> addedWeight = new HashMap<>();
+        int remaining = count;
+
+        // Step 1: open boxes of the same material
+        for (OpenBox box : openBoxes.getOrDefault(material, List.of())) {
+            int room = Math.min(box.limit(), capacityIn(options, box.boxType())) - box.size();
+            if (room <= 0) {
+                continue;
+            }
+            int placed = Math.min(room, remaining);
+            addedWeight.merge(box.container(), placed * pieceWeight, Double::sum);
+            remaining -= placed;
+            if (remaining == 0) {
+                break;
+            }
+        }
+
+        // Step 2: new boxes of the preferred type on free slots
+        if (remaining > 0) {
+            PackingOption option = options.get(0);
+            int perBox = Math.max(1, option.capacity());
+            int boxes = (remaining + perBox - 1) / perBox;
+            for (FreeSlots slots : freeSlotsFor(option.boxType())) {
+                int placed = Math.min(slots.free(), boxes);
+                int arts = Math.min(remaining, placed * perBox);
+                addedWeight.merge(slots.container(), arts * pieceWeight, Double::sum);
+                boxes -= placed;
+                remaining -= arts;
+                if (boxes == 0) {
+                    break;
+                }
+            }
+            if (boxes > 0) {
+                return resolveAddition(prototype, count);
+            }
+        }
+
+        double costDelta = 0.0;
+        for (Map.Entry<Integer, Double> entry : addedWeight.entrySet()) {
+            costDelta += costChange(entry.getKey(), entry.getValue());
+        }
+        return new MarginalQuote(count, 0, count * pieceWeight, costDelta, 0, false);
+    }
+
+    /**
+     * Quotes removing packed pieces of one size and material.
+     * @param material The pieces' material.
+     * @param width The pieces' width.
+     * @param height The pieces' height.
+     * @param count Number of pieces to remove; at most the number packed.
+     * @return The quote; {@code pieces} is minus the number of pieces actually removed.
+     */
+    public MarginalQuote quoteRemoval(Material material, double width, double height, int count) {
+        List<PackedArt> candidates = packedArts.getOrDefault(new Sku(material, width, height), List.of());
+        int removing = Math.min(Math.max(0, count), candidates.size());
+        if (removing == 0) {
+            return new MarginalQuote(0, 0, 0.0, 0.0, 0, false);
+        }
+
+        // Take the latest pieces first; the earlier containers of a plan are the fuller ones
+        Map<Box, Integer> takenFromBox = new HashMap<>();
+        Map<Integer, Double> removedWeight = new HashMap<>();
+        List<String> removedIds = new ArrayList<>(removing);
+        boolean emptiesBox = false;
+        for (int i = candidates.size() - 1; i >= candidates.size() - removing; i--) {
+            PackedArt packed = candidates.get(i);
+            int taken = takenFromBox.merge(packed.box(), 1, Integer::sum);
+            emptiesBox |= taken == packed.box().getArtsInBox().size();
+            removedWeight.merge(packed.container(), packed.art().getWeight(), Double::sum);
+            removedIds.add(packed.art().getId());
+        }
+        if (emptiesBox) {
+            PlanRevision revision = optimizationService.replan(plan, List.of(), removedIds, constraints, true);
+            return fromRevision(revision, -removing, 0);
+        }
+
+        double costDelta = 0.0;
+        double weightDelta = 0.0;
+        for (Map.Entry<Integer, Double> entry : removedWeight.entrySet()) {
+            costDelta += costChange(entry.getKey(), -entry.getValue());
+            weightDelta -= entry.getValue();
+        }
+        return new MarginalQuote(-removing, 0, weightDelta, costDelta, 0, false);
+    }
+
+    private MarginalQuote resolveAddition(Art prototype, int count) {
+        List<Art> added = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            added.add(new Art("Quote-" + (i + 1), prototype.getHeight(), prototype.getWidth(), 0,
+                prototype.getMaterial()));
+        }
+        PlanRevision revision = optimizationService.replan(plan, added, List.of(), constraints, true);
+        int customPieces = revision.plan().getUnpackedArts().size() - plan.getUnpackedArts().size();
+        return fromRevision(revision, count, customPieces);
+    }
+
+    private MarginalQuote fromRevision(PlanRevision revision, int pieces, int customPieces) {
+        PackingPlan updated = revision.plan();
+        return new MarginalQuote(pieces,
+            updated.getTotalContainerCount() - plan.getTotalContainerCount(),
+            updated.getTotalWeight() - plan.getTotalWeight(),
+            revision.costDelta(),
+            customPieces,
+            true);
+    }
+
+    private double costChange(int container, double weightChange) {
+        ContainerType type = containerTypes[container];
+        double before = containerWeights[container];
+        return costStrategy.estimateCost(type, before + weightChange) - costStrategy.estimateCost(type, before);
+    }
+
+    private void recordBox(int container, Box box) {
+        int limit = Integer.MAX_VALUE;
+        for (Art art : box.getArtsInBox()) {
+            limit = Math.min(limit, capacityIn(optionsFor(art), box.getBoxType()));
+            packedArts.computeIfAbsent(new Sku(art.getMaterial(), art.getWidth(), art.getHeight()),
+                k -> new ArrayList<>()).add(new PackedArt(art, box, container));
+        }
+        if (box.getArtsInBox().isEmpty() || limit <= box.getArtsInBox().size()) {
+            return;
+        }
+        Material material = box.getArtsInBox().get(0).getMaterial();
+        openBoxes.computeIfAbsent(material, k -> new ArrayList<>())
+                 .add(new OpenBox(container, box.getBoxType(), box.getArtsInBox().size(), limit));
+    }
+
+    private List<PackingOption> optionsFor(Art art) {
+        return packingOptions.computeIfAbsent(new Sku(art.getMaterial(), art.getWidth(), art.getHeight()),
+            k -> feasibilityService.getValidPackingOptions(art, constraints));
+    }
+
+    /**
+     * @return The art's capacity in the box type, or 0 if the box type is not an option for it.
+     */
+    private static int capacityIn(List<PackingOption> options, BoxType boxType) {
+        for (PackingOption option : options) {
+            if (option.boxType() == boxType) {
+                return option.capacity();
+            }
+        }
+        return 0;
+    }
+
+    private List<FreeSlots> freeSlotsFor(BoxType boxType) {
+        return freeSlots.computeIfAbsent(boxType, type -> {
+            List<FreeSlots> result = new ArrayList<>();
+            for (int i = 0; i < containerTypes.length; i++) {
+                int free = index.freeSlots(i, type);
+                if (free > 0) {
+                    result.add(new FreeSlots(i, free));
+                }
+            }
+            return result;
+        });
+    }
+
+    private Map<ContainerType, Map<BoxType, Integer>> capacityMatrix() {
+        Map<ContainerType, Map<BoxType, Integer>> matrix = new EnumMap<>(ContainerType.class);
+        for (BoxType boxType : BoxType.values()) {
+            Box probe = new Box("probe", boxType, 1, 1, 1);
+            for (ContainerOption option : feasibilityService.getValidContainerOptions(probe, constraints)) {
+                matrix.computeIfAbsent(option.containerType(), k -> new EnumMap<>(BoxType.class))
+                      .put(boxType, option.capacity());
+            }
+        }
+        return matrix;
+    }
+
+    private record Sku(Material material, double width, double height) {
+    }
+
+    /**
+     * A box of the plan that holds fewer arts than its smallest art capacity allows.
+     */
+    private record OpenBox(int container, BoxType boxType, int size, int limit) {
+    }
+
+    private record FreeSlots(int container, int free) {
+    }
+
+    private record PackedArt(Art art, Box box, int container) {
+    }
+}
@@ -0,0 +1,118 @@
+package archdesign.service;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * First-fit placement of boxes into a fixed list of containers without rescanning them.
+ * <p>
+ * Each container tracks its load and its effective limit, the smallest capacity among
+ * the box types it already holds. A box of type T fits when the container can hold T at
+ * all and its load is below min(limit, capacity for T). Placing a box only raises a
+ * load or lowers a limit, so the set of containers a box type fits into only shrinks.
+ * That lets every box type keep a queue of candidate containers in list order, built
+ * on first use; the head of the queue is always the first container that fits, and
+ * heads that stopped fitting are dropped for good. Each placement is amortized O(1).
+ */
+final class ResidualCapacityIndex {
+
+    private final Slots[] slots;
+    private final Map<BoxType, ArrayDeque<Slots>> queues = new EnumMap<>(BoxType.class);
+
+    /**
+     * @param containers The containers to fill, in first-fit order. They may already hold boxes.
+     * @param containerCapacities How many boxes of each type every container type holds.
+     */
+    ResidualCapacityIndex(List<Container> containers,
+                          Map<ContainerType, Map<BoxType, Integer>> containerCapacities) {
+        this.slots = new Slots[containers.size()];
+        for (int i = 0; i < slots.length; i++) {
+            Container container = containers.get(i);
+            Map<BoxType, Integer> capacities = containerCapacities.getOrDefault(container.getContainerType(), Map.of());
+            Slots s = new Slots(container, capacities);
+            for (Box existing : container.getBoxesInContainer()) {
+                s.record(existing.getBoxType());
+            }
+            slots[i] = s;
+        }
+    }
+
+    /**
+     * Adds the box to the first container that still has room for its type.
+     * @param box The box to place.
+     * @return true if the box was placed, false if no container has room for it.
+     */
+    boolean place(Box box) {
+        BoxType boxType = box.getBoxType();
+        ArrayDeque<Slots> queue = queues.computeIfAbsent(boxType, this::candidates);
+        while (!queue.isEmpty()) {
+            Slots head = queue.peekFirst();
+            if (head.fits(boxType)) {
+                head.container.addBox(box);
+                head.record(boxType);
+                return true;
+            }
+            queue.pollFirst();
+        }
+        return false;
+    }
+
+    /**
+     * @return How many more boxes of the given type the container at {@code index} takes.
+     */
+    int freeSlots(int index, BoxType boxType) {
+        return slots[index].freeSlots(boxType);
+    }
+
+    private ArrayDeque<Slots> candidates(BoxType boxType) {
+        ArrayDeque<Slots> queue = new ArrayDeque<>();
+        for (Slots s : slots) {
+            if (s.fits(boxType)) {
+                queue.addLast(s);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Load and effective mixed-type limit of one container.
+     */
+    private static class Slots {
+        final Container container;
+        final Map<BoxType, Integer> capacities;
+        int load;
+        int limit = Integer.MAX_VALUE;
+
+        Slots(Container container, Map<BoxType, Integer> capacities) {
+            this.container = container;
+            this.capacities = capacities;
+        }
+
+        int freeSlots(BoxType boxType) {
+            Integer capacity = capacities.get(boxType);
+            if (capacity == null || capacity <= 0) {
+                return 0;
+            }
+            return Math.max(0, Math.min(limit, capacity) - load);
+        }
+
+        boolean fits(BoxType boxType) {
+            return freeSlots(boxType) > 0;
+        }
+
+        void record(BoxType boxType) {
+            load++;
+            Integer capacity = capacities.get(boxType);
+            if (capacity != null) {
+                limit = Math.min(limit, capacity);
+            }
+        }
+    }
+}
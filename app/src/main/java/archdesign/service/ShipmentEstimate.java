@@ -0,0 +1,30 @@
+package archdesign.service;
+
+/**
+ * A quick estimate of a shipment, computed from the box demand alone before any solving.
+ * The container range runs from a lower bound that no plan can beat to the count of a
+ * greedy plan that packs every box type on its own; the weight range follows from it.
+ *
+ * @param artCount Number of arts in the order.
+ * @param customPieces Arts that cannot be packed and ship as custom pieces.
+ * @param boxCount Number of boxes the packable arts need.
+ * @param minContainers Lower bound on the number of containers.
+ * @param maxContainers Greedy upper bound on the number of containers.
+ * @param minWeight Art weight plus the lightest possible container tare.
+ * @param maxWeight Art weight plus the heaviest container tare of the greedy plan.
+ */
+public record ShipmentEstimate(int artCount,
+                               int customPieces,
+                               int boxCount,
+                               int minContainers,
+                               int maxContainers,
+                               double minWeight,
+                               double maxWeight) {
+
+    /**
+     * @return True if the bounds meet, so the container count is already known.
+     */
+    public boolean isExact() {
+        return minContainers == maxContainers;
+    }
+}
@@ -0,0 +1,17 @@
+package archdesign.service.portfolio;
+
+import archdesign.interactor.PackingPlan;
+
+/**
+ * Receives the plans (incumbents) a portfolio strategy finds while it runs.
+ */
+@FunctionalInterface
+public interface IncumbentSink {
+
+    /**
+     * Offers a plan to the portfolio. Plans that are invalid or not cheaper than the
+     * current best are ignored, so strategies may publish freely.
+     * @param plan The plan found by the strategy.
+     */
+    void publish(PackingPlan plan);
+}
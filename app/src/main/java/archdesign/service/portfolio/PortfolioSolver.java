@@ -0,0 +1,210 @@
+package archdesign.service.portfolio;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.interactor.PackingPlan;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs several packing strategies concurrently under one deadline and keeps the
+ * cheapest valid plan any of them publishes.
+ * <p>
+ * The race ends when every strategy has finished, when one of them reports a proven
+ * optimum, or when the deadline passes, whichever comes first. Strategies still
+ * running at that point are cancelled; a strategy that ignores both
+ * {@link PortfolioStrategy#cancel()} and interrupts runs on in the background, and
+ * whatever it publishes afterwards is discarded. A strategy that fails, even with an
+ * {@link Error}, only drops out of the race. Wins and latencies are recorded in a
+ * {@link PortfolioStatistics} instance.
+ */
+public class PortfolioSolver {
+
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(daemonThreadFactory());
+
+    private final ExecutorService executor;
+    private final PortfolioStatistics statistics;
+
+    /**
+     * Creates a solver on the process-wide portfolio executor with its own statistics.
+     */
+    public PortfolioSolver() {
+        this(SHARED_EXECUTOR, new PortfolioStatistics());
+    }
+
+    /**
+     * Creates a solver on the given executor.
+     * @param executor The executor the strategies run on; it must allow them to run in parallel.
+     * @param statistics Where wins and latencies are recorded.
+     */
+    public PortfolioSolver(ExecutorService executor, PortfolioStatistics statistics) {
+        this.executor = executor;
+        this.statistics = statistics;
+    }
+
+    public PortfolioStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Races the given strategies.
+     *
+     * @param strategies The competing strategies, each used for this run only.
+     * @param budget How long to wait for results.
+     * @param expectedArtCount The number of arts every valid plan must account for
+     *                         (packed plus unpacked).
+     * @return The cheapest valid plan published before the race ended, or null if none was.
+     */
+    public PackingPlan solve(List<PortfolioStrategy> strategies, Duration budget, int expectedArtCount) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + budget.toNanos();
+        IncumbentBoard board = new IncumbentBoard(expectedArtCount);
+
+        ExecutorCompletionService<Finished> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Finished>> futures = new ArrayList<>();
+        for (PortfolioStrategy strategy : strategies) {
+            futures.add(completion.submit(() -> runStrategy(strategy, board, deadlineNanos)));
+        }
+
+        boolean[] finished = new boolean[strategies.size()];
+        int pending = strategies.size();
+        boolean provenOptimal = false;
+        try {
+            while (pending > 0 && !provenOptimal) {
+                long waitNanos = deadlineNanos - System.nanoTime();
+                if (waitNanos <= 0) {
+                    break;
+                }
+                Future<Finished> done = completion.poll(waitNanos, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break; // deadline reached
+                }
+                pending--;
+                int index = futures.indexOf(done);
+                finished[index] = true;
+                try {
+                    Finished result = done.get();
+                    statistics.recordCompletion(result.strategy(), result.latencyNanos());
+                    provenOptimal = result.optimal();
+                } catch (ExecutionException e) {
+                    // An Error escaped the strategy (e.g. a native library failed to load);
+                    // only that strategy is out, the others keep racing
+                    String name = strategies.get(index).getName();
+                    System.err.println("Portfolio strategy " + name + " failed: " + e.getCause());
+                    statistics.recordCompletion(name, System.nanoTime() - startNanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Cancel whatever is still running
+        for (int i = 0; i < strategies.size(); i++) {
+            if (!finished[i]) {
+                PortfolioStrategy strategy = strategies.get(i);
+                strategy.cancel();
+                futures.get(i).cancel(true);
+                statistics.recordCancellation(strategy.getName(), System.nanoTime() - startNanos);
+            }
+        }
+
+        String winner = board.getBestStrategy();
+        if (winner != null) {
+            statistics.recordWin(winner);
+        }
+        return board.getBest();
+    }
+
+    private Finished runStrategy(PortfolioStrategy strategy, IncumbentBoard board, long deadlineNanos) {
+        long start = System.nanoTime();
+        boolean optimal = false;
+        try {
+            optimal = strategy.run(plan -> board.offer(strategy.getName(), plan), deadlineNanos);
+        } catch (InterruptedException | CancellationException e) {
+            // Cancelled by the portfolio; nothing to report
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Portfolio strategy " + strategy.getName() + " failed: " + e.getMessage());
+        }
+        return new Finished(strategy.getName(), optimal, System.nanoTime() - start);
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "Portfolio-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Completion record of one strategy.
+     */
+    private record Finished(String strategy, boolean optimal, long latencyNanos) {
+    }
+
+    /**
+     * Holds the best plan published so far. A plan is valid when it accounts for every
+     * art exactly once; among valid plans the lower total cost wins, then fewer containers.
+     */
+    private static class IncumbentBoard {
+        private final int expectedArtCount;
+        private PackingPlan best;
+        private String bestStrategy;
+
+        IncumbentBoard(int expectedArtCount) {
+            this.expectedArtCount = expectedArtCount;
+        }
+
+        synchronized void offer(String strategy, PackingPlan plan) {
+            if (!isValid(plan)) {
+                return;
+            }
+            if (best == null || isBetter(plan, best)) {
+                best = plan;
+                bestStrategy = strategy;
+            }
+        }
+
+        synchronized PackingPlan getBest() {
+            return best;
+        }
+
+        synchronized String getBestStrategy() {
+            return bestStrategy;
+        }
+
+        private boolean isValid(PackingPlan plan) {
+            if (plan == null) {
+                return false;
+            }
+            int packed = 0;
+            for (Container container : plan.getContainers()) {
+                for (Box box : container.getBoxesInContainer()) {
+                    packed += box.getArtsInBox().size();
+                }
+            }
+            return packed + plan.getUnpackedArts().size() == expectedArtCount;
+        }
+
+        private static boolean isBetter(PackingPlan candidate, PackingPlan incumbent) {
+            int byCost = Double.compare(candidate.getTotalCost(), incumbent.getTotalCost());
+            if (byCost != 0) {
+                return byCost < 0;
+            }
+            return candidate.getTotalContainerCount() < incumbent.getTotalContainerCount();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package archdesign.service.portfolio;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe collector of per-strategy win and latency counters.
+ * The numbers are meant for tuning which strategies are worth racing for which orders.
+ */
+public class PortfolioStatistics {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    void recordCompletion(String strategy, long latencyNanos) {
+        Counters c = countersFor(strategy);
+        c.runs.increment();
+        c.totalLatencyNanos.add(latencyNanos);
+    }
+
+    void recordCancellation(String strategy, long latencyNanos) {
+        Counters c = countersFor(strategy);
+        c.runs.increment();
+        c.cancellations.increment();
+        c.totalLatencyNanos.add(latencyNanos);
+    }
+
+    void recordWin(String strategy) {
+        countersFor(strategy).wins.increment();
+    }
+
+    /**
+     * Returns a copy of the current counters, sorted by strategy name.
+     * @return A map from strategy name to its statistics.
+     */
+    public Map<String, StrategyStats> snapshot() {
+        Map<String, StrategyStats> result = new TreeMap<>();
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            Counters c = entry.getValue();
+            result.put(entry.getKey(), new StrategyStats(entry.getKey(), c.runs.sum(), c.wins.sum(),
+                c.cancellations.sum(), c.totalLatencyNanos.sum()));
+        }
+        return result;
+    }
+
+    /**
+     * Clears all counters.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    private Counters countersFor(String strategy) {
+        return counters.computeIfAbsent(strategy, k -> new Counters());
+    }
+
+    private static class Counters {
+        final LongAdder runs = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder cancellations = new LongAdder();
+        final LongAdder totalLatencyNanos = new LongAdder();
+    }
+}
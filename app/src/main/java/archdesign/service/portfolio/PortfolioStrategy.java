@@ -0,0 +1,32 @@
+package archdesign.service.portfolio;
+
+/**
+ * One competitor in a portfolio run.
+ * A strategy searches for packing plans until it finishes or the shared deadline passes,
+ * publishing every plan it wants considered through the given sink.
+ */
+public interface PortfolioStrategy {
+
+    /**
+     * @return A short, stable name used for logging and statistics (e.g. "cp-sat").
+     */
+    String getName();
+
+    /**
+     * Runs the strategy on the calling thread.
+     *
+     * @param sink Where improved plans (incumbents) are published.
+     * @param deadlineNanos The {@link System#nanoTime()} value at which the portfolio stops waiting.
+     * @return true if the last published plan is proven optimal, false otherwise.
+     * @throws Exception if the strategy fails; the portfolio logs it and keeps the other results.
+     */
+    boolean run(IncumbentSink sink, long deadlineNanos) throws Exception;
+
+    /**
+     * Called from another thread when the portfolio no longer needs this strategy.
+     * Strategies that block in native code should stop their search here; the worker
+     * thread is interrupted as well.
+     */
+    default void cancel() {
+    }
+}
@@ -0,0 +1,27 @@
+package archdesign.service.portfolio;
+
+/**
+ * An immutable snapshot of how one strategy has performed across portfolio runs.
+ *
+ * @param strategy The strategy name.
+ * @param runs How many portfolio runs the strategy took part in.
+ * @param wins How many of those runs returned this strategy's plan.
+ * @param cancellations How many times the strategy was still running at the deadline.
+ * @param totalLatencyNanos Sum of the time each run took (until completion or cancellation).
+ */
+public record StrategyStats(String strategy, long runs, long wins, long cancellations, long totalLatencyNanos) {
+
+    /**
+     * @return The mean latency per run in milliseconds, or 0 if the strategy never ran.
+     */
+    public double averageLatencyMillis() {
+        return runs == 0 ? 0.0 : totalLatencyNanos / (double) runs / 1_000_000.0;
+    }
+
+    /**
+     * @return The fraction of runs won by this strategy, or 0 if the strategy never ran.
+     */
+    public double winRate() {
+        return runs == 0 ? 0.0 : wins / (double) runs;
+    }
+}
@@ -0,0 +1,27 @@
+package archdesign.service.selection;
+
+/**
+ * The packing algorithms the selection policy can choose from.
+ * When the chosen algorithm cannot express a job it falls through to the next
+ * more general one (closed-form to DP, DP to CP-SAT).
+ */
+public enum Algorithm {
+
+    /** Direct formula for jobs with a single candidate container type. */
+    CLOSED_FORM,
+
+    /** The exact dynamic-programming container-mix solver. */
+    DP,
+
+    /** The greedy first-fit heuristic, without any solver. */
+    GREEDY,
+
+    /** The OR-Tools CP-SAT container-mix model. */
+    CP_SAT,
+
+    /** A quick initial plan improved by large-neighborhood search for the time limit. */
+    LNS,
+
+    /** Bounded-size chunks solved in parallel, then a residual pass over their leftover space. */
+    CHUNKED
+}
@@ -0,0 +1,14 @@
+package archdesign.service.selection;
+
+import java.time.Duration;
+
+/**
+ * The outcome of the selection policy for one job.
+ *
+ * @param algorithm The algorithm to run.
+ * @param workers Parallel workers for CP-SAT or LNS.
+ * @param timeLimit Time limit for CP-SAT or budget for LNS.
+ * @param rule Description of the policy rule that matched, for logging.
+ */
+public record AlgorithmChoice(Algorithm algorithm, int workers, Duration timeLimit, String rule) {
+}
@@ -0,0 +1,56 @@
+package archdesign.service.selection;
+
+import archdesign.entities.Art;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Size and structure features of a packing job, used to select an algorithm.
+ *
+ * @param pieceCount Number of arts in the job.
+ * @param distinctSkus Number of distinct (material, width, height) combinations.
+ * @param materialCount Number of distinct materials.
+ * @param boxCount Number of boxes the arts need.
+ * @param mixedBoxTypes Whether more than one box type is needed.
+ * @param crateShare Fraction of the boxes that are crates, 0 when there are no boxes.
+ */
+public record JobFeatures(int pieceCount, int distinctSkus, int materialCount, int boxCount,
+                          boolean mixedBoxTypes, double crateShare) {
+
+    /**
+     * Extracts the features of a job.
+     *
+     * @param arts All arts of the job.
+     * @param boxesNeeded Number of boxes per box type, as computed for the solver.
+     * @return The job features.
+     */
+    public static JobFeatures extract(List<Art> arts, Map<BoxType, Integer> boxesNeeded) {
+        Set<Sku> skus = new HashSet<>();
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        for (Art art : arts) {
+            skus.add(new Sku(art.getMaterial(), art.getWidth(), art.getHeight()));
+            if (art.getMaterial() != null) {
+                materials.add(art.getMaterial());
+            }
+        }
+
+        int boxCount = boxesNeeded.values().stream().mapToInt(Integer::intValue).sum();
+        int crates = boxesNeeded.getOrDefault(BoxType.CRATE, 0);
+        double crateShare = boxCount == 0 ? 0.0 : crates / (double) boxCount;
+
+        return new JobFeatures(arts.size(), skus.size(), materials.size(), boxCount,
+            boxesNeeded.size() > 1, crateShare);
+    }
+
+    /**
+     * The key that tells SKUs apart.
+     */
+    private record Sku(Material material, double width, double height) {
+    }
+}
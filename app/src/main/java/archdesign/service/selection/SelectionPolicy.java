@@ -0,0 +1,52 @@
+package archdesign.service.selection;
+
+import archdesign.config.SelectionPolicyProvider;
+import archdesign.config.spec.SelectionRuleSpecification;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Picks an algorithm, worker count and time limit for a job from its features.
+ * The policy is an ordered table of rules; the first rule matching the job wins.
+ * Tables can be tuned from benchmark data and loaded with
+ * {@link SelectionPolicyProvider#loadRules(java.io.Reader)}.
+ */
+public class SelectionPolicy {
+
+    // Used when no rule matches, which a table ending in a catch-all rule never does
+    private static final AlgorithmChoice NO_MATCH =
+        new AlgorithmChoice(Algorithm.DP, 1, Duration.ofSeconds(60), "no matching rule");
+
+    private final List<SelectionRuleSpecification> rules;
+
+    public SelectionPolicy(List<SelectionRuleSpecification> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * @return The policy built from {@link SelectionPolicyProvider#getDefaultRules()}.
+     */
+    public static SelectionPolicy defaultPolicy() {
+        return new SelectionPolicy(SelectionPolicyProvider.getDefaultRules());
+    }
+
+    public List<SelectionRuleSpecification> getRules() {
+        return rules;
+    }
+
+    /**
+     * Selects the algorithm for a job.
+     * @param features The features of the job.
+     * @return The choice of the first matching rule.
+     */
+    public AlgorithmChoice select(JobFeatures features) {
+        for (SelectionRuleSpecification rule : rules) {
+            if (rule.matches(features)) {
+                return new AlgorithmChoice(rule.getAlgorithm(), rule.getWorkers(), rule.getTimeLimit(),
+                    rule.getDescription());
+            }
+        }
+        return NO_MATCH;
+    }
+}
@@ -0,0 +1,69 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Solves the {@link ContainerMixProblem} directly when there is only one candidate
+ * container type: the count is the largest ceil(demand / capacity) over all
+ * constraints, including the mixed-box total.
+ */
+public class ClosedFormContainerMixSolver {
+
+    /**
+     * @param problem The problem to check.
+     * @return true if the problem has at most one candidate container type.
+     */
+    public boolean canSolve(ContainerMixProblem problem) {
+        return problem.getCapacities().size() <= 1;
+    }
+
+    /**
+     * Solves the problem; it must satisfy {@link #canSolve}.
+     * @param problem The problem to solve.
+     * @return The (optimal) container count, or null if the problem is infeasible.
+     */
+    public ContainerMixSolution solve(ContainerMixProblem problem) {
+        Map<ContainerType, Integer> counts = new EnumMap<>(ContainerType.class);
+        if (problem.getTotalBoxes() == 0) {
+            return new ContainerMixSolution(counts, true);
+        }
+        if (problem.getCapacities().isEmpty()) {
+            return null;
+        }
+
+        ContainerType containerType = problem.getCapacities().keySet().iterator().next();
+        int needed = 0;
+        for (Map.Entry<BoxType, Integer> entry : problem.getBoxesNeeded().entrySet()) {
+            int capacity = problem.getCapacity(containerType, entry.getKey());
+            if (capacity <= 0) {
+                if (entry.getValue() > 0) {
+                    return null;
+                }
+                continue;
+            }
+            needed = Math.max(needed, ceilDiv(entry.getValue(), capacity));
+        }
+        if (problem.hasMixedBoxTypes()) {
+            int mixedCapacity = problem.getMixedCapacity(containerType);
+            if (mixedCapacity <= 0) {
+                return null;
+            }
+            needed = Math.max(needed, ceilDiv(problem.getTotalBoxes(), mixedCapacity));
+        }
+        if (needed > problem.getMaxContainersPerType()) {
+            return null;
+        }
+        if (needed > 0) {
+            counts.put(containerType, needed);
+        }
+        return new ContainerMixSolution(counts, true);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
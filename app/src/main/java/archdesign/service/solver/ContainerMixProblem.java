@@ -0,0 +1,128 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The container-selection model shared by every solver engine: how many containers of
+ * each type to use so that every box type fits, at minimum total cost coefficient.
+ * <p>
+ * Constraints:
+ * <ul>
+ *   <li>For each box type, the summed capacity of the chosen containers covers the demand.</li>
+ *   <li>When more than one box type is needed (mixed boxes), each container only counts
+ *       for its smallest capacity among the needed box types, and that summed capacity
+ *       must cover the total box count.</li>
+ *   <li>At most {@code maxContainersPerType} containers of each type.</li>
+ * </ul>
+ */
+public final class ContainerMixProblem {
+
+    /** Upper bound on the count of a single container type, as in the original CP-SAT model. */
+    public static final int DEFAULT_MAX_CONTAINERS_PER_TYPE = 100;
+
+    private final Map<BoxType, Integer> boxesNeeded;
+    private final Map<ContainerType, Map<BoxType, Integer>> capacities;
+    private final Map<ContainerType, Long> costCoefficients;
+    private final int maxContainersPerType;
+
+    /**
+     * @param boxesNeeded Number of boxes per box type.
+     * @param capacities For each candidate container type, how many boxes of each type it holds.
+     * @param costCoefficients Objective coefficient per container type.
+     * @param maxContainersPerType Upper bound on the count of each container type.
+     */
+    public ContainerMixProblem(Map<BoxType, Integer> boxesNeeded,
+                               Map<ContainerType, Map<BoxType, Integer>> capacities,
+                               Map<ContainerType, Long> costCoefficients,
+                               int maxContainersPerType) {
+        this.boxesNeeded = Collections.unmodifiableMap(copyOf(boxesNeeded, BoxType.class));
+        Map<ContainerType, Map<BoxType, Integer>> capacityCopy = new EnumMap<>(ContainerType.class);
+        for (Map.Entry<ContainerType, Map<BoxType, Integer>> entry : capacities.entrySet()) {
+            capacityCopy.put(entry.getKey(), Collections.unmodifiableMap(copyOf(entry.getValue(), BoxType.class)));
+        }
+        this.capacities = Collections.unmodifiableMap(capacityCopy);
+        this.costCoefficients = Collections.unmodifiableMap(copyOf(costCoefficients, ContainerType.class));
+        this.maxContainersPerType = maxContainersPerType;
+    }
+
+    public Map<BoxType, Integer> getBoxesNeeded() {
+        return boxesNeeded;
+    }
+
+    public Map<ContainerType, Map<BoxType, Integer>> getCapacities() {
+        return capacities;
+    }
+
+    public Map<ContainerType, Long> getCostCoefficients() {
+        return costCoefficients;
+    }
+
+    public int getMaxContainersPerType() {
+        return maxContainersPerType;
+    }
+
+    /**
+     * @return The coefficient of a container type, 0 if none was given.
+     */
+    public long getCostCoefficient(ContainerType containerType) {
+        return costCoefficients.getOrDefault(containerType, 0L);
+    }
+
+    /**
+     * @return The capacity of a container type for a box type, 0 if it cannot hold it.
+     */
+    public int getCapacity(ContainerType containerType, BoxType boxType) {
+        Map<BoxType, Integer> byBox = capacities.get(containerType);
+        if (byBox == null) {
+            return 0;
+        }
+        Integer capacity = byBox.get(boxType);
+        return capacity == null ? 0 : capacity;
+    }
+
+    public int getTotalBoxes() {
+        return boxesNeeded.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public boolean hasMixedBoxTypes() {
+        return boxesNeeded.size() > 1;
+    }
+
+    /**
+     * The mixed-box capacity of a container type: its smallest positive capacity among
+     * the box types actually needed, or 0 if it holds none of them.
+     */
+    public int getMixedCapacity(ContainerType containerType) {
+        Map<BoxType, Integer> byBox = capacities.get(containerType);
+        if (byBox == null) {
+            return 0;
+        }
+        return byBox.entrySet().stream()
+            .filter(e -> boxesNeeded.containsKey(e.getKey()) && e.getValue() > 0)
+            .mapToInt(Map.Entry::getValue)
+            .min()
+            .orElse(0);
+    }
+
+    /**
+     * @return The objective value of a solution: its summed cost coefficients.
+     */
+    public long objectiveOf(ContainerMixSolution solution) {
+        long objective = 0;
+        for (Map.Entry<ContainerType, Integer> entry : solution.containerCounts().entrySet()) {
+            objective += getCostCoefficient(entry.getKey()) * entry.getValue();
+        }
+        return objective;
+    }
+
+    private static <K extends Enum<K>, V> Map<K, V> copyOf(Map<K, V> source, Class<K> keyType) {
+        Map<K, V> copy = new EnumMap<>(keyType);
+        copy.putAll(source);
+        return copy;
+    }
+}
@@ -0,0 +1,14 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.ContainerType;
+
+import java.util.Map;
+
+/**
+ * A solution of a {@link ContainerMixProblem}.
+ *
+ * @param containerCounts Number of containers per type; types with a count of 0 are omitted.
+ * @param optimal Whether the engine proved the counts optimal for the model.
+ */
+public record ContainerMixSolution(Map<ContainerType, Integer> containerCounts, boolean optimal) {
+}
@@ -0,0 +1,178 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.LinearExprBuilder;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Solves the {@link ContainerMixProblem} with the OR-Tools CP-SAT solver.
+ * Used for problems the {@link DpContainerMixSolver} cannot handle, and as a
+ * portfolio competitor. Loads the native OR-Tools libraries on first use.
+ */
+public class CpSatContainerMixSolver {
+
+    /**
+     * Builds and solves the CP-SAT model with the solver's default number of workers.
+     *
+     * @param problem The problem to solve.
+     * @param maxTimeInSeconds The solver time limit.
+     * @param solverHook Optional callback receiving the solver before the search starts,
+     *                   so that callers can stop the search from another thread.
+     * @return The container counts, or null if the solver found no feasible solution.
+     */
+    public ContainerMixSolution solve(ContainerMixProblem problem, double maxTimeInSeconds,
+                                      Consumer<CpSolver> solverHook) {
+        return solve(problem, maxTimeInSeconds, 0, solverHook);
+    }
+
+    /**
+     * Builds and solves the CP-SAT model.
+     *
+     * @param problem The problem to solve.
+     * @param maxTimeInSeconds The solver time limit.
+     * @param workers Number of parallel search workers; 0 keeps the solver default.
+     * @param solverHook Optional callback receiving the solver before the search starts,
+     *                   so that callers can stop the search from another thread.
+     * @return The container counts, or null if the solver found no feasible solution.
+     */
+    public ContainerMixSolution solve(ContainerMixProblem problem, double maxTimeInSeconds, int workers,
+                                      Consumer<CpSolver> solverHook) {
+        return solve(problem, maxTimeInSeconds, workers, solverHook, null);
+    }
+
+    /**
+     * Builds and solves the CP-SAT model, reporting the objective of every improving solution.
+     *
+     * @param problem The problem to solve.
+     * @param maxTimeInSeconds The solver time limit.
+     * @param workers Number of parallel search workers; 0 keeps the solver default.
+     * @param solverHook Optional callback receiving the solver before the search starts,
+     *                   so that callers can stop the search from another thread.
+     * @param onSolution Optional callback receiving the objective of each improving
+     *                   solution, called from the solver's threads.
+     * @return The container counts, or null if the solver found no feasible solution.
+     */
+    public ContainerMixSolution solve(ContainerMixProblem problem, double maxTimeInSeconds, int workers,
+                                      Consumer<CpSolver> solverHook, DoubleConsumer onSolution) {
+        return solveReporting(problem, maxTimeInSeconds, workers, solverHook,
+            onSolution == null ? null : solution -> onSolution.accept(problem.objectiveOf(solution)));
+    }
+
+    /**
+     * Builds and solves the CP-SAT model, reporting every improving solution as it is
+     * found, so a caller racing against a deadline can use it before the search ends.
+     *
+     * @param problem The problem to solve.
+     * @param maxTimeInSeconds The solver time limit.
+     * @param workers Number of parallel search workers; 0 keeps the solver default.
+     * @param solverHook Optional callback receiving the solver before the search starts,
+     *                   so that callers can stop the search from another thread.
+     * @param onSolution Optional callback receiving the container counts of each improving
+     *                   solution, not marked optimal, called from the solver's threads while
+     *                   the search waits.
+     * @return The container counts, or null if the solver found no feasible solution.
+     */
+    public ContainerMixSolution solveReporting(ContainerMixProblem problem, double maxTimeInSeconds, int workers,
+                                               Consumer<CpSolver> solverHook,
+                                               Consumer<ContainerMixSolution> onSolution) {
+        Loader.loadNativeLibraries();
+
+        CpModel model = new CpModel();
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setMaxTimeInSeconds(maxTimeInSeconds);
+        if (workers > 0) {
+            solver.getParameters().setNumWorkers(workers);
+        }
+        if (solverHook != null) {
+            solverHook.accept(solver);
+        }
+
+        // Create decision variables for each container type
+        Map<ContainerType, IntVar> containerVars = new HashMap<>();
+        for (ContainerType containerType : problem.getCapacities().keySet()) {
+            IntVar var = model.newIntVar(0, problem.getMaxContainersPerType(), "container_" + containerType.name());
+            containerVars.put(containerType, var);
+        }
+
+        // Each box type must have sufficient container capacity
+        for (Map.Entry<BoxType, Integer> entry : problem.getBoxesNeeded().entrySet()) {
+            BoxType boxType = entry.getKey();
+            LinearExprBuilder expr = LinearExpr.newBuilder();
+            for (ContainerType containerType : containerVars.keySet()) {
+                int capacity = problem.getCapacity(containerType, boxType);
+                if (capacity > 0) {
+                    expr.addTerm(containerVars.get(containerType), capacity);
+                }
+            }
+            model.addGreaterOrEqual(expr, entry.getValue());
+        }
+
+        // When mixing box types (e.g., Standard + Large),
+        // each container can only hold min(capacity) boxes total
+        if (problem.hasMixedBoxTypes()) {
+            LinearExprBuilder totalCapExpr = LinearExpr.newBuilder();
+            for (ContainerType containerType : containerVars.keySet()) {
+                int minCapacity = problem.getMixedCapacity(containerType);
+                if (minCapacity > 0) {
+                    totalCapExpr.addTerm(containerVars.get(containerType), minCapacity);
+                }
+            }
+            model.addGreaterOrEqual(totalCapExpr, problem.getTotalBoxes());
+        }
+
+        // Minimize total cost coefficient
+        LinearExprBuilder objectiveExpr = LinearExpr.newBuilder();
+        for (Map.Entry<ContainerType, IntVar> entry : containerVars.entrySet()) {
+            objectiveExpr.addTerm(entry.getValue(), problem.getCostCoefficient(entry.getKey()));
+        }
+        model.minimize(objectiveExpr);
+
+        CpSolverStatus status;
+        if (onSolution != null) {
+            status = solver.solve(model, new CpSolverSolutionCallback() {
+                @Override
+                public void onSolutionCallback() {
+                    onSolution.accept(new ContainerMixSolution(countsOf(containerVars, this::value), false));
+                }
+            });
+        } else {
+            status = solver.solve(model);
+        }
+        if (status != CpSolverStatus.OPTIMAL && status != CpSolverStatus.FEASIBLE) {
+            System.err.println("CP-SAT solver did not find a feasible solution: " + status);
+            return null;
+        }
+
+        return new ContainerMixSolution(countsOf(containerVars, solver::value), status == CpSolverStatus.OPTIMAL);
+    }
+
+    /**
+     * Reads the container counts of a solution; types with a count of 0 are omitted.
+     */
+    private static Map<ContainerType, Integer> countsOf(Map<ContainerType, IntVar> containerVars,
+                                                        ToLongFunction<IntVar> value) {
+        Map<ContainerType, Integer> counts = new EnumMap<>(ContainerType.class);
+        for (Map.Entry<ContainerType, IntVar> entry : containerVars.entrySet()) {
+            long count = value.applyAsLong(entry.getValue());
+            if (count > 0) {
+                counts.put(entry.getKey(), (int) count);
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,260 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact pure-Java solver for the {@link ContainerMixProblem}.
+ * <p>
+ * The problem has a handful of container types and box types, so it is solved as a
+ * dynamic program over (container type index, residual demand vector): for each
+ * container type in turn we try every useful count, subtract its capacity from the
+ * residual demand and recurse; the last type is chosen in closed form. The residual
+ * vector has one entry per needed box type plus one for the mixed-box total. Residuals
+ * are clipped at zero, so many branches share the same state and are memoized.
+ * <p>
+ * Ties on the cost coefficient are broken by lower container tare weight, then by
+ * fewer containers. The solver needs non-negative coefficients; {@link #canSolve}
+ * reports whether a problem is in scope.
+ */
+public class DpContainerMixSolver {
+
+    /** Largest number of count combinations the solver will explore before deferring to CP-SAT. */
+    public static final long MAX_SEARCH_SIZE = 5_000_000L;
+
+    private static final Suffix INFEASIBLE = new Suffix(Long.MAX_VALUE, Double.MAX_VALUE, Integer.MAX_VALUE, null);
+
+    /**
+     * Checks whether the problem can be solved exactly by this solver in reasonable time.
+     * @param problem The problem to check.
+     * @return false if a coefficient is negative or the search space is too large.
+     */
+    public boolean canSolve(ContainerMixProblem problem) {
+        return canSolve(problem, MAX_SEARCH_SIZE);
+    }
+
+    /**
+     * Checks whether the problem can be solved exactly within a smaller search, e.g. one
+     * sized to a latency budget. The solve time grows with the search size.
+     * @param problem The problem to check.
+     * @param maxSearchSize Largest number of count combinations to explore; capped at
+     *                      {@link #MAX_SEARCH_SIZE}.
+     * @return false if a coefficient is negative or the search space is too large.
+     */
+    public boolean canSolve(ContainerMixProblem problem, long maxSearchSize) {
+        long limit = Math.min(maxSearchSize, MAX_SEARCH_SIZE);
+        for (long coefficient : problem.getCostCoefficients().values()) {
+            if (coefficient < 0) {
+                return false;
+            }
+        }
+        Tables tables = new Tables(problem);
+        long size = 1;
+        // The last container type is computed in closed form and does not add to the search
+        for (int t = 0; t < tables.types.size() - 1; t++) {
+            size *= tables.upper[t] + 1L;
+            if (size > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves the problem exactly.
+     * @param problem The problem to solve; it must satisfy {@link #canSolve}.
+     * @return The optimal container counts, or null if the problem is infeasible.
+     */
+    public ContainerMixSolution solve(ContainerMixProblem problem) {
+        Tables tables = new Tables(problem);
+        Suffix best = solveFrom(tables, 0, tables.demand.clone(), new HashMap<>());
+        if (best == INFEASIBLE) {
+            return null;
+        }
+        Map<ContainerType, Integer> counts = new EnumMap<>(ContainerType.class);
+        for (int t = 0; t < tables.types.size(); t++) {
+            if (best.counts[t] > 0) {
+                counts.put(tables.types.get(t), best.counts[t]);
+            }
+        }
+        return new ContainerMixSolution(counts, true);
+    }
+
+    private Suffix solveFrom(Tables tables, int level, int[] residual, Map<StateKey, Suffix> memo) {
+        int typeCount = tables.types.size();
+        if (isCovered(residual)) {
+            return new Suffix(0L, 0.0, 0, new int[typeCount - level]);
+        }
+        if (level >= typeCount) {
+            return INFEASIBLE;
+        }
+        if (level == typeCount - 1) {
+            return closedForm(tables, level, residual);
+        }
+
+        StateKey key = new StateKey(level, residual);
+        Suffix cached = memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Suffix best = INFEASIBLE;
+        int[] next = new int[residual.length];
+        for (int count = 0; count <= tables.upper[level]; count++) {
+            for (int d = 0; d < residual.length; d++) {
+                next[d] = Math.max(0, residual[d] - count * tables.capacity[level][d]);
+            }
+            Suffix rest = solveFrom(tables, level + 1, next.clone(), memo);
+            if (rest != INFEASIBLE) {
+                Suffix candidate = rest.prepend(count, tables.coefficient[level], tables.tare[level]);
+                if (candidate.isBetterThan(best)) {
+                    best = candidate;
+                }
+            }
+            if (isCovered(next)) {
+                break; // more containers of this type can only cost more
+            }
+        }
+        memo.put(key, best);
+        return best;
+    }
+
+    private Suffix closedForm(Tables tables, int level, int[] residual) {
+        int needed = 0;
+        for (int d = 0; d < residual.length; d++) {
+            if (residual[d] <= 0) {
+                continue;
+            }
+            int capacity = tables.capacity[level][d];
+            if (capacity <= 0) {
+                return INFEASIBLE;
+            }
+            needed = Math.max(needed, ceilDiv(residual[d], capacity));
+        }
+        if (needed > tables.maxPerType) {
+            return INFEASIBLE;
+        }
+        return new Suffix(needed * tables.coefficient[level], needed * tables.tare[level], needed,
+            new int[] {needed});
+    }
+
+    private static boolean isCovered(int[] residual) {
+        for (int value : residual) {
+            if (value > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    /**
+     * Flattened arrays of the problem: container types in enum order and one demand
+     * dimension per needed box type, plus the mixed-box total when boxes are mixed.
+     */
+    private static class Tables {
+        final List<ContainerType> types;
+        final int[] demand;
+        final int[][] capacity;
+        final long[] coefficient;
+        final double[] tare;
+        final int[] upper;
+        final int maxPerType;
+
+        Tables(ContainerMixProblem problem) {
+            types = new ArrayList<>(problem.getCapacities().keySet());
+            types.sort(null);
+            List<BoxType> boxTypes = new ArrayList<>(problem.getBoxesNeeded().keySet());
+            boxTypes.sort(null);
+            boolean mixed = problem.hasMixedBoxTypes();
+            int dims = boxTypes.size() + (mixed ? 1 : 0);
+            maxPerType = problem.getMaxContainersPerType();
+
+            demand = new int[dims];
+            for (int d = 0; d < boxTypes.size(); d++) {
+                demand[d] = problem.getBoxesNeeded().get(boxTypes.get(d));
+            }
+            if (mixed) {
+                demand[dims - 1] = problem.getTotalBoxes();
+            }
+
+            capacity = new int[types.size()][dims];
+            coefficient = new long[types.size()];
+            tare = new double[types.size()];
+            upper = new int[types.size()];
+            for (int t = 0; t < types.size(); t++) {
+                ContainerType type = types.get(t);
+                for (int d = 0; d < boxTypes.size(); d++) {
+                    capacity[t][d] = problem.getCapacity(type, boxTypes.get(d));
+                }
+                if (mixed) {
+                    capacity[t][dims - 1] = problem.getMixedCapacity(type);
+                }
+                coefficient[t] = problem.getCostCoefficient(type);
+                tare[t] = type.getWeight();
+
+                // Beyond this count the type no longer reduces any residual demand
+                int useful = 0;
+                for (int d = 0; d < dims; d++) {
+                    if (capacity[t][d] > 0) {
+                        useful = Math.max(useful, ceilDiv(demand[d], capacity[t][d]));
+                    }
+                }
+                upper[t] = Math.min(useful, maxPerType);
+            }
+        }
+    }
+
+    /**
+     * Best choice for the container types from some level to the last.
+     */
+    private record Suffix(long cost, double tare, int count, int[] counts) {
+
+        Suffix prepend(int typeCount, long typeCoefficient, double typeTare) {
+            int[] extended = new int[counts.length + 1];
+            extended[0] = typeCount;
+            System.arraycopy(counts, 0, extended, 1, counts.length);
+            return new Suffix(cost + typeCount * typeCoefficient, tare + typeCount * typeTare,
+                count + typeCount, extended);
+        }
+
+        boolean isBetterThan(Suffix other) {
+            if (cost != other.cost) {
+                return cost < other.cost;
+            }
+            if (Double.compare(tare, other.tare) != 0) {
+                return tare < other.tare;
+            }
+            return count < other.count;
+        }
+    }
+
+    private record StateKey(int level, int[] residual) {
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StateKey other)) {
+                return false;
+            }
+            return level == other.level && Arrays.equals(residual, other.residual);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * level + Arrays.hashCode(residual);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package archdesign.service.solver;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.ContainerOption;
+import archdesign.service.FeasibilityService;
+import archdesign.service.costing.ShippingCostStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Large-neighborhood search (LNS) post-optimizer for packing plans.
+ * <p>
+ * Each iteration frees a small set of containers (a neighborhood), keeps their boxes
+ * as they are, and re-solves the container mix for just those boxes with the
+ * {@link DpContainerMixSolver}. The result replaces the freed containers if it is
+ * cheaper, or equally cheap with fewer containers. Two neighborhoods alternate:
+ * <ul>
+ *   <li>random: any few containers;</li>
+ *   <li>worst-utilized: the emptiest container plus a few of the next emptiest.</li>
+ * </ul>
+ * Several workers search in parallel on the same incumbent. A worker only commits
+ * a move if none of the containers it freed has been replaced in the meantime.
+ * The search stops at the wall-clock budget, or earlier once no worker has found
+ * an improvement for a while.
+ */
+public class LnsOptimizer {
+
+    // Containers freed per neighborhood
+    private static final int MIN_NEIGHBORHOOD_SIZE = 2;
+    private static final int MAX_NEIGHBORHOOD_SIZE = 4;
+
+    // A worker gives up after this many iterations without any improvement
+    private static final int MAX_STALE_ITERATIONS = 200;
+
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(daemonThreadFactory());
+
+    private final FeasibilityService feasibilityService;
+    private final ShippingCostStrategy costStrategy;
+    private final Function<ContainerType, Container> containerFactory;
+    private final DpContainerMixSolver dpSolver = new DpContainerMixSolver();
+    private final ExecutorService executor;
+
+    /**
+     * @param feasibilityService Supplies the container capacities of each box type.
+     * @param costStrategy Prices containers; also provides the DP objective coefficients.
+     * @param containerFactory Creates empty containers with unique ids.
+     */
+    public LnsOptimizer(FeasibilityService feasibilityService, ShippingCostStrategy costStrategy,
+                        Function<ContainerType, Container> containerFactory) {
+        this(feasibilityService, costStrategy, containerFactory, SHARED_EXECUTOR);
+    }
+
+    public LnsOptimizer(FeasibilityService feasibilityService, ShippingCostStrategy costStrategy,
+                        Function<ContainerType, Container> containerFactory, ExecutorService executor) {
+        this.feasibilityService = feasibilityService;
+        this.costStrategy = costStrategy;
+        this.containerFactory = containerFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Improves a plan until the budget runs out.
+     *
+     * @param plan The plan to improve; it is not modified.
+     * @param constraints The constraints the plan was built with.
+     * @param budget Wall-clock time the search may use.
+     * @param workers Number of neighborhoods searched in parallel (at least 1).
+     * @param seed Seed for the neighborhood choice, for reproducible runs.
+     * @return A plan at least as good as the input, with the same boxes and unpacked arts.
+     */
+    public PackingPlan improve(PackingPlan plan, UserConstraints constraints, Duration budget, int workers, long seed) {
+        if (plan.getContainers().size() < MIN_NEIGHBORHOOD_SIZE || budget.isZero() || budget.isNegative()) {
+            return plan;
+        }
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + budget.toNanos();
+        Map<ContainerType, Map<BoxType, Integer>> capacities = collectCapacities(plan, constraints);
+        Incumbent incumbent = new Incumbent(plan.getContainers());
+
+        int workerCount = Math.max(1, workers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < workerCount; w++) {
+            Random random = new Random(seed + w);
+            futures.add(executor.submit(() -> search(incumbent, capacities, random, deadlineNanos)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                System.err.println("LNS worker failed: " + e.getMessage());
+            }
+        }
+
+        List<Container> containers = incumbent.snapshot();
+        double totalCost = containers.stream().mapToDouble(costStrategy::calculateCost).sum();
+        System.out.println("LNS: " + incumbent.improvements() + " improvements in "
+            + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+        return new PackingPlan(containers, totalCost, plan.getUnpackedArts());
+    }
+
+    private void search(Incumbent incumbent, Map<ContainerType, Map<BoxType, Integer>> capacities,
+                        Random random, long deadlineNanos) {
+        int stale = 0;
+        int iteration = 0;
+        while (System.nanoTime() < deadlineNanos && stale < MAX_STALE_ITERATIONS
+                && !Thread.currentThread().isInterrupted()) {
+            List<Container> current = incumbent.snapshot();
+            if (current.size() < MIN_NEIGHBORHOOD_SIZE) {
+                return;
+            }
+            List<Container> freed = (iteration++ % 2 == 0)
+                ? worstUtilizedNeighborhood(current, capacities, random)
+                : randomNeighborhood(current, random);
+
+            List<Container> replacement = resolve(freed, capacities);
+            if (replacement != null && isImprovement(freed, replacement) && incumbent.replace(freed, replacement)) {
+                stale = 0;
+            } else {
+                stale++;
+            }
+        }
+    }
+
+    private List<Container> randomNeighborhood(List<Container> containers, Random random) {
+        List<Container> shuffled = new ArrayList<>(containers);
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, neighborhoodSize(containers.size(), random)));
+    }
+
+    private List<Container> worstUtilizedNeighborhood(List<Container> containers,
+                                                      Map<ContainerType, Map<BoxType, Integer>> capacities,
+                                                      Random random) {
+        List<Container> sorted = new ArrayList<>(containers);
+        sorted.sort(Comparator.comparingDouble(c -> utilization(c, capacities)));
+        int size = neighborhoodSize(containers.size(), random);
+
+        // Always take the emptiest container, then fill up from a window of the next emptiest
+        List<Container> chosen = new ArrayList<>();
+        chosen.add(sorted.get(0));
+        List<Container> window = new ArrayList<>(sorted.subList(1, Math.min(sorted.size(), 2 * size)));
+        Collections.shuffle(window, random);
+        chosen.addAll(window.subList(0, Math.min(window.size(), size - 1)));
+        return chosen;
+    }
+
+    private static int neighborhoodSize(int containerCount, Random random) {
+        int max = Math.min(containerCount, MAX_NEIGHBORHOOD_SIZE);
+        return MIN_NEIGHBORHOOD_SIZE + random.nextInt(max - MIN_NEIGHBORHOOD_SIZE + 1);
+    }
+
+    private static double utilization(Container container, Map<ContainerType, Map<BoxType, Integer>> capacities) {
+        int limit = effectiveLimit(container.getContainerType(), container.getBoxesInContainer(), capacities);
+        return limit <= 0 ? 1.0 : container.getBoxesInContainer().size() / (double) limit;
+    }
+
+    /**
+     * Re-solves the container mix for the boxes of the freed containers.
+     * @return The new containers, or null if no feasible placement was found.
+     */
+    private List<Container> resolve(List<Container> freed, Map<ContainerType, Map<BoxType, Integer>> capacities) {
+        List<Box> boxes = new ArrayList<>();
+        Map<BoxType, Integer> boxesNeeded = new EnumMap<>(BoxType.class);
+        double contentWeight = 0.0;
+        for (Container container : freed) {
+            for (Box box : container.getBoxesInContainer()) {
+                boxes.add(box);
+                boxesNeeded.merge(box.getBoxType(), 1, Integer::sum);
+                contentWeight += box.getTotalWeight();
+            }
+        }
+        if (boxes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<ContainerType, Map<BoxType, Integer>> relevant = new EnumMap<>(ContainerType.class);
+        for (Map.Entry<ContainerType, Map<BoxType, Integer>> entry : capacities.entrySet()) {
+            for (BoxType boxType : boxesNeeded.keySet()) {
+                Integer capacity = entry.getValue().get(boxType);
+                if (capacity != null && capacity > 0) {
+                    relevant.computeIfAbsent(entry.getKey(), k -> new EnumMap<>(BoxType.class)).put(boxType, capacity);
+                }
+            }
+        }
+        double averageContentWeight = contentWeight / freed.size();
+        Map<ContainerType, Long> coefficients = new EnumMap<>(ContainerType.class);
+        for (ContainerType containerType : relevant.keySet()) {
+            coefficients.put(containerType, costStrategy.getCostCoefficient(containerType, averageContentWeight));
+        }
+
+        ContainerMixProblem problem = new ContainerMixProblem(boxesNeeded, relevant, coefficients,
+            ContainerMixProblem.DEFAULT_MAX_CONTAINERS_PER_TYPE);
+        if (!dpSolver.canSolve(problem)) {
+            return null;
+        }
+        ContainerMixSolution solution = dpSolver.solve(problem);
+        if (solution == null) {
+            return null;
+        }
+        return place(boxes, solution.containerCounts(), relevant);
+    }
+
+    /**
+     * First-fit placement of the boxes into the chosen containers. Box types with the
+     * smallest capacity go first since they set the limit of every container they enter.
+     */
+    private List<Container> place(List<Box> boxes, Map<ContainerType, Integer> counts,
+                                  Map<ContainerType, Map<BoxType, Integer>> capacities) {
+        List<Container> containers = new ArrayList<>();
+        for (Map.Entry<ContainerType, Integer> entry : counts.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                containers.add(containerFactory.apply(entry.getKey()));
+            }
+        }
+
+        List<Box> ordered = new ArrayList<>(boxes);
+        ordered.sort(Comparator.comparingInt((Box b) -> smallestCapacity(b.getBoxType(), capacities))
+            .thenComparing(Box::getBoxType));
+        for (Box box : ordered) {
+            Container target = null;
+            for (Container container : containers) {
+                Integer capacity = capacities.get(container.getContainerType()).get(box.getBoxType());
+                if (capacity == null || capacity <= 0) {
+                    continue;
+                }
+                int limit = Math.min(capacity,
+                    effectiveLimit(container.getContainerType(), container.getBoxesInContainer(), capacities));
+                if (container.getBoxesInContainer().size() < limit) {
+                    target = container;
+                    break;
+                }
+            }
+            if (target == null) {
+                return null;
+            }
+            target.addBox(box);
+        }
+
+        containers.removeIf(c -> c.getBoxesInContainer().isEmpty());
+        return containers;
+    }
+
+    private static int smallestCapacity(BoxType boxType, Map<ContainerType, Map<BoxType, Integer>> capacities) {
+        int smallest = Integer.MAX_VALUE;
+        for (Map<BoxType, Integer> byBox : capacities.values()) {
+            Integer capacity = byBox.get(boxType);
+            if (capacity != null && capacity > 0) {
+                smallest = Math.min(smallest, capacity);
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * The number of boxes a container may hold given its contents: the smallest
+     * capacity among the box types already in it (mixed-box rule).
+     */
+    private static int effectiveLimit(ContainerType containerType, List<Box> contents,
+                                      Map<ContainerType, Map<BoxType, Integer>> capacities) {
+        Map<BoxType, Integer> byBox = capacities.getOrDefault(containerType, Map.of());
+        int limit = Integer.MAX_VALUE;
+        for (Box box : contents) {
+            Integer capacity = byBox.get(box.getBoxType());
+            if (capacity != null) {
+                limit = Math.min(limit, capacity);
+            }
+        }
+        if (limit == Integer.MAX_VALUE) {
+            limit = byBox.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+        return limit;
+    }
+
+    private boolean isImprovement(List<Container> freed, List<Container> replacement) {
+        double before = freed.stream().mapToDouble(costStrategy::calculateCost).sum();
+        double after = replacement.stream().mapToDouble(costStrategy::calculateCost).sum();
+        if (after < before - 1e-9) {
+            return true;
+        }
+        return after <= before + 1e-9 && replacement.size() < freed.size();
+    }
+
+    private Map<ContainerType, Map<BoxType, Integer>> collectCapacities(PackingPlan plan, UserConstraints constraints) {
+        Set<BoxType> boxTypes = new HashSet<>();
+        for (Container container : plan.getContainers()) {
+            for (Box box : container.getBoxesInContainer()) {
+                boxTypes.add(box.getBoxType());
+            }
+        }
+        Map<ContainerType, Map<BoxType, Integer>> result = new EnumMap<>(ContainerType.class);
+        for (BoxType boxType : boxTypes) {
+            Box probe = new Box("probe", boxType, 1, 1, 1);
+            for (ContainerOption option : feasibilityService.getValidContainerOptions(probe, constraints)) {
+                result.computeIfAbsent(option.containerType(), k -> new EnumMap<>(BoxType.class))
+                      .put(boxType, option.capacity());
+            }
+        }
+        return result;
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "LNS-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The shared current solution. Replacements are applied atomically and only when
+     * every freed container is still part of it.
+     */
+    private static class Incumbent {
+        private final List<Container> containers;
+        private int improvements;
+
+        Incumbent(List<Container> containers) {
+            this.containers = new ArrayList<>(containers);
+        }
+
+        synchronized List<Container> snapshot() {
+            return new ArrayList<>(containers);
+        }
+
+        synchronized boolean replace(List<Container> freed, List<Container> replacement) {
+            Set<Container> current = Collections.newSetFromMap(new IdentityHashMap<>());
+            current.addAll(containers);
+            if (!current.containsAll(freed)) {
+                return false; // another worker changed this neighborhood first
+            }
+            Set<Container> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(freed);
+            containers.removeIf(removed::contains);
+            containers.addAll(replacement);
+            improvements++;
+            return true;
+        }
+
+        synchronized int improvements() {
+            return improvements;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package archdesign.service.streaming;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.ContainerOption;
+import archdesign.service.FeasibilityService;
+import archdesign.service.PackingOption;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Online packing mode for pieces that arrive continuously instead of as a finished order.
+ * <p>
+ * Arts are added one at a time or in micro-batches. Each art goes to the lane of its
+ * material and box type (the first valid packing option, as in the greedy heuristic).
+ * A lane keeps one open box and one open container of the lane's container type (the
+ * first valid container option for the box type). A box is closed when the next art does
+ * not fit in it, and a container is emitted to the consumer as soon as it is full or the
+ * lane is flushed. Since every container of a lane holds one box type, a container that
+ * is not full always has room for the next box, so one open container per lane loses
+ * nothing. Memory therefore depends on the number of lanes, not on how many pieces flow
+ * through.
+ * <p>
+ * Instances are safe for use by several intake threads; the consumer is called while
+ * the packer's lock is held.
+ */
+public class OnlinePacker implements AutoCloseable {
+
+    private final FeasibilityService feasibilityService;
+    private final UserConstraints constraints;
+    private final Consumer<Container> sink;
+
+    private final Map<Material, Map<BoxType, Lane>> lanes = new EnumMap<>(Material.class);
+    // Container option per box type; empty when the box type fits no allowed container
+    private final Map<BoxType, Optional<ContainerOption>> containerOptions = new EnumMap<>(BoxType.class);
+
+    private int boxIdCounter = 1;
+    private int containerIdCounter = 1;
+    private long acceptedArts;
+    private long rejectedArts;
+    private long emittedContainers;
+
+    /**
+     * @param feasibilityService Decides the box and container options, as in batch packing.
+     * @param constraints The user-defined constraints for this stream.
+     * @param sink Receives every closed container, exactly once.
+     */
+    public OnlinePacker(FeasibilityService feasibilityService, UserConstraints constraints, Consumer<Container> sink) {
+        this.feasibilityService = feasibilityService;
+        this.constraints = constraints;
+        this.sink = sink;
+    }
+
+    /**
+     * Packs one art.
+     * @param art The art to pack.
+     * @return false if the art cannot be packed (it exceeds the physical limits or no box
+     *         or container fits it); the caller should treat it as a custom piece.
+     */
+    public synchronized boolean add(Art art) {
+        if (!RuleProvider.isPackable(art)) {
+            rejectedArts++;
+            return false;
+        }
+        List<PackingOption> options = feasibilityService.getValidPackingOptions(art, constraints);
+        if (options.isEmpty()) {
+            rejectedArts++;
+            return false;
+        }
+        PackingOption option = options.get(0);
+        Optional<ContainerOption> containerOption = containerOptionFor(option.boxType());
+        if (containerOption.isEmpty()) {
+            rejectedArts++;
+            return false;
+        }
+
+        lanes.computeIfAbsent(art.getMaterial(), k -> new EnumMap<>(BoxType.class))
+             .computeIfAbsent(option.boxType(), k -> new Lane(option.boxType(), containerOption.get()))
+             .add(art, Math.max(1, option.capacity()));
+        acceptedArts++;
+        return true;
+    }
+
+    /**
+     * Packs a micro-batch of arts in order.
+     * @param arts The arts to pack.
+     * @return The arts that could not be packed, in order.
+     */
+    public synchronized List<Art> addAll(Collection<Art> arts) {
+        List<Art> rejected = new ArrayList<>();
+        for (Art art : arts) {
+            if (!add(art)) {
+                rejected.add(art);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Closes the open box and emits the open container of one lane.
+     * @param material The lane's material.
+     * @param boxType The lane's box type.
+     */
+    public synchronized void flush(Material material, BoxType boxType) {
+        Map<BoxType, Lane> byBoxType = lanes.get(material);
+        if (byBoxType == null) {
+            return;
+        }
+        Lane lane = byBoxType.remove(boxType);
+        if (lane != null) {
+            lane.flush();
+        }
+    }
+
+    /**
+     * Closes every open box and emits every open container.
+     */
+    public synchronized void flush() {
+        for (Map<BoxType, Lane> byBoxType : lanes.values()) {
+            for (Lane lane : byBoxType.values()) {
+                lane.flush();
+            }
+        }
+        lanes.clear();
+    }
+
+    /**
+     * Flushes all lanes.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    public synchronized long getAcceptedArtCount() {
+        return acceptedArts;
+    }
+
+    public synchronized long getRejectedArtCount() {
+        return rejectedArts;
+    }
+
+    public synchronized long getEmittedContainerCount() {
+        return emittedContainers;
+    }
+
+    /**
+     * @return The number of containers currently held open across all lanes.
+     */
+    public synchronized int getOpenContainerCount() {
+        int open = 0;
+        for (Map<BoxType, Lane> byBoxType : lanes.values()) {
+            for (Lane lane : byBoxType.values()) {
+                if (lane.openContainer != null) {
+                    open++;
+                }
+            }
+        }
+        return open;
+    }
+
+    private Optional<ContainerOption> containerOptionFor(BoxType boxType) {
+        return containerOptions.computeIfAbsent(boxType, type -> {
+            List<ContainerOption> options = feasibilityService.getValidContainerOptions(
+                new Box("probe", type, 1, 1, 1), constraints);
+            return options.stream().filter(option -> option.capacity() > 0).findFirst();
+        });
+    }
+
+    private void emit(Container container) {
+        emittedContainers++;
+        sink.accept(container);
+    }
+
+    /**
+     * The open box and open container of one (material, box type) pair. Every container
+     * of a lane holds only the lane's box type, so its limit is the option's capacity.
+     */
+    private class Lane {
+        final BoxType boxType;
+        final ContainerOption containerOption;
+        Container openContainer;
+        Box openBox;
+        // Smallest capacity among the arts in the open box, as when boxes are merged in batch mode
+        int openBoxLimit;
+
+        Lane(BoxType boxType, ContainerOption containerOption) {
+            this.boxType = boxType;
+            this.containerOption = containerOption;
+        }
+
+        void add(Art art, int capacity) {
+            if (openBox != null && openBox.getArtsInBox().size() >= Math.min(openBoxLimit, capacity)) {
+                closeBox();
+            }
+            if (openBox == null) {
+                openBox = new Box("Box-" + boxIdCounter++, boxType,
+                    boxType.getWidth(), boxType.getLength(), boxType.getMinHeight());
+                openBoxLimit = capacity;
+            }
+            openBox.addArt(art);
+            openBoxLimit = Math.min(openBoxLimit, capacity);
+        }
+
+        void closeBox() {
+            if (openBox == null) {
+                return;
+            }
+            if (openContainer == null) {
+                ContainerType type = containerOption.containerType();
+                openContainer = new Container("Container-" + containerIdCounter++, type, type.getWidth(),
+                    type.getLength(), type.getMinHeight(), type.getWeight(), type.getBaseHeight());
+            }
+            openContainer.addBox(openBox);
+            openBox = null;
+
+            if (openContainer.getBoxesInContainer().size() >= containerOption.capacity()) {
+                emit(openContainer);
+                openContainer = null;
+            }
+        }
+
+        void flush() {
+            closeBox();
+            if (openContainer != null) {
+                emit(openContainer);
+                openContainer = null;
+            }
+        }
+    }
+}
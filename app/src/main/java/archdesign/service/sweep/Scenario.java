@@ -0,0 +1,71 @@
+package archdesign.service.sweep;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.costing.ShippingCostStrategy;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One point of a what-if sweep: a set of constraints priced with one cost strategy.
+ *
+ * @param label A readable name for tables and logs.
+ * @param constraints The constraints to plan with.
+ * @param costStrategy The cost strategy to plan and price with.
+ */
+public record Scenario(String label, UserConstraints constraints, ShippingCostStrategy costStrategy) {
+
+    /**
+     * Builds the full grid of allowed box types × allowed container types × cost strategies.
+     * @param boxTypeSets The allowed box type sets to try.
+     * @param containerTypeSets The allowed container type sets to try.
+     * @param costStrategies The cost strategies to try, by name.
+     * @return One scenario per combination.
+     */
+    public static List<Scenario> grid(List<Set<BoxType>> boxTypeSets, List<Set<ContainerType>> containerTypeSets,
+                                      Map<String, ShippingCostStrategy> costStrategies) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Set<BoxType> boxTypes : boxTypeSets) {
+            for (Set<ContainerType> containerTypes : containerTypeSets) {
+                UserConstraints constraints = UserConstraints.newBuilder()
+                    .withAllowedBoxTypes(List.copyOf(boxTypes))
+                    .withAllowedContainerTypes(List.copyOf(containerTypes))
+                    .build();
+                for (Map.Entry<String, ShippingCostStrategy> strategy : costStrategies.entrySet()) {
+                    String label = names(boxTypes) + " | " + names(containerTypes) + " | " + strategy.getKey();
+                    scenarios.add(new Scenario(label, constraints, strategy.getValue()));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * @return Every non-empty subset of the enum's constants, smallest first.
+     */
+    public static <E extends Enum<E>> List<Set<E>> subsets(Class<E> type) {
+        E[] values = type.getEnumConstants();
+        List<Set<E>> subsets = new ArrayList<>();
+        for (int mask = 1; mask < (1 << values.length); mask++) {
+            Set<E> subset = EnumSet.noneOf(type);
+            for (int i = 0; i < values.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    subset.add(values[i]);
+                }
+            }
+            subsets.add(subset);
+        }
+        subsets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        return subsets;
+    }
+
+    private static String names(Set<? extends Enum<?>> values) {
+        return values.stream().map(Enum::name).collect(Collectors.joining(","));
+    }
+}
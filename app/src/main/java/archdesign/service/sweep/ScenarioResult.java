@@ -0,0 +1,36 @@
+package archdesign.service.sweep;
+
+import archdesign.interactor.PackingPlan;
+import archdesign.service.ShipmentEstimate;
+
+/**
+ * The outcome of one scenario of a sweep.
+ *
+ * @param scenario The scenario.
+ * @param estimate The quick estimate the lower bound was derived from.
+ * @param costLowerBound No plan of this scenario costs less.
+ * @param plan The solved plan, or null if the scenario was pruned.
+ */
+public record ScenarioResult(Scenario scenario, ShipmentEstimate estimate, double costLowerBound, PackingPlan plan) {
+
+    /**
+     * @return True if the scenario was not solved because a solved one was at least as good.
+     */
+    public boolean isPruned() {
+        return plan == null;
+    }
+
+    /**
+     * @return Pieces that ship as custom pieces in this scenario.
+     */
+    public int customPieces() {
+        return plan != null ? plan.getUnpackedArts().size() : estimate.customPieces();
+    }
+
+    /**
+     * @return The plan's cost, or the lower bound if the scenario was pruned.
+     */
+    public double cost() {
+        return plan != null ? plan.getTotalCost() : costLowerBound;
+    }
+}
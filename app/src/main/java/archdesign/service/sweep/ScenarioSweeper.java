@@ -0,0 +1,181 @@
+package archdesign.service.sweep;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.enums.BoxType;
+import archdesign.interactor.PackingPlan;
+import archdesign.service.ContainerOption;
+import archdesign.service.FeasibilityService;
+import archdesign.service.OptimizationService;
+import archdesign.service.ShipmentEstimate;
+import archdesign.service.selection.SelectionPolicy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates a grid of what-if scenarios on one order in parallel and ranks them.
+ * <p>
+ * Every scenario is first estimated ({@link OptimizationService#estimate}), which gives
+ * its custom-piece count and a lower bound on its cost: the cheapest container type it
+ * allows, priced at the estimate's lowest weight as if it were one load. The scenarios
+ * are then solved in order of that bound, at most one per worker at a time, so each
+ * solve starts after the better-bounded ones have mostly finished. A scenario is pruned
+ * instead of solved if an already solved one has no more custom pieces and costs no more
+ * than the bound, since it cannot rank higher. The bound assumes, like the solver's cost coefficients, that a
+ * container never gets cheaper as its weight grows and that splitting a load over more
+ * containers never makes it cheaper.
+ * <p>
+ * All scenarios share the arts, one feasibility service and one selection policy. A
+ * scenario whose estimate or solve fails is reported on System.err and left out.
+ */
+public final class ScenarioSweeper {
+
+    /**
+     * Fewer custom pieces first, then lower cost, then fewer containers. A pruned scenario
+     * is ranked by its lower bound, which puts it after the scenario that dominates it.
+     */
+    private static final Comparator<ScenarioResult> RANKING = Comparator
+        .comparingInt(ScenarioResult::customPieces)
+        .thenComparingDouble(ScenarioResult::cost)
+        .thenComparing(ScenarioResult::isPruned)
+        .thenComparingInt(result -> result.isPruned() ? Integer.MAX_VALUE : result.plan().getTotalContainerCount());
+
+    private final FeasibilityService feasibilityService;
+    private final SelectionPolicy selectionPolicy;
+    private final int workers;
+
+    /**
+     * @param feasibilityService Shared by all scenarios; a caching one pays off here.
+     * @param selectionPolicy Shared by all scenarios.
+     * @param workers Number of scenarios evaluated in parallel.
+     */
+    public ScenarioSweeper(FeasibilityService feasibilityService, SelectionPolicy selectionPolicy, int workers) {
+        this.feasibilityService = feasibilityService;
+        this.selectionPolicy = selectionPolicy;
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * @param arts The order; it is only read.
+     * @param scenarios The scenarios to evaluate.
+     * @return One result per scenario that did not fail, best first.
+     */
+    public List<ScenarioResult> sweep(List<Art> arts, List<Scenario> scenarios) {
+        AtomicInteger threadCount = new AtomicInteger(1);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "Sweep-Worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<ScenarioResult> results = new ArrayList<>(scenarios.size());
+        try {
+            // Phase 1: estimates and lower bounds
+            List<Future<ScenarioResult>> estimates = new ArrayList<>(scenarios.size());
+            for (Scenario scenario : scenarios) {
+                estimates.add(pool.submit(() -> estimate(arts, scenario)));
+            }
+            List<ScenarioResult> bounded = new ArrayList<>(scenarios.size());
+            for (Future<ScenarioResult> estimate : estimates) {
+                try {
+                    bounded.add(estimate.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Scenario estimate failed: " + e.getCause());
+                }
+            }
+            bounded.sort(Comparator.comparingInt(ScenarioResult::customPieces)
+                .thenComparingDouble(ScenarioResult::costLowerBound));
+
+            // Phase 2: solve the most promising scenarios first, pruning against the solved ones.
+            // A scenario is submitted only when a worker frees up, so it sees every
+            // incumbent finished before it.
+            Incumbents incumbents = new Incumbents();
+            CompletionService<ScenarioResult> solved = new ExecutorCompletionService<>(pool);
+            int next = 0;
+            int running = 0;
+            while (next < bounded.size() || running > 0) {
+                if (next < bounded.size() && running < workers) {
+                    ScenarioResult candidate = bounded.get(next++);
+                    solved.submit(() -> solve(arts, candidate, incumbents));
+                    running++;
+                    continue;
+                }
+                Future<ScenarioResult> result = solved.take();
+                running--;
+                try {
+                    results.add(result.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Scenario failed: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        results.sort(RANKING);
+        return results;
+    }
+
+    private ScenarioResult estimate(List<Art> arts, Scenario scenario) {
+        OptimizationService service = serviceFor(scenario);
+        ShipmentEstimate estimate = service.estimate(arts, scenario.constraints());
+        return new ScenarioResult(scenario, estimate, costLowerBound(scenario, estimate), null);
+    }
+
+    private ScenarioResult solve(List<Art> arts, ScenarioResult candidate, Incumbents incumbents) {
+        if (incumbents.dominates(candidate.customPieces(), candidate.costLowerBound())) {
+            return candidate;
+        }
+        Scenario scenario = candidate.scenario();
+        PackingPlan plan = serviceFor(scenario).createOptimalPlan(arts, scenario.constraints());
+        incumbents.add(plan.getUnpackedArts().size(), plan.getTotalCost());
+        return new ScenarioResult(scenario, candidate.estimate(), candidate.costLowerBound(), plan);
+    }
+
+    private OptimizationService serviceFor(Scenario scenario) {
+        return new OptimizationService(feasibilityService, scenario.costStrategy(), selectionPolicy);
+    }
+
+    private double costLowerBound(Scenario scenario, ShipmentEstimate estimate) {
+        if (estimate.maxContainers() == 0) {
+            return 0.0;
+        }
+        double bound = Double.MAX_VALUE;
+        for (BoxType boxType : BoxType.values()) {
+            Box probe = new Box("probe", boxType, 1, 1, 1);
+            for (ContainerOption option : feasibilityService.getValidContainerOptions(probe, scenario.constraints())) {
+                bound = Math.min(bound, scenario.costStrategy().estimateCost(option.containerType(), estimate.minWeight()));
+            }
+        }
+        return bound == Double.MAX_VALUE ? 0.0 : bound;
+    }
+
+    /**
+     * The (custom pieces, cost) pairs of the scenarios solved so far.
+     */
+    private static final class Incumbents {
+        private final List<double[]> solved = new ArrayList<>();
+
+        synchronized void add(int customPieces, double cost) {
+            solved.add(new double[] {customPieces, cost});
+        }
+
+        synchronized boolean dominates(int customPieces, double costLowerBound) {
+            for (double[] incumbent : solved) {
+                if (incumbent[0] <= customPieces && incumbent[1] <= costLowerBound) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -2,12 +2,20 @@ package archdesign.interactor;
 
 import archdesign.entities.Art;
 import archdesign.entities.Container;
+import archdesign.entities.enums.ContainerType;
 import archdesign.entities.enums.Material;
 import archdesign.entities.enums.ShippingProvider;
+import archdesign.service.ShipmentEstimate;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -328,4 +336,318 @@ class PackerTest {
             .sum();
         assertEquals(arts.size(), totalArtsPacked);
     }
+
+    @Test
+    void testPackWithBudget_ReturnsPlanWithReport() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            arts.add(new Art("A" + i, 20, 30, 1, Material.GLASS));
+        }
+        Duration budget = Duration.ofMillis(200);
+
+        long start = System.nanoTime();
+        PackingPlan plan = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER, budget);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(plan);
+        assertNotNull(plan.getPlanningReport(), "SLA plans should carry a planning report");
+        assertNotNull(plan.getPlanningReport().phase());
+        assertEquals(budget, plan.getPlanningReport().budget());
+        assertTrue(elapsedMillis < 2_000, "SLA mode should return close to its budget");
+
+        int totalArtsPacked = plan.getContainers().stream()
+            .mapToInt(container -> container.getBoxesInContainer().stream()
+                .mapToInt(box -> box.getArtsInBox().size())
+                .sum())
+            .sum();
+        assertEquals(arts.size(), totalArtsPacked + plan.getUnpackedArts().size());
+    }
+
+    @Test
+    void testPackWithBudget_NoWorseThanRegularPack() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            arts.add(new Art("S" + i, 20, 30, 1, Material.GLASS));
+        }
+        for (int i = 0; i < 4; i++) {
+            arts.add(new Art("L" + i, 40, 50, 1, Material.GLASS));
+        }
+        UserConstraints constraints = new UserConstraints();
+
+        PackingPlan regular = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER);
+        PackingPlan sla = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER, Duration.ofMillis(300));
+
+        assertTrue(sla.getTotalCost() <= regular.getTotalCost() + 0.001,
+            "SLA mode starts from the same exact solve and only keeps improvements");
+        assertNull(regular.getPlanningReport(), "Regular plans carry no planning report");
+    }
+
+    @Test
+    void testPackWithBudget_EmptyOrderUsesFastPath() {
+        PackingPlan plan = Packer.pack(new ArrayList<>(), new UserConstraints(), ShippingProvider.PLACEHOLDER,
+            Duration.ofMillis(50));
+
+        assertTrue(plan.getContainers().isEmpty());
+        assertEquals(PlanningPhase.FAST_PATH, plan.getPlanningReport().phase());
+    }
+
+    @Test
+    void testPackWithBudget_SpentBudgetSkipsOptionalPhases() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            arts.add(new Art("A" + i, 20, i % 2 == 0 ? 24 : 30, 1, Material.GLASS));
+        }
+
+        PackingPlan plan = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER, Duration.ZERO);
+
+        assertEquals(PlanningPhase.HEURISTIC, plan.getPlanningReport().phase(),
+            "With no time left only the heuristic plan is built; DP, solver and LNS are skipped");
+        int totalArtsPacked = plan.getContainers().stream()
+            .mapToInt(container -> container.getBoxesInContainer().stream()
+                .mapToInt(box -> box.getArtsInBox().size())
+                .sum())
+            .sum();
+        assertEquals(arts.size(), totalArtsPacked + plan.getUnpackedArts().size());
+    }
+
+    @Test
+    void testPack_VeryLargeOrderIsSolvedInChunks() {
+        // Far more pallets than one container-mix model allows per type
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 12_000; i++) {
+            arts.add(new Art("V" + i, 20 + i % 15, 16 + i % 11, 1, i % 3 == 0 ? Material.ACRYLIC : Material.GLASS));
+        }
+        UserConstraints constraints = new UserConstraints();
+
+        PackingPlan plan = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER);
+
+        int totalArtsPacked = plan.getContainers().stream()
+            .mapToInt(container -> container.getBoxesInContainer().stream()
+                .mapToInt(box -> box.getArtsInBox().size())
+                .sum())
+            .sum();
+        assertEquals(arts.size(), totalArtsPacked + plan.getUnpackedArts().size());
+        assertTrue(plan.getTotalContainerCount() > 100);
+        for (Container container : plan.getContainers()) {
+            assertFalse(container.getBoxesInContainer().isEmpty());
+        }
+    }
+
+    @Test
+    void testReplan_AddedArtsOnlyTouchTheirLane() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            arts.add(new Art("G" + i, 30, 20, 1, Material.GLASS));
+        }
+        for (int i = 0; i < 3; i++) {
+            arts.add(new Art("A" + i, 30, 20, 1, Material.ACRYLIC));
+        }
+        UserConstraints constraints = new UserConstraints();
+        PackingPlan previous = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER);
+
+        List<Art> added = List.of(new Art("A3", 30, 20, 1, Material.ACRYLIC), new Art("A4", 30, 20, 1, Material.ACRYLIC));
+        PlanRevision revision = Packer.replan(previous, added, List.of(), constraints, ShippingProvider.PLACEHOLDER);
+        PackingPlan plan = revision.plan();
+
+        assertEquals(45, packedArtIds(plan).size() + plan.getUnpackedArts().size());
+        assertFalse(revision.removedContainers().isEmpty());
+        // Everything outside the neighborhood is carried over as is
+        for (Container container : previous.getContainers()) {
+            boolean replaced = revision.removedContainers().contains(container);
+            assertEquals(!replaced, plan.getContainers().contains(container));
+        }
+        Set<String> containerIds = new HashSet<>();
+        for (Container container : plan.getContainers()) {
+            assertTrue(containerIds.add(container.getId()), "Duplicate container ID " + container.getId());
+        }
+        assertEquals(plan.getTotalCost() - previous.getTotalCost(), revision.costDelta(), 1e-6);
+    }
+
+    @Test
+    void testReplan_RemovedArtsLeaveThePlan() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            arts.add(new Art("G" + i, 30, 20, 1, Material.GLASS));
+        }
+        UserConstraints constraints = new UserConstraints();
+        PackingPlan previous = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER);
+
+        PlanRevision revision = Packer.replan(previous, List.of(), List.of("G0", "G5", "G11"), constraints,
+            ShippingProvider.PLACEHOLDER);
+
+        Set<String> packed = packedArtIds(revision.plan());
+        assertEquals(9, packed.size());
+        assertFalse(packed.contains("G0"));
+        assertFalse(packed.contains("G5"));
+        assertFalse(packed.contains("G11"));
+        assertTrue(revision.plan().getTotalCost() <= previous.getTotalCost());
+    }
+
+    @Test
+    void testReplan_EmptyChangeKeepsThePlan() {
+        List<Art> arts = List.of(new Art("G0", 30, 20, 1, Material.GLASS));
+        UserConstraints constraints = new UserConstraints();
+        PackingPlan previous = Packer.pack(arts, constraints, ShippingProvider.PLACEHOLDER);
+
+        PlanRevision revision = Packer.replan(previous, List.of(), List.of(), constraints, ShippingProvider.PLACEHOLDER);
+
+        assertTrue(revision.isUnchanged());
+        assertEquals(previous.getContainers(), revision.plan().getContainers());
+        assertEquals(0.0, revision.costDelta());
+    }
+
+    @Test
+    void testEstimate_BracketsTheSolvedPlan() {
+        List<List<Art>> orders = new ArrayList<>();
+        for (int n : new int[] {1, 7, 30, 120}) {
+            List<Art> order = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                order.add(new Art("E" + i, 20 + i % 25, 16 + i % 13, 1, i % 4 == 0 ? Material.ACRYLIC : Material.GLASS));
+            }
+            orders.add(order);
+        }
+        UserConstraints constraints = new UserConstraints();
+
+        List<ShipmentEstimate> estimates = Packer.estimateAll(orders, constraints);
+
+        assertEquals(orders.size(), estimates.size());
+        for (int i = 0; i < orders.size(); i++) {
+            ShipmentEstimate estimate = estimates.get(i);
+            PackingPlan plan = Packer.pack(orders.get(i), constraints, ShippingProvider.PLACEHOLDER);
+            assertEquals(orders.get(i).size(), estimate.artCount());
+            assertTrue(estimate.minContainers() <= plan.getTotalContainerCount(),
+                "Lower bound " + estimate.minContainers() + " above " + plan.getTotalContainerCount());
+            assertTrue(plan.getTotalContainerCount() <= estimate.maxContainers(),
+                "Upper bound " + estimate.maxContainers() + " below " + plan.getTotalContainerCount());
+            assertTrue(estimate.minWeight() <= plan.getTotalWeight() + 1e-6);
+            assertTrue(plan.getTotalWeight() <= estimate.maxWeight() + 1e-6);
+        }
+    }
+
+    @Test
+    void testEstimate_CountsCustomPieces() {
+        List<Art> arts = List.of(new Art("ok", 30, 20, 1, Material.GLASS), new Art("huge", 200, 200, 1, Material.GLASS));
+
+        ShipmentEstimate estimate = Packer.estimate(arts, new UserConstraints());
+
+        assertEquals(1, estimate.customPieces());
+        assertEquals(1, estimate.boxCount());
+        assertTrue(estimate.isExact());
+        assertEquals(1, estimate.minContainers());
+    }
+
+    @Test
+    void testCompare_MatchesSeparateRunsInScenarioOrder() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            arts.add(new Art("C" + i, 24 + i % 20, 18 + i % 9, 1, i % 3 == 0 ? Material.ACRYLIC : Material.GLASS));
+        }
+        Map<String, UserConstraints> scenarios = new LinkedHashMap<>();
+        scenarios.put("default", new UserConstraints());
+        scenarios.put("pallets", UserConstraints.newBuilder()
+            .withAllowedContainerTypes(List.of(ContainerType.STANDARD_PALLET, ContainerType.OVERSIZE_PALLET))
+            .build());
+
+        List<PlanComparison> comparisons = Packer.compare(arts, scenarios, ShippingProvider.PLACEHOLDER);
+
+        assertEquals(List.of("default", "pallets"), comparisons.stream().map(PlanComparison::label).toList());
+        for (PlanComparison comparison : comparisons) {
+            PackingPlan alone = Packer.pack(arts, comparison.constraints(), ShippingProvider.PLACEHOLDER);
+            assertEquals(alone.getTotalCost(), comparison.plan().getTotalCost(), 1e-6);
+            assertEquals(alone.getTotalContainerCount(), comparison.plan().getTotalContainerCount());
+        }
+    }
+
+    @Test
+    void testPack_ReportsStagesInOrderWithTheBestObjective() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            arts.add(new Art("P" + i, 30, 24, 1, Material.GLASS));
+        }
+        List<PlanningStage> started = new ArrayList<>();
+        List<PlanningStage> finished = new ArrayList<>();
+        List<Double> objectives = new ArrayList<>();
+        PlanningListener listener = new PlanningListener() {
+            @Override
+            public synchronized void stageStarted(PlanningStage stage) {
+                started.add(stage);
+            }
+
+            @Override
+            public synchronized void stageFinished(PlanningStage stage, Duration elapsed) {
+                assertFalse(elapsed.isNegative());
+                finished.add(stage);
+            }
+
+            @Override
+            public synchronized void bestObjective(double objective) {
+                objectives.add(objective);
+            }
+        };
+
+        PackingPlan plan = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER, listener);
+        PackingPlan silent = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER);
+
+        List<PlanningStage> expected = List.of(PlanningStage.FEASIBILITY, PlanningStage.SOLVE, PlanningStage.CONSOLIDATION);
+        assertEquals(expected, started);
+        assertEquals(expected, finished);
+        assertFalse(objectives.isEmpty());
+        assertEquals(silent.getTotalCost(), plan.getTotalCost(), 1e-6);
+    }
+
+    @Test
+    void testPack_InterruptedRunStopsAtTheNextStage() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            arts.add(new Art("P" + i, 30, 24, 1, Material.GLASS));
+        }
+        List<PlanningStage> started = new ArrayList<>();
+        PlanningListener listener = new PlanningListener() {
+            @Override
+            public synchronized void stageStarted(PlanningStage stage) {
+                started.add(stage);
+            }
+        };
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                () -> Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER, listener),
+                "A cancelled run should not fall back to the heuristic");
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(started.isEmpty(), started.toString());
+    }
+
+    @Test
+    void testPack_SolvesOrdersAboveTheDefaultContainerCapWholly() {
+        // Two sizes, so the job is not single-SKU; well over 100 standard pallets are needed
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            arts.add(new Art("P" + i, 30, i % 2 == 0 ? 24 : 20, 1, Material.GLASS));
+        }
+        List<PlanningStage> started = new ArrayList<>();
+        PlanningListener listener = new PlanningListener() {
+            @Override
+            public synchronized void stageStarted(PlanningStage stage) {
+                started.add(stage);
+            }
+        };
+
+        PackingPlan plan = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER, listener);
+
+        assertTrue(plan.getTotalContainerCount() > 100);
+        assertEquals(6000, packedArtIds(plan).size());
+        // Consolidation is reported only for a whole-order solution, not for chunked plans
+        assertTrue(started.contains(PlanningStage.CONSOLIDATION), started.toString());
+    }
+
+    private static Set<String> packedArtIds(PackingPlan plan) {
+        Set<String> ids = new HashSet<>();
+        for (Container container : plan.getContainers()) {
+            container.getBoxesInContainer().forEach(box -> box.getArtsInBox().forEach(art -> ids.add(art.getId())));
+        }
+        return ids;
+    }
 }
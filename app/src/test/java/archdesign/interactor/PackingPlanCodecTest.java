@@ -0,0 +1,144 @@
+package archdesign.interactor;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
+import archdesign.entities.enums.ShippingProvider;
+import archdesign.output.JsonOutputWriter;
+import archdesign.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackingPlanCodecTest {
+
+    private static void assertSameArt(Art expected, Art actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getMaterial(), actual.getMaterial());
+        assertEquals(expected.getWeight(), actual.getWeight());
+    }
+
+    private static void assertSamePlan(PackingPlan expected, PackingPlan actual) {
+        assertEquals(expected.getTotalCost(), actual.getTotalCost());
+        assertEquals(expected.getTotalWeight(), actual.getTotalWeight());
+        assertEquals(expected.getTotalBoxCount(), actual.getTotalBoxCount());
+        assertEquals(expected.getContainers().size(), actual.getContainers().size());
+        for (int c = 0; c < expected.getContainers().size(); c++) {
+            Container container = expected.getContainers().get(c);
+            Container decoded = actual.getContainers().get(c);
+            assertEquals(container.getId(), decoded.getId());
+            assertEquals(container.getContainerType(), decoded.getContainerType());
+            assertEquals(container.getWidth(), decoded.getWidth());
+            assertEquals(container.getLength(), decoded.getLength());
+            assertEquals(container.getCurrentHeight(), decoded.getCurrentHeight());
+            assertEquals(container.getTotalWeight(), decoded.getTotalWeight());
+            assertEquals(container.getBoxesInContainer().size(), decoded.getBoxesInContainer().size());
+            for (int b = 0; b < container.getBoxesInContainer().size(); b++) {
+                Box box = container.getBoxesInContainer().get(b);
+                Box decodedBox = decoded.getBoxesInContainer().get(b);
+                assertEquals(box.getId(), decodedBox.getId());
+                assertEquals(box.getBoxType(), decodedBox.getBoxType());
+                assertEquals(box.getCurrentHeight(), decodedBox.getCurrentHeight());
+                assertEquals(box.getArtsInBox().size(), decodedBox.getArtsInBox().size());
+                for (int a = 0; a < box.getArtsInBox().size(); a++) {
+                    assertSameArt(box.getArtsInBox().get(a), decodedBox.getArtsInBox().get(a));
+                }
+            }
+        }
+        assertEquals(expected.getUnpackedArts().size(), actual.getUnpackedArts().size());
+        for (int a = 0; a < expected.getUnpackedArts().size(); a++) {
+            assertSameArt(expected.getUnpackedArts().get(a), actual.getUnpackedArts().get(a));
+        }
+    }
+
+    private static List<Art> order() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            arts.add(new Art("ART-" + i, 24 + i % 17, 18.5 + i % 11, 1, i % 4 == 0 ? Material.ACRYLIC : Material.GLASS));
+        }
+        // Too large for any box, so it stays unpacked
+        arts.add(new Art("HUGE", 200, 150, 1, Material.CANVAS_FRAMED));
+        return arts;
+    }
+
+    @Test
+    void testRoundTripIsLossless() throws IOException {
+        PackingPlan plan = Packer.pack(order(), new UserConstraints(), ShippingProvider.PLACEHOLDER);
+
+        PackingPlan decoded = PackingPlanCodec.fromBytes(PackingPlanCodec.toBytes(plan));
+
+        assertFalse(plan.getUnpackedArts().isEmpty());
+        assertSamePlan(plan, decoded);
+        assertNull(decoded.getPlanningReport());
+        // Encoding the decoded plan gives the same bytes
+        assertArrayEquals(PackingPlanCodec.toBytes(plan), PackingPlanCodec.toBytes(decoded));
+    }
+
+    @Test
+    void testKeepsUnusualValuesAndThePlanningReport(@TempDir Path dir) throws IOException {
+        Container container = new Container("C-1", null, 48, 40, 3, 60.25, 6);
+        Box box = new Box(null, BoxType.LARGE, 44, 35, 0);
+        box.addArt(new Art("odd", 33.333333333333336, -0.0, 1, Material.MIRROR));
+        box.addArt(new Art("big", 3e9, 1e-9, 1, Material.UNKNOWN));
+        container.addBox(box);
+        PlanningReport report = new PlanningReport(PlanningPhase.LNS, Duration.ofMillis(200), Duration.ofNanos(187_654_321));
+        PackingPlan plan = new PackingPlan(List.of(container), 1234.5678, List.of(), report);
+        Path file = dir.resolve("plan.bin");
+
+        PackingPlanCodec.save(plan, file);
+        PackingPlan decoded = PackingPlanCodec.load(file);
+
+        assertSamePlan(plan, decoded);
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+            Double.doubleToRawLongBits(decoded.getContainers().get(0).getBoxesInContainer().get(0)
+                .getArtsInBox().get(0).getWidth()));
+        assertEquals(report, decoded.getPlanningReport());
+    }
+
+    @Test
+    void testIsMuchSmallerThanDetailedJson() throws IOException {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            arts.add(new Art("ART-" + i, 30, 24, 1, Material.GLASS));
+        }
+        PackingPlan plan = Packer.pack(arts, new UserConstraints(), ShippingProvider.PLACEHOLDER);
+
+        int binary = PackingPlanCodec.toBytes(plan).length;
+        StringWriter json = new StringWriter();
+        // Compared with JSON that keeps every ID, as the binary encoding does
+        new JsonOutputWriter(true, true).write(new Response(plan).generateViewModel(), json);
+
+        assertTrue(binary * 4 < json.toString().length(), "binary " + binary + " bytes, JSON " + json.toString().length() + " bytes");
+
+    }
+
+    @Test
+    void testRejectsOtherDataAndVersions() {
+        byte[] bytes = PackingPlanCodec.toBytes(new PackingPlan(List.of(), 0));
+
+        IOException notAPlan = assertThrows(IOException.class,
+            () -> PackingPlanCodec.fromBytes("{\"containers\":[]}".getBytes()));
+        assertEquals("Not a packing plan", notAPlan.getMessage());
+
+        bytes[4] = (byte) (PackingPlanCodec.VERSION + 1);
+        IOException newer = assertThrows(IOException.class, () -> PackingPlanCodec.fromBytes(bytes));
+        assertTrue(newer.getMessage().contains("version"));
+
+        byte[] truncated = PackingPlanCodec.toBytes(Packer.pack(order(), new UserConstraints(), ShippingProvider.PLACEHOLDER));
+        assertThrows(IOException.class,
+            () -> PackingPlanCodec.fromBytes(Arrays.copyOf(truncated, truncated.length / 2)));
+    }
+}
@@ -1,8 +1,13 @@
 package archdesign.interactor;
 
+import archdesign.entities.Art;
+import archdesign.entities.Box;
 import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -70,5 +75,48 @@ class PackingPlanTest {
         assertNotNull(plan.toString(), "toString should not return null");
     }
 
+    @Test
+    void testPlanningReport_DefaultsToNull() {
+        PackingPlan plan = new PackingPlan(new ArrayList<>(), 10.0);
+        assertNull(plan.getPlanningReport(), "Plans built without a report should have none");
+    }
+
+    @Test
+    void testPlanningReport_IsKept() {
+        PlanningReport report = new PlanningReport(PlanningPhase.LNS, Duration.ofMillis(200), Duration.ofMillis(150));
+        PackingPlan plan = new PackingPlan(new ArrayList<>(), 10.0, new ArrayList<>(), report);
 
+        assertSame(report, plan.getPlanningReport());
+        assertEquals(0.75, report.budgetFractionUsed(), 0.0001);
+    }
+
+    private static Container pallet(String id, String artId, double artWidth) {
+        Container container = new Container(id, null, 48, 40, 3, 60, 6);
+        Box box = new Box("Box-" + id, BoxType.STANDARD, 37, 11, 4);
+        box.addArt(new Art(artId, 30, artWidth, 1, Material.GLASS));
+        container.addBox(box);
+        return container;
+    }
+
+    @Test
+    void testContainerRuns_GroupConsecutiveIdenticalContainers() {
+        List<Container> containers = List.of(
+            pallet("C1", "A1", 20), pallet("C2", "A2", 20), pallet("C3", "A3", 20),
+            pallet("C4", "A4", 24), pallet("C5", "A5", 20));
+        PackingPlan plan = new PackingPlan(containers, 10.0);
+
+        List<ContainerRun> runs = plan.getContainerRuns();
+
+        // IDs are ignored, but an identical container after a different one starts a new run
+        assertEquals(List.of(3, 1, 1), runs.stream().map(ContainerRun::count).toList());
+        assertEquals("C1", runs.get(0).template().getId());
+        assertEquals("C3", runs.get(0).containers().get(2).getId());
+        assertEquals("C4", runs.get(1).template().getId());
+        assertSame(runs, plan.getContainerRuns(), "Runs should be grouped once");
+    }
+
+    @Test
+    void testContainerRuns_EmptyPlanHasNone() {
+        assertTrue(new PackingPlan(new ArrayList<>(), 0).getContainerRuns().isEmpty());
+    }
 }
@@ -0,0 +1,125 @@
+package archdesign.interactor;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.response.Response;
+import archdesign.response.ShipmentViewModel;
+import archdesign.service.FeasibilityService;
+import archdesign.service.streaming.OnlinePacker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ShipmentStatistics aggregate.
+ */
+class ShipmentStatisticsTest {
+
+    private static Container containerOf(String id, ContainerType containerType, BoxType boxType, Art... arts) {
+        Box box = new Box("Box-" + id, boxType, boxType.getWidth(), boxType.getLength(), boxType.getMinHeight());
+        for (Art art : arts) {
+            box.addArt(art);
+        }
+        Container container = new Container(id, containerType, containerType.getWidth(), containerType.getLength(),
+            containerType.getMinHeight(), containerType.getWeight(), containerType.getBaseHeight());
+        container.addBox(box);
+        return container;
+    }
+
+    @Test
+    void testPlanStatisticsCountEveryCategory() {
+        Art small = new Art("s", 30, 20, 1, Material.GLASS);
+        Art wide = new Art("w", 40, 60, 1, Material.GLASS);
+        Art tall = new Art("t", 60, 40, 1, Material.GLASS);
+        Art huge = new Art("h", 200, 120, 1, Material.CANVAS_FRAMED);
+        Container pallet = containerOf("C1", ContainerType.STANDARD_PALLET, BoxType.STANDARD, small);
+        Container crate = containerOf("C2", ContainerType.STANDARD_CRATE, BoxType.CRATE, wide, tall);
+
+        PackingPlan plan = new PackingPlan(List.of(pallet, crate), 10.0, List.of(huge));
+        ShipmentStatistics statistics = plan.getStatistics();
+
+        assertEquals(4, statistics.getTotalPieces());
+        assertEquals(3, statistics.getPackedPieces());
+        assertEquals(1, statistics.getCustomPieceCount());
+        assertEquals(1, statistics.getStandardSizePieces());
+        assertEquals(3, statistics.getOversizedPieces());
+        assertEquals(List.of(
+                new ShipmentStatistics.OversizeGroup(60, 40, 2, wide.getWeight() + tall.getWeight()),
+                new ShipmentStatistics.OversizeGroup(200, 120, 1, huge.getWeight())),
+            statistics.getOversizeGroups());
+        assertEquals(2, statistics.getBoxCount());
+        assertEquals(1, statistics.getStandardBoxCount());
+        assertEquals(0, statistics.getLargeBoxCount());
+        assertEquals(1, statistics.getStandardPalletCount());
+        assertEquals(1, statistics.getCrateCount());
+
+        double packedWeight = small.getWeight() + wide.getWeight() + tall.getWeight();
+        assertEquals(packedWeight + huge.getWeight(), statistics.getTotalArtworkWeight(), 1e-9);
+        assertEquals(plan.getTotalWeight(), statistics.getFinalShipmentWeight(), 1e-9);
+        assertEquals(plan.getTotalWeight() - packedWeight, statistics.getTotalPackagingWeight(), 1e-9);
+        assertEquals(plan.getTotalBoxCount(), statistics.getBoxCount());
+    }
+
+    @Test
+    void testViewModelCarriesThePlanStatistics() {
+        PackingPlan plan = new PackingPlan(List.of(containerOf("C1", ContainerType.STANDARD_PALLET, BoxType.STANDARD,
+            new Art("a", 30, 20, 1, Material.GLASS))), 5.0);
+
+        ShipmentViewModel vm = new Response(plan).generateViewModel();
+
+        assertSame(plan.getStatistics(), vm.statistics());
+    }
+
+    @Test
+    void testViewModelWithoutStatisticsCountsItsOwn() {
+        PackingPlan plan = new PackingPlan(List.of(containerOf("C1", ContainerType.OVERSIZE_PALLET, BoxType.LARGE,
+            new Art("a", 50, 30, 1, Material.ACRYLIC), new Art("b", 30, 20, 1, Material.ACRYLIC))), 5.0,
+            List.of(new Art("c", 150, 150, 1, Material.ACRYLIC)));
+        ShipmentViewModel fromPlan = new Response(plan).generateViewModel();
+
+        ShipmentViewModel rebuilt = new ShipmentViewModel(fromPlan.totalWeight(), fromPlan.totalCost(),
+            fromPlan.totalContainers(), fromPlan.totalBoxes(), fromPlan.containers(), fromPlan.unpackedArts());
+        ShipmentStatistics expected = plan.getStatistics();
+        ShipmentStatistics actual = rebuilt.statistics();
+
+        assertEquals(expected.getTotalPieces(), actual.getTotalPieces());
+        assertEquals(expected.getStandardSizePieces(), actual.getStandardSizePieces());
+        assertEquals(expected.getOversizeGroups(), actual.getOversizeGroups());
+        assertEquals(expected.getLargeBoxCount(), actual.getLargeBoxCount());
+        assertEquals(expected.getOversizedPalletCount(), actual.getOversizedPalletCount());
+        assertEquals(expected.getTotalPackagingWeight(), actual.getTotalPackagingWeight(), 1e-9);
+    }
+
+    @Test
+    void testStatisticsCanBeFilledFromAStream() {
+        UserConstraints constraints = new UserConstraints();
+        FeasibilityService feasibilityService =
+            new FeasibilityService(RuleProvider.getBoxRules(constraints), RuleProvider.getContainerRules());
+        ShipmentStatistics streamed = new ShipmentStatistics();
+        List<Container> containers = new ArrayList<>();
+
+        try (OnlinePacker packer = new OnlinePacker(feasibilityService, constraints, container -> {
+            streamed.addContainer(container);
+            containers.add(container);
+        })) {
+            for (int i = 0; i < 500; i++) {
+                packer.add(new Art("S" + i, 30, 20 + i % 30, 1, Material.GLASS));
+            }
+        }
+
+        ShipmentStatistics batch = new PackingPlan(containers, 0.0).getStatistics();
+        assertEquals(500, streamed.getPackedPieces());
+        assertEquals(batch.getBoxCount(), streamed.getBoxCount());
+        assertEquals(batch.getContainerCount(), streamed.getContainerCount());
+        assertEquals(batch.getOversizeGroups(), streamed.getOversizeGroups());
+        assertEquals(batch.getFinalShipmentWeight(), streamed.getFinalShipmentWeight(), 1e-9);
+    }
+}
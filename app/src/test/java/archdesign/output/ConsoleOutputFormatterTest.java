@@ -0,0 +1,110 @@
+package archdesign.output;
+
+import archdesign.response.ArtViewModel;
+import archdesign.response.BoxViewModel;
+import archdesign.response.ContainerViewModel;
+import archdesign.response.ShipmentViewModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the console detail levels and the grouping of identical containers.
+ */
+class ConsoleOutputFormatterTest {
+
+    /**
+     * Twelve identical pallets of four boxes, then one different crate.
+     */
+    private static ShipmentViewModel repetitiveViewModel() {
+        List<ContainerViewModel> containers = new ArrayList<>();
+        int art = 0;
+        for (int c = 1; c <= 12; c++) {
+            List<BoxViewModel> boxes = new ArrayList<>();
+            for (int b = 0; b < 4; b++) {
+                List<ArtViewModel> arts = new ArrayList<>();
+                for (int a = 0; a < 6; a++) {
+                    arts.add(new ArtViewModel("A" + (++art), 30, 20, "Glass", 6));
+                }
+                boxes.add(new BoxViewModel("Box-" + c + "-" + b, "STANDARD", 37, 11, 31, 36, arts));
+            }
+            containers.add(new ContainerViewModel("Container-" + c, "STANDARD_PALLET", 48, 40, 31, 204, boxes));
+        }
+        BoxViewModel crateBox = new BoxViewModel("Box-C", "CRATE", 50, 38, 40, 12,
+            List.of(new ArtViewModel("A-crate", 50, 40, "Glass", 12)));
+        containers.add(new ContainerViewModel("Container-13", "STANDARD_CRATE", 50, 38, 40, 137, List.of(crateBox)));
+        return new ShipmentViewModel(12 * 204 + 137, 100, 13, 49, containers, List.of());
+    }
+
+    private static String capture(DetailLevel level, ShipmentViewModel viewModel) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(out));
+        try {
+            new ConsoleOutputFormatter(level).display(viewModel);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return out.toString();
+    }
+
+    @Test
+    void testContainerLevelCollapsesIdenticalContainers() {
+        String printed = capture(DetailLevel.CONTAINERS, repetitiveViewModel());
+
+        assertTrue(printed.contains("-> 12 x identical (Type: STANDARD_PALLET)"), printed);
+        assertTrue(printed.contains("Boxes: 4 STANDARD | Contains: 24 items"));
+        assertTrue(printed.contains("Containers: Container-1 .. Container-12"));
+        assertTrue(printed.contains("-> Container: Container-13 (Type: STANDARD_CRATE)"));
+        assertFalse(printed.contains("--> Box:"));
+        assertFalse(printed.contains("- Art:"));
+        assertTrue(printed.contains("=== SHIPMENT SUMMARY ==="));
+    }
+
+    @Test
+    void testSummaryLevelListsNoContainers() {
+        String printed = capture(DetailLevel.SUMMARY, repetitiveViewModel());
+
+        assertTrue(printed.contains("Total Containers: 13"));
+        assertTrue(printed.contains("Total Pieces: 289"));
+        assertFalse(printed.contains("-> "));
+    }
+
+    @Test
+    void testSummaryCountsUnpackedCustomPiecesBySize() {
+        // One packed piece; two custom pieces outside any container, one of them oversize
+        BoxViewModel box = new BoxViewModel("Box-1", "STANDARD", 37, 11, 31, 6,
+            List.of(new ArtViewModel("A-packed", 30, 20, "Glass", 6)));
+        ShipmentViewModel viewModel = new ShipmentViewModel(66, 10, 1, 1,
+            List.of(new ContainerViewModel("Container-1", "STANDARD_PALLET", 48, 40, 31, 66, List.of(box))),
+            List.of(new ArtViewModel("A-custom", 40, 30, "Glass", 8),
+                    new ArtViewModel("A-custom-large", 60, 90, "Glass", 40)));
+
+        String printed = capture(DetailLevel.SUMMARY, viewModel);
+
+        assertTrue(printed.contains("Total Pieces: 3"), printed);
+        assertTrue(printed.contains("Standard Size Pieces: 2"), printed);
+        assertTrue(printed.contains("Oversized Pieces: 1"), printed);
+        assertTrue(printed.contains("- 90.0\" x 60.0\" (Quantity: 1, Weight: 40 lbs)"), printed);
+        assertTrue(printed.contains("Custom Piece Count: 2"), printed);
+    }
+
+    @Test
+    void testFullLevelListsEveryArt() {
+        String printed = capture(DetailLevel.FULL, repetitiveViewModel());
+
+        assertEquals(289, printed.split("- Art: ", -1).length - 1);
+        assertTrue(printed.contains("-> Container: Container-12 (Type: STANDARD_PALLET)"));
+    }
+
+    @Test
+    void testDefaultLevelDependsOnPlanSize() {
+        assertEquals(DetailLevel.FULL, DetailLevel.defaultFor(DetailLevel.FULL_DETAIL_PIECE_LIMIT));
+        assertEquals(DetailLevel.CONTAINERS, DetailLevel.defaultFor(DetailLevel.FULL_DETAIL_PIECE_LIMIT + 1));
+    }
+}
@@ -0,0 +1,136 @@
+package archdesign.output;
+
+import archdesign.response.ArtViewModel;
+import archdesign.response.BoxViewModel;
+import archdesign.response.ContainerViewModel;
+import archdesign.response.ShipmentViewModel;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streamed JSON output.
+ */
+class JsonOutputWriterTest {
+
+    private static ShipmentViewModel sampleViewModel() {
+        ArtViewModel small = new ArtViewModel("a1", 30, 20, "GLASS", 6);
+        ArtViewModel wide = new ArtViewModel("a2", 60, 40, "GLASS", 24);
+        ArtViewModel tall = new ArtViewModel("a3", 40, 60, "GLASS", 24);
+        BoxViewModel standard = new BoxViewModel("Box-1", "STANDARD", 37, 4, 11, 6, List.of(small));
+        BoxViewModel crate = new BoxViewModel("Box-2", "CRATE", 50, 38, 60, 48, List.of(wide, tall));
+        ContainerViewModel pallet = new ContainerViewModel("Container-1", "STANDARD_PALLET", 48, 40, 20, 66,
+            List.of(standard));
+        ContainerViewModel crateContainer = new ContainerViewModel("Container-2", "STANDARD_CRATE", 50, 38, 60, 173,
+            List.of(crate));
+        ArtViewModel custom = new ArtViewModel("a4", 200, 120, "CANVAS", 40);
+        return new ShipmentViewModel(239, 2390, 2, 2, List.of(pallet, crateContainer), List.of(custom));
+    }
+
+    private static JsonObject write(JsonOutputWriter writer, ShipmentViewModel viewModel) throws Exception {
+        StringWriter out = new StringWriter();
+        writer.write(viewModel, out);
+        return JsonParser.parseString(out.toString()).getAsJsonObject();
+    }
+
+    @Test
+    void testSummaryFields() throws Exception {
+        JsonObject json = write(new JsonOutputWriter(), sampleViewModel());
+
+        assertEquals(4, json.get("total_pieces").getAsInt());
+        assertEquals(1, json.get("standard_size_pieces").getAsInt());
+        assertEquals(1, json.get("standard_box_count").getAsInt());
+        assertEquals(0, json.get("large_box_count").getAsInt());
+        assertEquals(1, json.get("custom_piece_count").getAsInt());
+        assertEquals(1, json.get("standard_pallet_count").getAsInt());
+        assertEquals(0, json.get("oversized_pallet_count").getAsInt());
+        assertEquals(1, json.get("crate_count").getAsInt());
+        assertEquals(94.0, json.get("total_artwork_weight").getAsDouble(), 1e-9);
+        assertEquals(239.0 - 54.0, json.get("total_packaging_weight").getAsDouble(), 1e-9);
+        assertEquals(239.0, json.get("final_shipment_weight").getAsDouble(), 1e-9);
+        assertFalse(json.has("containers"));
+        assertFalse(json.has("custom_pieces"));
+    }
+
+    @Test
+    void testOversizedPiecesAreGroupedByLongerSideFirst() throws Exception {
+        JsonArray oversized = write(new JsonOutputWriter(), sampleViewModel()).getAsJsonArray("oversized_pieces");
+
+        // 60x40 and 40x60 are the same size; the unpacked 200x120 piece is counted too
+        assertEquals(2, oversized.size());
+        JsonObject first = oversized.get(0).getAsJsonObject();
+        assertEquals(60.0, first.get("side1").getAsDouble());
+        assertEquals(40.0, first.get("side2").getAsDouble());
+        assertEquals(2, first.get("quantity").getAsInt());
+        JsonObject second = oversized.get(1).getAsJsonObject();
+        assertEquals(200.0, second.get("side1").getAsDouble());
+        assertEquals(1, second.get("quantity").getAsInt());
+    }
+
+    @Test
+    void testDetailedSectionListsEveryContainerBoxAndArt() throws Exception {
+        JsonObject json = write(new JsonOutputWriter(true), sampleViewModel());
+
+        JsonArray containers = json.getAsJsonArray("containers");
+        assertEquals(2, containers.size());
+        JsonObject crate = containers.get(1).getAsJsonObject();
+        assertEquals("Container-2", crate.get("id").getAsString());
+        assertEquals("STANDARD_CRATE", crate.get("type").getAsString());
+        JsonArray arts = crate.getAsJsonArray("boxes").get(0).getAsJsonObject().getAsJsonArray("arts");
+        assertEquals(List.of("a2", "a3"),
+            List.of(arts.get(0).getAsJsonObject().get("id").getAsString(),
+                    arts.get(1).getAsJsonObject().get("id").getAsString()));
+
+        JsonArray custom = json.getAsJsonArray("custom_pieces");
+        assertEquals(1, custom.size());
+        assertEquals("CANVAS", custom.get(0).getAsJsonObject().get("material").getAsString());
+        // The summary is unchanged by the detailed section
+        assertEquals(4, json.get("total_pieces").getAsInt());
+    }
+
+    @Test
+    void testEmptyPlanStillWritesTheSummary() throws Exception {
+        JsonObject json = write(new JsonOutputWriter(true),
+            new ShipmentViewModel(0, 0, 0, 0, List.of(), List.of()));
+
+        assertEquals(0, json.get("total_pieces").getAsInt());
+        assertEquals(0, json.getAsJsonArray("oversized_pieces").size());
+        assertEquals(0, json.getAsJsonArray("containers").size());
+    }
+
+    @Test
+    void testIdenticalContainersAreWrittenOnceWithTheirCount() throws Exception {
+        List<ContainerViewModel> containers = new ArrayList<>();
+        for (int c = 1; c <= 3; c++) {
+            BoxViewModel box = new BoxViewModel("Box-" + c, "STANDARD", 37, 4, 11, 6,
+                List.of(new ArtViewModel("a" + c, 30, 20, "GLASS", 6)));
+            containers.add(new ContainerViewModel("Container-" + c, "STANDARD_PALLET", 48, 40, 20, 66, List.of(box)));
+        }
+        ShipmentViewModel viewModel = new ShipmentViewModel(198, 0, 3, 3, containers, List.of());
+
+        JsonArray runs = write(new JsonOutputWriter(true), viewModel).getAsJsonArray("containers");
+        assertEquals(1, runs.size());
+        JsonObject run = runs.get(0).getAsJsonObject();
+        assertEquals(3, run.get("count").getAsInt());
+        assertEquals("Container-1", run.get("id").getAsString());
+        assertEquals("Container-3", run.get("last_id").getAsString());
+        JsonObject box = run.getAsJsonArray("boxes").get(0).getAsJsonObject();
+        assertFalse(box.has("id"));
+        assertFalse(box.getAsJsonArray("arts").get(0).getAsJsonObject().has("id"));
+
+        JsonArray expanded = write(new JsonOutputWriter(true, true), viewModel).getAsJsonArray("containers");
+        assertEquals(3, expanded.size());
+        JsonObject last = expanded.get(2).getAsJsonObject();
+        assertEquals(1, last.get("count").getAsInt());
+        assertFalse(last.has("last_id"));
+        assertEquals("a3", last.getAsJsonArray("boxes").get(0).getAsJsonObject()
+            .getAsJsonArray("arts").get(0).getAsJsonObject().get("id").getAsString());
+    }
+}
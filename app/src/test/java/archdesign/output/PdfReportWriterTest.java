@@ -0,0 +1,52 @@
+package archdesign.output;
+
+import archdesign.Main;
+import archdesign.response.ShipmentViewModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the PDF report, from the CLI helper and from batch mode.
+ */
+class PdfReportWriterTest {
+
+    private static final Path SAMPLE = Paths.get("src/test/resources/e2e/sample_input_small.csv");
+
+    private static void assertIsPdf(Path file) throws Exception {
+        assertTrue(Files.size(file) > 0, "Report should not be empty");
+        byte[] header = new byte[5];
+        System.arraycopy(Files.readAllBytes(file), 0, header, 0, header.length);
+        assertEquals("%PDF-", new String(header, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testWritesAReportForAPlan(@TempDir Path dir) throws Exception {
+        ShipmentViewModel viewModel = Main.processFile(SAMPLE.toString());
+        Path report = dir.resolve("report.pdf");
+
+        new PdfReportWriter().write(viewModel, report.toString());
+
+        assertIsPdf(report);
+    }
+
+    @Test
+    void testBatchWritesOneReportPerFileInInputOrder(@TempDir Path dir) throws Exception {
+        Path first = Files.copy(SAMPLE, dir.resolve("first.csv"));
+        Path second = Files.copy(SAMPLE, dir.resolve("second.CSV"));
+
+        List<String> reports = Main.writeReports(List.of(first.toString(), second.toString()), "default");
+
+        assertEquals(List.of(dir.resolve("first.pdf").toString(), dir.resolve("second.pdf").toString()), reports);
+        for (String report : reports) {
+            assertIsPdf(Paths.get(report));
+        }
+    }
+}
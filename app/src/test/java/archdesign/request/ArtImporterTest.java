@@ -68,4 +68,19 @@ public class ArtImporterTest {
 		assertNotNull(arts);
 		assertTrue(arts.isEmpty());
 	}
+
+	@Test
+	void importRecordsYieldsTheSameIdsAsTheFileImport() {
+		List<ArtDataRecord> recs = new ArrayList<>();
+		recs.add(new ArtDataRecord(2, "T7", "Tempered glass", 10, 20));
+
+		ArtImporter importer = new ArtImporter(new StubParser(recs));
+		List<Art> fromFile = importer.importFromFile("x");
+		List<Art> fromRecords = importer.importRecords(recs);
+
+		assertEquals(fromFile.size(), fromRecords.size());
+		for (int i = 0; i < fromFile.size(); i++) {
+			assertEquals(fromFile.get(i).getId(), fromRecords.get(i).getId());
+		}
+	}
 }
@@ -190,4 +190,125 @@ public class ResponseTest {
     // More direct check: plan's total weight should match vm's total weight
     assertEquals(plan.getTotalWeight(), vm.totalWeight(), 1e-9);
     }
+
+    @Test
+    public void generateViewModel_identicalContainers_areConvertedOnceAsARun() {
+        List<Container> containers = new java.util.ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Box box = new Box("b" + i, BoxType.STANDARD, BoxType.STANDARD.getWidth(), BoxType.STANDARD.getLength(), BoxType.STANDARD.getMinHeight());
+            box.addArt(new Art("a" + i, 30, i == 6 ? 24 : 20, 1, Material.GLASS));
+            Container c = new Container("c" + i, ContainerType.STANDARD_PALLET, ContainerType.STANDARD_PALLET.getWidth(), ContainerType.STANDARD_PALLET.getLength(), ContainerType.STANDARD_PALLET.getMinHeight(), ContainerType.STANDARD_PALLET.getWeight(), ContainerType.STANDARD_PALLET.getBaseHeight());
+            c.addBox(box);
+            containers.add(c);
+        }
+
+        ShipmentViewModel vm = new Response(new PackingPlan(containers, 0.0)).generateViewModel();
+
+        assertEquals(2, vm.containerRuns().size());
+        ContainerRunViewModel run = vm.containerRuns().get(0);
+        assertEquals(5, run.count());
+        assertEquals("c1", run.firstId());
+        assertEquals("c5", run.lastId());
+        assertEquals("c6", vm.containerRuns().get(1).pattern().id());
+        assertEquals(6, vm.totalBoxes());
+
+        // Every container is still listed, each with its own IDs
+        assertEquals(6, vm.containers().size());
+        ContainerViewModel fourth = vm.containers().get(3);
+        assertEquals("c4", fourth.id());
+        assertEquals("b4", fourth.boxes().get(0).id());
+        assertEquals("a4", fourth.boxes().get(0).arts().get(0).id());
+        assertEquals(List.of("c1", "c2", "c3", "c4", "c5", "c6"),
+            vm.containers().stream().map(ContainerViewModel::id).toList());
+    }
+
+    @Test
+    public void shipmentViewModel_withoutRuns_groupsItsContainers() {
+        ArtViewModel art = new ArtViewModel("a", 30, 20, "Glass", 6);
+        BoxViewModel box = new BoxViewModel("b", "STANDARD", 37, 11, 31, 36, List.of(art));
+        ContainerViewModel first = new ContainerViewModel("c1", "STANDARD_PALLET", 48, 40, 31, 96, List.of(box));
+        ContainerViewModel second = new ContainerViewModel("c2", "STANDARD_PALLET", 48, 40, 31, 96, List.of(box));
+
+        ShipmentViewModel vm = new ShipmentViewModel(192, 0, 2, 2, List.of(first, second), List.of());
+
+        assertEquals(1, vm.containerRuns().size());
+        assertEquals(2, vm.containerRuns().get(0).count());
+        assertEquals("c2", vm.containerRuns().get(0).lastId());
+    }
+
+    /**
+     * A container list that counts how many containers are read from it.
+     */
+    private static final class CountingList extends java.util.AbstractList<Container> {
+        private final List<Container> containers;
+        private int reads;
+
+        CountingList(List<Container> containers) {
+            this.containers = containers;
+        }
+
+        @Override
+        public Container get(int index) {
+            reads++;
+            return containers.get(index);
+        }
+
+        @Override
+        public int size() {
+            return containers.size();
+        }
+    }
+
+    private static Container palletWithOneArt(int i) {
+        Box box = new Box("b" + i, BoxType.STANDARD, BoxType.STANDARD.getWidth(), BoxType.STANDARD.getLength(), BoxType.STANDARD.getMinHeight());
+        box.addArt(new Art("a" + i, 30, 20 + i % 3, 1, Material.GLASS));
+        Container c = new Container("c" + i, ContainerType.STANDARD_PALLET, ContainerType.STANDARD_PALLET.getWidth(), ContainerType.STANDARD_PALLET.getLength(), ContainerType.STANDARD_PALLET.getMinHeight(), ContainerType.STANDARD_PALLET.getWeight(), ContainerType.STANDARD_PALLET.getBaseHeight());
+        c.addBox(box);
+        return c;
+    }
+
+    @Test
+    public void generateViewModel_convertsContainersOnlyWhenRead() {
+        List<Container> containers = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            containers.add(palletWithOneArt(i));
+        }
+        CountingList counting = new CountingList(containers);
+        PackingPlan plan = new PackingPlan(counting, 0.0);
+        counting.reads = 0;
+
+        ShipmentViewModel vm = new Response(plan).generateViewModel();
+
+        // The summary is ready without reading a single container
+        assertEquals(0, counting.reads);
+        assertEquals(1000, vm.totalContainers());
+        assertEquals(1000, vm.totalBoxes());
+        assertEquals(plan.getTotalWeight(), vm.totalWeight(), 1e-9);
+        assertEquals(1000, vm.statistics().getTotalPieces());
+        assertEquals(0, counting.reads);
+
+        // A page converts only its own containers
+        List<ContainerViewModel> page = vm.containerPage(3, 25);
+        assertEquals(25, page.size());
+        assertEquals("c75", page.get(0).id());
+        assertEquals("a99", page.get(24).boxes().get(0).arts().get(0).id());
+        assertEquals(2, counting.reads);
+    }
+
+    @Test
+    public void shipmentViewModel_pages_coverEveryItemOnce() {
+        List<Container> containers = new java.util.ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            containers.add(palletWithOneArt(i));
+        }
+        List<Art> unpacked = List.of(new Art("u1", 200, 150, 1, Material.GLASS), new Art("u2", 200, 150, 1, Material.GLASS));
+        ShipmentViewModel vm = new Response(new PackingPlan(containers, 0.0, unpacked)).generateViewModel();
+
+        assertEquals(4, vm.containerPageCount(3));
+        assertEquals(List.of("c9"), vm.containerPage(3, 3).stream().map(ContainerViewModel::id).toList());
+        assertTrue(vm.containerPage(4, 3).isEmpty());
+        assertEquals("u2", vm.unpackedArtPage(1, 1).get(0).id());
+        assertThrows(IllegalArgumentException.class, () -> vm.containerPage(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> vm.unpackedArtPage(-1, 10));
+    }
 }
@@ -0,0 +1,123 @@
+package archdesign.service;
+
+import archdesign.entities.Art;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoxDemandProfile.
+ */
+class BoxDemandProfileTest {
+
+    private static List<Art> arts(String prefix, int count) {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            arts.add(new Art(prefix + i, 30, 20, 1, Material.GLASS));
+        }
+        return arts;
+    }
+
+    private static void addAll(BoxDemandProfile.Builder builder, List<Art> arts, BoxType type, int capacity) {
+        for (Art art : arts) {
+            builder.add(art, new PackingOption(type, capacity));
+        }
+    }
+
+    @Test
+    void testKeepsCapacityClassesSeparateWhenThatNeedsFewerBoxes() {
+        List<Art> sixes = arts("six-", 6);
+        List<Art> fours = arts("four-", 4);
+        BoxDemandProfile.Builder builder = BoxDemandProfile.newBuilder();
+        addAll(builder, sixes, BoxType.STANDARD, 6);
+        addAll(builder, fours, BoxType.STANDARD, 4);
+        BoxDemandProfile profile = builder.build();
+
+        // Separate: 1 + 1 boxes; merged at capacity 4: 3 boxes
+        assertFalse(profile.isMerged(BoxType.STANDARD));
+        assertEquals(2, profile.getBoxesNeeded(BoxType.STANDARD));
+        assertEquals(List.of(fours, sixes), profile.getBoxContents(BoxType.STANDARD));
+    }
+
+    @Test
+    void testMergesAtSmallestCapacityWhenThatNeedsFewerBoxes() {
+        List<Art> six = arts("six-", 1);
+        List<Art> fours = arts("four-", 3);
+        BoxDemandProfile.Builder builder = BoxDemandProfile.newBuilder();
+        addAll(builder, six, BoxType.LARGE, 6);
+        addAll(builder, fours, BoxType.LARGE, 4);
+        BoxDemandProfile profile = builder.build();
+
+        // Separate: 1 + 1 boxes; merged at capacity 4: 1 box, smallest class first
+        assertTrue(profile.isMerged(BoxType.LARGE));
+        assertEquals(1, profile.getBoxesNeeded(BoxType.LARGE));
+        List<Art> expected = new ArrayList<>(fours);
+        expected.addAll(six);
+        assertEquals(List.of(expected), profile.getBoxContents(BoxType.LARGE));
+    }
+
+    @Test
+    void testTieKeepsCapacityClassesSeparate() {
+        BoxDemandProfile.Builder builder = BoxDemandProfile.newBuilder();
+        addAll(builder, arts("two-", 1), BoxType.STANDARD, 2);
+        addAll(builder, arts("three-", 3), BoxType.STANDARD, 3);
+        BoxDemandProfile profile = builder.build();
+
+        assertFalse(profile.isMerged(BoxType.STANDARD));
+        assertEquals(2, profile.getBoxesNeeded(BoxType.STANDARD));
+    }
+
+    @Test
+    void testCountsAndTotalsAcrossBoxTypes() {
+        List<Art> standard = arts("s-", 5);
+        List<Art> crate = arts("c-", 7);
+        BoxDemandProfile.Builder builder = BoxDemandProfile.newBuilder();
+        addAll(builder, standard, BoxType.STANDARD, 2);
+        addAll(builder, crate, BoxType.CRATE, 3);
+        BoxDemandProfile profile = builder.build();
+
+        assertEquals(Map.of(BoxType.STANDARD, 3, BoxType.CRATE, 3), profile.getBoxesNeeded());
+        assertEquals(6, profile.getTotalBoxes());
+        assertEquals(12, profile.getTotalArts());
+        assertEquals(5, profile.getArtCount(BoxType.STANDARD));
+        assertEquals(7, profile.getArtCount(BoxType.CRATE, 3));
+        assertEquals(0, profile.getArtCount(BoxType.CRATE, 2));
+        assertEquals(3, profile.getMinCapacity(BoxType.CRATE));
+
+        double expectedWeight = 0;
+        for (Art art : standard) {
+            expectedWeight += art.getWeight();
+        }
+        for (Art art : crate) {
+            expectedWeight += art.getWeight();
+        }
+        assertEquals(expectedWeight, profile.getTotalArtWeight(), 1e-9);
+
+        // Box contents cover every art exactly once
+        int packed = 0;
+        for (List<Art> box : profile.getBoxContents(BoxType.CRATE)) {
+            assertTrue(box.size() <= 3);
+            packed += box.size();
+        }
+        assertEquals(7, packed);
+    }
+
+    @Test
+    void testUnusedBoxTypeAndZeroCapacity() {
+        BoxDemandProfile.Builder builder = BoxDemandProfile.newBuilder();
+        addAll(builder, arts("z-", 2), BoxType.UPS_SMALL, 0);
+        BoxDemandProfile profile = builder.build();
+
+        // Capacities below 1 count as one art per box
+        assertEquals(2, profile.getBoxesNeeded(BoxType.UPS_SMALL));
+        assertEquals(0, profile.getBoxesNeeded(BoxType.CRATE));
+        assertTrue(profile.getBoxContents(BoxType.CRATE).isEmpty());
+        assertFalse(profile.isMerged(BoxType.CRATE));
+    }
+}
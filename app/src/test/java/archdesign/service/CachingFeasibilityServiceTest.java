@@ -0,0 +1,69 @@
+package archdesign.service;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.UserConstraints;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that CachingFeasibilityService answers exactly like FeasibilityService.
+ */
+class CachingFeasibilityServiceTest {
+
+    private final UserConstraints defaults = new UserConstraints();
+    private final FeasibilityService plain =
+        new FeasibilityService(RuleProvider.getBoxRules(defaults), RuleProvider.getContainerRules());
+    private final CachingFeasibilityService caching =
+        new CachingFeasibilityService(RuleProvider.getBoxRules(defaults), RuleProvider.getContainerRules());
+
+    private final List<UserConstraints> scenarios = List.of(
+        defaults,
+        UserConstraints.newBuilder().build(),
+        UserConstraints.newBuilder()
+            .withAllowedBoxTypes(List.of(BoxType.STANDARD, BoxType.LARGE))
+            .withAllowedContainerTypes(List.of(ContainerType.STANDARD_PALLET, ContainerType.OVERSIZE_PALLET))
+            .build(),
+        UserConstraints.newBuilder()
+            .withAllowedBoxTypes(List.of(BoxType.CRATE))
+            .withAllowedContainerTypes(List.of(ContainerType.STANDARD_CRATE))
+            .build());
+
+    @Test
+    void testPackingOptionsMatchTheUncachedService() {
+        for (UserConstraints constraints : scenarios) {
+            for (Material material : Material.values()) {
+                for (int width = 10; width <= 90; width += 8) {
+                    for (int height = 12; height <= 90; height += 13) {
+                        Art art = new Art("a", height, width, 1, material);
+                        // Twice, so the second answer comes from the cache
+                        assertEquals(plain.getValidPackingOptions(art, constraints),
+                            caching.getValidPackingOptions(art, constraints));
+                        assertEquals(plain.getValidPackingOptions(art, constraints),
+                            caching.getValidPackingOptions(art, constraints));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testContainerOptionsMatchTheUncachedService() {
+        for (UserConstraints constraints : scenarios) {
+            for (BoxType boxType : BoxType.values()) {
+                Box box = new Box("b", boxType, 1, 1, 1);
+                assertEquals(plain.getValidContainerOptions(box, constraints),
+                    caching.getValidContainerOptions(box, constraints));
+                assertEquals(plain.getValidContainerOptions(box, constraints),
+                    caching.getValidContainerOptions(box, constraints));
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package archdesign.service;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.interactor.UserConstraints;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContainerConsolidator.
+ */
+class ContainerConsolidatorTest {
+
+    private int boxCount;
+    private int containerCount;
+    private final ContainerConsolidator consolidator = new ContainerConsolidator(this::container);
+
+    private Container container(ContainerType type) {
+        return new Container("Container-" + containerCount++, type, type.getWidth(), type.getLength(),
+            type.getMinHeight(), type.getWeight(), type.getBaseHeight());
+    }
+
+    private Container pallet(ContainerType type, BoxType... boxTypes) {
+        Container container = container(type);
+        for (BoxType boxType : boxTypes) {
+            container.addBox(new Box("Box-" + boxCount++, boxType,
+                boxType.getWidth(), boxType.getLength(), boxType.getMinHeight()));
+        }
+        return container;
+    }
+
+    private static int totalBoxes(List<Container> containers) {
+        return containers.stream().mapToInt(c -> c.getBoxesInContainer().size()).sum();
+    }
+
+    @Test
+    void testMergesStandardOnlyPalletsIntoOversize() {
+        Container a = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD, BoxType.STANDARD);
+        Container b = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD, BoxType.STANDARD);
+
+        List<Container> result = consolidator.consolidateContainers(List.of(a, b), new UserConstraints());
+
+        assertEquals(1, result.size());
+        assertEquals(ContainerType.OVERSIZE_PALLET, result.get(0).getContainerType());
+        assertEquals(4, result.get(0).getBoxesInContainer().size());
+    }
+
+    @Test
+    void testMergedPalletCanMergeAgain() {
+        // A and B merge into a mixed 2-box pallet, which then absorbs C's STANDARD box
+        Container a = pallet(ContainerType.STANDARD_PALLET, BoxType.LARGE);
+        Container b = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD);
+        Container c = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD);
+
+        List<Container> result = consolidator.consolidateContainers(List.of(a, b, c), new UserConstraints());
+
+        assertEquals(1, result.size());
+        assertEquals(ContainerType.STANDARD_PALLET, result.get(0).getContainerType());
+        assertEquals(3, result.get(0).getBoxesInContainer().size());
+    }
+
+    @Test
+    void testLeavesMixedPairsThatWouldExceedThreeBoxes() {
+        Container a = pallet(ContainerType.STANDARD_PALLET, BoxType.LARGE, BoxType.LARGE);
+        Container b = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD, BoxType.STANDARD);
+
+        List<Container> result = consolidator.consolidateContainers(List.of(a, b), new UserConstraints());
+
+        assertEquals(List.of(a, b), result);
+    }
+
+    @Test
+    void testNothingMergesWithoutOversizePallets() {
+        UserConstraints constraints = UserConstraints.newBuilder()
+            .withAllowedContainerTypes(List.of(ContainerType.STANDARD_PALLET))
+            .build();
+        List<Container> containers = List.of(
+            pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD),
+            pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD));
+
+        assertSame(containers, consolidator.consolidateContainers(containers, constraints));
+        assertSame(containers, consolidator.consolidateUnderutilizedContainers(containers, constraints));
+    }
+
+    @Test
+    void testMovesLargeBoxesOntoPalletWithRoom() {
+        Container a = pallet(ContainerType.STANDARD_PALLET, BoxType.LARGE, BoxType.LARGE);
+        Container b = pallet(ContainerType.STANDARD_PALLET, BoxType.LARGE);
+        Container c = pallet(ContainerType.STANDARD_PALLET, BoxType.LARGE, BoxType.STANDARD);
+
+        List<Container> result = consolidator.consolidateUnderutilizedContainers(List.of(a, b, c), new UserConstraints());
+
+        // B's box joins C (same LARGE count, later in the list); B is dropped
+        assertEquals(List.of(a, c), result);
+        assertEquals(2, a.getBoxesInContainer().size());
+        assertEquals(3, c.getBoxesInContainer().size());
+    }
+
+    @Test
+    void testUpgradesFullPalletToAbsorbSingleBox() {
+        Container full = pallet(ContainerType.STANDARD_PALLET,
+            BoxType.STANDARD, BoxType.STANDARD, BoxType.STANDARD, BoxType.STANDARD);
+        Container single = pallet(ContainerType.STANDARD_PALLET, BoxType.STANDARD);
+
+        List<Container> result = consolidator.consolidateUnderutilizedContainers(List.of(full, single), new UserConstraints());
+
+        assertEquals(1, result.size());
+        assertEquals(full.getId(), result.get(0).getId());
+        assertEquals(ContainerType.OVERSIZE_PALLET, result.get(0).getContainerType());
+        assertEquals(5, result.get(0).getBoxesInContainer().size());
+    }
+
+    @Test
+    void testScalesToThousandsOfPallets() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            containers.add(pallet(ContainerType.STANDARD_PALLET, i % 2 == 0 ? BoxType.LARGE : BoxType.STANDARD));
+        }
+
+        List<Container> merged = consolidator.consolidateContainers(containers, new UserConstraints());
+        assertTrue(merged.size() < containers.size());
+        assertEquals(20_000, totalBoxes(merged));
+
+        List<Container> upgraded = consolidator.consolidateUnderutilizedContainers(merged, new UserConstraints());
+        assertEquals(20_000, totalBoxes(upgraded));
+    }
+}
@@ -0,0 +1,76 @@
+package archdesign.service;
+
+import archdesign.entities.Art;
+import archdesign.entities.enums.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderChunker.
+ */
+class OrderChunkerTest {
+
+    private static List<Art> arts(String prefix, int count, double height, double width, Material material) {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            arts.add(new Art(prefix + i, height, width, 1, material));
+        }
+        return arts;
+    }
+
+    @Test
+    void testChunksAreBoundedAndCoverTheOrder() {
+        List<Art> order = new ArrayList<>();
+        order.addAll(arts("a", 7, 30, 20, Material.GLASS));
+        order.addAll(arts("b", 5, 40, 30, Material.GLASS));
+        order.addAll(arts("c", 4, 30, 20, Material.ACRYLIC));
+
+        List<List<Art>> chunks = OrderChunker.split(order, 5);
+
+        Set<Art> seen = new HashSet<>();
+        for (List<Art> chunk : chunks) {
+            assertTrue(chunk.size() <= 5);
+            seen.addAll(chunk);
+        }
+        assertEquals(new HashSet<>(order), seen);
+        assertEquals(order.size(), chunks.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void testChunksNeverMixMaterials() {
+        List<Art> order = new ArrayList<>();
+        order.addAll(arts("g", 3, 30, 20, Material.GLASS));
+        order.addAll(arts("m", 3, 30, 20, Material.MIRROR));
+
+        List<List<Art>> chunks = OrderChunker.split(order, 10);
+
+        assertEquals(2, chunks.size());
+        for (List<Art> chunk : chunks) {
+            Material material = chunk.get(0).getMaterial();
+            assertTrue(chunk.stream().allMatch(art -> art.getMaterial() == material));
+        }
+    }
+
+    @Test
+    void testLargestSkusComeFirstAndStayTogether() {
+        List<Art> small = arts("s", 3, 20, 16, Material.GLASS);
+        List<Art> large = arts("l", 3, 44, 30, Material.GLASS);
+        List<Art> order = new ArrayList<>(small);
+        order.addAll(large);
+
+        List<List<Art>> chunks = OrderChunker.split(order, 3);
+
+        assertEquals(List.of(large, small), chunks);
+    }
+
+    @Test
+    void testRejectsNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> OrderChunker.split(List.of(), 0));
+    }
+}
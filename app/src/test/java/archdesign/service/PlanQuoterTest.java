@@ -0,0 +1,129 @@
+package archdesign.service;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.costing.PlaceholderCostStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlanQuoter with the real rules and the placeholder cost strategy.
+ */
+class PlanQuoterTest {
+
+    private UserConstraints constraints;
+    private OptimizationService service;
+
+    @BeforeEach
+    void setUp() {
+        constraints = new UserConstraints();
+        FeasibilityService feasibilityService =
+            new FeasibilityService(RuleProvider.getBoxRules(constraints), RuleProvider.getContainerRules());
+        service = new OptimizationService(feasibilityService, new PlaceholderCostStrategy());
+    }
+
+    private PackingPlan planOf(int glassPieces) {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < glassPieces; i++) {
+            arts.add(new Art("G" + i, 30, 20, 1, Material.GLASS));
+        }
+        return service.createOptimalPlan(arts, constraints);
+    }
+
+    @Test
+    void testAdditionThatFitsIsQuotedFromFreeCapacity() {
+        PackingPlan plan = planOf(5);
+        PlanQuoter quoter = service.createQuoter(plan, constraints);
+        double pieceWeight = new Art("p", 30, 20, 1, Material.GLASS).getWeight();
+
+        MarginalQuote quote = quoter.quoteAddition(Material.GLASS, 20, 30, 1);
+
+        assertFalse(quote.resolved());
+        assertEquals(0, quote.containerDelta());
+        assertEquals(pieceWeight, quote.weightDelta(), 1e-9);
+        assertEquals(new PlaceholderCostStrategy().estimateCost(null, pieceWeight), quote.costDelta(), 1e-9);
+        // Quotes never touch the plan
+        assertEquals(5, plan.getContainers().stream()
+            .flatMap(c -> c.getBoxesInContainer().stream())
+            .mapToInt(b -> b.getArtsInBox().size()).sum());
+    }
+
+    @Test
+    void testAdditionNeedingNewContainersIsResolved() {
+        PackingPlan plan = planOf(5);
+        PlanQuoter quoter = service.createQuoter(plan, constraints);
+
+        MarginalQuote quote = quoter.quoteAddition(Material.GLASS, 20, 30, 200);
+
+        assertTrue(quote.resolved());
+        assertTrue(quote.containerDelta() > 0);
+        assertTrue(quote.costDelta() > 0);
+        assertEquals(200, quote.pieces());
+    }
+
+    @Test
+    void testResolvedQuotePrintsNothing() {
+        PackingPlan plan = planOf(5);
+        PlanQuoter quoter = service.createQuoter(plan, constraints);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(out));
+        MarginalQuote quote;
+        try {
+            quote = quoter.quoteAddition(Material.GLASS, 20, 30, 200);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertTrue(quote.resolved());
+        assertEquals("", out.toString(), "A quote re-solves behind its own answer, without progress lines");
+    }
+
+    @Test
+    void testRemovalFromAFullerBoxIsQuotedFromTheBox() {
+        PackingPlan plan = planOf(5);
+        PlanQuoter quoter = service.createQuoter(plan, constraints);
+        double pieceWeight = new Art("p", 30, 20, 1, Material.GLASS).getWeight();
+
+        MarginalQuote quote = quoter.quoteRemoval(Material.GLASS, 20, 30, 1);
+
+        assertFalse(quote.resolved());
+        assertEquals(-1, quote.pieces());
+        assertEquals(-pieceWeight, quote.weightDelta(), 1e-9);
+        assertTrue(quote.costDelta() < 0);
+    }
+
+    @Test
+    void testRemovingEverythingIsResolved() {
+        PackingPlan plan = planOf(5);
+        PlanQuoter quoter = service.createQuoter(plan, constraints);
+
+        MarginalQuote quote = quoter.quoteRemoval(Material.GLASS, 20, 30, 10);
+
+        assertTrue(quote.resolved());
+        assertEquals(-5, quote.pieces());
+        assertEquals(-plan.getTotalContainerCount(), quote.containerDelta());
+        assertEquals(-plan.getTotalCost(), quote.costDelta(), 1e-6);
+    }
+
+    @Test
+    void testOversizedAdditionShipsAsCustomPieces() {
+        PlanQuoter quoter = service.createQuoter(planOf(5), constraints);
+
+        MarginalQuote quote = quoter.quoteAddition(Material.GLASS, 200, 200, 3);
+
+        assertEquals(3, quote.customPieces());
+        assertEquals(0.0, quote.costDelta());
+    }
+}
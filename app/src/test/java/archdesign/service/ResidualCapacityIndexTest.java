@@ -0,0 +1,108 @@
+package archdesign.service;
+
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResidualCapacityIndex.
+ */
+class ResidualCapacityIndexTest {
+
+    private static final Map<ContainerType, Map<BoxType, Integer>> CAPACITIES = Map.of(
+        ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4, BoxType.LARGE, 3),
+        ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5, BoxType.LARGE, 3),
+        ContainerType.STANDARD_CRATE, Map.of(BoxType.CRATE, 1));
+
+    private int boxCount;
+
+    private Box box(BoxType type) {
+        return new Box("Box-" + boxCount++, type, type.getWidth(), type.getLength(), type.getMinHeight());
+    }
+
+    private static Container container(String id, ContainerType type) {
+        return new Container(id, type, type.getWidth(), type.getLength(),
+            type.getMinHeight(), type.getWeight(), type.getBaseHeight());
+    }
+
+    @Test
+    void testFillsContainersFirstFit() {
+        List<Container> containers = List.of(
+            container("C1", ContainerType.STANDARD_PALLET),
+            container("C2", ContainerType.STANDARD_PALLET));
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers, CAPACITIES);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(index.place(box(BoxType.STANDARD)));
+        }
+        assertEquals(4, containers.get(0).getBoxesInContainer().size());
+        assertEquals(2, containers.get(1).getBoxesInContainer().size());
+        assertEquals(0, index.freeSlots(0, BoxType.STANDARD));
+        assertEquals(2, index.freeSlots(1, BoxType.STANDARD));
+    }
+
+    @Test
+    void testMixedContainerUsesSmallestCapacity() {
+        List<Container> containers = List.of(container("C1", ContainerType.OVERSIZE_PALLET));
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers, CAPACITIES);
+
+        assertTrue(index.place(box(BoxType.LARGE)));
+        // Holding a LARGE box caps the pallet at 3 boxes, even for STANDARD boxes
+        assertEquals(2, index.freeSlots(0, BoxType.STANDARD));
+        assertTrue(index.place(box(BoxType.STANDARD)));
+        assertTrue(index.place(box(BoxType.STANDARD)));
+        assertFalse(index.place(box(BoxType.STANDARD)));
+        assertEquals(3, containers.get(0).getBoxesInContainer().size());
+    }
+
+    @Test
+    void testSkipsContainersThatCannotHoldTheType() {
+        List<Container> containers = List.of(
+            container("C1", ContainerType.STANDARD_CRATE),
+            container("C2", ContainerType.STANDARD_PALLET));
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers, CAPACITIES);
+
+        assertTrue(index.place(box(BoxType.STANDARD)));
+        assertTrue(containers.get(0).getBoxesInContainer().isEmpty());
+        assertTrue(index.place(box(BoxType.CRATE)));
+        assertFalse(index.place(box(BoxType.CRATE)));
+        assertEquals(1, containers.get(0).getBoxesInContainer().size());
+    }
+
+    @Test
+    void testAccountsForBoxesAlreadyInContainers() {
+        Container partial = container("C1", ContainerType.OVERSIZE_PALLET);
+        partial.addBox(box(BoxType.LARGE));
+        partial.addBox(box(BoxType.STANDARD));
+        ResidualCapacityIndex index = new ResidualCapacityIndex(List.of(partial), CAPACITIES);
+
+        assertEquals(1, index.freeSlots(0, BoxType.STANDARD));
+        assertTrue(index.place(box(BoxType.STANDARD)));
+        assertFalse(index.place(box(BoxType.LARGE)));
+    }
+
+    @Test
+    void testPlacesThousandsOfBoxes() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            containers.add(container("C" + i, ContainerType.STANDARD_PALLET));
+        }
+        ResidualCapacityIndex index = new ResidualCapacityIndex(containers, CAPACITIES);
+
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(index.place(box(BoxType.STANDARD)));
+        }
+        assertFalse(index.place(box(BoxType.STANDARD)));
+        for (Container c : containers) {
+            assertEquals(4, c.getBoxesInContainer().size());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package archdesign.service.portfolio;
+
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.PackingPlan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PortfolioSolver using fake strategies with fixed results.
+ */
+class PortfolioSolverTest {
+
+    private ExecutorService executor;
+    private PortfolioStatistics statistics;
+    private PortfolioSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        statistics = new PortfolioStatistics();
+        solver = new PortfolioSolver(executor, statistics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCheapestValidPlanWins() {
+        PackingPlan expensive = planWithArts(2, 300.0);
+        PackingPlan cheap = planWithArts(2, 100.0);
+
+        PackingPlan result = solver.solve(List.of(
+            fixed("expensive", expensive, false),
+            fixed("cheap", cheap, false)
+        ), Duration.ofSeconds(5), 2);
+
+        assertSame(cheap, result, "The cheaper plan should win");
+        Map<String, StrategyStats> stats = statistics.snapshot();
+        assertEquals(1, stats.get("cheap").wins());
+        assertEquals(0, stats.get("expensive").wins());
+        assertEquals(1, stats.get("expensive").runs());
+    }
+
+    @Test
+    void testPlanMissingArtsIsRejected() {
+        PackingPlan incomplete = planWithArts(1, 10.0);
+        PackingPlan complete = planWithArts(3, 500.0);
+
+        PackingPlan result = solver.solve(List.of(
+            fixed("incomplete", incomplete, false),
+            fixed("complete", complete, false)
+        ), Duration.ofSeconds(5), 3);
+
+        assertSame(complete, result, "A plan that loses arts must never win, however cheap");
+    }
+
+    @Test
+    void testSlowStrategyIsCancelledAtDeadline() throws InterruptedException {
+        PackingPlan quick = planWithArts(1, 50.0);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        CountDownLatch released = new CountDownLatch(1);
+
+        PortfolioStrategy slow = new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) throws Exception {
+                try {
+                    Thread.sleep(10_000);
+                } finally {
+                    released.countDown();
+                }
+                return false;
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        };
+
+        long start = System.nanoTime();
+        PackingPlan result = solver.solve(List.of(fixed("quick", quick, false), slow),
+            Duration.ofMillis(200), 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertSame(quick, result);
+        assertTrue(elapsedMillis < 5_000, "Solve should return shortly after the deadline");
+        assertTrue(cancelled.get(), "The slow strategy should be cancelled");
+        assertTrue(released.await(2, TimeUnit.SECONDS), "The slow worker should be interrupted");
+        assertEquals(1, statistics.snapshot().get("slow").cancellations());
+    }
+
+    @Test
+    void testProvenOptimumEndsRaceEarly() {
+        PackingPlan optimal = planWithArts(1, 20.0);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        PortfolioStrategy blocking = new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "blocking";
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) throws Exception {
+                Thread.sleep(10_000);
+                return false;
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        };
+
+        long start = System.nanoTime();
+        PackingPlan result = solver.solve(List.of(fixed("exact", optimal, true), blocking),
+            Duration.ofSeconds(10), 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertSame(optimal, result);
+        assertTrue(elapsedMillis < 5_000, "A proven optimum should end the race before the deadline");
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void testFailingStrategyDoesNotAbortRace() {
+        PackingPlan plan = planWithArts(1, 75.0);
+        PortfolioStrategy failing = new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        PackingPlan result = solver.solve(List.of(failing, fixed("ok", plan, false)),
+            Duration.ofSeconds(5), 1);
+
+        assertSame(plan, result);
+        assertEquals(1, statistics.snapshot().get("failing").runs());
+    }
+
+    @Test
+    void testStrategyThrowingErrorDoesNotAbortRace() {
+        PackingPlan cheap = planWithArts(1, 40.0);
+        PortfolioStrategy broken = new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "broken";
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) {
+                throw new UnsatisfiedLinkError("no native library");
+            }
+        };
+        PortfolioStrategy slower = new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return "slower";
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) throws Exception {
+                Thread.sleep(100);
+                sink.publish(cheap);
+                return false;
+            }
+        };
+
+        PackingPlan result = solver.solve(List.of(broken, slower), Duration.ofSeconds(5), 1);
+
+        assertSame(cheap, result, "The race should wait for the other strategies");
+        assertEquals(1, statistics.snapshot().get("broken").runs());
+        assertEquals(0, statistics.snapshot().get("slower").cancellations());
+    }
+
+    @Test
+    void testReturnsNullWhenNothingPublished() {
+        PackingPlan result = solver.solve(List.of(fixed("none", null, false)), Duration.ofSeconds(1), 1);
+        assertNull(result);
+        assertEquals(0, statistics.snapshot().get("none").wins());
+    }
+
+    @Test
+    void testStrategyStatsDerivedValues() {
+        StrategyStats stats = new StrategyStats("x", 4, 1, 0, 8_000_000L);
+        assertEquals(2.0, stats.averageLatencyMillis(), 0.0001);
+        assertEquals(0.25, stats.winRate(), 0.0001);
+
+        StrategyStats empty = new StrategyStats("y", 0, 0, 0, 0);
+        assertEquals(0.0, empty.averageLatencyMillis(), 0.0001);
+        assertEquals(0.0, empty.winRate(), 0.0001);
+    }
+
+    private static PortfolioStrategy fixed(String name, PackingPlan plan, boolean optimal) {
+        return new PortfolioStrategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean run(IncumbentSink sink, long deadlineNanos) {
+                sink.publish(plan);
+                return optimal;
+            }
+        };
+    }
+
+    private static PackingPlan planWithArts(int artCount, double cost) {
+        Box box = new Box("B1", BoxType.STANDARD, 37, 11, 31);
+        for (int i = 0; i < artCount; i++) {
+            box.addArt(new Art("A" + i, 30, 30, 0, Material.GLASS));
+        }
+        Container container = new Container("C1", ContainerType.STANDARD_PALLET, 48, 40, 0, 60, 0);
+        container.addBox(box);
+        List<Container> containers = new ArrayList<>();
+        containers.add(container);
+        return new PackingPlan(containers, cost);
+    }
+}
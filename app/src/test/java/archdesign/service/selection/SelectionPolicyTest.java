@@ -0,0 +1,140 @@
+package archdesign.service.selection;
+
+import archdesign.config.SelectionPolicyProvider;
+import archdesign.config.spec.SelectionRuleSpecification;
+import archdesign.entities.Art;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobFeatures extraction, the default selection table and JSON-loaded tables.
+ */
+class SelectionPolicyTest {
+
+    @Test
+    void testExtractFeatures() {
+        List<Art> arts = List.of(
+            new Art("A1", 30, 20, 1, Material.GLASS),
+            new Art("A2", 30, 20, 1, Material.GLASS),
+            new Art("A3", 40, 30, 1, Material.GLASS),
+            new Art("A4", 30, 20, 1, Material.CANVAS_FRAMED)
+        );
+
+        JobFeatures features = JobFeatures.extract(arts, Map.of(BoxType.STANDARD, 3, BoxType.CRATE, 1));
+
+        assertEquals(4, features.pieceCount());
+        assertEquals(3, features.distinctSkus());
+        assertEquals(2, features.materialCount());
+        assertEquals(4, features.boxCount());
+        assertTrue(features.mixedBoxTypes());
+        assertEquals(0.25, features.crateShare(), 0.0001);
+    }
+
+    @Test
+    void testExtractFeatures_NoBoxes() {
+        JobFeatures features = JobFeatures.extract(List.of(), Map.of());
+
+        assertEquals(0, features.pieceCount());
+        assertFalse(features.mixedBoxTypes());
+        assertEquals(0.0, features.crateShare(), 0.0001);
+    }
+
+    @Test
+    void testDefaultPolicy_SingleSkuUsesClosedForm() {
+        JobFeatures features = new JobFeatures(12, 1, 1, 3, false, 0.0);
+        assertEquals(Algorithm.CLOSED_FORM, SelectionPolicy.defaultPolicy().select(features).algorithm());
+    }
+
+    @Test
+    void testDefaultPolicy_RegularJobUsesDp() {
+        JobFeatures features = new JobFeatures(120, 14, 3, 30, true, 0.1);
+        assertEquals(Algorithm.DP, SelectionPolicy.defaultPolicy().select(features).algorithm());
+    }
+
+    @Test
+    void testDefaultPolicy_ScalesWithSize() {
+        SelectionPolicy policy = SelectionPolicy.defaultPolicy();
+
+        AlgorithmChoice medium = policy.select(new JobFeatures(50_000, 2, 1, 800, true, 0.0));
+        assertEquals(Algorithm.DP, medium.algorithm(), "Many pieces in few boxes are still a small DP");
+
+        // Large jobs try the DP first; the workers are for its CP-SAT fallthrough
+        AlgorithmChoice large = policy.select(new JobFeatures(50_000, 500, 6, 12_000, true, 0.2));
+        assertEquals(Algorithm.DP, large.algorithm());
+        assertTrue(large.workers() > 1);
+
+        AlgorithmChoice huge = policy.select(new JobFeatures(500_000, 5_000, 6, 120_000, true, 0.2));
+        assertEquals(Algorithm.LNS, huge.algorithm());
+        assertTrue(huge.timeLimit().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void testFirstMatchingRuleWins() {
+        SelectionPolicy policy = new SelectionPolicy(List.of(
+            SelectionRuleSpecification.newBuilder("crate heavy")
+                .withCrateShareBetween(0.8, 1.0)
+                .useAlgorithm(Algorithm.GREEDY)
+                .build(),
+            SelectionRuleSpecification.newBuilder("everything else")
+                .useAlgorithm(Algorithm.DP)
+                .build()
+        ));
+
+        AlgorithmChoice crates = policy.select(new JobFeatures(10, 2, 1, 10, false, 0.9));
+        assertEquals(Algorithm.GREEDY, crates.algorithm());
+        assertEquals("crate heavy", crates.rule());
+
+        AlgorithmChoice pallets = policy.select(new JobFeatures(10, 2, 1, 10, false, 0.1));
+        assertEquals(Algorithm.DP, pallets.algorithm());
+    }
+
+    @Test
+    void testLoadRulesFromJson() {
+        String json = "[" +
+            "{\"description\":\"tiny\",\"maxPieces\":10,\"maxBoxes\":3,\"algorithm\":\"GREEDY\"}," +
+            "{\"maxMaterials\":2,\"mixedBoxTypes\":true,\"algorithm\":\"CP_SAT\",\"workers\":4,\"timeLimitMillis\":1500}," +
+            "{\"algorithm\":\"DP\"}" +
+            "]";
+
+        List<SelectionRuleSpecification> rules = SelectionPolicyProvider.loadRules(new StringReader(json));
+        SelectionPolicy policy = new SelectionPolicy(rules);
+
+        assertEquals(3, rules.size());
+        assertEquals(Algorithm.GREEDY, policy.select(new JobFeatures(5, 1, 1, 2, false, 0.0)).algorithm());
+        assertEquals(Algorithm.DP, policy.select(new JobFeatures(5, 1, 1, 4, false, 0.0)).algorithm());
+
+        AlgorithmChoice mixed = policy.select(new JobFeatures(50, 4, 2, 20, true, 0.0));
+        assertEquals(Algorithm.CP_SAT, mixed.algorithm());
+        assertEquals(4, mixed.workers());
+        assertEquals(Duration.ofMillis(1500), mixed.timeLimit());
+
+        assertEquals(Algorithm.DP, policy.select(new JobFeatures(50, 4, 3, 20, true, 0.0)).algorithm());
+    }
+
+    @Test
+    void testLoadRulesRejectsRuleWithoutAlgorithm() {
+        assertThrows(IllegalArgumentException.class,
+            () -> SelectionPolicyProvider.loadRules(new StringReader("[{\"maxPieces\":10}]")));
+    }
+
+    @Test
+    void testLoadRulesRejectsMalformedJson() {
+        assertThrows(IllegalArgumentException.class,
+            () -> SelectionPolicyProvider.loadRules(new StringReader("[{\"maxPieces\":")));
+    }
+
+    @Test
+    void testNoMatchingRuleFallsBackToDp() {
+        SelectionPolicy policy = new SelectionPolicy(new ArrayList<>());
+        assertEquals(Algorithm.DP, policy.select(new JobFeatures(1, 1, 1, 1, false, 0.0)).algorithm());
+    }
+}
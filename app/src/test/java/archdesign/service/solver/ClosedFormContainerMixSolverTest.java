@@ -0,0 +1,76 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClosedFormContainerMixSolver.
+ */
+class ClosedFormContainerMixSolverTest {
+
+    private final ClosedFormContainerMixSolver solver = new ClosedFormContainerMixSolver();
+
+    @Test
+    void testSingleContainerTypeCount() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.CRATE, 7),
+            Map.of(ContainerType.STANDARD_CRATE, Map.of(BoxType.CRATE, 1)),
+            Map.of(ContainerType.STANDARD_CRATE, 5L),
+            100);
+
+        assertTrue(solver.canSolve(problem));
+        assertEquals(Map.of(ContainerType.STANDARD_CRATE, 7), solver.solve(problem).containerCounts());
+    }
+
+    @Test
+    void testMixedTotalUsesMinCapacity() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 4, BoxType.LARGE, 2),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4, BoxType.LARGE, 3)),
+            Map.of(ContainerType.STANDARD_PALLET, 5L),
+            100);
+
+        // Per type: max(ceil(4/4), ceil(2/3)) = 1, but mixed: ceil(6/3) = 2
+        assertEquals(Map.of(ContainerType.STANDARD_PALLET, 2), solver.solve(problem).containerCounts());
+    }
+
+    @Test
+    void testAgreesWithDp() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 9, BoxType.LARGE, 5),
+            Map.of(ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5, BoxType.LARGE, 3)),
+            Map.of(ContainerType.OVERSIZE_PALLET, 7L),
+            100);
+
+        assertEquals(new DpContainerMixSolver().solve(problem).containerCounts(),
+            solver.solve(problem).containerCounts());
+    }
+
+    @Test
+    void testInfeasibleWhenBoxTypeDoesNotFit() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.CRATE, 1),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4)),
+            Map.of(ContainerType.STANDARD_PALLET, 5L),
+            100);
+
+        assertNull(solver.solve(problem));
+    }
+
+    @Test
+    void testCannotSolveSeveralContainerTypes() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 1),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4),
+                   ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5)),
+            Map.of(),
+            100);
+
+        assertFalse(solver.canSolve(problem));
+    }
+}
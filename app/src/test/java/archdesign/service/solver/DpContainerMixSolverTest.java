@@ -0,0 +1,224 @@
+package archdesign.service.solver;
+
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DpContainerMixSolver.
+ * Small instances are checked against a brute-force enumeration of the same model.
+ */
+class DpContainerMixSolverTest {
+
+    private final DpContainerMixSolver solver = new DpContainerMixSolver();
+
+    @Test
+    void testSingleBoxTypeUsesCheapestCover() {
+        // 10 standard boxes: 3 standard pallets (4 each, coef 10) vs 2 oversize (5 each, coef 12)
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 10),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4),
+                   ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5)),
+            Map.of(ContainerType.STANDARD_PALLET, 10L, ContainerType.OVERSIZE_PALLET, 12L),
+            100);
+
+        ContainerMixSolution solution = solver.solve(problem);
+
+        assertNotNull(solution);
+        assertTrue(solution.optimal());
+        assertEquals(Map.of(ContainerType.OVERSIZE_PALLET, 2), solution.containerCounts());
+    }
+
+    @Test
+    void testMixedBoxTypesApplyMinCapacityRule() {
+        // 3 standard + 3 large: per-type capacity alone would allow one oversize pallet
+        // (5 standard / 3 large), but mixed boxes only count min(5, 3) = 3 per pallet.
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 3, BoxType.LARGE, 3),
+            Map.of(ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5, BoxType.LARGE, 3)),
+            Map.of(ContainerType.OVERSIZE_PALLET, 1L),
+            100);
+
+        ContainerMixSolution solution = solver.solve(problem);
+
+        assertNotNull(solution);
+        assertEquals(Map.of(ContainerType.OVERSIZE_PALLET, 2), solution.containerCounts());
+    }
+
+    @Test
+    void testTieOnCostPrefersLighterContainer() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 1),
+            Map.of(ContainerType.STANDARD_CRATE, Map.of(BoxType.STANDARD, 10),
+                   ContainerType.GLASS_PALLET, Map.of(BoxType.STANDARD, 10)),
+            Map.of(),
+            100);
+
+        ContainerMixSolution solution = solver.solve(problem);
+
+        assertNotNull(solution);
+        assertEquals(Map.of(ContainerType.GLASS_PALLET, 1), solution.containerCounts());
+    }
+
+    @Test
+    void testBoxTypeWithoutContainerIsInfeasible() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 2, BoxType.CRATE, 1),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4)),
+            Map.of(ContainerType.STANDARD_PALLET, 5L),
+            100);
+
+        assertNull(solver.solve(problem));
+    }
+
+    @Test
+    void testUpperBoundPerTypeIsRespected() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 5),
+            Map.of(ContainerType.GLASS_PALLET, Map.of(BoxType.STANDARD, 1)),
+            Map.of(ContainerType.GLASS_PALLET, 1L),
+            4);
+
+        assertNull(solver.solve(problem), "5 boxes cannot fit into at most 4 single-box pallets");
+    }
+
+    @Test
+    void testNoBoxesNeedsNoContainers() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(),
+            Map.of(),
+            Map.of(),
+            100);
+
+        ContainerMixSolution solution = solver.solve(problem);
+
+        assertNotNull(solution);
+        assertTrue(solution.containerCounts().isEmpty());
+    }
+
+    @Test
+    void testCanSolveRejectsNegativeCoefficients() {
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 1),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4)),
+            Map.of(ContainerType.STANDARD_PALLET, -1L),
+            100);
+
+        assertFalse(solver.canSolve(problem));
+    }
+
+    @Test
+    void testCanSolveHonorsSmallerSearchLimit() {
+        // 10 standard boxes: up to 3 standard pallets are useful, so the search has 4 combinations
+        ContainerMixProblem problem = new ContainerMixProblem(
+            Map.of(BoxType.STANDARD, 10),
+            Map.of(ContainerType.STANDARD_PALLET, Map.of(BoxType.STANDARD, 4),
+                   ContainerType.OVERSIZE_PALLET, Map.of(BoxType.STANDARD, 5)),
+            Map.of(ContainerType.STANDARD_PALLET, 10L, ContainerType.OVERSIZE_PALLET, 12L),
+            100);
+
+        assertTrue(solver.canSolve(problem, 4));
+        assertFalse(solver.canSolve(problem, 3));
+        assertTrue(solver.canSolve(problem, Long.MAX_VALUE), "the limit is capped, not replaced");
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomInstances() {
+        Random random = new Random(42);
+        List<ContainerType> containerTypes = List.of(
+            ContainerType.STANDARD_PALLET, ContainerType.OVERSIZE_PALLET, ContainerType.STANDARD_CRATE);
+        List<BoxType> boxTypes = List.of(BoxType.STANDARD, BoxType.LARGE, BoxType.CRATE);
+
+        for (int round = 0; round < 200; round++) {
+            Map<BoxType, Integer> needed = new EnumMap<>(BoxType.class);
+            for (BoxType boxType : boxTypes) {
+                if (random.nextBoolean()) {
+                    needed.put(boxType, 1 + random.nextInt(12));
+                }
+            }
+            Map<ContainerType, Map<BoxType, Integer>> capacities = new EnumMap<>(ContainerType.class);
+            Map<ContainerType, Long> coefficients = new EnumMap<>(ContainerType.class);
+            for (ContainerType containerType : containerTypes) {
+                Map<BoxType, Integer> byBox = new EnumMap<>(BoxType.class);
+                for (BoxType boxType : boxTypes) {
+                    if (random.nextInt(3) > 0) {
+                        byBox.put(boxType, 1 + random.nextInt(6));
+                    }
+                }
+                capacities.put(containerType, byBox);
+                coefficients.put(containerType, (long) random.nextInt(50));
+            }
+            ContainerMixProblem problem = new ContainerMixProblem(needed, capacities, coefficients, 15);
+
+            assertTrue(solver.canSolve(problem));
+            ContainerMixSolution solution = solver.solve(problem);
+            Long expected = bruteForceCost(problem, containerTypes);
+            if (expected == null) {
+                assertNull(solution, "round " + round);
+            } else {
+                assertNotNull(solution, "round " + round);
+                assertTrue(isFeasible(problem, solution.containerCounts()), "round " + round);
+                assertEquals(expected.longValue(), cost(problem, solution.containerCounts()), "round " + round);
+            }
+        }
+    }
+
+    private static Long bruteForceCost(ContainerMixProblem problem, List<ContainerType> types) {
+        int max = problem.getMaxContainersPerType();
+        Long best = null;
+        for (int a = 0; a <= max; a++) {
+            for (int b = 0; b <= max; b++) {
+                for (int c = 0; c <= max; c++) {
+                    Map<ContainerType, Integer> counts = new EnumMap<>(ContainerType.class);
+                    counts.put(types.get(0), a);
+                    counts.put(types.get(1), b);
+                    counts.put(types.get(2), c);
+                    if (isFeasible(problem, counts)) {
+                        long cost = cost(problem, counts);
+                        if (best == null || cost < best) {
+                            best = cost;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static boolean isFeasible(ContainerMixProblem problem, Map<ContainerType, Integer> counts) {
+        for (Map.Entry<BoxType, Integer> need : problem.getBoxesNeeded().entrySet()) {
+            long capacity = 0;
+            for (Map.Entry<ContainerType, Integer> count : counts.entrySet()) {
+                capacity += (long) count.getValue() * problem.getCapacity(count.getKey(), need.getKey());
+            }
+            if (capacity < need.getValue()) {
+                return false;
+            }
+        }
+        if (problem.hasMixedBoxTypes()) {
+            long mixed = 0;
+            for (Map.Entry<ContainerType, Integer> count : counts.entrySet()) {
+                mixed += (long) count.getValue() * problem.getMixedCapacity(count.getKey());
+            }
+            if (mixed < problem.getTotalBoxes()) {
+                return false;
+            }
+        }
+        return counts.values().stream().allMatch(c -> c <= problem.getMaxContainersPerType());
+    }
+
+    private static long cost(ContainerMixProblem problem, Map<ContainerType, Integer> counts) {
+        long total = 0;
+        for (Map.Entry<ContainerType, Integer> count : counts.entrySet()) {
+            total += count.getValue() * problem.getCostCoefficient(count.getKey());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,156 @@
+package archdesign.service.solver;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.FeasibilityService;
+import archdesign.service.costing.PlaceholderCostStrategy;
+import archdesign.service.costing.ShippingCostStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LnsOptimizer with the real container rules and placeholder pricing.
+ */
+class LnsOptimizerTest {
+
+    private UserConstraints constraints;
+    private ShippingCostStrategy costStrategy;
+    private LnsOptimizer optimizer;
+    private final AtomicInteger ids = new AtomicInteger(1);
+
+    @BeforeEach
+    void setUp() {
+        constraints = new UserConstraints();
+        costStrategy = new PlaceholderCostStrategy();
+        FeasibilityService feasibilityService =
+            new FeasibilityService(RuleProvider.getBoxRules(constraints), RuleProvider.getContainerRules());
+        optimizer = new LnsOptimizer(feasibilityService, costStrategy, this::newContainer);
+    }
+
+    @Test
+    void testMergesUnderfilledPallets() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            containers.add(palletWith(ContainerType.STANDARD_PALLET, BoxType.STANDARD));
+        }
+        PackingPlan plan = plan(containers);
+
+        PackingPlan improved = optimizer.improve(plan, constraints, Duration.ofSeconds(2), 2, 1L);
+
+        assertTrue(improved.getTotalContainerCount() < 6, "Single-box pallets should be merged");
+        assertTrue(improved.getTotalCost() < plan.getTotalCost(), "Merging must lower the cost");
+        assertEquals(6, improved.getTotalBoxCount(), "No box may be lost");
+        assertRespectsCapacities(improved);
+    }
+
+    @Test
+    void testMixedPalletsRespectMinCapacity() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            containers.add(palletWith(ContainerType.STANDARD_PALLET, BoxType.STANDARD));
+            containers.add(palletWith(ContainerType.STANDARD_PALLET, BoxType.LARGE));
+        }
+        PackingPlan plan = plan(containers);
+
+        PackingPlan improved = optimizer.improve(plan, constraints, Duration.ofSeconds(2), 3, 7L);
+
+        assertTrue(improved.getTotalContainerCount() < 6);
+        assertEquals(6, improved.getTotalBoxCount());
+        assertRespectsCapacities(improved);
+    }
+
+    @Test
+    void testInputPlanIsNotModified() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            containers.add(palletWith(ContainerType.STANDARD_PALLET, BoxType.STANDARD));
+        }
+        PackingPlan plan = plan(containers);
+
+        optimizer.improve(plan, constraints, Duration.ofSeconds(1), 2, 3L);
+
+        assertEquals(4, plan.getContainers().size());
+        for (Container container : plan.getContainers()) {
+            assertEquals(1, container.getBoxesInContainer().size());
+        }
+    }
+
+    @Test
+    void testStopsAtBudget() {
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            containers.add(palletWith(ContainerType.STANDARD_PALLET, i % 3 == 0 ? BoxType.LARGE : BoxType.STANDARD));
+        }
+        PackingPlan plan = plan(containers);
+
+        long start = System.nanoTime();
+        PackingPlan improved = optimizer.improve(plan, constraints, Duration.ofMillis(300), 4, 11L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 3_000, "LNS should stop near its budget");
+        assertEquals(40, improved.getTotalBoxCount());
+        assertTrue(improved.getTotalCost() <= plan.getTotalCost());
+        assertRespectsCapacities(improved);
+    }
+
+    @Test
+    void testSingleContainerPlanIsReturnedAsIs() {
+        List<Container> containers = new ArrayList<>();
+        containers.add(palletWith(ContainerType.STANDARD_PALLET, BoxType.STANDARD));
+        PackingPlan plan = plan(containers);
+
+        assertSame(plan, optimizer.improve(plan, constraints, Duration.ofSeconds(1), 1, 0L));
+    }
+
+    private void assertRespectsCapacities(PackingPlan plan) {
+        for (Container container : plan.getContainers()) {
+            int limit = Integer.MAX_VALUE;
+            for (Box box : container.getBoxesInContainer()) {
+                limit = Math.min(limit, capacity(container.getContainerType(), box.getBoxType()));
+            }
+            assertTrue(container.getBoxesInContainer().size() <= limit,
+                container.getContainerType() + " holds too many boxes");
+        }
+    }
+
+    private static int capacity(ContainerType containerType, BoxType boxType) {
+        return RuleProvider.getContainerRules().stream()
+            .filter(r -> r.getContainerType() == containerType && r.getAllowedBoxType() == boxType)
+            .mapToInt(r -> r.getCapacity())
+            .findFirst()
+            .orElse(0);
+    }
+
+    private Container palletWith(ContainerType containerType, BoxType boxType) {
+        Box box = new Box("Box-" + ids.getAndIncrement(), boxType, boxType.getWidth(), boxType.getLength(),
+            boxType.getMinHeight());
+        box.addArt(new Art("Art-" + ids.getAndIncrement(), 30, 30, 1, Material.GLASS));
+        Container container = newContainer(containerType);
+        container.addBox(box);
+        return container;
+    }
+
+    private Container newContainer(ContainerType type) {
+        return new Container("Container-" + ids.getAndIncrement(), type, type.getWidth(), type.getLength(),
+            type.getMinHeight(), type.getWeight(), type.getBaseHeight());
+    }
+
+    private PackingPlan plan(List<Container> containers) {
+        double cost = containers.stream().mapToDouble(costStrategy::calculateCost).sum();
+        return new PackingPlan(containers, cost);
+    }
+}
@@ -0,0 +1,123 @@
+package archdesign.service.streaming;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Box;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.ContainerOption;
+import archdesign.service.FeasibilityService;
+import archdesign.service.PackingOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OnlinePacker with the real box and container rules.
+ */
+class OnlinePackerTest {
+
+    private UserConstraints constraints;
+    private FeasibilityService feasibilityService;
+    private final List<Container> emitted = new ArrayList<>();
+    private OnlinePacker packer;
+
+    @BeforeEach
+    void setUp() {
+        constraints = new UserConstraints();
+        feasibilityService = new FeasibilityService(RuleProvider.getBoxRules(constraints), RuleProvider.getContainerRules());
+        packer = new OnlinePacker(feasibilityService, constraints, emitted::add);
+    }
+
+    private static int artCount(List<Container> containers) {
+        int count = 0;
+        for (Container container : containers) {
+            for (Box box : container.getBoxesInContainer()) {
+                count += box.getArtsInBox().size();
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testEmitsFullContainersWhileStreaming() {
+        Art sample = new Art("sample", 30, 20, 1, Material.GLASS);
+        PackingOption boxOption = feasibilityService.getValidPackingOptions(sample, constraints).get(0);
+        ContainerOption containerOption = feasibilityService.getValidContainerOptions(
+            new Box("probe", boxOption.boxType(), 1, 1, 1), constraints).get(0);
+        int artsPerContainer = boxOption.capacity() * containerOption.capacity();
+
+        for (int i = 0; i < artsPerContainer; i++) {
+            assertTrue(packer.add(new Art("G" + i, 30, 20, 1, Material.GLASS)));
+        }
+        // The last box is still open until the next art arrives or the lane is flushed
+        assertTrue(emitted.isEmpty());
+        packer.add(new Art("next", 30, 20, 1, Material.GLASS));
+
+        assertEquals(1, emitted.size());
+        Container full = emitted.get(0);
+        assertEquals(containerOption.containerType(), full.getContainerType());
+        assertEquals(containerOption.capacity(), full.getBoxesInContainer().size());
+        for (Box box : full.getBoxesInContainer()) {
+            assertEquals(boxOption.capacity(), box.getArtsInBox().size());
+        }
+    }
+
+    @Test
+    void testMemoryStaysBoundedAndCloseEmitsEverything() {
+        int total = 50_000;
+        try (OnlinePacker stream = packer) {
+            for (int i = 0; i < total; i++) {
+                Material material = i % 2 == 0 ? Material.GLASS : Material.ACRYLIC;
+                stream.add(new Art("S" + i, 30, 20, 1, material));
+                assertTrue(stream.getOpenContainerCount() <= 2, "One open container per lane");
+            }
+        }
+
+        assertEquals(total, packer.getAcceptedArtCount());
+        assertEquals(total, artCount(emitted));
+        assertEquals(emitted.size(), packer.getEmittedContainerCount());
+        assertEquals(0, packer.getOpenContainerCount());
+        for (Container container : emitted) {
+            Material material = container.getBoxesInContainer().get(0).getArtsInBox().get(0).getMaterial();
+            for (Box box : container.getBoxesInContainer()) {
+                assertTrue(box.getArtsInBox().stream().allMatch(art -> art.getMaterial() == material),
+                    "Lanes never mix materials");
+            }
+        }
+    }
+
+    @Test
+    void testRejectsArtThatCannotBePacked() {
+        List<Art> rejected = packer.addAll(List.of(
+            new Art("ok", 30, 20, 1, Material.GLASS),
+            new Art("huge", 200, 200, 1, Material.GLASS)));
+
+        assertEquals(1, rejected.size());
+        assertEquals("huge", rejected.get(0).getId());
+        assertEquals(1, packer.getAcceptedArtCount());
+        assertEquals(1, packer.getRejectedArtCount());
+    }
+
+    @Test
+    void testFlushingOneLaneLeavesOthersOpen() {
+        Art glass = new Art("g", 30, 20, 1, Material.GLASS);
+        packer.add(glass);
+        packer.add(new Art("a", 30, 20, 1, Material.ACRYLIC));
+        BoxType glassBoxType = feasibilityService.getValidPackingOptions(glass, constraints).get(0).boxType();
+
+        packer.flush(Material.GLASS, glassBoxType);
+
+        assertEquals(1, emitted.size());
+        assertEquals(List.of(glass), emitted.get(0).getBoxesInContainer().get(0).getArtsInBox());
+
+        packer.flush();
+        assertEquals(2, emitted.size());
+    }
+}
@@ -0,0 +1,136 @@
+package archdesign.service.sweep;
+
+import archdesign.config.RuleProvider;
+import archdesign.entities.Art;
+import archdesign.entities.Container;
+import archdesign.entities.enums.BoxType;
+import archdesign.entities.enums.ContainerType;
+import archdesign.entities.enums.Material;
+import archdesign.interactor.PackingPlan;
+import archdesign.interactor.UserConstraints;
+import archdesign.service.CachingFeasibilityService;
+import archdesign.service.FeasibilityService;
+import archdesign.service.OptimizationService;
+import archdesign.service.costing.PlaceholderCostStrategy;
+import archdesign.service.costing.ShippingCostStrategy;
+import archdesign.service.selection.SelectionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioSweeper and the Scenario grid helpers.
+ */
+class ScenarioSweeperTest {
+
+    private final FeasibilityService feasibilityService = new CachingFeasibilityService(
+        RuleProvider.getBoxRules(new UserConstraints()), RuleProvider.getContainerRules());
+    private final ScenarioSweeper sweeper =
+        new ScenarioSweeper(feasibilityService, SelectionPolicy.defaultPolicy(), 4);
+
+    private static List<Art> order() {
+        List<Art> arts = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            arts.add(new Art("S" + i, 24 + i % 18, 20 + i % 7, 1, i % 4 == 0 ? Material.ACRYLIC : Material.GLASS));
+        }
+        return arts;
+    }
+
+    private static List<Scenario> grid() {
+        return Scenario.grid(
+            Scenario.subsets(BoxType.class).stream()
+                .filter(set -> !set.contains(BoxType.UPS_SMALL) && !set.contains(BoxType.UPS_LARGE))
+                .toList(),
+            Scenario.subsets(ContainerType.class),
+            Map.of("placeholder", new PlaceholderCostStrategy()));
+    }
+
+    @Test
+    void testSubsetsCoverEveryNonEmptyCombination() {
+        List<Set<ContainerType>> subsets = Scenario.subsets(ContainerType.class);
+
+        assertEquals((1 << ContainerType.values().length) - 1, subsets.size());
+        assertEquals(1, subsets.get(0).size());
+        assertEquals(EnumSet.allOf(ContainerType.class), subsets.get(subsets.size() - 1));
+    }
+
+    @Test
+    void testBestScenarioMatchesExhaustiveSearch() {
+        List<Art> arts = order();
+        List<Scenario> scenarios = grid();
+
+        List<ScenarioResult> ranked = sweeper.sweep(arts, scenarios);
+
+        assertEquals(scenarios.size(), ranked.size());
+        ScenarioResult best = ranked.get(0);
+        assertFalse(best.isPruned());
+
+        int fewestCustom = Integer.MAX_VALUE;
+        double cheapest = Double.MAX_VALUE;
+        for (Scenario scenario : scenarios) {
+            PackingPlan plan = new OptimizationService(feasibilityService, scenario.costStrategy())
+                .createOptimalPlan(arts, scenario.constraints());
+            int custom = plan.getUnpackedArts().size();
+            if (custom < fewestCustom || (custom == fewestCustom && plan.getTotalCost() < cheapest)) {
+                fewestCustom = custom;
+                cheapest = plan.getTotalCost();
+            }
+        }
+        assertEquals(fewestCustom, best.customPieces());
+        assertEquals(cheapest, best.cost(), 1e-6);
+    }
+
+    @Test
+    void testFailingEstimateDropsOnlyItsScenario() {
+        List<Scenario> scenarios = new ArrayList<>(grid());
+        PlaceholderCostStrategy placeholder = new PlaceholderCostStrategy();
+        ShippingCostStrategy broken = new ShippingCostStrategy() {
+            @Override
+            public double calculateCost(Container container) {
+                return placeholder.calculateCost(container);
+            }
+
+            @Override
+            public double estimateCost(ContainerType containerType, double estimatedTotalWeight) {
+                throw new IllegalStateException("no rate for " + containerType);
+            }
+
+            @Override
+            public long getCostCoefficient(ContainerType containerType, double averageContentWeight) {
+                return placeholder.getCostCoefficient(containerType, averageContentWeight);
+            }
+        };
+        scenarios.add(0, new Scenario("broken", new UserConstraints(), broken));
+
+        List<ScenarioResult> ranked = sweeper.sweep(order(), scenarios);
+
+        assertEquals(scenarios.size() - 1, ranked.size());
+        assertTrue(ranked.stream().noneMatch(result -> result.scenario().label().equals("broken")));
+    }
+
+    @Test
+    void testPrunedScenariosAreDominatedBySolvedOnes() {
+        List<ScenarioResult> ranked = sweeper.sweep(order(), grid());
+
+        List<ScenarioResult> solved = ranked.stream().filter(result -> !result.isPruned()).toList();
+        List<ScenarioResult> pruned = ranked.stream().filter(ScenarioResult::isPruned).toList();
+        assertFalse(pruned.isEmpty(), "Dominated scenarios are pruned");
+        for (ScenarioResult result : pruned) {
+            assertTrue(solved.stream().anyMatch(s -> s.customPieces() <= result.customPieces()
+                    && s.cost() <= result.costLowerBound() + 1e-6),
+                "Nothing dominates " + result.scenario().label());
+        }
+        for (ScenarioResult result : solved) {
+            assertTrue(result.plan().getTotalCost() >= result.costLowerBound() - 1e-6,
+                "Lower bound above the solved cost for " + result.scenario().label());
+            assertEquals(result.estimate().customPieces(), result.customPieces(),
+                "Estimated custom pieces for " + result.scenario().label());
+        }
+    }
+}